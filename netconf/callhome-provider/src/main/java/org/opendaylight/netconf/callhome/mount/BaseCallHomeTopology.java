@@ -18,6 +18,8 @@ import org.opendaylight.netconf.sal.connect.api.DeviceActionFactory;
 import org.opendaylight.netconf.sal.connect.api.SchemaResourceManager;
 import org.opendaylight.netconf.sal.connect.netconf.schema.mapping.BaseNetconfSchemas;
 import org.opendaylight.netconf.topology.spi.AbstractNetconfTopology;
+import org.opendaylight.netconf.topology.spi.ConnectionScheduler.Priority;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.NetconfNode;
 
 abstract class BaseCallHomeTopology extends AbstractNetconfTopology {
     BaseCallHomeTopology(final String topologyId, final NetconfClientDispatcher clientDispatcher,
@@ -34,4 +36,10 @@ abstract class BaseCallHomeTopology extends AbstractNetconfTopology {
               processingExecutor, schemaRepositoryProvider, dataBroker, mountPointService,
               encryptionService, deviceActionFactory, baseSchemas);
     }
+
+    @Override
+    protected Priority getConnectionPriority(final NetconfNode node) {
+        // The device has already connected to us, do not keep it waiting
+        return Priority.IMMEDIATE;
+    }
 }
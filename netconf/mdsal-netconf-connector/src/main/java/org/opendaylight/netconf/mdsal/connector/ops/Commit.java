@@ -10,6 +10,7 @@ package org.opendaylight.netconf.mdsal.connector.ops;
 import org.opendaylight.netconf.api.DocumentedException;
 import org.opendaylight.netconf.api.xml.XmlElement;
 import org.opendaylight.netconf.api.xml.XmlNetconfConstants;
+import org.opendaylight.netconf.mapping.api.IndexableNetconfOperation;
 import org.opendaylight.netconf.mdsal.connector.TransactionProvider;
 import org.opendaylight.netconf.util.mapping.AbstractSingletonNetconfOperation;
 import org.slf4j.Logger;
@@ -19,7 +20,7 @@ import org.w3c.dom.Element;
 
 // FIXME duplicated code
 // netconf/netconf/config-netconf-connector/src/main/java/org/opendaylight/netconf/confignetconfconnector/Commit.java
-public class Commit extends AbstractSingletonNetconfOperation {
+public class Commit extends AbstractSingletonNetconfOperation implements IndexableNetconfOperation {
 
     private static final Logger LOG = LoggerFactory.getLogger(Commit.class);
 
@@ -29,6 +29,7 @@ import org.opendaylight.netconf.api.DocumentedException;
 import org.opendaylight.netconf.api.xml.XmlElement;
 import org.opendaylight.netconf.api.xml.XmlNetconfConstants;
 import org.opendaylight.netconf.api.xml.XmlUtil;
+import org.opendaylight.netconf.mapping.api.IndexableNetconfOperation;
 import org.opendaylight.netconf.mdsal.connector.CurrentSchemaContext;
 import org.opendaylight.netconf.mdsal.connector.TransactionProvider;
 import org.opendaylight.yangtools.yang.common.ErrorSeverity;
@@ -50,7 +51,7 @@ import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 
-public final class CopyConfig extends AbstractEdit {
+public final class CopyConfig extends AbstractEdit implements IndexableNetconfOperation {
     private static final String OPERATION_NAME = "copy-config";
     private static final String SOURCE_KEY = "source";
     private static final XMLOutputFactory XML_OUTPUT_FACTORY;
@@ -12,6 +12,7 @@ import java.util.Map;
 import org.opendaylight.netconf.api.DocumentedException;
 import org.opendaylight.netconf.api.xml.XmlElement;
 import org.opendaylight.netconf.api.xml.XmlNetconfConstants;
+import org.opendaylight.netconf.mapping.api.IndexableNetconfOperation;
 import org.opendaylight.netconf.mdsal.connector.TransactionProvider;
 import org.opendaylight.netconf.util.mapping.AbstractSingletonNetconfOperation;
 import org.opendaylight.yangtools.yang.common.ErrorSeverity;
@@ -22,7 +23,7 @@ import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
-public class DiscardChanges extends AbstractSingletonNetconfOperation {
+public class DiscardChanges extends AbstractSingletonNetconfOperation implements IndexableNetconfOperation {
     private static final Logger LOG = LoggerFactory.getLogger(DiscardChanges.class);
     private static final String OPERATION_NAME = "discard-changes";
 
@@ -10,6 +10,7 @@ package org.opendaylight.netconf.mdsal.connector.ops;
 import org.opendaylight.netconf.api.DocumentedException;
 import org.opendaylight.netconf.api.xml.XmlElement;
 import org.opendaylight.netconf.api.xml.XmlNetconfConstants;
+import org.opendaylight.netconf.mapping.api.IndexableNetconfOperation;
 import org.opendaylight.netconf.util.mapping.AbstractSingletonNetconfOperation;
 import org.opendaylight.yangtools.yang.common.ErrorSeverity;
 import org.opendaylight.yangtools.yang.common.ErrorTag;
@@ -23,7 +24,7 @@ import org.w3c.dom.Element;
    netconf/netconf/config-netconf-connector/src/main/java/org/opendaylight/netconf/confignetconfconnector/
    operations/UnLock.java
 */
-public class Unlock extends AbstractSingletonNetconfOperation {
+public class Unlock extends AbstractSingletonNetconfOperation implements IndexableNetconfOperation {
     private static final Logger LOG = LoggerFactory.getLogger(Unlock.class);
     private static final String OPERATION_NAME = "unlock";
 
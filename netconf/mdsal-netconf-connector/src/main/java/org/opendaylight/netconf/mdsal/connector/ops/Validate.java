@@ -11,6 +11,7 @@ import com.google.common.collect.ImmutableMap;
 import org.opendaylight.netconf.api.DocumentedException;
 import org.opendaylight.netconf.api.xml.XmlElement;
 import org.opendaylight.netconf.api.xml.XmlNetconfConstants;
+import org.opendaylight.netconf.mapping.api.IndexableNetconfOperation;
 import org.opendaylight.netconf.mdsal.connector.TransactionProvider;
 import org.opendaylight.yangtools.yang.common.ErrorSeverity;
 import org.opendaylight.yangtools.yang.common.ErrorTag;
@@ -21,7 +22,7 @@ import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.NodeList;
 
-public final class Validate extends AbstractConfigOperation {
+public final class Validate extends AbstractConfigOperation implements IndexableNetconfOperation {
     private static final Logger LOG = LoggerFactory.getLogger(Validate.class);
     private static final String OPERATION_NAME = "validate";
     private static final String SOURCE_KEY = "source";
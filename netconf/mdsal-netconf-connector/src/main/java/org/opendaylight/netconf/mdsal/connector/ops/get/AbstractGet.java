@@ -16,8 +16,10 @@ import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamWriter;
 import javax.xml.transform.dom.DOMResult;
 import org.opendaylight.netconf.api.DocumentedException;
+import org.opendaylight.netconf.api.xml.StreamedContent;
 import org.opendaylight.netconf.api.xml.XmlElement;
 import org.opendaylight.netconf.api.xml.XmlNetconfConstants;
+import org.opendaylight.netconf.api.xml.XmlUtil;
 import org.opendaylight.netconf.mdsal.connector.CurrentSchemaContext;
 import org.opendaylight.netconf.mdsal.connector.ops.Datastore;
 import org.opendaylight.netconf.util.mapping.AbstractSingletonNetconfOperation;
@@ -35,6 +37,7 @@ import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStre
 import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeWriter;
 import org.opendaylight.yangtools.yang.data.codec.xml.XMLStreamNormalizedNodeStreamWriter;
 import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 import org.opendaylight.yangtools.yang.model.api.SchemaPath;
 import org.w3c.dom.Document;
@@ -66,9 +69,48 @@ public abstract class AbstractGet extends AbstractSingletonNetconfOperation {
         final DOMResult result = new DOMResult(document.createElement(XmlNetconfConstants.DATA_KEY));
 
         final XMLStreamWriter xmlWriter = getXmlStreamWriter(result);
+        try {
+            writeNormalizedNode(xmlWriter, schemaContext.getCurrentContext(), data, dataRoot);
+        } catch (XMLStreamException | IOException e) {
+            throw new RuntimeException(e);
+        }
+
+        return result.getNode();
+    }
+
+    /**
+     * Create data element, whose content is written only when the reply is sent, see {@link StreamedContent}.
+     *
+     * @param document document of the reply
+     * @param data data to write
+     * @param dataRoot path of the data
+     * @return data element
+     */
+    protected Element streamNormalizedNode(final Document document, final NormalizedNode data,
+                                           final YangInstanceIdentifier dataRoot) {
+        if (!(data instanceof ContainerNode) && !(data instanceof MapNode)) {
+            throw new IllegalArgumentException("Unable to transform node of type: " +  data.getClass().toString()
+                    + " offending node: " + data.toString());
+        }
+
+        final EffectiveModelContext context = schemaContext.getCurrentContext();
+        // created in its namespace, as it would be replaced by an element without the content otherwise
+        final Element element = XmlUtil.createElement(document, XmlNetconfConstants.DATA_KEY,
+            Optional.of(XmlNetconfConstants.URN_IETF_PARAMS_XML_NS_NETCONF_BASE_1_0));
+        StreamedContent.attach(element, xmlWriter -> {
+            try {
+                writeNormalizedNode(xmlWriter, context, data, dataRoot);
+            } catch (IOException e) {
+                throw new XMLStreamException("Failed to write data " + dataRoot, e);
+            }
+        });
+        return element;
+    }
 
+    private static void writeNormalizedNode(final XMLStreamWriter xmlWriter, final EffectiveModelContext context,
+            final NormalizedNode data, final YangInstanceIdentifier dataRoot) throws XMLStreamException, IOException {
         final NormalizedNodeStreamWriter nnStreamWriter = XMLStreamNormalizedNodeStreamWriter.create(xmlWriter,
-                schemaContext.getCurrentContext(), getSchemaPath(dataRoot));
+                context, getSchemaPath(dataRoot));
 
         final NormalizedNodeWriter nnWriter = NormalizedNodeWriter.forStreamWriter(nnStreamWriter, true);
 
@@ -80,8 +122,6 @@ public abstract class AbstractGet extends AbstractSingletonNetconfOperation {
             throw new IllegalArgumentException("Unable to transform node of type: " +  data.getClass().toString()
                     + " offending node: " + data.toString());
         }
-
-        return result.getNode();
     }
 
     private static XMLStreamWriter getXmlStreamWriter(final DOMResult result) {
@@ -98,47 +138,63 @@ public abstract class AbstractGet extends AbstractSingletonNetconfOperation {
     }
 
     private static void writeRootElement(final XMLStreamWriter xmlWriter, final NormalizedNodeWriter nnWriter,
-                                         final ContainerNode data) {
-        try {
-            if (data.getIdentifier().getNodeType().equals(SchemaContext.NAME)) {
-                for (final DataContainerChild child : data.body()) {
-                    nnWriter.write(child);
-                }
-            } else {
-                nnWriter.write(data);
+                                         final ContainerNode data) throws XMLStreamException, IOException {
+        if (data.getIdentifier().getNodeType().equals(SchemaContext.NAME)) {
+            for (final DataContainerChild child : data.body()) {
+                nnWriter.write(child);
             }
-            nnWriter.flush();
-            xmlWriter.flush();
-        } catch (XMLStreamException | IOException e) {
-            throw new RuntimeException(e);
+        } else {
+            nnWriter.write(data);
         }
+        nnWriter.flush();
+        xmlWriter.flush();
     }
 
     private static void writeRootElement(final XMLStreamWriter xmlWriter, final NormalizedNodeWriter nnWriter,
-                                         final MapNode data) {
-        try {
-            if (data.getIdentifier().getNodeType().equals(SchemaContext.NAME)) {
-                for (final MapEntryNode child : data.body()) {
-                    nnWriter.write(child);
-                }
-            } else {
-                nnWriter.write(data);
+                                         final MapNode data) throws XMLStreamException, IOException {
+        if (data.getIdentifier().getNodeType().equals(SchemaContext.NAME)) {
+            for (final MapEntryNode child : data.body()) {
+                nnWriter.write(child);
             }
-            nnWriter.flush();
-            xmlWriter.flush();
-        } catch (XMLStreamException | IOException e) {
-            throw new RuntimeException(e);
+        } else {
+            nnWriter.write(data);
+        }
+        nnWriter.flush();
+        xmlWriter.flush();
+    }
+
+    /**
+     * Serialize data read according to an operation. Data of replies which are not subject to subtree filtering are
+     * not serialized here, but only when the reply is sent.
+     *
+     * @param document document of the reply
+     * @param dataRoot path of the data
+     * @param node data read from datastore
+     * @param operationElement operation element
+     * @return data element
+     */
+    protected Element serializeReplyData(final Document document, final YangInstanceIdentifier dataRoot,
+                                         final NormalizedNode node, final XmlElement operationElement) {
+        if (dataRoot.equals(ROOT) && subtreeFilter(operationElement).isEmpty()) {
+            return streamNormalizedNode(document, node, ROOT);
         }
+        return serializeNodeWithParentStructure(document, dataRoot, node, getNormalizedNodeFilter(operationElement));
     }
 
     protected Element serializeNodeWithParentStructure(final Document document, final YangInstanceIdentifier dataRoot,
                                                        final NormalizedNode node) {
-        if (!dataRoot.equals(ROOT)) {
-            return (Element) transformNormalizedNode(document,
-                    ImmutableNodes.fromInstanceId(schemaContext.getCurrentContext(), dataRoot, node),
-                    ROOT);
+        return serializeNodeWithParentStructure(document, dataRoot, node, Optional.empty());
+    }
+
+    protected Element serializeNodeWithParentStructure(final Document document, final YangInstanceIdentifier dataRoot,
+                                                       final NormalizedNode node,
+                                                       final Optional<NormalizedNodeFilter> filter) {
+        NormalizedNode root = dataRoot.equals(ROOT) ? node
+                : ImmutableNodes.fromInstanceId(schemaContext.getCurrentContext(), dataRoot, node);
+        if (filter.isPresent() && root instanceof ContainerNode) {
+            root = filter.get().apply((ContainerNode) root);
         }
-        return (Element) transformNormalizedNode(document, node, ROOT);
+        return (Element) transformNormalizedNode(document, root, ROOT);
     }
 
     /**
@@ -163,6 +219,23 @@ public abstract class AbstractGet extends AbstractSingletonNetconfOperation {
         return Optional.of(ROOT);
     }
 
+    /**
+     * Obtain subtree filter from operation element, so that it can be applied on data before it is serialized.
+     *
+     * @param operationElement operation element
+     * @return compiled filter, or empty if there is no subtree filter
+     */
+    protected Optional<NormalizedNodeFilter> getNormalizedNodeFilter(final XmlElement operationElement) {
+        // only filters which are applied to the reply by SubtreeFilter are compiled
+        return subtreeFilter(operationElement).flatMap(NormalizedNodeFilter::of);
+    }
+
+    private static Optional<XmlElement> subtreeFilter(final XmlElement operationElement) {
+        // same lookup as SubtreeFilter, which post-processes replies
+        return operationElement.getOnlyChildElementOptionally(FILTER,
+            XmlNetconfConstants.URN_IETF_PARAMS_XML_NS_NETCONF_BASE_1_0);
+    }
+
     @VisibleForTesting
     protected YangInstanceIdentifier getInstanceIdentifierFromFilter(final XmlElement filterElement)
             throws DocumentedException {
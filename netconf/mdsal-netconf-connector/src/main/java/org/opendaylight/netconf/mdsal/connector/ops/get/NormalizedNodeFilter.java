@@ -0,0 +1,345 @@
+/*
+ * Copyright (c) 2022 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.mdsal.connector.ops.get;
+
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import javax.xml.XMLConstants;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.netconf.api.xml.XmlElement;
+import org.opendaylight.netconf.api.xml.XmlNetconfConstants;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.Uint16;
+import org.opendaylight.yangtools.yang.common.Uint32;
+import org.opendaylight.yangtools.yang.common.Uint64;
+import org.opendaylight.yangtools.yang.common.Uint8;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.AugmentationNode;
+import org.opendaylight.yangtools.yang.data.api.schema.ChoiceNode;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafNode;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafSetNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.UnkeyedListEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.UnkeyedListNode;
+import org.opendaylight.yangtools.yang.data.api.schema.UserMapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.builder.CollectionNodeBuilder;
+import org.opendaylight.yangtools.yang.data.api.schema.builder.DataContainerNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+
+/**
+ * Subtree filter, see <a href="https://tools.ietf.org/html/rfc6241#section-6">RFC6241 section 6</a>, compiled for
+ * application on {@link NormalizedNode} data before it is serialized to XML. Branches of data which are not selected by
+ * the filter are not visited at all, only the selected ones are copied.
+ *
+ * <p>
+ * Result of the filter is a superset of the data selected by the filter. Data is kept whenever the selection cannot be
+ * decided on its normalized form, e.g. for content match nodes on values, whose XML form depends on a codec, or for
+ * attribute match expressions. The exact selection is done on the XML reply by
+ * {@link org.opendaylight.netconf.util.messages.SubtreeFilter}, now on already pruned data.
+ */
+public final class NormalizedNodeFilter {
+    private static final String TYPE = "type";
+    private static final String SUBTREE = "subtree";
+
+    private final ImmutableList<FilterNode> filters;
+
+    private NormalizedNodeFilter(final List<FilterNode> filters) {
+        this.filters = ImmutableList.copyOf(filters);
+    }
+
+    /**
+     * Compile a filter element.
+     *
+     * @param filterElement filter element of a get or get-config operation
+     * @return compiled filter, or empty if the filter is not a subtree filter
+     */
+    public static Optional<NormalizedNodeFilter> of(final XmlElement filterElement) {
+        if (!SUBTREE.equals(filterElement.getAttribute(TYPE))
+                && !SUBTREE.equals(filterElement.getAttribute(TYPE,
+                    XmlNetconfConstants.URN_IETF_PARAMS_XML_NS_NETCONF_BASE_1_0))) {
+            return Optional.empty();
+        }
+        return Optional.of(new NormalizedNodeFilter(FilterNode.childrenOf(filterElement)));
+    }
+
+    /**
+     * Apply the filter on data read from datastore.
+     *
+     * @param root root node of the datastore, or a top-level container
+     * @return the node with the data which is not selected by the filter removed
+     */
+    public ContainerNode apply(final ContainerNode root) {
+        if (!SchemaContext.NAME.equals(root.getIdentifier().getNodeType())) {
+            final NormalizedNode result = select(root, matching(filters, root.getIdentifier().getNodeType()));
+            return result != null ? (ContainerNode) result
+                : Builders.containerBuilder().withNodeIdentifier(root.getIdentifier()).build();
+        }
+        final List<DataContainerChild> children = new ArrayList<>();
+        selectChildren(root, filters, children);
+        return Builders.containerBuilder().withNodeIdentifier(root.getIdentifier()).withValue(children).build();
+    }
+
+    /**
+     * Select a node matched by name by some filter nodes.
+     *
+     * @return the node or its selected part, or {@code null} if it is not selected
+     */
+    private static @Nullable NormalizedNode select(final NormalizedNode node, final List<FilterNode> matching) {
+        if (!(node instanceof DataContainerNode)) {
+            // leaves, anyxml and anydata are either selected as a whole or not at all
+            for (FilterNode filter : matching) {
+                if (filter.content == null || mayMatch(filter.content, node)) {
+                    return node;
+                }
+            }
+            return null;
+        }
+
+        final DataContainerNode container = (DataContainerNode) node;
+        final List<FilterNode> childFilters = new ArrayList<>();
+        for (FilterNode filter : matching) {
+            if (filter.children.isEmpty() || filter.matchesAttributes) {
+                // selection node, or an expression we cannot evaluate
+                return node;
+            }
+            if (filter.mismatchesContent(container)) {
+                continue;
+            }
+            if (filter.hasOnlyContentChildren()) {
+                // all content match nodes match, the whole node is selected
+                return node;
+            }
+            childFilters.addAll(filter.children);
+        }
+        if (childFilters.isEmpty()) {
+            return null;
+        }
+
+        final List<DataContainerChild> children = new ArrayList<>();
+        if (!selectChildren(container, childFilters, children)) {
+            return null;
+        }
+        if (container instanceof MapEntryNode) {
+            addKeys((MapEntryNode) container, children);
+        }
+        return rebuild(container, children);
+    }
+
+    /**
+     * Select children of a node, descending through nodes which do not appear in XML.
+     *
+     * @return true if any filter node matched any child by name
+     */
+    private static boolean selectChildren(final DataContainerNode container, final List<FilterNode> filters,
+            final List<DataContainerChild> selected) {
+        boolean anyMatched = false;
+        for (DataContainerChild child : container.body()) {
+            if (child instanceof ChoiceNode || child instanceof AugmentationNode) {
+                final List<DataContainerChild> children = new ArrayList<>();
+                anyMatched |= selectChildren((DataContainerNode) child, filters, children);
+                if (!children.isEmpty()) {
+                    selected.add((DataContainerChild) rebuild((DataContainerNode) child, children));
+                }
+                continue;
+            }
+
+            final List<FilterNode> matching = matching(filters, child.getIdentifier().getNodeType());
+            if (matching.isEmpty()) {
+                continue;
+            }
+            anyMatched = true;
+
+            if (child instanceof MapNode) {
+                selectEntries((MapNode) child, matching, selected);
+            } else if (child instanceof UnkeyedListNode) {
+                selectEntries((UnkeyedListNode) child, matching, selected);
+            } else if (child instanceof LeafSetNode) {
+                // leaf-list entries are kept, the exact selection is left to the XML filter
+                selected.add(child);
+            } else {
+                final NormalizedNode result = select(child, matching);
+                if (result != null) {
+                    selected.add((DataContainerChild) result);
+                }
+            }
+        }
+        return anyMatched;
+    }
+
+    private static void selectEntries(final MapNode list, final List<FilterNode> matching,
+            final List<DataContainerChild> selected) {
+        final CollectionNodeBuilder<MapEntryNode, ? extends MapNode> builder = list instanceof UserMapNode
+            ? Builders.orderedMapBuilder() : Builders.mapBuilder();
+        boolean empty = true;
+        for (MapEntryNode entry : list.body()) {
+            final NormalizedNode result = select(entry, matching);
+            if (result != null) {
+                builder.withChild((MapEntryNode) result);
+                empty = false;
+            }
+        }
+        if (!empty) {
+            selected.add(builder.withNodeIdentifier(list.getIdentifier()).build());
+        }
+    }
+
+    private static void selectEntries(final UnkeyedListNode list, final List<FilterNode> matching,
+            final List<DataContainerChild> selected) {
+        final CollectionNodeBuilder<UnkeyedListEntryNode, UnkeyedListNode> builder = Builders.unkeyedListBuilder();
+        boolean empty = true;
+        for (UnkeyedListEntryNode entry : list.body()) {
+            final NormalizedNode result = select(entry, matching);
+            if (result != null) {
+                builder.withChild((UnkeyedListEntryNode) result);
+                empty = false;
+            }
+        }
+        if (!empty) {
+            selected.add(builder.withNodeIdentifier(list.getIdentifier()).build());
+        }
+    }
+
+    private static void addKeys(final MapEntryNode entry, final List<DataContainerChild> children) {
+        // keys are always part of the entry, so that it can be serialized
+        final NodeIdentifierWithPredicates identifier = entry.getIdentifier();
+        for (QName key : identifier.keySet()) {
+            final NodeIdentifier keyIdentifier = new NodeIdentifier(key);
+            if (children.stream().noneMatch(child -> keyIdentifier.equals(child.getIdentifier()))) {
+                entry.findChildByArg(keyIdentifier).ifPresent(children::add);
+            }
+        }
+    }
+
+    private static NormalizedNode rebuild(final DataContainerNode node, final Collection<DataContainerChild> children) {
+        final DataContainerNodeBuilder<?, ?> builder;
+        if (node instanceof ContainerNode) {
+            builder = Builders.containerBuilder().withNodeIdentifier(((ContainerNode) node).getIdentifier());
+        } else if (node instanceof MapEntryNode) {
+            builder = Builders.mapEntryBuilder().withNodeIdentifier(((MapEntryNode) node).getIdentifier());
+        } else if (node instanceof UnkeyedListEntryNode) {
+            builder = Builders.unkeyedListEntryBuilder()
+                .withNodeIdentifier(((UnkeyedListEntryNode) node).getIdentifier());
+        } else if (node instanceof ChoiceNode) {
+            builder = Builders.choiceBuilder().withNodeIdentifier(((ChoiceNode) node).getIdentifier());
+        } else if (node instanceof AugmentationNode) {
+            builder = Builders.augmentationBuilder().withNodeIdentifier(((AugmentationNode) node).getIdentifier());
+        } else {
+            // not expected, keep the node as it is
+            return node;
+        }
+        return builder.withValue(children).build();
+    }
+
+    private static List<FilterNode> matching(final List<FilterNode> filters, final QName name) {
+        List<FilterNode> result = List.of();
+        for (FilterNode filter : filters) {
+            if (filter.matches(name)) {
+                if (result.isEmpty()) {
+                    result = new ArrayList<>(2);
+                }
+                result.add(filter);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Check whether content match node may match a node. The result is {@code false} only if the XML form of the node
+     * certainly differs from the content.
+     */
+    private static boolean mayMatch(final String content, final NormalizedNode node) {
+        if (!(node instanceof LeafNode) || content.indexOf(':') != -1) {
+            // prefixed content is matched by namespace of the prefix
+            return true;
+        }
+        final Object value = node.body();
+        if (value instanceof String || value instanceof Boolean || value instanceof Byte || value instanceof Short
+                || value instanceof Integer || value instanceof Long || value instanceof Uint8
+                || value instanceof Uint16 || value instanceof Uint32 || value instanceof Uint64) {
+            // XML form of these is their string form
+            return content.equals(value.toString());
+        }
+        return true;
+    }
+
+    /**
+     * Node of filter, compiled from an element of filter.
+     */
+    private static final class FilterNode {
+        private final @Nullable String namespace;
+        private final String localName;
+        // text of content match node
+        private final @Nullable String content;
+        private final ImmutableList<FilterNode> children;
+        // attribute match expressions, not evaluated here
+        private final boolean matchesAttributes;
+
+        private FilterNode(final XmlElement element) {
+            namespace = element.getNamespaceOptionally().orElse(null);
+            localName = element.getName();
+            children = childrenOf(element);
+            // empty and whitespace-only elements are selection nodes
+            content = children.isEmpty() ? element.getOnlyTextContentOptionally()
+                .filter(text -> !text.isBlank()).orElse(null) : null;
+            matchesAttributes = content == null && element.getAttributes().values().stream()
+                .anyMatch(attr -> !XMLConstants.XMLNS_ATTRIBUTE_NS_URI.equals(attr.getNamespaceURI()));
+        }
+
+        static ImmutableList<FilterNode> childrenOf(final XmlElement element) {
+            return element.getChildElements().stream().map(FilterNode::new).collect(ImmutableList.toImmutableList());
+        }
+
+        boolean matches(final QName name) {
+            return localName.equals(name.getLocalName()) && namespace != null
+                && namespace.equals(name.getNamespace().toString());
+        }
+
+        boolean hasOnlyContentChildren() {
+            return children.stream().allMatch(child -> child.content != null);
+        }
+
+        /**
+         * Check whether some content match node of this node certainly does not match a leaf of a container.
+         */
+        boolean mismatchesContent(final DataContainerNode container) {
+            for (FilterNode child : children) {
+                if (child.content != null) {
+                    final LeafNode<?> leaf = findLeaf(container, child);
+                    if (leaf != null && !mayMatch(child.content, leaf)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        private static @Nullable LeafNode<?> findLeaf(final DataContainerNode container, final FilterNode filter) {
+            for (DataContainerChild child : container.body()) {
+                if (child instanceof ChoiceNode || child instanceof AugmentationNode) {
+                    final LeafNode<?> leaf = findLeaf((DataContainerNode) child, filter);
+                    if (leaf != null) {
+                        return leaf;
+                    }
+                } else if (child instanceof LeafNode && filter.matches(child.getIdentifier().getNodeType())) {
+                    return (LeafNode<?>) child;
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -39,6 +39,7 @@ import org.opendaylight.mdsal.dom.api.DOMSchemaService;
 import org.opendaylight.mdsal.dom.broker.SerializedDOMDataBroker;
 import org.opendaylight.mdsal.dom.spi.store.DOMStore;
 import org.opendaylight.mdsal.dom.store.inmemory.InMemoryDOMDataStoreFactory;
+import org.opendaylight.netconf.api.xml.StreamedContent;
 import org.opendaylight.netconf.api.xml.XmlUtil;
 import org.opendaylight.netconf.mapping.api.NetconfOperation;
 import org.opendaylight.netconf.mapping.api.NetconfOperationChainedExecution;
@@ -212,6 +213,8 @@ public abstract class AbstractNetconfOperationTest {
 
     protected static Document executeOperation(final NetconfOperation op, final Document request) throws Exception {
         final Document response = op.handle(request, NetconfOperationChainedExecution.EXECUTION_TERMINATION_POINT);
+        // data of replies may be written only when they are sent, write them into the DOM to compare them
+        StreamedContent.materialize(response);
         LOG.debug("Got response {}", response);
         return response;
     }
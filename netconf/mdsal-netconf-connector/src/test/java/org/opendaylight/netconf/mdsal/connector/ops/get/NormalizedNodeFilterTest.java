@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2022 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.mdsal.connector.ops.get;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import org.junit.Test;
+import org.opendaylight.netconf.api.xml.XmlElement;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.Uint32;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+
+public class NormalizedNodeFilterTest {
+    private static final String NS = "urn:test:filter";
+    private static final QName TOP = QName.create(NS, "top");
+    private static final QName USERS = QName.create(NS, "users");
+    private static final QName USER = QName.create(NS, "user");
+    private static final QName NAME = QName.create(NS, "name");
+    private static final QName TYPE = QName.create(NS, "type");
+    private static final QName AGE = QName.create(NS, "age");
+    private static final QName MODULES = QName.create(NS, "modules");
+
+    private static final MapEntryNode ALICE = user("alice", "admin", 30);
+    private static final MapEntryNode BOB = user("bob", "guest", 40);
+    private static final ContainerNode MODULES_NODE = Builders.containerBuilder()
+        .withNodeIdentifier(new NodeIdentifier(MODULES))
+        .withChild(ImmutableNodes.leafNode(NAME, "mod"))
+        .build();
+    private static final ContainerNode ROOT = root(Builders.containerBuilder()
+        .withNodeIdentifier(new NodeIdentifier(TOP))
+        .withChild(Builders.containerBuilder()
+            .withNodeIdentifier(new NodeIdentifier(USERS))
+            .withChild(Builders.mapBuilder().withNodeIdentifier(new NodeIdentifier(USER))
+                .withChild(ALICE)
+                .withChild(BOB)
+                .build())
+            .build())
+        .withChild(MODULES_NODE)
+        .build());
+
+    @Test
+    public void testSelectionNode() throws Exception {
+        assertEquals(root(top(MODULES_NODE)), apply("<top><modules/></top>"));
+    }
+
+    @Test
+    public void testContentMatch() throws Exception {
+        assertEquals(root(top(users(ALICE))), apply("<top><users><user><name>alice</name></user></users></top>"));
+        // numeric content is matched on its XML form
+        assertEquals(root(top(users(BOB))), apply("<top><users><user><age>40</age></user></users></top>"));
+        // no entry matches, users is still selected as in the XML filter
+        assertEquals(root(top(usersEmpty())), apply("<top><users><user><name>carol</name></user></users></top>"));
+    }
+
+    @Test
+    public void testContentMatchWithSelection() throws Exception {
+        final MapEntryNode aliceType = Builders.mapEntryBuilder()
+            .withNodeIdentifier(ALICE.getIdentifier())
+            .withChild(ImmutableNodes.leafNode(TYPE, "admin"))
+            .withChild(ImmutableNodes.leafNode(NAME, "alice"))
+            .build();
+        assertEquals(root(top(users(aliceType))),
+            apply("<top><users><user><name>alice</name><type/></user></users></top>"));
+    }
+
+    @Test
+    public void testLeafSelection() throws Exception {
+        assertEquals(root(top(users(ALICE, BOB), MODULES_NODE)), apply("<top><users/><modules> </modules></top>"));
+        assertEquals(root(top(Builders.containerBuilder()
+            .withNodeIdentifier(new NodeIdentifier(MODULES))
+            .withChild(ImmutableNodes.leafNode(NAME, "mod"))
+            .build())), apply("<top><modules><name/></modules></top>"));
+    }
+
+    @Test
+    public void testSiblings() throws Exception {
+        assertEquals(root(top(users(ALICE, BOB), MODULES_NODE)), apply("<top><users/><modules/></top>"));
+    }
+
+    @Test
+    public void testUnknownNamespace() throws Exception {
+        assertEquals(root(), apply("<top xmlns=\"urn:other\"/>"));
+    }
+
+    @Test
+    public void testTopLevelContainer() throws Exception {
+        final ContainerNode top = (ContainerNode) ROOT.body().iterator().next();
+        assertEquals(top(MODULES_NODE), filter("<top><modules/></top>").apply(top));
+        assertEquals(top(), filter("<top xmlns=\"urn:other\"/>").apply(top));
+    }
+
+    @Test
+    public void testNotSubtreeFilter() throws Exception {
+        assertFalse(NormalizedNodeFilter.of(XmlElement.fromString(
+            "<filter xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\"><top xmlns=\"" + NS + "\"/></filter>"))
+            .isPresent());
+    }
+
+    private static ContainerNode apply(final String filterContent) throws Exception {
+        return filter(filterContent).apply(ROOT);
+    }
+
+    private static NormalizedNodeFilter filter(final String filterContent) throws Exception {
+        final String content = filterContent.startsWith("<top>")
+            ? filterContent.replaceFirst("<top>", "<top xmlns=\"" + NS + "\">") : filterContent;
+        final var filter = NormalizedNodeFilter.of(XmlElement.fromString(
+            "<filter xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\" type=\"subtree\">" + content + "</filter>"));
+        assertTrue(filter.isPresent());
+        return filter.get();
+    }
+
+    private static MapEntryNode user(final String name, final String type, final int age) {
+        return Builders.mapEntryBuilder()
+            .withNodeIdentifier(NodeIdentifierWithPredicates.of(USER, NAME, name))
+            .withChild(ImmutableNodes.leafNode(NAME, name))
+            .withChild(ImmutableNodes.leafNode(TYPE, type))
+            .withChild(ImmutableNodes.leafNode(AGE, Uint32.valueOf(age)))
+            .build();
+    }
+
+    private static ContainerNode root(final ContainerNode... children) {
+        return Builders.containerBuilder()
+            .withNodeIdentifier(new NodeIdentifier(SchemaContext.NAME))
+            .withValue(List.of(children))
+            .build();
+    }
+
+    private static ContainerNode top(final ContainerNode... children) {
+        return Builders.containerBuilder()
+            .withNodeIdentifier(new NodeIdentifier(TOP))
+            .withValue(List.of(children))
+            .build();
+    }
+
+    private static ContainerNode users(final MapEntryNode... entries) {
+        return Builders.containerBuilder()
+            .withNodeIdentifier(new NodeIdentifier(USERS))
+            .withChild(Builders.mapBuilder().withNodeIdentifier(new NodeIdentifier(USER))
+                .withValue(List.of(entries))
+                .build())
+            .build();
+    }
+
+    private static ContainerNode usersEmpty() {
+        return Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(USERS)).build();
+    }
+}
@@ -11,20 +11,35 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
 import static java.util.Objects.requireNonNull;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.HashMultiset;
+import com.google.common.collect.ImmutableListMultimap;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Multiset;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.checkerframework.checker.lock.qual.GuardedBy;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.netconf.mdsal.notification.impl.ops.NotificationsTransformUtil;
 import org.opendaylight.netconf.notifications.BaseNotificationPublisherRegistration;
 import org.opendaylight.netconf.notifications.NetconfNotification;
@@ -46,6 +61,7 @@ import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.netconf.not
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.netconf.notifications.rev120206.NetconfSessionStart;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.yang.library.rev190104.YangLibraryChange;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.yang.library.rev190104.YangLibraryUpdate;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.yang.types.rev130715.DateAndTime;
 import org.opendaylight.yangtools.yang.binding.Notification;
 import org.opendaylight.yangtools.yang.model.api.SchemaPath;
 import org.slf4j.Logger;
@@ -67,16 +83,24 @@ public class NetconfNotificationManager implements NetconfNotificationCollector,
                 .build();
 
     private static final Logger LOG = LoggerFactory.getLogger(NetconfNotificationManager.class);
+    private static final long CLOSE_TIMEOUT_SECONDS = 10;
 
     // TODO excessive synchronization provides thread safety but is most likely not optimal
     // (combination of concurrent collections might improve performance)
     // And also calling callbacks from a synchronized block is dangerous
-    // since the listeners/publishers can block the whole notification processing
+    // since the listeners/publishers can block the whole notification processing.
+    // Notifications themselves are dispatched outside of the lock, see listenerSnapshot, by a sequential executor of
+    // their stream, so that notifications of a stream reach each listener in the order they were published.
 
     @GuardedBy("this")
     private final Multimap<StreamNameType, GenericNotificationListenerReg> notificationListeners =
             HashMultimap.create();
 
+    // Copy of notificationListeners, replaced whenever they change, so that notifications are dispatched without
+    // holding the lock
+    private volatile ImmutableListMultimap<StreamNameType, GenericNotificationListenerReg> listenerSnapshot =
+            ImmutableListMultimap.of();
+
     @GuardedBy("this")
     private final Set<NetconfNotificationStreamListener> streamListeners = new HashSet<>();
 
@@ -89,21 +113,93 @@ public class NetconfNotificationManager implements NetconfNotificationCollector,
     @GuardedBy("this")
     private final Set<GenericNotificationPublisherReg> notificationPublishers = new HashSet<>();
     private final NotificationsTransformUtil transformUtil;
+    private final ConcurrentMap<StreamNameType, Executor> streamDispatchers = new ConcurrentHashMap<>();
+    private final ExecutorService dispatchExecutor;
+    // Accessed by replayWriter only, except for checking its presence and its oldest event time
+    private final @Nullable NotificationReplayLog replayLog;
+    // Single writer of replayLog, notifications are stored in the order they are dispatched
+    private final @Nullable Executor replayWriter;
 
     @Inject
     public NetconfNotificationManager(final NotificationsTransformUtil transformUtil) {
+        this(transformUtil, null);
+    }
+
+    /**
+     * Create a manager which optionally stores notifications of all streams for replay. The store is not opened at all
+     * unless replay is enabled.
+     *
+     * @param transformUtil notification transformation utility
+     * @param replayLogEnabled whether notifications are stored for replay
+     * @param replayLogDirectory directory of the store of notifications
+     * @param replayLogSegmentSize size of a segment of the store, in bytes
+     * @param replayLogSegments maximum number of segments of the store
+     * @throws IOException if replay is enabled and the store cannot be opened
+     */
+    public NetconfNotificationManager(final NotificationsTransformUtil transformUtil, final boolean replayLogEnabled,
+            final String replayLogDirectory, final int replayLogSegmentSize, final int replayLogSegments)
+            throws IOException {
+        this(transformUtil, replayLogEnabled
+            ? new NotificationReplayLog(replayLogDirectory, replayLogSegmentSize, replayLogSegments) : null);
+    }
+
+    /**
+     * Create a manager which stores notifications of all streams for replay.
+     *
+     * @param transformUtil notification transformation utility
+     * @param replayLog store of notifications to replay, or {@code null} if replay is not supported
+     */
+    public NetconfNotificationManager(final NotificationsTransformUtil transformUtil,
+            final @Nullable NotificationReplayLog replayLog) {
+        this(transformUtil, replayLog, Executors.newCachedThreadPool(new ThreadFactoryBuilder()
+            .setNameFormat("netconf-notification-dispatch-%d").setDaemon(true).build()));
+    }
+
+    @VisibleForTesting
+    NetconfNotificationManager(final NotificationsTransformUtil transformUtil,
+            final @Nullable NotificationReplayLog replayLog, final ExecutorService dispatchExecutor) {
         this.transformUtil = requireNonNull(transformUtil);
+        this.replayLog = replayLog;
+        this.dispatchExecutor = requireNonNull(dispatchExecutor);
+        replayWriter = replayLog == null ? null : MoreExecutors.newSequentialExecutor(dispatchExecutor);
     }
 
     @Override
-    public synchronized void onNotification(final StreamNameType stream, final NetconfNotification notification) {
+    public void onNotification(final StreamNameType stream, final NetconfNotification notification) {
         LOG.debug("Notification of type {} detected", stream);
         if (LOG.isTraceEnabled()) {
             LOG.debug("Notification of type {} detected: {}", stream, notification);
         }
 
-        for (final GenericNotificationListenerReg listenerReg : notificationListeners.get(stream)) {
-            listenerReg.getListener().onNotification(stream, notification);
+        try {
+            dispatcher(stream).execute(() -> dispatch(stream, notification));
+        } catch (RejectedExecutionException e) {
+            LOG.debug("Notification manager closed, dropping notification {}", notification, e);
+        }
+    }
+
+    private Executor dispatcher(final StreamNameType stream) {
+        return streamDispatchers.computeIfAbsent(stream, key -> MoreExecutors.newSequentialExecutor(dispatchExecutor));
+    }
+
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    private void dispatch(final StreamNameType stream, final NetconfNotification notification) {
+        final List<GenericNotificationListenerReg> listeners = listenerSnapshot.get(stream);
+        if (replayLog != null) {
+            // Stored in the order of dispatch, so that a listener registered with replay receives the notification
+            // exactly once, either replayed or from here, see registerNotificationListener()
+            store(stream, notification);
+        }
+        if (listeners.size() > 1) {
+            // the same notification is sent to many sessions, serialize it only once
+            notification.enableSharedSerialization();
+        }
+        for (final GenericNotificationListenerReg listenerReg : listeners) {
+            try {
+                listenerReg.getListener().onNotification(stream, notification);
+            } catch (RuntimeException e) {
+                LOG.warn("Listener {} failed to process notification {}", listenerReg.getListener(), notification, e);
+            }
         }
     }
 
@@ -111,6 +207,48 @@ public class NetconfNotificationManager implements NetconfNotificationCollector,
     public synchronized NotificationListenerRegistration registerNotificationListener(
             final StreamNameType stream,
             final NetconfNotificationListener listener) {
+        return registerListener(stream, listener);
+    }
+
+    @Override
+    public NotificationListenerRegistration registerNotificationListener(final StreamNameType stream,
+            final NetconfNotificationListener listener, final Date startTime) {
+        checkArgument(isReplaySupported(stream), "Replay of stream %s is not supported", stream.getValue());
+        requireNonNull(startTime);
+
+        final ReplayingListener replaying = new ReplayingListener(stream, requireNonNull(listener));
+        // The listener is registered by the dispatcher of the stream and the snapshot of the log is taken by its
+        // writer, so every notification is either stored before the snapshot or dispatched to the listener after it.
+        // The replay itself runs on its own, neither the lock nor the dispatcher wait for it.
+        dispatcher(stream).execute(() -> {
+            if (replaying.register()) {
+                replayWriter.execute(() -> {
+                    final NotificationReplayLog.Snapshot snapshot = replayLog.snapshot();
+                    dispatchExecutor.execute(() -> replaying.replay(snapshot, startTime));
+                });
+            }
+        });
+        return replaying;
+    }
+
+    private void store(final StreamNameType stream, final NetconfNotification notification) {
+        final byte[] content = NotificationReplayLog.serialize(notification);
+        try {
+            replayWriter.execute(() -> {
+                try {
+                    replayLog.append(stream, notification.getEventTime(), content);
+                } catch (IOException e) {
+                    LOG.warn("Failed to store notification {} for replay", notification, e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            LOG.debug("Notification manager closed, not storing notification {}", notification, e);
+        }
+    }
+
+    @GuardedBy("this")
+    private NotificationListenerRegistration registerListener(final StreamNameType stream,
+            final NetconfNotificationListener listener) {
         requireNonNull(stream);
         requireNonNull(listener);
 
@@ -127,9 +265,15 @@ public class NetconfNotificationManager implements NetconfNotificationCollector,
         };
 
         notificationListeners.put(stream, reg);
+        updateListenerSnapshot();
         return reg;
     }
 
+    // Needs to be called with this object locked
+    private void updateListenerSnapshot() {
+        listenerSnapshot = ImmutableListMultimap.copyOf(notificationListeners);
+    }
+
     @Override
     public synchronized Streams getNotificationPublishers() {
         return new StreamsBuilder().setStream(Maps.uniqueIndex(streamMetadata.values(), Stream::key)).build();
@@ -140,6 +284,12 @@ public class NetconfNotificationManager implements NetconfNotificationCollector,
         return availableStreams.contains(streamNameType);
     }
 
+    @Override
+    public synchronized boolean isReplaySupported(final StreamNameType streamNameType) {
+        final Stream stream = streamMetadata.get(streamNameType);
+        return stream != null && Boolean.TRUE.equals(stream.getReplaySupport());
+    }
+
     @Override
     public synchronized NotificationRegistration registerStreamListener(
             final NetconfNotificationStreamListener listener) {
@@ -158,13 +308,35 @@ public class NetconfNotificationManager implements NetconfNotificationCollector,
     }
 
     @Override
-    public synchronized void close() {
+    public void close() {
+        synchronized (this) {
+            closeRegistrations();
+        }
+
+        // Let stored notifications and replays in progress finish before the log is closed
+        dispatchExecutor.shutdown();
+        if (replayLog != null) {
+            try {
+                if (!dispatchExecutor.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    LOG.warn("Notification dispatch did not finish in {} seconds", CLOSE_TIMEOUT_SECONDS);
+                }
+            } catch (InterruptedException e) {
+                LOG.warn("Interrupted while waiting for notification dispatch to finish", e);
+                Thread.currentThread().interrupt();
+            }
+            replayLog.close();
+        }
+    }
+
+    // Needs to be called with this object locked
+    private void closeRegistrations() {
         // Unregister all listeners
         // Use new list to avoid ConcurrentModificationException
         for (final GenericNotificationListenerReg listenerReg : new ArrayList<>(notificationListeners.values())) {
             listenerReg.close();
         }
         notificationListeners.clear();
+        updateListenerSnapshot();
 
         // Unregister all publishers
         // Use new list to avoid ConcurrentModificationException
@@ -190,7 +362,7 @@ public class NetconfNotificationManager implements NetconfNotificationCollector,
             LOG.warn("Notification stream {} already registered as: {}. Will be reused", streamName,
                     streamMetadata.get(streamName));
         } else {
-            streamMetadata.put(streamName, stream);
+            streamMetadata.put(streamName, replayLog == null ? stream : withReplaySupport(stream));
         }
 
         availableStreams.add(streamName);
@@ -210,6 +382,14 @@ public class NetconfNotificationManager implements NetconfNotificationCollector,
         return reg;
     }
 
+    @GuardedBy("this")
+    private Stream withReplaySupport(final Stream stream) {
+        final StreamBuilder builder = new StreamBuilder(stream).setReplaySupport(true);
+        replayLog.oldestEventTime().ifPresent(oldest -> builder.setReplayLogCreationTime(
+            new DateAndTime(NetconfNotification.RFC3339_DATE_FORMATTER.apply(oldest))));
+        return builder.build();
+    }
+
     @SuppressFBWarnings(value = "UPM_UNCALLED_PRIVATE_METHOD",
             justification = "https://github.com/spotbugs/spotbugs/issues/811")
     private void unregisterNotificationPublisher(
@@ -368,6 +548,96 @@ public class NetconfNotificationManager implements NetconfNotificationCollector,
         @Override
         public void close() {
             notificationListeners.remove(listenedStream, this);
+            updateListenerSnapshot();
+        }
+    }
+
+    /**
+     * Listener registered with replay. New notifications dispatched while stored ones are replayed are held back and
+     * passed on once the replay is complete.
+     */
+    private final class ReplayingListener implements NetconfNotificationListener, NotificationListenerRegistration {
+        private final StreamNameType stream;
+        private final NetconfNotificationListener delegate;
+
+        // new notifications received while replaying, null once the replay is complete
+        @GuardedBy("this")
+        private List<NetconfNotification> pending = new ArrayList<>();
+        @GuardedBy("NetconfNotificationManager.this")
+        private NotificationListenerRegistration registration;
+        private volatile boolean closed;
+
+        ReplayingListener(final StreamNameType stream, final NetconfNotificationListener delegate) {
+            this.stream = stream;
+            this.delegate = delegate;
+        }
+
+        boolean register() {
+            synchronized (NetconfNotificationManager.this) {
+                if (closed) {
+                    return false;
+                }
+                registration = registerListener(stream, this);
+                return true;
+            }
+        }
+
+        @SuppressWarnings("checkstyle:IllegalCatch")
+        void replay(final NotificationReplayLog.Snapshot snapshot, final Date startTime) {
+            LOG.debug("Replaying notifications of stream {} since {}", stream, startTime);
+            snapshot.replay(stream, startTime, this::deliver);
+            if (!closed) {
+                try {
+                    delegate.onReplayComplete(stream);
+                } catch (RuntimeException e) {
+                    LOG.warn("Listener {} failed to process end of replay", delegate, e);
+                }
+            }
+
+            while (true) {
+                final List<NetconfNotification> received;
+                synchronized (this) {
+                    if (pending.isEmpty()) {
+                        pending = null;
+                        return;
+                    }
+                    received = pending;
+                    pending = new ArrayList<>();
+                }
+                received.forEach(this::deliver);
+            }
+        }
+
+        @SuppressWarnings("checkstyle:IllegalCatch")
+        private void deliver(final NetconfNotification notification) {
+            if (!closed) {
+                try {
+                    delegate.onNotification(stream, notification);
+                } catch (RuntimeException e) {
+                    LOG.warn("Listener {} failed to process notification {}", delegate, notification, e);
+                }
+            }
+        }
+
+        @Override
+        public void onNotification(final StreamNameType notificationStream, final NetconfNotification notification) {
+            synchronized (this) {
+                if (pending != null) {
+                    pending.add(notification);
+                    return;
+                }
+            }
+            delegate.onNotification(notificationStream, notification);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            synchronized (NetconfNotificationManager.this) {
+                if (registration != null) {
+                    registration.close();
+                }
+            }
         }
     }
 }
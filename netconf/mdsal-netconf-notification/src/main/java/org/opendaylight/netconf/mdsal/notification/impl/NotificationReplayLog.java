@@ -0,0 +1,464 @@
+/*
+ * Copyright (c) 2022 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.mdsal.notification.impl;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import org.opendaylight.netconf.api.xml.XmlUtil;
+import org.opendaylight.netconf.notifications.NetconfNotification;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.netconf.notification._1._0.rev080714.StreamNameType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.xml.sax.SAXException;
+
+/**
+ * Store of notifications for replay as defined by RFC5277. Notifications are appended to a log made of fixed-size,
+ * memory-mapped segment files. Once the configured number of segments is exceeded, the oldest segment is deleted.
+ * Segments present in the directory when the log is opened are recovered, so notifications survive a restart.
+ *
+ * <p>
+ * Each record holds the event time, the stream and the serialized content of a notification. A sparse index of the
+ * event times is kept in memory for each segment, so that replay skips records older than the requested start time
+ * without reading them. Records are parsed directly from the mapped segments.
+ *
+ * <p>
+ * The log has a single writer, {@link NetconfNotificationManager} appends to it from one thread at a time. Replay
+ * works on a {@link Snapshot} taken by the writer, which can be read by any thread while the writer keeps appending.
+ */
+public final class NotificationReplayLog implements AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(NotificationReplayLog.class);
+
+    private static final String SEGMENT_SUFFIX = ".log";
+    // length of the record body, event time, length of the stream name
+    private static final int RECORD_HEADER_SIZE = Integer.BYTES + Long.BYTES + Short.BYTES;
+    private static final int MAX_STREAM_NAME_LENGTH = 0xFFFF;
+    // distance between index entries of a segment, in bytes
+    @VisibleForTesting
+    static final int INDEX_INTERVAL = 64 * 1024;
+
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    private final Path directory;
+    private final int segmentSize;
+    private final int maxSegments;
+
+    private long nextSegmentId;
+    private long maxEventTime = Long.MIN_VALUE;
+    // read without synchronization when streams are advertised
+    private volatile Optional<Date> oldestEventTime = Optional.empty();
+
+    public NotificationReplayLog(final String directory, final int segmentSize, final int maxSegments)
+            throws IOException {
+        this(Paths.get(directory), segmentSize, maxSegments);
+    }
+
+    public NotificationReplayLog(final Path directory, final int segmentSize, final int maxSegments)
+            throws IOException {
+        checkArgument(segmentSize > RECORD_HEADER_SIZE, "Segment size %s is too small", segmentSize);
+        checkArgument(maxSegments > 0, "At least one segment is required, not %s", maxSegments);
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.maxSegments = maxSegments;
+
+        Files.createDirectories(directory);
+        recover();
+        LOG.info("Notification replay log in {} opened with {} segments", directory, segments.size());
+    }
+
+    /**
+     * Serialize the content of a notification for {@link #append(StreamNameType, Date, byte[])}. This does not
+     * require access to the log, so that it can be done before the log is locked.
+     *
+     * @param notification notification to serialize
+     * @return serialized content of the notification, without its event time
+     */
+    static byte[] serialize(final NetconfNotification notification) {
+        final Element root = notification.getDocument().getDocumentElement();
+        for (Node child = root.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child instanceof Element && !isEventTime((Element) child)) {
+                return XmlUtil.toString((Element) child, false).getBytes(StandardCharsets.UTF_8);
+            }
+        }
+        throw new IllegalArgumentException("Notification " + notification + " has no content");
+    }
+
+    private static boolean isEventTime(final Element element) {
+        return NetconfNotification.NOTIFICATION_NAMESPACE.equals(element.getNamespaceURI())
+            && "eventTime".equals(element.getLocalName());
+    }
+
+    /**
+     * Append a notification to the log.
+     *
+     * @param stream stream of the notification
+     * @param eventTime event time of the notification
+     * @param content serialized content of the notification, as produced by {@link #serialize(NetconfNotification)}
+     * @throws IOException if a new segment cannot be created
+     */
+    void append(final StreamNameType stream, final Date eventTime, final byte[] content) throws IOException {
+        final byte[] streamName = stream.getValue().getBytes(StandardCharsets.UTF_8);
+        checkArgument(streamName.length <= MAX_STREAM_NAME_LENGTH, "Stream name %s is too long", stream.getValue());
+        final int size = RECORD_HEADER_SIZE + streamName.length + content.length;
+        if (size > segmentSize) {
+            LOG.warn("Notification of {} bytes on stream {} does not fit into a segment, it will not be replayed",
+                content.length, stream.getValue());
+            return;
+        }
+
+        Segment segment = segments.peekLast();
+        if (segment == null || segment.remaining() < size) {
+            segment = createSegment();
+        }
+
+        final long time = eventTime.getTime();
+        segment.append(time, streamName, content, maxEventTime);
+        maxEventTime = Math.max(maxEventTime, time);
+        updateOldestEventTime();
+    }
+
+    /**
+     * Take a snapshot of the notifications appended so far. Must be called by the writer.
+     *
+     * @return snapshot of the log
+     */
+    Snapshot snapshot() {
+        return new Snapshot(segments.stream().map(Segment::snapshot).collect(Collectors.toList()));
+    }
+
+    /**
+     * Replay notifications of a stream whose event time is not earlier than the start time, in the order they were
+     * appended. Must be called by the writer.
+     *
+     * @param stream stream to replay
+     * @param startTime earliest event time to replay
+     * @param consumer consumer of the replayed notifications
+     */
+    void replay(final StreamNameType stream, final Date startTime, final Consumer<NetconfNotification> consumer) {
+        snapshot().replay(stream, startTime, consumer);
+    }
+
+    /**
+     * Return the event time of the oldest notification in the log.
+     *
+     * @return oldest event time, or empty if the log is empty
+     */
+    Optional<Date> oldestEventTime() {
+        return oldestEventTime;
+    }
+
+    private void updateOldestEventTime() {
+        oldestEventTime = segments.stream().filter(segment -> segment.position > 0).findFirst()
+            .map(segment -> new Date(segment.minEventTime));
+    }
+
+    @Override
+    public void close() {
+        final Segment last = segments.peekLast();
+        if (last != null) {
+            last.buffer.force();
+        }
+        segments.clear();
+    }
+
+    private void recover() throws IOException {
+        final List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+            stream.forEach(files::add);
+        }
+        // segment names are zero-padded identifiers, their order is the order of segments
+        files.sort(null);
+
+        for (Path file : files) {
+            final String name = file.getFileName().toString();
+            final long id;
+            try {
+                id = Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+            } catch (NumberFormatException e) {
+                LOG.warn("Ignoring unexpected file {} in notification replay log", file);
+                continue;
+            }
+            if (Files.size(file) != segmentSize) {
+                LOG.warn("Ignoring segment {} of a different size than {} bytes", file, segmentSize);
+                continue;
+            }
+
+            final Segment segment = new Segment(file, map(file));
+            maxEventTime = segment.recover(maxEventTime);
+            segments.addLast(segment);
+            nextSegmentId = id + 1;
+        }
+        trimSegments();
+        updateOldestEventTime();
+    }
+
+    private Segment createSegment() throws IOException {
+        final Path file = directory.resolve(String.format("%020d%s", nextSegmentId++, SEGMENT_SUFFIX));
+        final Segment segment = new Segment(file, map(file));
+        segments.addLast(segment);
+        trimSegments();
+        LOG.debug("Notification replay log segment {} created", file);
+        return segment;
+    }
+
+    private void trimSegments() throws IOException {
+        while (segments.size() > maxSegments) {
+            final Segment oldest = segments.removeFirst();
+            // the mapping is released once the buffer is collected, the file can be deleted while it is mapped
+            Files.deleteIfExists(oldest.file);
+            LOG.debug("Notification replay log segment {} deleted", oldest.file);
+        }
+        updateOldestEventTime();
+    }
+
+    private MappedByteBuffer map(final Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+    }
+
+    /**
+     * A segment file. A record starts with the length of its body, a zero length marks the end of the segment.
+     */
+    private static final class Segment {
+        final Path file;
+        final MappedByteBuffer buffer;
+
+        // offsets of indexed records and the maximum event time of all records before each of them
+        long[] indexOffsets = new long[8];
+        long[] indexTimes = new long[8];
+        int indexSize;
+
+        int position;
+        int nextIndexPosition;
+        long minEventTime = Long.MAX_VALUE;
+        long maxEventTime = Long.MIN_VALUE;
+
+        Segment(final Path file, final MappedByteBuffer buffer) {
+            this.file = file;
+            this.buffer = buffer;
+        }
+
+        int remaining() {
+            return buffer.capacity() - position;
+        }
+
+        void append(final long eventTime, final byte[] streamName, final byte[] content, final long maxTimeBefore) {
+            index(maxTimeBefore);
+            final int bodyStart = position + Integer.BYTES;
+            buffer.putLong(bodyStart, eventTime);
+            buffer.putShort(bodyStart + Long.BYTES, (short) streamName.length);
+            final ByteBuffer body = buffer.duplicate();
+            body.position(bodyStart + Long.BYTES + Short.BYTES);
+            body.put(streamName).put(content);
+            // the length is written last, so that an interrupted append leaves the end of segment mark in place
+            final int bodySize = Long.BYTES + Short.BYTES + streamName.length + content.length;
+            buffer.putInt(position, bodySize);
+            position = bodyStart + bodySize;
+            updateTimes(eventTime);
+        }
+
+        long recover(final long initialMaxTime) {
+            long maxTime = initialMaxTime;
+            while (remaining() >= RECORD_HEADER_SIZE) {
+                final int bodySize = buffer.getInt(position);
+                if (bodySize < RECORD_HEADER_SIZE - Integer.BYTES || bodySize > remaining() - Integer.BYTES) {
+                    break;
+                }
+                index(maxTime);
+                final long eventTime = buffer.getLong(position + Integer.BYTES);
+                updateTimes(eventTime);
+                maxTime = Math.max(maxTime, eventTime);
+                position += Integer.BYTES + bodySize;
+            }
+            return maxTime;
+        }
+
+        SegmentSnapshot snapshot() {
+            return new SegmentSnapshot(file, buffer, Arrays.copyOf(indexOffsets, indexSize),
+                Arrays.copyOf(indexTimes, indexSize), position, maxEventTime);
+        }
+
+        private void index(final long maxTimeBefore) {
+            if (position < nextIndexPosition) {
+                return;
+            }
+            if (indexSize == indexOffsets.length) {
+                indexOffsets = Arrays.copyOf(indexOffsets, indexSize * 2);
+                indexTimes = Arrays.copyOf(indexTimes, indexSize * 2);
+            }
+            indexOffsets[indexSize] = position;
+            indexTimes[indexSize] = maxTimeBefore;
+            indexSize++;
+            nextIndexPosition = position + INDEX_INTERVAL;
+        }
+
+        private void updateTimes(final long eventTime) {
+            minEventTime = Math.min(minEventTime, eventTime);
+            maxEventTime = Math.max(maxEventTime, eventTime);
+        }
+    }
+
+    /**
+     * Notifications appended to the log up to the time the snapshot was taken. Records within a snapshot are not
+     * modified by later appends, so the snapshot is read without coordinating with the writer. The segments stay
+     * mapped while the snapshot is referenced, even if they are deleted from the log in the meantime.
+     */
+    static final class Snapshot {
+        private final List<SegmentSnapshot> segments;
+
+        Snapshot(final List<SegmentSnapshot> segments) {
+            this.segments = segments;
+        }
+
+        /**
+         * Replay notifications of a stream whose event time is not earlier than the start time, in the order they
+         * were appended.
+         *
+         * @param stream stream to replay
+         * @param startTime earliest event time to replay
+         * @param consumer consumer of the replayed notifications
+         */
+        void replay(final StreamNameType stream, final Date startTime, final Consumer<NetconfNotification> consumer) {
+            final byte[] streamName = stream.getValue().getBytes(StandardCharsets.UTF_8);
+            final long start = startTime.getTime();
+            for (SegmentSnapshot segment : segments) {
+                if (segment.maxEventTime >= start) {
+                    segment.replay(streamName, start, consumer);
+                }
+            }
+        }
+    }
+
+    private static final class SegmentSnapshot {
+        private final Path file;
+        private final ByteBuffer buffer;
+        private final long[] indexOffsets;
+        private final long[] indexTimes;
+        private final int position;
+        private final long maxEventTime;
+
+        SegmentSnapshot(final Path file, final ByteBuffer buffer, final long[] indexOffsets, final long[] indexTimes,
+                final int position, final long maxEventTime) {
+            this.file = file;
+            this.buffer = buffer;
+            this.indexOffsets = indexOffsets;
+            this.indexTimes = indexTimes;
+            this.position = position;
+            this.maxEventTime = maxEventTime;
+        }
+
+        void replay(final byte[] streamName, final long startTime, final Consumer<NetconfNotification> consumer) {
+            int offset = indexOffsets.length == 0 ? 0 : (int) indexOffsets[startIndex(startTime)];
+            while (offset < position) {
+                final int bodySize = buffer.getInt(offset);
+                final int bodyStart = offset + Integer.BYTES;
+                offset = bodyStart + bodySize;
+
+                final long eventTime = buffer.getLong(bodyStart);
+                final int streamLength = Short.toUnsignedInt(buffer.getShort(bodyStart + Long.BYTES));
+                final int streamStart = bodyStart + Long.BYTES + Short.BYTES;
+                if (eventTime < startTime || !isStream(streamStart, streamLength, streamName)) {
+                    continue;
+                }
+
+                final ByteBuffer content = buffer.duplicate();
+                content.position(streamStart + streamLength).limit(offset);
+                final Document document;
+                try {
+                    document = XmlUtil.readXmlToDocument(new ByteBufferInputStream(content));
+                } catch (SAXException | IOException e) {
+                    LOG.warn("Failed to read notification from {} at {}, skipping it", file, bodyStart, e);
+                    continue;
+                }
+                consumer.accept(new NetconfNotification(document, new Date(eventTime)));
+            }
+        }
+
+        // index of the last entry before which all records are older than the start time
+        private int startIndex(final long startTime) {
+            int low = 0;
+            int high = indexTimes.length - 1;
+            while (low < high) {
+                final int mid = (low + high + 1) >>> 1;
+                if (indexTimes[mid] < startTime) {
+                    low = mid;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return low;
+        }
+
+        private boolean isStream(final int start, final int length, final byte[] streamName) {
+            if (length != streamName.length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (buffer.get(start + i) != streamName[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Input stream reading a buffer, so that records are parsed without being copied out of their segment.
+     */
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(final ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(final byte[] bytes, final int off, final int len) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            final int xfer = Math.min(len, buffer.remaining());
+            buffer.get(bytes, off, xfer);
+            return xfer;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
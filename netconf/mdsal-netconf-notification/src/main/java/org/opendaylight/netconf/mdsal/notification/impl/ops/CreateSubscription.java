@@ -7,17 +7,27 @@
  */
 package org.opendaylight.netconf.mdsal.notification.impl.ops;
 
-import static com.google.common.base.Preconditions.checkArgument;
 import static java.util.Objects.requireNonNull;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.opendaylight.netconf.api.DocumentedException;
 import org.opendaylight.netconf.api.NetconfSession;
 import org.opendaylight.netconf.api.xml.XmlElement;
 import org.opendaylight.netconf.api.xml.XmlNetconfConstants;
+import org.opendaylight.netconf.api.xml.XmlUtil;
+import org.opendaylight.netconf.mapping.api.IndexableNetconfOperation;
 import org.opendaylight.netconf.mapping.api.SessionAwareNetconfOperation;
 import org.opendaylight.netconf.mdsal.notification.impl.NetconfNotificationManager;
 import org.opendaylight.netconf.notifications.NetconfNotification;
@@ -28,6 +38,9 @@ import org.opendaylight.netconf.util.mapping.AbstractSingletonNetconfOperation;
 import org.opendaylight.netconf.util.messages.SubtreeFilter;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.netconf.notification._1._0.rev080714.CreateSubscriptionInput;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.netconf.notification._1._0.rev080714.StreamNameType;
+import org.opendaylight.yangtools.yang.common.ErrorSeverity;
+import org.opendaylight.yangtools.yang.common.ErrorTag;
+import org.opendaylight.yangtools.yang.common.ErrorType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
@@ -39,14 +52,16 @@ import org.w3c.dom.Element;
  * Received notifications are sent to the client right away
  */
 public class CreateSubscription extends AbstractSingletonNetconfOperation
-        implements SessionAwareNetconfOperation, AutoCloseable {
+        implements SessionAwareNetconfOperation, IndexableNetconfOperation, AutoCloseable {
 
     private static final Logger LOG = LoggerFactory.getLogger(CreateSubscription.class);
 
     static final String CREATE_SUBSCRIPTION = "create-subscription";
+    // Namespace of notifications which mark the end of replay and of the subscription, as defined by RFC5277
+    private static final String NETMOD_NOTIFICATION_NAMESPACE = "urn:ietf:params:xml:ns:netmod:notification";
 
     private final NetconfNotificationRegistry notifications;
-    private final List<NotificationListenerRegistration> subscriptions = new ArrayList<>();
+    private final List<NotificationSubscription> subscriptions = new ArrayList<>();
     private NetconfSession netconfSession;
 
     public CreateSubscription(final String netconfSessionIdForReporting,
@@ -66,17 +81,28 @@ public class CreateSubscription extends AbstractSingletonNetconfOperation
 
         final Optional<XmlElement> filter = operationElement.getOnlyChildElementWithSameNamespaceOptionally("filter");
 
-        // Replay not supported
-        final Optional<XmlElement> startTime =
-                operationElement.getOnlyChildElementWithSameNamespaceOptionally("startTime");
-        checkArgument(startTime.isEmpty(), "StartTime element not yet supported");
-
-        // Stop time not supported
-        final Optional<XmlElement> stopTime =
-                operationElement.getOnlyChildElementWithSameNamespaceOptionally("stopTime");
-        checkArgument(stopTime.isEmpty(), "StopTime element not yet supported");
+        final Optional<Date> startTime = parseTimeIfPresent(operationElement, "startTime");
+        final Optional<Date> stopTime = parseTimeIfPresent(operationElement, "stopTime");
+        if (stopTime.isPresent()) {
+            if (startTime.isEmpty()) {
+                throw new DocumentedException("StopTime requires startTime to be present",
+                        ErrorType.PROTOCOL, ErrorTag.MISSING_ELEMENT, ErrorSeverity.ERROR);
+            }
+            if (stopTime.get().before(startTime.get())) {
+                throw new DocumentedException("StopTime must not be earlier than startTime",
+                        ErrorType.PROTOCOL, ErrorTag.BAD_ELEMENT, ErrorSeverity.ERROR);
+            }
+        }
+        if (startTime.isPresent() && startTime.get().after(new Date())) {
+            throw new DocumentedException("StartTime must not be later than the current time",
+                    ErrorType.PROTOCOL, ErrorTag.BAD_ELEMENT, ErrorSeverity.ERROR);
+        }
 
         final StreamNameType streamNameType = parseStreamIfPresent(operationElement);
+        if (startTime.isPresent() && !notifications.isReplaySupported(streamNameType)) {
+            throw new DocumentedException("Replay is not supported by stream " + streamNameType.getValue(),
+                    ErrorType.PROTOCOL, ErrorTag.OPERATION_FAILED, ErrorSeverity.ERROR);
+        }
 
         requireNonNull(netconfSession);
         // Premature streams are allowed (meaning listener can register even if no provider is available yet)
@@ -85,13 +111,42 @@ public class CreateSubscription extends AbstractSingletonNetconfOperation
                     getNetconfSessionIdForReporting());
         }
 
-        final NotificationListenerRegistration notificationListenerRegistration = notifications
-                .registerNotificationListener(streamNameType, new NotificationSubscription(netconfSession, filter));
-        subscriptions.add(notificationListenerRegistration);
+        final NotificationSubscription subscription =
+                new NotificationSubscription(netconfSession, filter, stopTime.orElse(null));
+        // RFC5277 requires notifications, including replayed ones, to follow the reply to create-subscription
+        netconfSession.executeAfterCurrentMessage(() -> subscribe(streamNameType, subscription, startTime));
 
         return document.createElement(XmlNetconfConstants.OK);
     }
 
+    private synchronized void subscribe(final StreamNameType streamNameType,
+            final NotificationSubscription subscription, final Optional<Date> startTime) {
+        if (netconfSession == null) {
+            // closed in the meantime
+            return;
+        }
+        final NotificationListenerRegistration notificationListenerRegistration = startTime.isPresent()
+                ? notifications.registerNotificationListener(streamNameType, subscription, startTime.get())
+                : notifications.registerNotificationListener(streamNameType, subscription);
+        subscriptions.add(subscription);
+        subscription.setRegistration(notificationListenerRegistration);
+        subscription.scheduleStop();
+    }
+
+    private static Optional<Date> parseTimeIfPresent(final XmlElement operationElement, final String name)
+            throws DocumentedException {
+        final Optional<XmlElement> time = operationElement.getOnlyChildElementWithSameNamespaceOptionally(name);
+        if (time.isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(NetconfNotification.RFC3339_DATE_PARSER.apply(time.get().getTextContent()));
+        } catch (DateTimeParseException e) {
+            throw new DocumentedException("Invalid " + name + " " + time.get().getTextContent(), e,
+                    ErrorType.PROTOCOL, ErrorTag.BAD_ELEMENT, ErrorSeverity.ERROR);
+        }
+    }
+
     private static StreamNameType parseStreamIfPresent(final XmlElement operationElement) throws DocumentedException {
         final Optional<XmlElement> stream = operationElement.getOnlyChildElementWithSameNamespaceOptionally("stream");
         return stream.isPresent() ? new StreamNameType(stream.get().getTextContent())
@@ -114,10 +169,10 @@ public class CreateSubscription extends AbstractSingletonNetconfOperation
     }
 
     @Override
-    public void close() {
+    public synchronized void close() {
         netconfSession = null;
         // Unregister from notification streams
-        for (final NotificationListenerRegistration subscription : subscriptions) {
+        for (final NotificationSubscription subscription : subscriptions) {
             subscription.close();
         }
     }
@@ -125,21 +180,78 @@ public class CreateSubscription extends AbstractSingletonNetconfOperation
     private static class NotificationSubscription implements NetconfNotificationListener {
         private final NetconfSession currentSession;
         private final Optional<XmlElement> filter;
+        // Serialized filter, subscriptions with the same one receive the same filtered notifications
+        private final String filterKey;
+        private final Date stopTime;
+        private final AtomicBoolean completed = new AtomicBoolean();
+
+        private volatile NotificationListenerRegistration registration;
+        private volatile boolean replayCompleted;
+        private volatile Future<?> stopTimer;
 
-        NotificationSubscription(final NetconfSession currentSession, final Optional<XmlElement> filter) {
+        NotificationSubscription(final NetconfSession currentSession, final Optional<XmlElement> filter,
+                final Date stopTime) {
             this.currentSession = currentSession;
             this.filter = filter;
+            this.stopTime = stopTime;
+            filterKey = filter.map(element -> XmlUtil.toString(element.getDomElement())).orElse(null);
+        }
+
+        void setRegistration(final NotificationListenerRegistration registration) {
+            this.registration = registration;
+            if (completed.get()) {
+                // completed while replaying, before the registration was known
+                registration.close();
+            }
+        }
+
+        /**
+         * Complete the subscription once stopTime passes, even if the stream stays quiet. If replay is still in
+         * progress by then, the subscription completes when it finishes, see {@link #onReplayComplete(StreamNameType)}.
+         */
+        void scheduleStop() {
+            if (stopTime == null) {
+                return;
+            }
+            final long delay = stopTime.getTime() - System.currentTimeMillis();
+            if (delay > 0) {
+                final Future<?> timer = currentSession.schedule(() -> {
+                    if (replayCompleted) {
+                        complete();
+                    }
+                }, delay, TimeUnit.MILLISECONDS);
+                stopTimer = timer;
+                if (completed.get()) {
+                    // completed before the timer was known
+                    timer.cancel(false);
+                }
+            }
+        }
+
+        @Override
+        public void onReplayComplete(final StreamNameType stream) {
+            currentSession.sendMessage(new NetconfNotification(netmodNotification("replayComplete")));
+            replayCompleted = true;
+            if (stopTime != null && !stopTime.after(new Date())) {
+                complete();
+            }
         }
 
         @Override
         public void onNotification(final StreamNameType stream, final NetconfNotification notification) {
+            if (completed.get()) {
+                return;
+            }
+            if (stopTime != null && notification.getEventTime().after(stopTime)) {
+                complete();
+                return;
+            }
             if (filter.isPresent()) {
                 try {
-                    final Optional<Document> filtered =
-                            SubtreeFilter.applySubtreeNotificationFilter(this.filter.get(), notification.getDocument());
+                    final Optional<NetconfNotification> filtered =
+                            FilteredNotifications.of(notification).filter(filterKey, filter.get());
                     if (filtered.isPresent()) {
-                        final Date eventTime = notification.getEventTime();
-                        currentSession.sendMessage(new NetconfNotification(filtered.get(), eventTime));
+                        currentSession.sendMessage(filtered.get());
                     }
                 } catch (DocumentedException e) {
                     LOG.warn("Failed to process notification {}", notification, e);
@@ -149,5 +261,83 @@ public class CreateSubscription extends AbstractSingletonNetconfOperation
                 currentSession.sendMessage(notification);
             }
         }
+
+        private void complete() {
+            if (completed.compareAndSet(false, true)) {
+                currentSession.sendMessage(new NetconfNotification(netmodNotification("notificationComplete")));
+                release();
+            }
+        }
+
+        void close() {
+            if (completed.compareAndSet(false, true)) {
+                release();
+            }
+        }
+
+        private void release() {
+            final Future<?> timer = stopTimer;
+            if (timer != null) {
+                timer.cancel(false);
+            }
+            final NotificationListenerRegistration reg = registration;
+            if (reg != null) {
+                reg.close();
+            }
+        }
+
+        private static Document netmodNotification(final String name) {
+            final Document document = XmlUtil.newDocument();
+            document.appendChild(XmlUtil.createElement(document, name, Optional.of(NETMOD_NOTIFICATION_NAMESPACE)));
+            return document;
+        }
+    }
+
+    /**
+     * Results of filtering a notification, kept while the notification is referenced, so that it is filtered only
+     * once for all subscriptions with the same filter.
+     */
+    private static final class FilteredNotifications {
+        // Weak keys are compared by identity, notifications are delivered to all subscriptions as the same instance
+        private static final Cache<NetconfNotification, FilteredNotifications> CACHE = CacheBuilder.newBuilder()
+            .weakKeys().build();
+
+        private final ConcurrentMap<String, Optional<NetconfNotification>> filtered = new ConcurrentHashMap<>();
+        private final NetconfNotification notification;
+
+        private FilteredNotifications(final NetconfNotification notification) {
+            this.notification = notification;
+        }
+
+        static FilteredNotifications of(final NetconfNotification notification) {
+            try {
+                return CACHE.get(notification, () -> new FilteredNotifications(notification));
+            } catch (ExecutionException e) {
+                // the loader does not throw
+                throw new IllegalStateException(e);
+            }
+        }
+
+        Optional<NetconfNotification> filter(final String filterKey, final XmlElement filter)
+                throws DocumentedException {
+            final Optional<NetconfNotification> existing = filtered.get(filterKey);
+            if (existing != null) {
+                return existing;
+            }
+
+            // filtering modifies the document, the notification itself is still sent to other subscriptions
+            final Optional<NetconfNotification> result = SubtreeFilter.applySubtreeNotificationFilter(filter,
+                (Document) notification.getDocument().cloneNode(true)).map(this::toNotification);
+            final Optional<NetconfNotification> raced = filtered.putIfAbsent(filterKey, result);
+            return raced != null ? raced : result;
+        }
+
+        private NetconfNotification toNotification(final Document document) {
+            final Date eventTime = notification.getEventTime();
+            final NetconfNotification result = new NetconfNotification(document, eventTime);
+            // all subscriptions with the same filter are sent the same notification
+            result.enableSharedSerialization();
+            return result;
+        }
     }
 }
@@ -8,25 +8,39 @@
 package org.opendaylight.netconf.mdsal.notification.impl;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 
 import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.text.SimpleDateFormat;
 import java.time.Instant;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import org.junit.Assert;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.opendaylight.mdsal.binding.dom.codec.impl.DefaultBindingDOMCodecFactory;
 import org.opendaylight.mdsal.binding.generator.impl.DefaultBindingRuntimeGenerator;
@@ -49,6 +63,9 @@ import org.opendaylight.yangtools.yang.parser.impl.DefaultYangParserFactory;
 public class NetconfNotificationManagerTest {
     public static final String RFC3339_DATE_FORMAT_WITH_MILLIS_BLUEPRINT = "yyyy-MM-dd'T'HH:mm:ss.SSSXXX";
 
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     @Test
     public void testEventTime() throws Exception {
         //Testing values with SimpleDateFormat
@@ -245,8 +262,133 @@ public class NetconfNotificationManagerTest {
         verify(streamListener).onStreamUnregistered(NetconfNotificationManager.BASE_STREAM_NAME);
     }
 
+    @Test
+    public void testReplay() throws Exception {
+        final NetconfNotificationManager netconfNotificationManager = new NetconfNotificationManager(
+            createTransformUtil(), new NotificationReplayLog(folder.getRoot().toPath(), 64 * 1024, 2),
+            MoreExecutors.newDirectExecutorService());
+        final StreamNameType testStreamName = new StreamNameType("TEST_STREAM");
+        assertFalse(netconfNotificationManager.isReplaySupported(testStreamName));
+        netconfNotificationManager.registerNotificationPublisher(new StreamBuilder().setName(testStreamName)
+            .setReplaySupport(false).build());
+        assertTrue(netconfNotificationManager.isReplaySupported(testStreamName));
+
+        netconfNotificationManager.onNotification(testStreamName, notification("first", 1000));
+        netconfNotificationManager.onNotification(testStreamName, notification("second", 2000));
+
+        final NetconfNotificationListener listener = mock(NetconfNotificationListener.class);
+        netconfNotificationManager.registerNotificationListener(testStreamName, listener, new Date(1500));
+        final NetconfNotification live = notification("third", 3000);
+        netconfNotificationManager.onNotification(testStreamName, live);
+
+        // replayed notifications are followed by the end of replay and new notifications
+        final ArgumentCaptor<NetconfNotification> replayed = ArgumentCaptor.forClass(NetconfNotification.class);
+        final InOrder inOrder = inOrder(listener);
+        inOrder.verify(listener).onNotification(eq(testStreamName), replayed.capture());
+        inOrder.verify(listener).onReplayComplete(testStreamName);
+        inOrder.verify(listener).onNotification(testStreamName, live);
+        verifyNoMoreInteractions(listener);
+
+        assertEquals(new Date(2000), replayed.getValue().getEventTime());
+        assertTrue(XmlUtil.toString(replayed.getValue().getDocument()).contains("second"));
+        netconfNotificationManager.close();
+    }
+
+    @Test
+    public void testReplayLogDisabled() throws Exception {
+        final Path directory = folder.getRoot().toPath().resolve("replay");
+        final NetconfNotificationManager netconfNotificationManager = new NetconfNotificationManager(
+            createTransformUtil(), false, directory.toString(), 64 * 1024, 2);
+        final StreamNameType testStreamName = new StreamNameType("TEST_STREAM");
+        netconfNotificationManager.registerNotificationPublisher(new StreamBuilder().setName(testStreamName)
+            .setReplaySupport(false).build());
+
+        assertFalse(netconfNotificationManager.isReplaySupported(testStreamName));
+        assertFalse(Files.exists(directory));
+        netconfNotificationManager.close();
+    }
+
+    @Test
+    public void testDispatchKeepsStreamOrder() throws Exception {
+        final NetconfNotificationManager netconfNotificationManager =
+            new NetconfNotificationManager(createTransformUtil());
+        final StreamNameType testStreamName = new StreamNameType("TEST_STREAM");
+        final List<Date> received = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch done = new CountDownLatch(100);
+        netconfNotificationManager.registerNotificationListener(testStreamName, new NetconfNotificationListener() {
+            @Override
+            public void onNotification(final StreamNameType stream, final NetconfNotification notification) {
+                received.add(notification.getEventTime());
+                done.countDown();
+            }
+        });
+
+        final List<Date> published = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            final NetconfNotification notification = notification("test", i);
+            published.add(notification.getEventTime());
+            netconfNotificationManager.onNotification(testStreamName, notification);
+        }
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertEquals(published, received);
+        netconfNotificationManager.close();
+    }
+
+    @Test(timeout = 10000)
+    public void testNotificationsDuringReplayFollowIt() throws Exception {
+        final NetconfNotificationManager netconfNotificationManager = new NetconfNotificationManager(
+            createTransformUtil(), new NotificationReplayLog(folder.getRoot().toPath(), 64 * 1024, 2));
+        final StreamNameType testStreamName = new StreamNameType("TEST_STREAM");
+        netconfNotificationManager.registerNotificationPublisher(new StreamBuilder().setName(testStreamName)
+            .setReplaySupport(false).build());
+        netconfNotificationManager.onNotification(testStreamName, notification("first", 1000));
+
+        final CountDownLatch replaying = new CountDownLatch(1);
+        final CountDownLatch livePublished = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(3);
+        final List<String> received = Collections.synchronizedList(new ArrayList<>());
+        netconfNotificationManager.registerNotificationListener(testStreamName, new NetconfNotificationListener() {
+            @Override
+            public void onNotification(final StreamNameType stream, final NetconfNotification notification) {
+                received.add(String.valueOf(notification.getEventTime().getTime()));
+                replaying.countDown();
+                try {
+                    livePublished.await();
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                done.countDown();
+            }
+
+            @Override
+            public void onReplayComplete(final StreamNameType stream) {
+                received.add("replayComplete");
+                done.countDown();
+            }
+        }, new Date(500));
+
+        // the replay is in progress, a new notification is held back until it completes
+        replaying.await();
+        netconfNotificationManager.onNotification(testStreamName, notification("second", 2000));
+        livePublished.countDown();
+
+        done.await();
+        assertEquals(List.of("1000", "replayComplete", "2000"), received);
+        netconfNotificationManager.close();
+    }
+
+    private static NetconfNotification notification(final String name, final long eventTime) throws Exception {
+        return new NetconfNotification(XmlUtil.readXmlToDocument("<" + name + " xmlns=\"urn:test\"/>"),
+            new Date(eventTime));
+    }
+
     private static NetconfNotificationManager createManager() throws YangParserException {
-        return new NetconfNotificationManager(new NotificationsTransformUtil(new DefaultYangParserFactory(),
-            new DefaultBindingRuntimeGenerator(), new DefaultBindingDOMCodecFactory()));
+        return new NetconfNotificationManager(createTransformUtil(), null, MoreExecutors.newDirectExecutorService());
+    }
+
+    private static NotificationsTransformUtil createTransformUtil() throws YangParserException {
+        return new NotificationsTransformUtil(new DefaultYangParserFactory(), new DefaultBindingRuntimeGenerator(),
+            new DefaultBindingDOMCodecFactory());
     }
 }
\ No newline at end of file
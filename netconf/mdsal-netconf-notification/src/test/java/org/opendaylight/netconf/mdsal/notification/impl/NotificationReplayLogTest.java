@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2022 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.mdsal.notification.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.opendaylight.netconf.api.xml.XmlUtil;
+import org.opendaylight.netconf.notifications.NetconfNotification;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.netconf.notification._1._0.rev080714.StreamNameType;
+
+public class NotificationReplayLogTest {
+    private static final StreamNameType STREAM = new StreamNameType("TEST_STREAM");
+    private static final StreamNameType OTHER_STREAM = new StreamNameType("OTHER_STREAM");
+    private static final int SEGMENT_SIZE = 4 * 1024;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path directory;
+
+    @Before
+    public void setUp() {
+        directory = folder.getRoot().toPath();
+    }
+
+    @Test
+    public void testReplay() throws Exception {
+        try (NotificationReplayLog log = new NotificationReplayLog(directory, SEGMENT_SIZE, 4)) {
+            append(log, STREAM, "a", 1000);
+            append(log, OTHER_STREAM, "b", 2000);
+            append(log, STREAM, "c", 3000);
+            append(log, STREAM, "d", 4000);
+
+            assertEquals(List.of("a", "c", "d"), replay(log, STREAM, 0));
+            assertEquals(List.of("c", "d"), replay(log, STREAM, 3000));
+            assertEquals(List.of("b"), replay(log, OTHER_STREAM, 1500));
+            assertEquals(List.of(), replay(log, STREAM, 5000));
+            assertEquals(Optional.of(new Date(1000)), log.oldestEventTime());
+        }
+    }
+
+    @Test
+    public void testReplayUnordered() throws Exception {
+        try (NotificationReplayLog log = new NotificationReplayLog(directory, 1024 * 1024, 1)) {
+            // enough records for several index entries, with event times out of order
+            final List<String> expected = new ArrayList<>();
+            for (int i = 0; i < 2000; i++) {
+                final long eventTime = i % 2 == 0 ? i : 2000 - i;
+                final String name = "n" + i;
+                append(log, STREAM, name, "x".repeat(100), eventTime);
+                if (eventTime >= 1000) {
+                    expected.add(name);
+                }
+            }
+            assertEquals(expected, replay(log, STREAM, 1000));
+        }
+    }
+
+    @Test
+    public void testRecovery() throws Exception {
+        try (NotificationReplayLog log = new NotificationReplayLog(directory, SEGMENT_SIZE, 4)) {
+            append(log, STREAM, "a", 1000);
+            append(log, STREAM, "b", 2000);
+        }
+
+        try (NotificationReplayLog log = new NotificationReplayLog(directory, SEGMENT_SIZE, 4)) {
+            assertEquals(List.of("b"), replay(log, STREAM, 1500));
+            append(log, STREAM, "c", 3000);
+            assertEquals(List.of("a", "b", "c"), replay(log, STREAM, 0));
+        }
+    }
+
+    @Test
+    public void testRetention() throws Exception {
+        try (NotificationReplayLog log = new NotificationReplayLog(directory, SEGMENT_SIZE, 2)) {
+            // each record takes more than a third of a segment, so every two records fill a segment
+            for (int i = 0; i < 10; i++) {
+                append(log, STREAM, "n" + i, "x".repeat(SEGMENT_SIZE / 3), i);
+            }
+            assertEquals(List.of("n6", "n7", "n8", "n9"), replay(log, STREAM, 0));
+            try (Stream<Path> files = Files.list(directory)) {
+                assertEquals(2, files.count());
+            }
+        }
+    }
+
+    @Test
+    public void testInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new NotificationReplayLog(directory, 8, 1));
+        assertThrows(IllegalArgumentException.class, () -> new NotificationReplayLog(directory, SEGMENT_SIZE, 0));
+    }
+
+    private static void append(final NotificationReplayLog log, final StreamNameType stream, final String name,
+            final long eventTime) throws Exception {
+        append(log, stream, name, "", eventTime);
+    }
+
+    private static void append(final NotificationReplayLog log, final StreamNameType stream, final String name,
+            final String text, final long eventTime) throws Exception {
+        final NetconfNotification notification = new NetconfNotification(
+            XmlUtil.readXmlToDocument("<" + name + " xmlns=\"urn:test\">" + text + "</" + name + ">"),
+            new Date(eventTime));
+        log.append(stream, notification.getEventTime(), NotificationReplayLog.serialize(notification));
+    }
+
+    private static List<String> replay(final NotificationReplayLog log, final StreamNameType stream,
+            final long startTime) {
+        final List<String> names = new ArrayList<>();
+        log.replay(stream, new Date(startTime), notification -> {
+            assertEquals(NetconfNotification.NOTIFICATION, notification.getDocument().getDocumentElement()
+                .getLocalName());
+            names.add(notification.getDocument().getDocumentElement().getElementsByTagNameNS("urn:test", "*")
+                .item(0).getLocalName());
+        });
+        return names;
+    }
+}
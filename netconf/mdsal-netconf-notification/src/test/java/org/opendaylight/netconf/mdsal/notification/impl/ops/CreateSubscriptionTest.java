@@ -9,22 +9,39 @@ package org.opendaylight.netconf.mdsal.notification.impl.ops;
 
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.opendaylight.netconf.api.DocumentedException;
+import org.opendaylight.netconf.api.NetconfMessage;
 import org.opendaylight.netconf.api.NetconfSession;
 import org.opendaylight.netconf.api.xml.XmlElement;
 import org.opendaylight.netconf.api.xml.XmlUtil;
+import org.opendaylight.netconf.notifications.NetconfNotification;
 import org.opendaylight.netconf.notifications.NetconfNotificationListener;
 import org.opendaylight.netconf.notifications.NetconfNotificationRegistry;
 import org.opendaylight.netconf.notifications.NotificationListenerRegistration;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.netconf.notification._1._0.rev080714.StreamNameType;
+import org.opendaylight.yangtools.yang.common.ErrorTag;
 import org.w3c.dom.Element;
 
 @RunWith(MockitoJUnitRunner.StrictStubs.class)
@@ -35,6 +52,10 @@ public class CreateSubscriptionTest {
             + "xmlns:netconf=\"urn:ietf:params:xml:ns:netconf:base:1.0\">\n"
             + "<stream>TESTSTREAM</stream>"
             + "</create-subscription>";
+    private static final String CREATE_FILTERED_SUBSCRIPTION_XML = "<create-subscription\n"
+            + "xmlns=\"urn:ietf:params:xml:ns:netconf:notification:1.0\">\n"
+            + "<filter type=\"subtree\"><event xmlns=\"urn:foo\"><a/></event></filter>"
+            + "</create-subscription>";
 
     @Mock
     private NetconfNotificationRegistry notificationRegistry;
@@ -49,7 +70,8 @@ public class CreateSubscriptionTest {
     @Test
     public void testHandleWithNoSubsequentOperations() throws Exception {
         final CreateSubscription createSubscription = new CreateSubscription("id", notificationRegistry);
-        createSubscription.setSession(mock(NetconfSession.class));
+        final NetconfSession session = mock(NetconfSession.class);
+        createSubscription.setSession(session);
 
         final Element e = XmlUtil.readXmlToElement(CREATE_SUBSCRIPTION_XML);
 
@@ -58,5 +80,150 @@ public class CreateSubscriptionTest {
                 createSubscription.handleWithNoSubsequentOperations(XmlUtil.newDocument(), operationElement);
 
         assertThat(XmlUtil.toString(element), containsString("ok"));
+
+        // the listener is registered only once the reply is on its way
+        final ArgumentCaptor<Runnable> subscribe = ArgumentCaptor.forClass(Runnable.class);
+        verify(session).executeAfterCurrentMessage(subscribe.capture());
+        verify(notificationRegistry, never()).registerNotificationListener(any(StreamNameType.class),
+                any(NetconfNotificationListener.class));
+        subscribe.getValue().run();
+        verify(notificationRegistry).registerNotificationListener(any(StreamNameType.class),
+                any(NetconfNotificationListener.class));
+    }
+
+    @Test
+    public void testSameFilterSharesNotification() throws Exception {
+        final NetconfSession first = mockSession();
+        final NetconfSession second = mockSession();
+        subscribe(first, CREATE_SUBSCRIPTION_XML);
+        subscribe(first, CREATE_FILTERED_SUBSCRIPTION_XML);
+        subscribe(second, CREATE_FILTERED_SUBSCRIPTION_XML);
+        final ArgumentCaptor<NetconfNotificationListener> listeners =
+                ArgumentCaptor.forClass(NetconfNotificationListener.class);
+        verify(notificationRegistry, times(3))
+                .registerNotificationListener(any(StreamNameType.class), listeners.capture());
+
+        final NetconfNotification notification = new NetconfNotification(
+                XmlUtil.readXmlToDocument("<event xmlns=\"urn:foo\"><a>1</a><b>2</b></event>"), new Date());
+        for (final NetconfNotificationListener listener : listeners.getAllValues()) {
+            listener.onNotification(new StreamNameType("TESTSTREAM"), notification);
+        }
+
+        final ArgumentCaptor<NetconfMessage> firstSent = ArgumentCaptor.forClass(NetconfMessage.class);
+        verify(first, times(2)).sendMessage(firstSent.capture());
+        final ArgumentCaptor<NetconfMessage> secondSent = ArgumentCaptor.forClass(NetconfMessage.class);
+        verify(second).sendMessage(secondSent.capture());
+
+        // unfiltered subscription gets the original notification, filtering does not modify it
+        assertSame(notification, firstSent.getAllValues().get(0));
+        assertThat(XmlUtil.toString(notification.getDocument()), containsString("<b>2</b>"));
+        assertThat(XmlUtil.toString(notification.getDocument()), containsString("eventTime"));
+
+        // the notification is filtered once and shared by both subscriptions with the same filter
+        final NetconfMessage filtered = firstSent.getAllValues().get(1);
+        assertSame(filtered, secondSent.getValue());
+        assertTrue(filtered.getSharedSerialization().isPresent());
+        assertThat(XmlUtil.toString(filtered.getDocument()), containsString("<a>1</a>"));
+    }
+
+    @Test
+    public void testReplay() throws Exception {
+        final NotificationListenerRegistration registration = mock(NotificationListenerRegistration.class);
+        doReturn(true).when(notificationRegistry).isReplaySupported(any(StreamNameType.class));
+        doReturn(registration).when(notificationRegistry).registerNotificationListener(any(StreamNameType.class),
+                any(NetconfNotificationListener.class), any(Date.class));
+        final NetconfSession session = mockSession();
+        subscribe(session, replayRequest("<startTime>2022-01-01T00:00:00Z</startTime>"
+                + "<stopTime>2022-01-02T00:00:00Z</stopTime>"));
+
+        final ArgumentCaptor<NetconfNotificationListener> listener =
+                ArgumentCaptor.forClass(NetconfNotificationListener.class);
+        verify(notificationRegistry).registerNotificationListener(eq(new StreamNameType("TESTSTREAM")),
+                listener.capture(), eq(NetconfNotification.RFC3339_DATE_PARSER.apply("2022-01-01T00:00:00Z")));
+
+        // replay ends after stopTime, so the subscription completes right after replayComplete
+        listener.getValue().onReplayComplete(new StreamNameType("TESTSTREAM"));
+        final ArgumentCaptor<NetconfMessage> sent = ArgumentCaptor.forClass(NetconfMessage.class);
+        verify(session, times(2)).sendMessage(sent.capture());
+        assertThat(XmlUtil.toString(sent.getAllValues().get(0).getDocument()), containsString("replayComplete"));
+        assertThat(XmlUtil.toString(sent.getAllValues().get(1).getDocument()), containsString("notificationComplete"));
+        verify(registration).close();
+    }
+
+    @Test
+    public void testStopTimeOnQuietStream() throws Exception {
+        final NotificationListenerRegistration registration = mock(NotificationListenerRegistration.class);
+        doReturn(true).when(notificationRegistry).isReplaySupported(any(StreamNameType.class));
+        doReturn(registration).when(notificationRegistry).registerNotificationListener(any(StreamNameType.class),
+                any(NetconfNotificationListener.class), any(Date.class));
+        final NetconfSession session = mockSession();
+        final long now = System.currentTimeMillis();
+        final String startTime = NetconfNotification.RFC3339_DATE_FORMATTER.apply(new Date(now - 3600000));
+        final String stopTime = NetconfNotification.RFC3339_DATE_FORMATTER.apply(new Date(now + 3600000));
+        subscribe(session, replayRequest("<startTime>" + startTime + "</startTime><stopTime>" + stopTime
+            + "</stopTime>"));
+
+        final ArgumentCaptor<NetconfNotificationListener> listener =
+                ArgumentCaptor.forClass(NetconfNotificationListener.class);
+        verify(notificationRegistry).registerNotificationListener(any(StreamNameType.class), listener.capture(),
+                any(Date.class));
+        final ArgumentCaptor<Runnable> stop = ArgumentCaptor.forClass(Runnable.class);
+        verify(session).schedule(stop.capture(), anyLong(), eq(TimeUnit.MILLISECONDS));
+
+        // stopTime is in the future, so the subscription outlives replay
+        listener.getValue().onReplayComplete(new StreamNameType("TESTSTREAM"));
+        verify(session).sendMessage(any(NetconfMessage.class));
+        verify(registration, never()).close();
+
+        // no notification arrives, the subscription still completes once stopTime passes
+        stop.getValue().run();
+        final ArgumentCaptor<NetconfMessage> sent = ArgumentCaptor.forClass(NetconfMessage.class);
+        verify(session, times(2)).sendMessage(sent.capture());
+        assertThat(XmlUtil.toString(sent.getAllValues().get(1).getDocument()), containsString("notificationComplete"));
+        verify(registration).close();
+    }
+
+    @Test
+    public void testReplayNotSupported() throws Exception {
+        final DocumentedException ex = assertThrows(DocumentedException.class,
+            () -> subscribe(mock(NetconfSession.class), replayRequest("<startTime>2022-01-01T00:00:00Z</startTime>")));
+        assertEquals(ErrorTag.OPERATION_FAILED, ex.getErrorTag());
+    }
+
+    @Test
+    public void testInvalidReplayTimes() throws Exception {
+        assertEquals(ErrorTag.MISSING_ELEMENT, assertThrows(DocumentedException.class,
+            () -> subscribe(mock(NetconfSession.class), replayRequest("<stopTime>2022-01-01T00:00:00Z</stopTime>")))
+            .getErrorTag());
+        assertEquals(ErrorTag.BAD_ELEMENT, assertThrows(DocumentedException.class,
+            () -> subscribe(mock(NetconfSession.class), replayRequest("<startTime>2022-01-02T00:00:00Z</startTime>"
+                + "<stopTime>2022-01-01T00:00:00Z</stopTime>"))).getErrorTag());
+        assertEquals(ErrorTag.BAD_ELEMENT, assertThrows(DocumentedException.class,
+            () -> subscribe(mock(NetconfSession.class), replayRequest("<startTime>2999-01-01T00:00:00Z</startTime>")))
+            .getErrorTag());
+        assertEquals(ErrorTag.BAD_ELEMENT, assertThrows(DocumentedException.class,
+            () -> subscribe(mock(NetconfSession.class), replayRequest("<startTime>yesterday</startTime>")))
+            .getErrorTag());
+    }
+
+    private static String replayRequest(final String times) {
+        return "<create-subscription xmlns=\"urn:ietf:params:xml:ns:netconf:notification:1.0\">"
+                + "<stream>TESTSTREAM</stream>" + times + "</create-subscription>";
+    }
+
+    private static NetconfSession mockSession() {
+        final NetconfSession session = mock(NetconfSession.class);
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(session).executeAfterCurrentMessage(any(Runnable.class));
+        return session;
+    }
+
+    private void subscribe(final NetconfSession session, final String request) throws Exception {
+        final CreateSubscription createSubscription = new CreateSubscription("id", notificationRegistry);
+        createSubscription.setSession(session);
+        createSubscription.handleWithNoSubsequentOperations(XmlUtil.newDocument(),
+            XmlElement.fromDomElement(XmlUtil.readXmlToElement(request)));
     }
 }
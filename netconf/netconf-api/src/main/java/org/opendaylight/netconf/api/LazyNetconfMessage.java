@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2022 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.api;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import org.opendaylight.netconf.api.xml.XmlUtil;
+import org.opendaylight.yangtools.util.xml.UntrustedXML;
+import org.w3c.dom.Document;
+import org.xml.sax.SAXException;
+
+/**
+ * A {@link NetconfMessage} backed by the serialized form of a received message. The DOM {@link Document} is only
+ * constructed when {@link #getDocument()} is first invoked. Consumers capable of processing the message as a stream
+ * should use {@link #openStream()} instead and avoid the DOM altogether.
+ *
+ * <p>
+ * The message is scanned once when it is created, which verifies it is well-formed and captures the root element
+ * name, its unqualified attributes and the names of its immediate children. That is sufficient for request/reply
+ * correlation and error detection without building the DOM.
+ */
+@Beta
+public final class LazyNetconfMessage extends NetconfMessage {
+    private final byte[] bytes;
+    private final QName rootElement;
+    private final ImmutableMap<String, String> rootAttributes;
+    private final ImmutableList<QName> rootChildren;
+
+    private volatile Document document;
+
+    private LazyNetconfMessage(final byte[] bytes, final QName rootElement,
+            final ImmutableMap<String, String> rootAttributes, final ImmutableList<QName> rootChildren) {
+        this.bytes = requireNonNull(bytes);
+        this.rootElement = requireNonNull(rootElement);
+        this.rootAttributes = requireNonNull(rootAttributes);
+        this.rootChildren = requireNonNull(rootChildren);
+    }
+
+    /**
+     * Create a new message from its UTF-8 encoded XML representation. The array is not copied and must not be
+     * modified afterwards.
+     *
+     * @param bytes UTF-8 encoded XML document
+     * @return A new LazyNetconfMessage
+     * @throws XMLStreamException if the document is not well-formed
+     */
+    public static LazyNetconfMessage of(final byte[] bytes) throws XMLStreamException {
+        final XMLStreamReader reader = UntrustedXML.createXMLStreamReader(new ByteArrayInputStream(bytes));
+        try {
+            QName root = null;
+            ImmutableMap<String, String> attributes = ImmutableMap.of();
+            final ImmutableList.Builder<QName> children = ImmutableList.builder();
+
+            int depth = 0;
+            while (reader.hasNext()) {
+                switch (reader.next()) {
+                    case XMLStreamConstants.START_ELEMENT:
+                        depth++;
+                        if (depth == 1) {
+                            root = reader.getName();
+                            attributes = rootAttributes(reader);
+                        } else if (depth == 2) {
+                            children.add(reader.getName());
+                        }
+                        break;
+                    case XMLStreamConstants.END_ELEMENT:
+                        depth--;
+                        break;
+                    default:
+                        break;
+                }
+            }
+
+            if (root == null) {
+                throw new XMLStreamException("Message does not contain a root element");
+            }
+            return new LazyNetconfMessage(bytes, root, attributes, children.build());
+        } finally {
+            reader.close();
+        }
+    }
+
+    private static ImmutableMap<String, String> rootAttributes(final XMLStreamReader reader) {
+        final int count = reader.getAttributeCount();
+        if (count == 0) {
+            return ImmutableMap.of();
+        }
+
+        final ImmutableMap.Builder<String, String> builder = ImmutableMap.builderWithExpectedSize(count);
+        for (int i = 0; i < count; i++) {
+            final String namespace = reader.getAttributeNamespace(i);
+            if (namespace == null || namespace.isEmpty()) {
+                builder.put(reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Return the name of the document element.
+     *
+     * @return Document element name
+     */
+    public QName getRootElement() {
+        return rootElement;
+    }
+
+    /**
+     * Return the value of an unqualified attribute of the document element. This method mirrors
+     * {@link org.w3c.dom.Element#getAttribute(String)}, hence it returns an empty string if the attribute is not
+     * present.
+     *
+     * @param name attribute name
+     * @return Attribute value, or an empty string
+     */
+    public String getRootAttribute(final String name) {
+        return rootAttributes.getOrDefault(name, "");
+    }
+
+    /**
+     * Return the names of immediate children of the document element, in document order.
+     *
+     * @return Names of document element children
+     */
+    public List<QName> getRootChildren() {
+        return rootChildren;
+    }
+
+    /**
+     * Return the size of the serialized message.
+     *
+     * @return Message size in bytes
+     */
+    public int size() {
+        return bytes.length;
+    }
+
+    /**
+     * Open a new {@link XMLStreamReader} over the serialized message. The caller is responsible for closing the reader.
+     *
+     * @return A new XMLStreamReader
+     * @throws XMLStreamException if the reader cannot be created
+     */
+    public XMLStreamReader openStream() throws XMLStreamException {
+        return UntrustedXML.createXMLStreamReader(new ByteArrayInputStream(bytes));
+    }
+
+    @Override
+    public Document getDocument() {
+        Document local = document;
+        if (local == null) {
+            synchronized (this) {
+                local = document;
+                if (local == null) {
+                    document = local = parseDocument();
+                }
+            }
+        }
+        return local;
+    }
+
+    private Document parseDocument() {
+        try {
+            return XmlUtil.readXmlToDocument(new ByteArrayInputStream(bytes));
+        } catch (SAXException | IOException e) {
+            throw new IllegalStateException("Failed to parse previously-verified message", e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -8,7 +8,11 @@
 
 package org.opendaylight.netconf.api;
 
+import static java.util.Objects.requireNonNull;
+
 import java.io.StringWriter;
+import java.util.Map;
+import java.util.Optional;
 import javax.xml.transform.OutputKeys;
 import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerConfigurationException;
@@ -17,7 +21,10 @@ import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.TransformerFactoryConfigurationError;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
+import org.opendaylight.netconf.api.xml.SharedSerialization;
+import org.opendaylight.netconf.api.xml.StreamedContent;
 import org.w3c.dom.Document;
+import org.w3c.dom.Element;
 
 /**
  * NetconfMessage represents a wrapper around org.w3c.dom.Document. Needed for
@@ -40,20 +47,73 @@ public class NetconfMessage {
     }
 
     private final Document doc;
+    private final Map<Element, StreamedContent> streamedContent;
+
+    private volatile SharedSerialization sharedSerialization;
 
     public NetconfMessage() {
         // Required for FailedNetconfMessage
         this.doc = null;
+        this.streamedContent = Map.of();
     }
 
     public NetconfMessage(final Document doc) {
+        this(doc, Map.of());
+    }
+
+    /**
+     * Create a message whose elements have content written only when the message is serialized.
+     *
+     * @param doc message document
+     * @param streamedContent content of elements of the document, as {@link StreamedContent#detach(Document)
+     *                        detached} from it
+     */
+    public NetconfMessage(final Document doc, final Map<Element, StreamedContent> streamedContent) {
         this.doc = doc;
+        this.streamedContent = requireNonNull(streamedContent);
     }
 
     public Document getDocument() {
         return this.doc;
     }
 
+    /**
+     * Get the content of elements of the document, which is written only when this message is serialized.
+     *
+     * @return content of elements, keyed by element identity, empty if there is none
+     */
+    public final Map<Element, StreamedContent> getStreamedContent() {
+        return streamedContent;
+    }
+
+    /**
+     * Enable sharing of serialized forms of this message, for example when it is sent unchanged to many sessions.
+     * The document must not be modified afterwards.
+     *
+     * @return serialized forms of this message
+     */
+    public final SharedSerialization enableSharedSerialization() {
+        SharedSerialization local = sharedSerialization;
+        if (local == null) {
+            synchronized (this) {
+                local = sharedSerialization;
+                if (local == null) {
+                    sharedSerialization = local = new SharedSerialization();
+                }
+            }
+        }
+        return local;
+    }
+
+    /**
+     * Get the serialized forms of this message, if sharing is enabled for it.
+     *
+     * @return serialized forms of this message, or empty if it is not shared
+     */
+    public final Optional<SharedSerialization> getSharedSerialization() {
+        return Optional.ofNullable(sharedSerialization);
+    }
+
     @Override
     public String toString() {
         final StreamResult result = new StreamResult(new StringWriter());
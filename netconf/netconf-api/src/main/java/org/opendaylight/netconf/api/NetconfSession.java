@@ -9,6 +9,10 @@ package org.opendaylight.netconf.api;
 
 import io.netty.channel.ChannelFuture;
 import java.io.Closeable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Protocol Session represents the finite state machine in underlying protocol, including timers and its purpose is to
@@ -23,6 +27,31 @@ public interface NetconfSession extends Closeable {
 
     ChannelFuture sendMessage(NetconfMessage message);
 
+    /**
+     * Execute a task once the session has finished processing the message it is processing now, if any. Messages sent
+     * by the task, or as a result of it, follow the reply to that message.
+     *
+     * @param task task to execute
+     */
+    default void executeAfterCurrentMessage(final Runnable task) {
+        task.run();
+    }
+
+    /**
+     * Execute a task after a delay. Messages sent by the task are ordered with other messages sent by this session,
+     * but the task itself may run on any thread.
+     *
+     * @param task task to execute
+     * @param delay delay after which to execute the task
+     * @param unit unit of the delay
+     * @return Future which can be used to cancel the task
+     */
+    default Future<?> schedule(final Runnable task, final long delay, final TimeUnit unit) {
+        final FutureTask<?> future = new FutureTask<>(task, null);
+        CompletableFuture.delayedExecutor(delay, unit).execute(future);
+        return future;
+    }
+
     @Override
     void close();
 }
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2022 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.api.xml;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.opendaylight.netconf.api.NetconfMessage;
+
+/**
+ * Serialized forms of a message which is sent unchanged to many sessions, such as a notification delivered to all
+ * of its subscribers. Sharing is enabled by {@link NetconfMessage#enableSharedSerialization()}. Each form is
+ * identified by a key chosen by the code producing it, for example an encoder together with its framing mechanism.
+ * A form is produced by the first session which needs it, and other sessions reuse its bytes once it is available.
+ * Sessions never wait for a form produced by another session, they produce their own copy instead, so that an event
+ * loop is not blocked by another one.
+ *
+ * <p>
+ * The message must not be modified once sharing is enabled, as its serialized forms would not reflect the change.
+ */
+public final class SharedSerialization {
+    /**
+     * Producer of a serialized form.
+     *
+     * @param <E> exception thrown when the form cannot be produced
+     */
+    @FunctionalInterface
+    public interface Serializer<E extends Exception> {
+        /**
+         * Produce the serialized form.
+         *
+         * @return bytes of the serialized form
+         * @throws E if the form cannot be produced
+         */
+        byte[] serialize() throws E;
+    }
+
+    private final ConcurrentMap<Object, CompletableFuture<byte[]>> forms = new ConcurrentHashMap<>();
+
+    /**
+     * Create empty serialized forms. Use {@link NetconfMessage#enableSharedSerialization()} to attach them to
+     * a message.
+     */
+    public SharedSerialization() {
+        // Nothing else
+    }
+
+    /**
+     * Get a serialized form, producing it if it is not available yet. A caller asking for a form which is being
+     * produced by another caller does not wait for it, it produces the form itself. Returned bytes must not be
+     * modified.
+     *
+     * @param <E> exception thrown when the form cannot be produced
+     * @param key identifier of the form
+     * @param serializer producer of the form
+     * @return bytes of the serialized form
+     * @throws E if the form cannot be produced
+     */
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    public <E extends Exception> byte[] get(final Object key, final Serializer<E> serializer) throws E {
+        final CompletableFuture<byte[]> existing = forms.get(key);
+        if (existing != null) {
+            return reuseOrSerialize(existing, serializer);
+        }
+
+        final CompletableFuture<byte[]> future = new CompletableFuture<>();
+        final CompletableFuture<byte[]> raced = forms.putIfAbsent(key, future);
+        if (raced != null) {
+            return reuseOrSerialize(raced, serializer);
+        }
+
+        final byte[] form;
+        try {
+            form = serializer.serialize();
+        } catch (Exception e) {
+            // let the next caller try again
+            forms.remove(key, future);
+            future.cancel(false);
+            throw e;
+        }
+        future.complete(form);
+        return form;
+    }
+
+    private static <E extends Exception> byte[] reuseOrSerialize(final CompletableFuture<byte[]> form,
+            final Serializer<E> serializer) throws E {
+        // a form still being produced, or one which failed, is produced again rather than waited for
+        return form.isDone() && !form.isCompletedExceptionally() ? form.join() : serializer.serialize();
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2022 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.api.xml;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import javax.xml.transform.dom.DOMResult;
+import org.opendaylight.netconf.api.NetconfMessage;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+/**
+ * Content of a DOM element, which is not present in the DOM, but is written only when the message containing the
+ * element is serialized. This allows large content, such as data of a get reply, to be written directly into outbound
+ * buffers, without being materialized in the DOM first.
+ *
+ * <p>
+ * While a reply is being assembled, the content is attached to its element as user data, which is retained when the
+ * element is imported into, or cloned within, another document. Once the reply is complete, the content is
+ * {@link #detach(Document) detached} from the document and handed over to the {@link NetconfMessage} carrying it, so
+ * that the document is not modified by serialization. Code which needs to inspect the content has to
+ * {@link #materialize(Document, Map)} it first.
+ */
+@FunctionalInterface
+public interface StreamedContent {
+    /**
+     * Write the content. The writer is positioned inside the element which holds the content and repairs namespaces.
+     *
+     * @param writer writer to write the content to
+     * @throws XMLStreamException if the content cannot be written
+     */
+    void writeTo(XMLStreamWriter writer) throws XMLStreamException;
+
+    /**
+     * Attach content to an empty element.
+     *
+     * @param element element to hold the content
+     * @param content content of the element
+     */
+    static void attach(final Element element, final StreamedContent content) {
+        if (element.hasChildNodes()) {
+            throw new IllegalArgumentException("Element " + element.getTagName() + " is not empty");
+        }
+        element.setUserData(StreamedContents.KEY, content, StreamedContents.HANDLER);
+    }
+
+    /**
+     * Detach all content attached to elements of a document.
+     *
+     * @param document document to process
+     * @return content of elements of the document, keyed by element identity
+     */
+    static Map<Element, StreamedContent> detach(final Document document) {
+        final List<Element> elements = new ArrayList<>();
+        StreamedContents.collect(document.getDocumentElement(), elements);
+        if (elements.isEmpty()) {
+            return Map.of();
+        }
+
+        final Map<Element, StreamedContent> detached = new IdentityHashMap<>();
+        for (Element element : elements) {
+            detached.put(element, (StreamedContent) element.getUserData(StreamedContents.KEY));
+            element.setUserData(StreamedContents.KEY, null, null);
+        }
+        return Collections.unmodifiableMap(detached);
+    }
+
+    /**
+     * Write all content attached to elements of a document into the DOM, so that the document can be processed as any
+     * other.
+     *
+     * @param document document to process
+     * @throws XMLStreamException if some content cannot be written
+     */
+    static void materialize(final Document document) throws XMLStreamException {
+        materialize(document, detach(document));
+    }
+
+    /**
+     * Write detached content into the DOM of its document, so that the document can be processed as any other. Content
+     * of elements which are no longer empty is assumed to have been written already.
+     *
+     * @param document document holding the elements
+     * @param content content detached from the document, keyed by element identity
+     * @throws XMLStreamException if some content cannot be written
+     */
+    static void materialize(final Document document, final Map<Element, StreamedContent> content)
+            throws XMLStreamException {
+        for (Map.Entry<Element, StreamedContent> entry : content.entrySet()) {
+            final Element element = entry.getKey();
+            if (element.getOwnerDocument() != document) {
+                throw new IllegalArgumentException("Element " + element.getTagName() + " is not part of " + document);
+            }
+            if (element.hasChildNodes()) {
+                continue;
+            }
+            final XMLStreamWriter writer = StreamedContents.FACTORY.createXMLStreamWriter(new DOMResult(element));
+            try {
+                entry.getValue().writeTo(writer);
+                writer.flush();
+            } finally {
+                writer.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2022 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.api.xml;
+
+import java.util.List;
+import javax.xml.stream.XMLOutputFactory;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.UserDataHandler;
+
+/**
+ * Shared state and helpers of {@link StreamedContent}.
+ */
+final class StreamedContents {
+    static final String KEY = StreamedContent.class.getName();
+    static final XMLOutputFactory FACTORY;
+    // copies the content to imported and cloned elements
+    static final UserDataHandler HANDLER = (operation, key, data, src, dst) -> {
+        if (dst != null && (operation == UserDataHandler.NODE_IMPORTED
+                || operation == UserDataHandler.NODE_CLONED)) {
+            StreamedContent.attach((Element) dst, (StreamedContent) data);
+        }
+    };
+
+    static {
+        final XMLOutputFactory f = XMLOutputFactory.newFactory();
+        f.setProperty(XMLOutputFactory.IS_REPAIRING_NAMESPACES, true);
+        FACTORY = f;
+    }
+
+    private StreamedContents() {
+        // Hidden on purpose
+    }
+
+    static void collect(final Node node, final List<Element> elements) {
+        if (node == null) {
+            return;
+        }
+        if (node.getNodeType() == Node.ELEMENT_NODE && node.getUserData(KEY) instanceof StreamedContent) {
+            elements.add((Element) node);
+            return;
+        }
+        for (Node child = node.getFirstChild(); child != null; child = child.getNextSibling()) {
+            collect(child, elements);
+        }
+    }
+}
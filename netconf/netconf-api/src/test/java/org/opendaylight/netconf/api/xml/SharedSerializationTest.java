@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2022 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.api.xml;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Test;
+import org.opendaylight.netconf.api.NetconfMessage;
+
+public class SharedSerializationTest {
+    private static final byte[] FORM = {1, 2, 3};
+
+    @Test
+    public void testFormIsReused() throws Exception {
+        final NetconfMessage message = new NetconfMessage(XmlUtil.readXmlToDocument("<test/>"));
+        assertFalse(message.getSharedSerialization().isPresent());
+
+        final SharedSerialization shared = message.enableSharedSerialization();
+        assertSame(shared, message.enableSharedSerialization());
+        assertSame(shared, message.getSharedSerialization().get());
+        final byte[] form = shared.get("key", () -> FORM);
+        assertSame(form, shared.get("key", () -> new byte[0]));
+    }
+
+    @Test
+    public void testFailedFormIsProducedAgain() throws Exception {
+        final SharedSerialization shared = new SharedSerialization();
+        assertThrows(IOException.class, () -> shared.get("key", () -> {
+            throw new IOException("test");
+        }));
+        assertSame(FORM, shared.get("key", () -> FORM));
+    }
+
+    @Test(timeout = 10000)
+    public void testFormInProgressIsNotWaitedFor() throws Exception {
+        final SharedSerialization shared = new SharedSerialization();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicReference<byte[]> slow = new AtomicReference<>();
+        final Thread thread = new Thread(() -> slow.set(shared.get("key", () -> {
+            started.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            return FORM;
+        })));
+        thread.start();
+        started.await();
+
+        // the form being produced by the other thread is produced again rather than waited for
+        final byte[] own = {4};
+        assertSame(own, shared.get("key", () -> own));
+
+        release.countDown();
+        thread.join();
+        assertArrayEquals(FORM, slow.get());
+        assertSame(FORM, shared.get("key", () -> own));
+    }
+}
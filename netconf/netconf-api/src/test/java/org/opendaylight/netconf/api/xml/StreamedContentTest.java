@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2022 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.api.xml;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+import java.util.Optional;
+import org.junit.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+public class StreamedContentTest {
+    private static final StreamedContent CONTENT = writer -> {
+        writer.writeStartElement("", "inner", "urn:inner");
+        writer.writeCharacters("value");
+        writer.writeEndElement();
+    };
+
+    @Test
+    public void testMaterialize() throws Exception {
+        final Document document = XmlUtil.newDocument();
+        final Element top = XmlUtil.createElement(document, "top", Optional.of("urn:top"));
+        document.appendChild(top);
+        assertEquals(Map.of(), StreamedContent.detach(document));
+
+        StreamedContent.attach(top, CONTENT);
+        assertFalse(top.hasChildNodes());
+
+        StreamedContent.materialize(document);
+        assertEquals(Map.of(), StreamedContent.detach(document));
+        final Element inner = (Element) top.getFirstChild();
+        assertEquals("urn:inner", inner.getNamespaceURI());
+        assertEquals("inner", inner.getLocalName());
+        assertEquals("value", inner.getTextContent());
+    }
+
+    @Test
+    public void testImport() throws Exception {
+        final Document document = XmlUtil.newDocument();
+        final Element top = XmlUtil.createElement(document, "top", Optional.of("urn:top"));
+        document.appendChild(top);
+        final Element data = XmlUtil.createElement(document, "data", Optional.of("urn:top"));
+        top.appendChild(data);
+        StreamedContent.attach(data, CONTENT);
+
+        final Document copy = XmlUtil.newDocument();
+        copy.appendChild(copy.importNode(top, true));
+        final Element copiedData = (Element) copy.getDocumentElement().getFirstChild();
+        assertEquals(Map.of(copiedData, CONTENT), StreamedContent.detach(copy));
+        // detached content is no longer attached
+        assertEquals(Map.of(), StreamedContent.detach(copy));
+    }
+
+    @Test
+    public void testMaterializeDetached() throws Exception {
+        final Document document = XmlUtil.newDocument();
+        final Element top = XmlUtil.createElement(document, "top", Optional.of("urn:top"));
+        document.appendChild(top);
+        StreamedContent.attach(top, CONTENT);
+        final Map<Element, StreamedContent> content = StreamedContent.detach(document);
+
+        StreamedContent.materialize(document, content);
+        // content already written is not written again
+        StreamedContent.materialize(document, content);
+        assertEquals(1, top.getChildNodes().getLength());
+        assertEquals("value", top.getTextContent());
+        assertTrue(top.getFirstChild() instanceof Element);
+    }
+
+    @Test
+    public void testAttachNonEmpty() throws Exception {
+        final Document document = XmlUtil.newDocument();
+        final Element top = XmlUtil.createElement(document, "top", Optional.of("urn:top"));
+        top.appendChild(document.createTextNode("text"));
+        assertThrows(IllegalArgumentException.class, () -> StreamedContent.attach(top, CONTENT));
+    }
+}
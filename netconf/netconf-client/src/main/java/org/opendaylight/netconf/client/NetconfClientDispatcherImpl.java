@@ -138,8 +138,11 @@ public class NetconfClientDispatcherImpl
     protected NetconfClientSessionNegotiatorFactory getNegotiatorFactory(final NetconfClientConfiguration cfg) {
         final List<Uri> odlHelloCapabilities = cfg.getOdlHelloCapabilities();
         if (odlHelloCapabilities == null || odlHelloCapabilities.isEmpty()) {
+            // Without EXI in our hello message, the negotiator will not attempt to start EXI
             return new NetconfClientSessionNegotiatorFactory(timer, cfg.getAdditionalHeader(),
-                    cfg.getConnectionTimeoutMillis());
+                    cfg.getConnectionTimeoutMillis(), NetconfClientSessionNegotiatorFactory.DEFAULT_OPTIONS,
+                    cfg.isDeferredExiNegotiation() ? NetconfClientSessionNegotiatorFactory.DEFAULT_CLIENT_CAPABILITIES
+                        : NetconfClientSessionNegotiatorFactory.EXI_CLIENT_CAPABILITIES, sessionOptions(cfg));
         }
 
         // LinkedHashSet since perhaps the device cares about order of hello message capabilities.
@@ -149,6 +152,16 @@ public class NetconfClientDispatcherImpl
             stringCapabilities.add(uri.getValue());
         }
         return new NetconfClientSessionNegotiatorFactory(timer, cfg.getAdditionalHeader(),
-            cfg.getConnectionTimeoutMillis(), stringCapabilities);
+            cfg.getConnectionTimeoutMillis(), NetconfClientSessionNegotiatorFactory.DEFAULT_OPTIONS, stringCapabilities,
+            sessionOptions(cfg));
+    }
+
+    private static NetconfClientSessionOptions sessionOptions(final NetconfClientConfiguration cfg) {
+        return NetconfClientSessionOptions.builder()
+            .withLazyMessageParsing(cfg.isLazyMessageParsing())
+            .withPrettyPrintMessages(cfg.isPrettyPrintMessages())
+            .withMaximumChunkSize(cfg.getMaximumChunkSize())
+            .withMaximumMessageSize(cfg.getMaximumMessageSize())
+            .build();
     }
 }
@@ -8,16 +8,20 @@
 
 package org.opendaylight.netconf.client;
 
+import static java.util.Objects.requireNonNull;
+
 import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Interner;
 import com.google.common.collect.Interners;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.util.Timer;
 import io.netty.util.concurrent.Promise;
+import java.util.Optional;
 import java.util.Set;
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpression;
@@ -29,6 +33,9 @@ import org.opendaylight.netconf.api.xml.XmlNetconfConstants;
 import org.opendaylight.netconf.api.xml.XmlUtil;
 import org.opendaylight.netconf.nettyutil.AbstractChannelInitializer;
 import org.opendaylight.netconf.nettyutil.AbstractNetconfSessionNegotiator;
+import org.opendaylight.netconf.nettyutil.handler.NetconfChunkAggregator;
+import org.opendaylight.netconf.nettyutil.handler.NetconfMessageToXMLEncoder;
+import org.opendaylight.netconf.nettyutil.handler.NetconfXMLToMessageDecoder;
 import org.opendaylight.netconf.nettyutil.handler.exi.NetconfStartExiMessage;
 import org.opendaylight.netconf.util.messages.NetconfMessageUtil;
 import org.opendaylight.netconf.util.xml.XMLNetconfUtil;
@@ -53,13 +60,27 @@ public class NetconfClientSessionNegotiator extends
 
     private static final Interner<Set<String>> INTERNER = Interners.newWeakInterner();
 
+    private final NetconfClientSessionOptions sessionOptions;
+
     protected NetconfClientSessionNegotiator(final NetconfClientSessionPreferences sessionPreferences,
                                              final Promise<NetconfClientSession> promise,
                                              final Channel channel,
                                              final Timer timer,
                                              final NetconfClientSessionListener sessionListener,
                                              final long connectionTimeoutMillis) {
+        this(sessionPreferences, promise, channel, timer, sessionListener, connectionTimeoutMillis,
+            NetconfClientSessionOptions.DEFAULT);
+    }
+
+    protected NetconfClientSessionNegotiator(final NetconfClientSessionPreferences sessionPreferences,
+                                             final Promise<NetconfClientSession> promise,
+                                             final Channel channel,
+                                             final Timer timer,
+                                             final NetconfClientSessionListener sessionListener,
+                                             final long connectionTimeoutMillis,
+                                             final NetconfClientSessionOptions sessionOptions) {
         super(sessionPreferences, promise, channel, timer, sessionListener, connectionTimeoutMillis);
+        this.sessionOptions = requireNonNull(sessionOptions);
     }
 
     @SuppressWarnings("checkstyle:IllegalCatch")
@@ -113,6 +134,22 @@ public class NetconfClientSessionNegotiator extends
         });
     }
 
+    @Override
+    protected ChannelHandler newMessageDecoder() {
+        return new NetconfXMLToMessageDecoder(sessionOptions.isLazyMessageParsing());
+    }
+
+    @Override
+    protected ChannelHandler newMessageEncoder() {
+        return new NetconfMessageToXMLEncoder(Optional.empty(), sessionOptions.isPrettyPrintMessages());
+    }
+
+    @Override
+    protected ChannelHandler newChunkAggregator() {
+        return new NetconfChunkAggregator(sessionOptions.getMaximumChunkSize(),
+            sessionOptions.getMaximumMessageSize());
+    }
+
     @SuppressFBWarnings("BC_UNCONFIRMED_CAST")
     private boolean shouldUseExi(final NetconfHelloMessage helloMsg) {
         return containsExi10Capability(helloMsg.getDocument())
@@ -49,9 +49,10 @@ public class NetconfClientSessionNegotiatorFactory
     public static final Set<String> LEGACY_FRAMING_CLIENT_CAPABILITIES = ImmutableSet.of(
             XmlNetconfConstants.URN_IETF_PARAMS_NETCONF_BASE_1_0);
 
+    public static final EXIParameters DEFAULT_OPTIONS;
+
     private static final Logger LOG = LoggerFactory.getLogger(NetconfClientSessionNegotiatorFactory.class);
     private static final String START_EXI_MESSAGE_ID = "default-start-exi";
-    private static final EXIParameters DEFAULT_OPTIONS;
 
     static {
         final FidelityOptions fidelity = FidelityOptions.createDefault();
@@ -71,6 +72,7 @@ public class NetconfClientSessionNegotiatorFactory
     private final long connectionTimeoutMillis;
     private final Timer timer;
     private final EXIParameters options;
+    private final NetconfClientSessionOptions sessionOptions;
 
     public NetconfClientSessionNegotiatorFactory(final Timer timer,
                                                  final Optional<NetconfHelloMessageAdditionalHeader> additionalHeader,
@@ -95,11 +97,21 @@ public class NetconfClientSessionNegotiatorFactory
                                                  final Optional<NetconfHelloMessageAdditionalHeader> additionalHeader,
                                                  final long connectionTimeoutMillis, final EXIParameters exiOptions,
                                                  final Set<String> capabilities) {
+        this(timer, additionalHeader, connectionTimeoutMillis, exiOptions, capabilities,
+            NetconfClientSessionOptions.DEFAULT);
+    }
+
+    public NetconfClientSessionNegotiatorFactory(final Timer timer,
+                                                 final Optional<NetconfHelloMessageAdditionalHeader> additionalHeader,
+                                                 final long connectionTimeoutMillis, final EXIParameters exiOptions,
+                                                 final Set<String> capabilities,
+                                                 final NetconfClientSessionOptions sessionOptions) {
         this.timer = requireNonNull(timer);
         this.additionalHeader = additionalHeader;
         this.connectionTimeoutMillis = connectionTimeoutMillis;
         this.options = exiOptions;
         this.clientCapabilities = capabilities;
+        this.sessionOptions = requireNonNull(sessionOptions);
     }
 
     public long getConnectionTimeoutMillis() {
@@ -116,6 +128,6 @@ public class NetconfClientSessionNegotiatorFactory
 
         NetconfClientSessionPreferences proposal = new NetconfClientSessionPreferences(helloMessage, startExiMessage);
         return new NetconfClientSessionNegotiator(proposal, promise, channel, timer,
-                sessionListenerFactory.getSessionListener(), connectionTimeoutMillis);
+                sessionListenerFactory.getSessionListener(), connectionTimeoutMillis, sessionOptions);
     }
 }
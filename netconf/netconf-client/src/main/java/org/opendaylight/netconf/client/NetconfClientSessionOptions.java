@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2022 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.client;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.base.MoreObjects;
+import org.opendaylight.netconf.nettyutil.handler.NetconfChunkAggregator;
+
+/**
+ * Options of a client session which are not negotiated with the server, but govern how the session reads and writes
+ * messages. Instances are immutable and created through {@link #builder()}.
+ */
+public final class NetconfClientSessionOptions {
+    public static final NetconfClientSessionOptions DEFAULT = builder().build();
+
+    private final boolean lazyMessageParsing;
+    private final boolean prettyPrintMessages;
+    private final int maximumChunkSize;
+    private final int maximumMessageSize;
+
+    private NetconfClientSessionOptions(final Builder builder) {
+        lazyMessageParsing = builder.lazyMessageParsing;
+        prettyPrintMessages = builder.prettyPrintMessages;
+        maximumChunkSize = builder.maximumChunkSize;
+        maximumMessageSize = builder.maximumMessageSize;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public boolean isLazyMessageParsing() {
+        return lazyMessageParsing;
+    }
+
+    public boolean isPrettyPrintMessages() {
+        return prettyPrintMessages;
+    }
+
+    public int getMaximumChunkSize() {
+        return maximumChunkSize;
+    }
+
+    public int getMaximumMessageSize() {
+        return maximumMessageSize;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("lazyMessageParsing", lazyMessageParsing)
+            .add("prettyPrintMessages", prettyPrintMessages)
+            .add("maximumChunkSize", maximumChunkSize)
+            .add("maximumMessageSize", maximumMessageSize)
+            .toString();
+    }
+
+    /**
+     * Builder of {@link NetconfClientSessionOptions}. Options which are not set keep their defaults.
+     */
+    public static final class Builder {
+        private boolean lazyMessageParsing;
+        private boolean prettyPrintMessages;
+        private int maximumChunkSize = NetconfChunkAggregator.DEFAULT_MAXIMUM_CHUNK_SIZE;
+        private int maximumMessageSize = NetconfChunkAggregator.DEFAULT_MAXIMUM_MESSAGE_SIZE;
+
+        private Builder() {
+            // Hidden on purpose
+        }
+
+        /**
+         * Parse incoming RPC replies lazily, see {@code NetconfXMLToMessageDecoder}.
+         *
+         * @param enabled whether to parse replies lazily
+         * @return this builder
+         */
+        public Builder withLazyMessageParsing(final boolean enabled) {
+            this.lazyMessageParsing = enabled;
+            return this;
+        }
+
+        /**
+         * Indent outgoing messages, which makes them easier to read at the cost of serialization speed.
+         *
+         * @param enabled whether to indent outgoing messages
+         * @return this builder
+         */
+        public Builder withPrettyPrintMessages(final boolean enabled) {
+            this.prettyPrintMessages = enabled;
+            return this;
+        }
+
+        /**
+         * Set the maximum size of a single chunk accepted with chunked framing.
+         *
+         * @param size maximum chunk size in bytes
+         * @return this builder
+         * @throws IllegalArgumentException if {@code size} is not positive
+         */
+        public Builder withMaximumChunkSize(final int size) {
+            checkArgument(size > 0, "Invalid maximum chunk size %s", size);
+            this.maximumChunkSize = size;
+            return this;
+        }
+
+        /**
+         * Set the maximum size of a message accepted with chunked framing.
+         *
+         * @param size maximum message size in bytes
+         * @return this builder
+         * @throws IllegalArgumentException if {@code size} is not positive
+         */
+        public Builder withMaximumMessageSize(final int size) {
+            checkArgument(size > 0, "Invalid maximum message size %s", size);
+            this.maximumMessageSize = size;
+            return this;
+        }
+
+        public NetconfClientSessionOptions build() {
+            return new NetconfClientSessionOptions(this);
+        }
+    }
+}
@@ -7,6 +7,7 @@
  */
 package org.opendaylight.netconf.client.conf;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static java.util.Objects.requireNonNull;
 
 import com.google.common.base.MoreObjects;
@@ -43,6 +44,11 @@ public class NetconfClientConfiguration {
 
     private final List<Uri> odlHelloCapabilities;
     private final String nodeId;
+    private final boolean lazyMessageParsing;
+    private final boolean prettyPrintMessages;
+    private final int maximumChunkSize;
+    private final int maximumMessageSize;
+    private final boolean deferredExiNegotiation;
 
     NetconfClientConfiguration(final String nodeId, final NetconfClientProtocol protocol,
                                final InetSocketAddress address, final Long connectionTimeoutMillis,
@@ -50,7 +56,9 @@ public class NetconfClientConfiguration {
                                final NetconfClientSessionListener sessionListener,
                                final ReconnectStrategy reconnectStrategy, final AuthenticationHandler authHandler,
                                final SslHandlerFactory sslHandlerFactory, final NetconfSshClient sshClient,
-                               final List<Uri> odlHelloCapabilities) {
+                               final List<Uri> odlHelloCapabilities, final boolean lazyMessageParsing,
+                               final boolean prettyPrintMessages, final int maximumChunkSize,
+                               final int maximumMessageSize, final boolean deferredExiNegotiation) {
         this.nodeId = nodeId;
         this.address = address;
         this.connectionTimeoutMillis = connectionTimeoutMillis;
@@ -62,6 +70,11 @@ public class NetconfClientConfiguration {
         this.sslHandlerFactory = sslHandlerFactory;
         this.sshClient = sshClient;
         this.odlHelloCapabilities = odlHelloCapabilities;
+        this.lazyMessageParsing = lazyMessageParsing;
+        this.prettyPrintMessages = prettyPrintMessages;
+        this.maximumChunkSize = maximumChunkSize;
+        this.maximumMessageSize = maximumMessageSize;
+        this.deferredExiNegotiation = deferredExiNegotiation;
         validateConfiguration();
     }
 
@@ -110,8 +123,57 @@ public class NetconfClientConfiguration {
         return odlHelloCapabilities;
     }
 
+    /**
+     * Return whether received messages should be parsed lazily, i.e. without constructing their DOM upfront.
+     *
+     * @return {@code true} if received messages are parsed lazily
+     */
+    public boolean isLazyMessageParsing() {
+        return lazyMessageParsing;
+    }
+
+    /**
+     * Return whether sent messages should be indented. Indentation makes messages more readable, but they are larger
+     * and slower to serialize.
+     *
+     * @return {@code true} if sent messages are indented
+     */
+    public boolean isPrettyPrintMessages() {
+        return prettyPrintMessages;
+    }
+
+    /**
+     * Return the maximum size of a single chunk the device is allowed to send when chunked framing is used.
+     *
+     * @return Maximum chunk size, in bytes
+     */
+    public int getMaximumChunkSize() {
+        return maximumChunkSize;
+    }
+
+    /**
+     * Return the maximum size of a complete message the device is allowed to send when chunked framing is used.
+     *
+     * @return Maximum message size, in bytes
+     */
+    public int getMaximumMessageSize() {
+        return maximumMessageSize;
+    }
+
+    /**
+     * Return whether EXI should not be negotiated when the session is established. The user of the session is then
+     * expected to start EXI later, if at all.
+     *
+     * @return {@code true} if EXI negotiation is deferred
+     */
+    public boolean isDeferredExiNegotiation() {
+        return deferredExiNegotiation;
+    }
+
     private void validateConfiguration() {
         requireNonNull(nodeId, "nodeId");
+        checkArgument(maximumChunkSize > 0, "Invalid maximum chunk size %s", maximumChunkSize);
+        checkArgument(maximumMessageSize > 0, "Invalid maximum message size %s", maximumMessageSize);
         switch (requireNonNull(clientProtocol)) {
             case TLS:
                 validateTlsConfiguration();
@@ -160,7 +222,12 @@ public class NetconfClientConfiguration {
                 .add("reconnectStrategy", reconnectStrategy)
                 .add("clientProtocol", clientProtocol)
                 .add("authHandler", authHandler)
-                .add("sslHandlerFactory", sslHandlerFactory);
+                .add("sslHandlerFactory", sslHandlerFactory)
+                .add("lazyMessageParsing", lazyMessageParsing)
+                .add("prettyPrintMessages", prettyPrintMessages)
+                .add("maximumChunkSize", maximumChunkSize)
+                .add("maximumMessageSize", maximumMessageSize)
+                .add("deferredExiNegotiation", deferredExiNegotiation);
     }
 
     public enum NetconfClientProtocol {
@@ -13,6 +13,7 @@ import org.opendaylight.netconf.api.messages.NetconfHelloMessageAdditionalHeader
 import org.opendaylight.netconf.client.NetconfClientSessionListener;
 import org.opendaylight.netconf.client.SslHandlerFactory;
 import org.opendaylight.netconf.nettyutil.ReconnectStrategy;
+import org.opendaylight.netconf.nettyutil.handler.NetconfChunkAggregator;
 import org.opendaylight.netconf.nettyutil.handler.ssh.authentication.AuthenticationHandler;
 import org.opendaylight.netconf.nettyutil.handler.ssh.client.NetconfSshClient;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.Uri;
@@ -34,6 +35,11 @@ public class NetconfClientConfigurationBuilder {
     private SslHandlerFactory sslHandlerFactory;
     private NetconfSshClient sshClient;
     private List<Uri> odlHelloCapabilities;
+    private boolean lazyMessageParsing;
+    private boolean prettyPrintMessages;
+    private int maximumChunkSize = NetconfChunkAggregator.DEFAULT_MAXIMUM_CHUNK_SIZE;
+    private int maximumMessageSize = NetconfChunkAggregator.DEFAULT_MAXIMUM_MESSAGE_SIZE;
+    private boolean deferredExiNegotiation;
 
     protected NetconfClientConfigurationBuilder() {
     }
@@ -110,6 +116,36 @@ public class NetconfClientConfigurationBuilder {
         return this;
     }
 
+    @SuppressWarnings("checkstyle:hiddenField")
+    public NetconfClientConfigurationBuilder withLazyMessageParsing(final boolean lazyMessageParsing) {
+        this.lazyMessageParsing = lazyMessageParsing;
+        return this;
+    }
+
+    @SuppressWarnings("checkstyle:hiddenField")
+    public NetconfClientConfigurationBuilder withPrettyPrintMessages(final boolean prettyPrintMessages) {
+        this.prettyPrintMessages = prettyPrintMessages;
+        return this;
+    }
+
+    @SuppressWarnings("checkstyle:hiddenField")
+    public NetconfClientConfigurationBuilder withMaximumChunkSize(final int maximumChunkSize) {
+        this.maximumChunkSize = maximumChunkSize;
+        return this;
+    }
+
+    @SuppressWarnings("checkstyle:hiddenField")
+    public NetconfClientConfigurationBuilder withMaximumMessageSize(final int maximumMessageSize) {
+        this.maximumMessageSize = maximumMessageSize;
+        return this;
+    }
+
+    @SuppressWarnings("checkstyle:hiddenField")
+    public NetconfClientConfigurationBuilder withDeferredExiNegotiation(final boolean deferredExiNegotiation) {
+        this.deferredExiNegotiation = deferredExiNegotiation;
+        return this;
+    }
+
     final String getNodeId() {
         return nodeId;
     }
@@ -154,9 +190,30 @@ public class NetconfClientConfigurationBuilder {
         return odlHelloCapabilities;
     }
 
+    final boolean isLazyMessageParsing() {
+        return lazyMessageParsing;
+    }
+
+    final boolean isPrettyPrintMessages() {
+        return prettyPrintMessages;
+    }
+
+    final int getMaximumChunkSize() {
+        return maximumChunkSize;
+    }
+
+    final int getMaximumMessageSize() {
+        return maximumMessageSize;
+    }
+
+    final boolean isDeferredExiNegotiation() {
+        return deferredExiNegotiation;
+    }
+
     public NetconfClientConfiguration build() {
         return new NetconfClientConfiguration(nodeId, clientProtocol, address, connectionTimeoutMillis,
                 additionalHeader, sessionListener, reconnectStrategy, authHandler, sslHandlerFactory,
-                sshClient, odlHelloCapabilities);
+                sshClient, odlHelloCapabilities, lazyMessageParsing, prettyPrintMessages,
+                maximumChunkSize, maximumMessageSize, deferredExiNegotiation);
     }
 }
@@ -34,9 +34,15 @@ public final class NetconfReconnectingClientConfiguration extends NetconfClientC
                                            final AuthenticationHandler authHandler,
                                            final SslHandlerFactory sslHandlerFactory,
                                            final NetconfSshClient sshClient,
-                                           final List<Uri> odlHelloCapabilities) {
+                                           final List<Uri> odlHelloCapabilities,
+                                           final boolean lazyMessageParsing,
+                                           final boolean prettyPrintMessages,
+                                           final int maximumChunkSize,
+                                           final int maximumMessageSize,
+                                           final boolean deferredExiNegotiation) {
         super(nodeId, clientProtocol, address, connectionTimeoutMillis, additionalHeader, sessionListener,
-                reconnectStrategy, authHandler, sslHandlerFactory, sshClient, odlHelloCapabilities);
+                reconnectStrategy, authHandler, sslHandlerFactory, sshClient, odlHelloCapabilities,
+                lazyMessageParsing, prettyPrintMessages, maximumChunkSize, maximumMessageSize, deferredExiNegotiation);
         this.connectStrategyFactory = connectStrategyFactory;
         validateReconnectConfiguration();
     }
@@ -41,7 +41,8 @@ public final class NetconfReconnectingClientConfigurationBuilder extends Netconf
         return new NetconfReconnectingClientConfiguration(getNodeId(), getProtocol(), getAddress(),
                 getConnectionTimeoutMillis(), getAdditionalHeader(), getSessionListener(), getReconnectStrategy(),
                 connectStrategyFactory, getAuthHandler(), getSslHandlerFactory(), getSshClient(),
-                getOdlHelloCapabilities());
+                getOdlHelloCapabilities(), isLazyMessageParsing(), isPrettyPrintMessages(), getMaximumChunkSize(),
+                getMaximumMessageSize(), isDeferredExiNegotiation());
     }
 
     // Override setter methods to return subtype
@@ -108,4 +109,31 @@ public final class NetconfReconnectingClientConfigurationBuilder extends Netconf
     public NetconfReconnectingClientConfigurationBuilder withOdlHelloCapabilities(List<Uri> odlHelloCapabilities) {
         return (NetconfReconnectingClientConfigurationBuilder) super.withOdlHelloCapabilities(odlHelloCapabilities);
     }
+
+    @Override
+    public NetconfReconnectingClientConfigurationBuilder withLazyMessageParsing(final boolean lazyMessageParsing) {
+        return (NetconfReconnectingClientConfigurationBuilder) super.withLazyMessageParsing(lazyMessageParsing);
+    }
+
+    @Override
+    public NetconfReconnectingClientConfigurationBuilder withPrettyPrintMessages(final boolean prettyPrintMessages) {
+        return (NetconfReconnectingClientConfigurationBuilder) super.withPrettyPrintMessages(prettyPrintMessages);
+    }
+
+    @Override
+    public NetconfReconnectingClientConfigurationBuilder withMaximumChunkSize(final int maximumChunkSize) {
+        return (NetconfReconnectingClientConfigurationBuilder) super.withMaximumChunkSize(maximumChunkSize);
+    }
+
+    @Override
+    public NetconfReconnectingClientConfigurationBuilder withMaximumMessageSize(final int maximumMessageSize) {
+        return (NetconfReconnectingClientConfigurationBuilder) super.withMaximumMessageSize(maximumMessageSize);
+    }
+
+    @Override
+    public NetconfReconnectingClientConfigurationBuilder withDeferredExiNegotiation(
+            final boolean deferredExiNegotiation) {
+        return (NetconfReconnectingClientConfigurationBuilder) super.withDeferredExiNegotiation(
+            deferredExiNegotiation);
+    }
 }
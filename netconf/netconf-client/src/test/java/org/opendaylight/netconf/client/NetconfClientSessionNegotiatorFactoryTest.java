@@ -7,7 +7,11 @@
  */
 package org.opendaylight.netconf.client;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 
@@ -18,6 +22,7 @@ import io.netty.util.concurrent.Promise;
 import java.util.Optional;
 import org.junit.Test;
 import org.opendaylight.netconf.api.NetconfSessionListenerFactory;
+import org.opendaylight.netconf.nettyutil.handler.NetconfChunkAggregator;
 
 public class NetconfClientSessionNegotiatorFactoryTest {
     @Test
@@ -37,4 +42,27 @@ public class NetconfClientSessionNegotiatorFactoryTest {
             channel, promise);
         assertNotNull(sessionNegotiator);
     }
+
+    @Test
+    public void testSessionOptions() {
+        final NetconfClientSessionOptions defaults = NetconfClientSessionOptions.DEFAULT;
+        assertFalse(defaults.isLazyMessageParsing());
+        assertFalse(defaults.isPrettyPrintMessages());
+        assertEquals(NetconfChunkAggregator.DEFAULT_MAXIMUM_CHUNK_SIZE, defaults.getMaximumChunkSize());
+        assertEquals(NetconfChunkAggregator.DEFAULT_MAXIMUM_MESSAGE_SIZE, defaults.getMaximumMessageSize());
+
+        final NetconfClientSessionOptions options = NetconfClientSessionOptions.builder()
+            .withLazyMessageParsing(true)
+            .withPrettyPrintMessages(true)
+            .withMaximumChunkSize(4096)
+            .withMaximumMessageSize(65536)
+            .build();
+        assertTrue(options.isLazyMessageParsing());
+        assertTrue(options.isPrettyPrintMessages());
+        assertEquals(4096, options.getMaximumChunkSize());
+        assertEquals(65536, options.getMaximumMessageSize());
+
+        assertThrows(IllegalArgumentException.class,
+            () -> NetconfClientSessionOptions.builder().withMaximumChunkSize(0));
+    }
 }
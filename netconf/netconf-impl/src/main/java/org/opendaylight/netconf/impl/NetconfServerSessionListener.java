@@ -16,6 +16,7 @@ import org.opendaylight.netconf.api.NetconfTerminationReason;
 import org.opendaylight.netconf.api.monitoring.NetconfMonitoringService;
 import org.opendaylight.netconf.api.monitoring.SessionEvent;
 import org.opendaylight.netconf.api.monitoring.SessionListener;
+import org.opendaylight.netconf.api.xml.StreamedContent;
 import org.opendaylight.netconf.api.xml.XmlNetconfConstants;
 import org.opendaylight.netconf.api.xml.XmlUtil;
 import org.opendaylight.netconf.impl.osgi.NetconfOperationRouter;
@@ -129,7 +130,8 @@ public class NetconfServerSessionListener implements NetconfSessionListener<Netc
             session.onIncommingRpcSuccess();
 
             responseDocument.appendChild(responseDocument.importNode(rpcReply.getDocumentElement(), true));
-            return new NetconfMessage(responseDocument);
+            // content written only when the reply is sent is carried by the message
+            return new NetconfMessage(responseDocument, StreamedContent.detach(responseDocument));
         } else {
             // unknown command, send RFC 4741 p.70 unknown-element
             /*
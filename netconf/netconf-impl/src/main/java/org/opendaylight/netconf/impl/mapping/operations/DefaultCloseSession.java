@@ -14,6 +14,7 @@ import org.opendaylight.netconf.api.DocumentedException;
 import org.opendaylight.netconf.api.xml.XmlElement;
 import org.opendaylight.netconf.api.xml.XmlNetconfConstants;
 import org.opendaylight.netconf.impl.NetconfServerSession;
+import org.opendaylight.netconf.mapping.api.IndexableNetconfOperation;
 import org.opendaylight.netconf.util.mapping.AbstractSingletonNetconfOperation;
 import org.opendaylight.yangtools.yang.common.ErrorSeverity;
 import org.opendaylight.yangtools.yang.common.ErrorTag;
@@ -23,7 +24,8 @@ import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
-public class DefaultCloseSession extends AbstractSingletonNetconfOperation implements DefaultNetconfOperation {
+public class DefaultCloseSession extends AbstractSingletonNetconfOperation
+        implements DefaultNetconfOperation, IndexableNetconfOperation {
     private static final Logger LOG = LoggerFactory.getLogger(DefaultCloseSession.class);
 
     public static final String CLOSE_SESSION = "close-session";
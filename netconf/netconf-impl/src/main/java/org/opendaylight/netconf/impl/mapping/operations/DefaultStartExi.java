@@ -13,6 +13,7 @@ import org.opendaylight.netconf.api.xml.XmlElement;
 import org.opendaylight.netconf.api.xml.XmlNetconfConstants;
 import org.opendaylight.netconf.api.xml.XmlUtil;
 import org.opendaylight.netconf.impl.NetconfServerSession;
+import org.opendaylight.netconf.mapping.api.IndexableNetconfOperation;
 import org.opendaylight.netconf.mapping.api.NetconfOperationChainedExecution;
 import org.opendaylight.netconf.util.mapping.AbstractSingletonNetconfOperation;
 import org.opendaylight.yangtools.yang.common.ErrorSeverity;
@@ -23,7 +24,8 @@ import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
-public class DefaultStartExi extends AbstractSingletonNetconfOperation implements DefaultNetconfOperation {
+public class DefaultStartExi extends AbstractSingletonNetconfOperation
+        implements DefaultNetconfOperation, IndexableNetconfOperation {
     public static final String START_EXI = "start-exi";
 
     private static final Logger LOG = LoggerFactory.getLogger(DefaultStartExi.class);
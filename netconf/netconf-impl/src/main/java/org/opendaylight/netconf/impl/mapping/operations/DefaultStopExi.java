@@ -11,13 +11,15 @@ import org.opendaylight.netconf.api.xml.XmlElement;
 import org.opendaylight.netconf.api.xml.XmlNetconfConstants;
 import org.opendaylight.netconf.api.xml.XmlUtil;
 import org.opendaylight.netconf.impl.NetconfServerSession;
+import org.opendaylight.netconf.mapping.api.IndexableNetconfOperation;
 import org.opendaylight.netconf.util.mapping.AbstractSingletonNetconfOperation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
-public class DefaultStopExi extends AbstractSingletonNetconfOperation implements DefaultNetconfOperation {
+public class DefaultStopExi extends AbstractSingletonNetconfOperation
+        implements DefaultNetconfOperation, IndexableNetconfOperation {
 
     public static final String STOP_EXI = "stop-exi";
     private NetconfServerSession netconfSession;
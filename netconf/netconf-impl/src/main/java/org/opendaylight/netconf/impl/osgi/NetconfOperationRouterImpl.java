@@ -10,13 +10,14 @@ package org.opendaylight.netconf.impl.osgi;
 import static com.google.common.base.Preconditions.checkState;
 import static java.util.Objects.requireNonNull;
 
-import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.NavigableMap;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import org.opendaylight.netconf.api.DocumentedException;
 import org.opendaylight.netconf.api.monitoring.NetconfMonitoringService;
 import org.opendaylight.netconf.api.xml.XmlUtil;
@@ -26,10 +27,12 @@ import org.opendaylight.netconf.impl.mapping.operations.DefaultNetconfOperation;
 import org.opendaylight.netconf.impl.mapping.operations.DefaultStartExi;
 import org.opendaylight.netconf.impl.mapping.operations.DefaultStopExi;
 import org.opendaylight.netconf.mapping.api.HandlingPriority;
+import org.opendaylight.netconf.mapping.api.IndexableNetconfOperation;
 import org.opendaylight.netconf.mapping.api.NetconfOperation;
 import org.opendaylight.netconf.mapping.api.NetconfOperationChainedExecution;
 import org.opendaylight.netconf.mapping.api.NetconfOperationService;
 import org.opendaylight.netconf.mapping.api.SessionAwareNetconfOperation;
+import org.opendaylight.netconf.util.mapping.AbstractNetconfOperation.OperationNameAndNamespace;
 import org.opendaylight.yangtools.yang.common.ErrorSeverity;
 import org.opendaylight.yangtools.yang.common.ErrorTag;
 import org.opendaylight.yangtools.yang.common.ErrorType;
@@ -40,8 +43,14 @@ import org.w3c.dom.Document;
 public class NetconfOperationRouterImpl implements NetconfOperationRouter {
 
     private static final Logger LOG = LoggerFactory.getLogger(NetconfOperationRouterImpl.class);
+    // Upper bound on the number of indexed operation elements, so that a client sending arbitrary elements cannot
+    // grow the index without bounds. Elements beyond it are resolved for each request.
+    private static final int MAX_INDEXED_ELEMENTS = 256;
+
     private final NetconfOperationService netconfOperationServiceSnapshot;
-    private final Collection<NetconfOperation> allNetconfOperations;
+    private final Collection<NetconfOperation> indexableNetconfOperations;
+    private final Collection<NetconfOperation> otherNetconfOperations;
+    private final Map<OperationKey, IndexedOperations> operationIndex = new ConcurrentHashMap<>();
 
     public NetconfOperationRouterImpl(final NetconfOperationService netconfOperationServiceSnapshot,
                                       final NetconfMonitoringService netconfMonitoringService, final String sessionId) {
@@ -54,15 +63,19 @@ public class NetconfOperationRouterImpl implements NetconfOperationRouter {
 
         ops.addAll(netconfOperationServiceSnapshot.getNetconfOperations());
 
-        allNetconfOperations = ImmutableSet.copyOf(ops);
+        final ImmutableList.Builder<NetconfOperation> indexable = ImmutableList.builder();
+        final ImmutableList.Builder<NetconfOperation> other = ImmutableList.builder();
+        for (final NetconfOperation op : ops) {
+            (op instanceof IndexableNetconfOperation ? indexable : other).add(op);
+        }
+        indexableNetconfOperations = indexable.build();
+        otherNetconfOperations = other.build();
     }
 
     @SuppressWarnings("checkstyle:IllegalCatch")
     @Override
     public Document onNetconfMessage(final Document message, final NetconfServerSession session) throws
             DocumentedException {
-        requireNonNull(allNetconfOperations, "Operation router was not initialized properly");
-
         final NetconfOperationExecution netconfOperationExecution;
         try {
             netconfOperationExecution = getNetconfOperationWithHighestPriority(message, session);
@@ -131,31 +144,52 @@ public class NetconfOperationRouterImpl implements NetconfOperationRouter {
 
     private NetconfOperationExecution getNetconfOperationWithHighestPriority(
             final Document message, final NetconfServerSession session) throws DocumentedException {
+        final IndexedOperations indexed = getIndexedOperations(message);
+
+        final NetconfOperationExecution execution;
+        if (otherNetconfOperations.isEmpty()) {
+            execution = indexed.execution;
+        } else {
+            final TreeMap<HandlingPriority, NetconfOperation> sortedByPriority =
+                new TreeMap<>(indexed.sortedByPriority);
+            addNetconfOperationsWithCanHandle(sortedByPriority, otherNetconfOperations, message);
+            execution = sortedByPriority.isEmpty() ? null
+                : NetconfOperationExecution.createExecutionChain(sortedByPriority, sortedByPriority.lastKey());
+        }
 
-        final NavigableMap<HandlingPriority, NetconfOperation> sortedByPriority =
-                getSortedNetconfOperationsWithCanHandle(
-                message, session);
-
-        if (sortedByPriority.isEmpty()) {
+        if (execution == null) {
             throw new IllegalArgumentException(String.format("No %s available to handle message %s",
                     NetconfOperation.class.getName(), XmlUtil.toString(message)));
         }
 
-        return NetconfOperationExecution.createExecutionChain(sortedByPriority, sortedByPriority.lastKey());
+        execution.setSession(session);
+        return execution;
     }
 
-    private TreeMap<HandlingPriority, NetconfOperation> getSortedNetconfOperationsWithCanHandle(
-            final Document message, final NetconfServerSession session) throws DocumentedException {
-        final TreeMap<HandlingPriority, NetconfOperation> sortedPriority = new TreeMap<>();
+    private IndexedOperations getIndexedOperations(final Document message) throws DocumentedException {
+        final OperationNameAndNamespace operation = new OperationNameAndNamespace(message);
+        final OperationKey key = new OperationKey(operation.getNamespace(), operation.getOperationName());
+
+        final IndexedOperations existing = operationIndex.get(key);
+        if (existing != null) {
+            return existing;
+        }
 
-        for (final NetconfOperation netconfOperation : allNetconfOperations) {
+        final TreeMap<HandlingPriority, NetconfOperation> sortedByPriority = new TreeMap<>();
+        addNetconfOperationsWithCanHandle(sortedByPriority, indexableNetconfOperations, message);
+        final IndexedOperations indexed = new IndexedOperations(sortedByPriority);
+        // elements nobody handles are not indexed, as there is no bound on their number
+        if (!sortedByPriority.isEmpty() && operationIndex.size() < MAX_INDEXED_ELEMENTS) {
+            operationIndex.putIfAbsent(key, indexed);
+        }
+        return indexed;
+    }
+
+    private static void addNetconfOperationsWithCanHandle(
+            final TreeMap<HandlingPriority, NetconfOperation> sortedPriority,
+            final Collection<NetconfOperation> netconfOperations, final Document message) throws DocumentedException {
+        for (final NetconfOperation netconfOperation : netconfOperations) {
             final HandlingPriority handlingPriority = netconfOperation.canHandle(message);
-            if (netconfOperation instanceof DefaultNetconfOperation) {
-                ((DefaultNetconfOperation) netconfOperation).setNetconfSession(session);
-            }
-            if (netconfOperation instanceof SessionAwareNetconfOperation) {
-                ((SessionAwareNetconfOperation) netconfOperation).setSession(session);
-            }
             if (!handlingPriority.equals(HandlingPriority.CANNOT_HANDLE)) {
 
                 checkState(!sortedPriority.containsKey(handlingPriority),
@@ -165,7 +199,47 @@ public class NetconfOperationRouterImpl implements NetconfOperationRouter {
                 sortedPriority.put(handlingPriority, netconfOperation);
             }
         }
-        return sortedPriority;
+    }
+
+    private static final class OperationKey {
+        private final String namespace;
+        private final String name;
+
+        OperationKey(final String namespace, final String name) {
+            this.namespace = namespace;
+            this.name = name;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * namespace.hashCode() + name.hashCode();
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof OperationKey)) {
+                return false;
+            }
+            final OperationKey other = (OperationKey) obj;
+            return namespace.equals(other.namespace) && name.equals(other.name);
+        }
+    }
+
+    /**
+     * Indexable operations able to handle an operation element, together with their execution chain.
+     */
+    private static final class IndexedOperations {
+        private final NavigableMap<HandlingPriority, NetconfOperation> sortedByPriority;
+        private final NetconfOperationExecution execution;
+
+        IndexedOperations(final NavigableMap<HandlingPriority, NetconfOperation> sortedByPriority) {
+            this.sortedByPriority = sortedByPriority;
+            execution = sortedByPriority.isEmpty() ? null
+                : NetconfOperationExecution.createExecutionChain(sortedByPriority, sortedByPriority.lastKey());
+        }
     }
 
     private static final class NetconfOperationExecution implements NetconfOperationChainedExecution {
@@ -188,6 +262,20 @@ public class NetconfOperationRouterImpl implements NetconfOperationRouter {
             return netconfOperation.handle(message, subsequentExecution);
         }
 
+        void setSession(final NetconfServerSession session) {
+            NetconfOperationChainedExecution current = this;
+            while (current instanceof NetconfOperationExecution) {
+                final NetconfOperationExecution execution = (NetconfOperationExecution) current;
+                if (execution.netconfOperation instanceof DefaultNetconfOperation) {
+                    ((DefaultNetconfOperation) execution.netconfOperation).setNetconfSession(session);
+                }
+                if (execution.netconfOperation instanceof SessionAwareNetconfOperation) {
+                    ((SessionAwareNetconfOperation) execution.netconfOperation).setSession(session);
+                }
+                current = execution.subsequentExecution;
+            }
+        }
+
         public static NetconfOperationExecution createExecutionChain(
                 final NavigableMap<HandlingPriority, NetconfOperation> sortedByPriority,
                 final HandlingPriority handlingPriority) {
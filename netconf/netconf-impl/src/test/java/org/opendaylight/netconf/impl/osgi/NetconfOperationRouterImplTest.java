@@ -14,6 +14,7 @@ import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import java.io.IOException;
@@ -30,6 +31,7 @@ import org.mockito.junit.MockitoJUnitRunner;
 import org.opendaylight.netconf.api.DocumentedException;
 import org.opendaylight.netconf.api.xml.XmlUtil;
 import org.opendaylight.netconf.mapping.api.HandlingPriority;
+import org.opendaylight.netconf.mapping.api.IndexableNetconfOperation;
 import org.opendaylight.netconf.mapping.api.NetconfOperation;
 import org.opendaylight.netconf.mapping.api.NetconfOperationChainedExecution;
 import org.opendaylight.netconf.mapping.api.NetconfOperationService;
@@ -55,6 +57,10 @@ public class NetconfOperationRouterImplTest {
     private NetconfOperation maxPrioMock;
     @Mock
     private NetconfOperation defaultPrioMock;
+    @Mock
+    private NetconfOperationService indexedOperationService;
+    @Mock
+    private IndexableNetconfOperation indexedMock;
 
     private NetconfOperationRouterImpl operationRouter;
     private NetconfOperationRouterImpl emptyOperationRouter;
@@ -117,6 +123,29 @@ public class NetconfOperationRouterImplTest {
         assertEquals(ErrorTag.OPERATION_NOT_SUPPORTED, ex.getErrorTag());
     }
 
+    @Test
+    public void testOnNetconfMessageIndexed() throws Exception {
+        doReturn(HandlingPriority.HANDLE_WITH_DEFAULT_PRIORITY).when(indexedMock).canHandle(any(Document.class));
+        doReturn(XmlUtil.readXmlToDocument(DEFAULT_PRIORITY_REPLY)).when(indexedMock).handle(any(Document.class),
+                any(NetconfOperationChainedExecution.class));
+        doReturn(Set.of(indexedMock, maxPrioMock)).when(indexedOperationService).getNetconfOperations();
+        final NetconfOperationRouterImpl indexedRouter =
+                new NetconfOperationRouterImpl(indexedOperationService, null, "session-1");
+
+        assertEquals(MAX_PRIORITY_REPLY, XmlUtil.toString(indexedRouter.onNetconfMessage(TEST_RPC_DOC, null)).trim());
+        assertEquals(MAX_PRIORITY_REPLY, XmlUtil.toString(indexedRouter.onNetconfMessage(TEST_RPC_DOC, null)).trim());
+
+        // indexable operation is asked once for the element, other operations for each message
+        verify(indexedMock).canHandle(any(Document.class));
+        verify(maxPrioMock, times(2)).canHandle(any(Document.class));
+
+        final ArgumentCaptor<NetconfOperationChainedExecution> chainEx =
+                ArgumentCaptor.forClass(NetconfOperationChainedExecution.class);
+        verify(maxPrioMock, times(2)).handle(any(Document.class), chainEx.capture());
+        assertEquals(DEFAULT_PRIORITY_REPLY,
+            XmlUtil.toString(chainEx.getValue().execute(XmlUtil.newDocument())).trim());
+    }
+
     @Test
     public void testClose() throws Exception {
         operationRouter.close();
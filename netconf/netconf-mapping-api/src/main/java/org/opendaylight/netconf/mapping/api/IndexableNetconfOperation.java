@@ -0,0 +1,19 @@
+/*
+ * Copyright (c) 2022 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.mapping.api;
+
+/**
+ * A {@link NetconfOperation} whose {@link #canHandle(org.w3c.dom.Document)} result depends only on the name and
+ * namespace of the operation element of the request. Such operations are asked once for each operation element seen
+ * within a session and their answer is indexed, so that subsequent requests are dispatched to them without asking
+ * again. Operations whose answer also depends on anything else, such as the current schema context, must not
+ * implement this interface.
+ */
+public interface IndexableNetconfOperation extends NetconfOperation {
+
+}
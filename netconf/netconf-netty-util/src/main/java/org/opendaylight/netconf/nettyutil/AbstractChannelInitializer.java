@@ -9,6 +9,8 @@
 package org.opendaylight.netconf.nettyutil;
 
 import io.netty.channel.Channel;
+import io.netty.handler.flush.FlushConsolidationHandler;
+import io.netty.handler.stream.ChunkedWriteHandler;
 import io.netty.util.concurrent.Promise;
 import org.opendaylight.netconf.api.NetconfSession;
 import org.opendaylight.netconf.nettyutil.handler.FramingMechanismHandlerFactory;
@@ -23,13 +25,27 @@ public abstract class AbstractChannelInitializer<S extends NetconfSession> {
     public static final String NETCONF_MESSAGE_AGGREGATOR = "aggregator";
     public static final String NETCONF_MESSAGE_ENCODER = "netconfMessageEncoder";
     public static final String NETCONF_MESSAGE_FRAME_ENCODER = "frameEncoder";
+    public static final String NETCONF_MESSAGE_WRITER = "messageWriter";
     public static final String NETCONF_SESSION_NEGOTIATOR = "negotiator";
+    public static final String NETCONF_FLUSH_CONSOLIDATOR = "flushConsolidator";
+
+    /**
+     * Maximum number of flushes which can be coalesced before an explicit flush is issued to the transport.
+     */
+    public static final int FLUSH_CONSOLIDATION_LIMIT = 64;
 
     public void initialize(Channel ch, Promise<S> promise) {
+        // Coalesce flushes of messages written in quick succession, so that they reach the transport as a single
+        // write. This sits in front of any transport handlers added by subclasses before calling this method.
+        ch.pipeline().addLast(NETCONF_FLUSH_CONSOLIDATOR,
+                new FlushConsolidationHandler(FLUSH_CONSOLIDATION_LIMIT, true));
         ch.pipeline().addLast(NETCONF_MESSAGE_AGGREGATOR, new NetconfEOMAggregator());
         initializeMessageDecoder(ch);
         ch.pipeline().addLast(NETCONF_MESSAGE_FRAME_ENCODER,
                 FramingMechanismHandlerFactory.createHandler(FramingMechanism.EOM));
+        // Passes large messages to framing one fragment at a time, as the channel becomes writable, while keeping them
+        // in order with other messages
+        ch.pipeline().addLast(NETCONF_MESSAGE_WRITER, new ChunkedWriteHandler());
         initializeMessageEncoder(ch);
 
         initializeSessionNegotiator(ch, promise);
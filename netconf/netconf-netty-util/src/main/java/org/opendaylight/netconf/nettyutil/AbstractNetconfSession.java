@@ -16,6 +16,8 @@ import io.netty.channel.SimpleChannelInboundHandler;
 import io.netty.handler.codec.ByteToMessageDecoder;
 import io.netty.handler.codec.MessageToByteEncoder;
 import java.io.EOFException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import org.opendaylight.netconf.api.NetconfExiSession;
 import org.opendaylight.netconf.api.NetconfMessage;
 import org.opendaylight.netconf.api.NetconfSession;
@@ -26,6 +28,7 @@ import org.opendaylight.netconf.nettyutil.handler.NetconfEXICodec;
 import org.opendaylight.netconf.nettyutil.handler.NetconfEXIToMessageDecoder;
 import org.opendaylight.netconf.nettyutil.handler.NetconfMessageToEXIEncoder;
 import org.opendaylight.netconf.nettyutil.handler.exi.EXIParameters;
+import org.opendaylight.netconf.nettyutil.handler.ssh.client.AsyncSshHandler;
 import org.opendaylight.netconf.shaded.exificient.core.exceptions.EXIException;
 import org.opendaylight.netconf.shaded.exificient.core.exceptions.UnsupportedOption;
 import org.slf4j.Logger;
@@ -88,6 +91,19 @@ public abstract class AbstractNetconfSession<S extends NetconfSession, L extends
         return promise;
     }
 
+    @Override
+    public void executeAfterCurrentMessage(final Runnable task) {
+        // Messages are processed by the event loop, which also writes all messages, see sendMessage(). The task runs
+        // after the message being processed, so a reply to it has already been queued for writing.
+        channel.eventLoop().execute(task);
+    }
+
+    @Override
+    public Future<?> schedule(final Runnable task, final long delay, final TimeUnit unit) {
+        // The task runs on the event loop, as do all writes, see sendMessage()
+        return channel.eventLoop().schedule(task, delay, unit);
+    }
+
     protected void endOfInput() {
         LOG.debug("Session {} end of input detected while session was in state {}", this, up ? "up" : "initialized");
         if (up) {
@@ -110,6 +126,17 @@ public abstract class AbstractNetconfSession<S extends NetconfSession, L extends
         return sb.toString();
     }
 
+    /**
+     * Send a keepalive message at the transport level, if the transport supports it. Such a message does not reach
+     * the NETCONF server of the peer.
+     *
+     * @return {@code true} if a keepalive has been sent, {@code false} if the transport does not support keepalives
+     */
+    public boolean sendTransportKeepalive() {
+        final AsyncSshHandler sshHandler = channel.pipeline().get(AsyncSshHandler.class);
+        return sshHandler != null && sshHandler.sendKeepalive();
+    }
+
     protected final void replaceMessageDecoder(final ChannelHandler handler) {
         replaceChannelHandler(AbstractChannelInitializer.NETCONF_MESSAGE_DECODER, handler);
     }
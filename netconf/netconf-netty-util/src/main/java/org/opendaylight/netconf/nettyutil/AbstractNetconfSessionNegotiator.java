@@ -175,7 +175,17 @@ public abstract class AbstractNetconfSessionNegotiator<P extends NetconfSessionP
         replaceChannelHandler(channel, AbstractChannelInitializer.NETCONF_MESSAGE_FRAME_ENCODER,
                 FramingMechanismHandlerFactory.createHandler(FramingMechanism.CHUNK));
         replaceChannelHandler(channel, AbstractChannelInitializer.NETCONF_MESSAGE_AGGREGATOR,
-                new NetconfChunkAggregator());
+                newChunkAggregator());
+    }
+
+    /**
+     * Create the aggregator for chunked framing, which is used when both peers support base:1.1. Subclasses can
+     * override this method to customize chunk and message size limits.
+     *
+     * @return A new chunk aggregator
+     */
+    protected ChannelHandler newChunkAggregator() {
+        return new NetconfChunkAggregator();
     }
 
     private boolean shouldUseChunkFraming(final Document doc) {
@@ -192,7 +202,7 @@ public abstract class AbstractNetconfSessionNegotiator<P extends NetconfSessionP
      */
     protected final void replaceHelloMessageInboundHandler(final S session) {
         ChannelHandler helloMessageHandler = replaceChannelHandler(channel,
-                AbstractChannelInitializer.NETCONF_MESSAGE_DECODER, new NetconfXMLToMessageDecoder());
+                AbstractChannelInitializer.NETCONF_MESSAGE_DECODER, newMessageDecoder());
 
         checkState(helloMessageHandler instanceof NetconfXMLToHelloMessageDecoder,
                 "Pipeline handlers misplaced on session: %s, pipeline: %s", session, channel.pipeline());
@@ -208,12 +218,31 @@ public abstract class AbstractNetconfSessionNegotiator<P extends NetconfSessionP
         }
     }
 
+    /**
+     * Create the decoder for regular NETCONF messages, which replaces the hello message decoder once negotiation
+     * completes. Subclasses can override this method to customize message decoding.
+     *
+     * @return A new message decoder
+     */
+    protected ChannelHandler newMessageDecoder() {
+        return new NetconfXMLToMessageDecoder();
+    }
+
+    /**
+     * Create the encoder for regular NETCONF messages, which replaces the hello message encoder once negotiation
+     * completes. Subclasses can override this method to customize message encoding.
+     *
+     * @return A new message encoder
+     */
+    protected ChannelHandler newMessageEncoder() {
+        return new NetconfMessageToXMLEncoder();
+    }
+
     /**
      * Remove special outbound handler for hello message. Insert regular netconf xml message (en|de)coders.
      */
     private void replaceHelloMessageOutboundHandler() {
-        replaceChannelHandler(channel, AbstractChannelInitializer.NETCONF_MESSAGE_ENCODER,
-                new NetconfMessageToXMLEncoder());
+        replaceChannelHandler(channel, AbstractChannelInitializer.NETCONF_MESSAGE_ENCODER, newMessageEncoder());
     }
 
     private static ChannelHandler replaceChannelHandler(final Channel channel, final String handlerKey,
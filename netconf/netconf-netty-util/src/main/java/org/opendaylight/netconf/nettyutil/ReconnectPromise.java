@@ -70,12 +70,11 @@ final class ReconnectPromise<S extends NetconfSession, L extends NetconfSessionL
     }
 
     synchronized void connect() {
-        lockedConnect();
+        lockedConnect(strategyFactory.createReconnectStrategy());
     }
 
     @Holding("this")
-    private void lockedConnect() {
-        final ReconnectStrategy cs = strategyFactory.createReconnectStrategy();
+    private void lockedConnect(final ReconnectStrategy cs) {
 
         // Set up a client with pre-configured bootstrap, but add a closed channel handler into the pipeline to support
         // reconnect attempts
@@ -121,7 +120,21 @@ final class ReconnectPromise<S extends NetconfSession, L extends NetconfSessionL
             }
 
             LOG.debug("Reconnecting after connection to {} was dropped", address);
-            lockedConnect();
+            final ReconnectStrategy cs = strategyFactory.createReconnectStrategy();
+            final Future<Void> scheduled = cs.scheduleSessionReconnect();
+            pending = scheduled;
+            scheduled.addListener(future -> sessionReconnectScheduled(cs, future));
+        }
+    }
+
+    private synchronized void sessionReconnectScheduled(final ReconnectStrategy cs, final Future<?> future) {
+        if (isCancelled() || pending != future) {
+            return;
+        }
+        if (future.isSuccess()) {
+            lockedConnect(cs);
+        } else {
+            LOG.debug("Reconnect to {} abandoned", address, future.cause());
         }
     }
 }
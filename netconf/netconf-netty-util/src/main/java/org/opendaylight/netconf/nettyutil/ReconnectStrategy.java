@@ -8,6 +8,7 @@
 package org.opendaylight.netconf.nettyutil;
 
 import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.ImmediateEventExecutor;
 
 /**
  * Interface exposed by a reconnection strategy provider. A reconnection
@@ -47,6 +48,17 @@ public interface ReconnectStrategy {
      */
     Future<Void> scheduleReconnect(Throwable cause);
 
+    /**
+     * Schedule the first connection attempt after an established connection has been dropped. The attempt is made
+     * once the returned future completes successfully and is abandoned if it fails. The default implementation allows
+     * the attempt right away.
+     *
+     * @return a future tracking the schedule, may not be null
+     */
+    default Future<Void> scheduleSessionReconnect() {
+        return ImmediateEventExecutor.INSTANCE.newSucceededFuture(null);
+    }
+
     /**
      * Reset the strategy state. Users call this method once the reconnection
      * process succeeds.
@@ -10,16 +10,31 @@ package org.opendaylight.netconf.nettyutil.handler;
 
 import com.google.common.base.Preconditions;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
 import io.netty.handler.codec.MessageToByteEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.opendaylight.netconf.util.messages.NetconfMessageConstants;
 
+/**
+ * Encoder of the chunked framing mechanism defined in RFC6242 for NETCONF 1.1. Chunk headers are written into the same
+ * buffer as the payload, which is sized up front to hold the complete frame. {@link NetconfMessageFragment}s are framed
+ * as they arrive, the message is terminated after the last one. {@link SerializedNetconfMessage}s are framed once for
+ * each chunk size and the frame is shared by all sessions.
+ */
 public class ChunkedFramingMechanismEncoder extends MessageToByteEncoder<ByteBuf> {
     public static final int DEFAULT_CHUNK_SIZE = 8192;
     public static final int MIN_CHUNK_SIZE = 128;
     public static final int MAX_CHUNK_SIZE = 16 * 1024 * 1024;
 
     private final int chunkSize;
+    // Header of a full chunk, which is the same for all but the last chunk of a message
+    private final byte[] chunkHeader;
+    // Identifies frames of SerializedNetconfMessages produced with this chunk size
+    private final Object sharedFrameKey;
 
     public ChunkedFramingMechanismEncoder() {
         this(DEFAULT_CHUNK_SIZE);
@@ -29,6 +44,8 @@ public class ChunkedFramingMechanismEncoder extends MessageToByteEncoder<ByteBuf
         Preconditions.checkArgument(chunkSize >= MIN_CHUNK_SIZE && chunkSize <= MAX_CHUNK_SIZE,
                 "Unsupported chunk size %s", chunkSize);
         this.chunkSize = chunkSize;
+        chunkHeader = chunkHeader(chunkSize);
+        sharedFrameKey = List.of(ChunkedFramingMechanismEncoder.class, chunkSize);
     }
 
     public final int getChunkSize() {
@@ -36,17 +53,78 @@ public class ChunkedFramingMechanismEncoder extends MessageToByteEncoder<ByteBuf
     }
 
     @Override
-    protected void encode(final ChannelHandlerContext ctx, final ByteBuf msg, final ByteBuf out)  {
-        do {
-            final int xfer = Math.min(chunkSize, msg.readableBytes());
+    protected ByteBuf allocateBuffer(final ChannelHandlerContext ctx, final ByteBuf msg, final boolean preferDirect) {
+        final int readable = msg.readableBytes();
+        final int chunks = Math.max(1, (readable + chunkSize - 1) / chunkSize);
+        final int size = readable + chunks * chunkHeader.length + MessageParts.END_OF_CHUNK.length;
+        return preferDirect ? ctx.alloc().ioBuffer(size) : ctx.alloc().heapBuffer(size);
+    }
 
-            out.writeBytes(MessageParts.START_OF_CHUNK);
-            out.writeBytes(String.valueOf(xfer).getBytes(StandardCharsets.US_ASCII));
-            out.writeByte('\n');
+    @Override
+    public void write(final ChannelHandlerContext ctx, final Object msg, final ChannelPromise promise)
+            throws Exception {
+        if (msg instanceof SerializedNetconfMessage) {
+            final SerializedNetconfMessage serialized = (SerializedNetconfMessage) msg;
+            final byte[] frame;
+            try {
+                frame = serialized.getSerialization().get(sharedFrameKey, () -> {
+                    final ByteBuf content = serialized.content();
+                    final ByteBuf out = allocateBuffer(ctx, content, false);
+                    try {
+                        encode(ctx, content, out);
+                        return ByteBufUtil.getBytes(out);
+                    } finally {
+                        out.release();
+                    }
+                });
+            } finally {
+                serialized.release();
+            }
+            ctx.write(Unpooled.wrappedBuffer(frame), promise);
+            return;
+        }
+        if (!(msg instanceof NetconfMessageFragment)) {
+            super.write(ctx, msg, promise);
+            return;
+        }
+
+        final NetconfMessageFragment fragment = (NetconfMessageFragment) msg;
+        final ByteBuf out;
+        try {
+            final ByteBuf content = fragment.content();
+            final int readable = content.readableBytes();
+            final int chunks = (readable + chunkSize - 1) / chunkSize;
+            out = ctx.alloc().ioBuffer(readable + chunks * chunkHeader.length
+                + (fragment.isLast() ? MessageParts.END_OF_CHUNK.length : 0));
+            // empty chunks are not allowed, an empty fragment only terminates the message
+            while (content.isReadable()) {
+                writeChunk(content, out);
+            }
+            if (fragment.isLast()) {
+                out.writeBytes(MessageParts.END_OF_CHUNK);
+            }
+        } finally {
+            fragment.release();
+        }
+        ctx.write(out, promise);
+    }
 
-            out.writeBytes(msg, xfer);
+    @Override
+    protected void encode(final ChannelHandlerContext ctx, final ByteBuf msg, final ByteBuf out)  {
+        do {
+            writeChunk(msg, out);
         } while (msg.isReadable());
 
         out.writeBytes(MessageParts.END_OF_CHUNK);
     }
+
+    private void writeChunk(final ByteBuf msg, final ByteBuf out) {
+        final int xfer = Math.min(chunkSize, msg.readableBytes());
+        out.writeBytes(xfer == chunkSize ? chunkHeader : chunkHeader(xfer));
+        out.writeBytes(msg, xfer);
+    }
+
+    private static byte[] chunkHeader(final int size) {
+        return (NetconfMessageConstants.START_OF_CHUNK + size + "\n").getBytes(StandardCharsets.US_ASCII);
+    }
 }
@@ -0,0 +1,285 @@
+/*
+ * Copyright (c) 2022 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.nettyutil.handler;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import org.opendaylight.netconf.api.xml.StreamedContent;
+import org.w3c.dom.Attr;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.w3c.dom.ProcessingInstruction;
+
+/**
+ * Direct serializer of a DOM {@link Document} into UTF-8 encoded XML. Unlike a JAXP identity transformation, this
+ * class walks the DOM and emits it through an {@link XMLStreamWriter}, without any indentation. Namespace fix-up is
+ * performed as needed, so that documents constructed through {@code createElementNS()} without explicit
+ * {@code xmlns} attributes are serialized correctly.
+ *
+ * <p>
+ * {@link StreamedContent} of elements, as carried by a message, is written directly to the output stream, through
+ * a separate writer.
+ *
+ * <p>
+ * Instances are not thread-safe and are expected to be used for a single document.
+ */
+final class DocumentStreamWriter {
+    private static final XMLOutputFactory FACTORY;
+    private static final XMLOutputFactory CONTENT_FACTORY;
+
+    static {
+        final XMLOutputFactory f = XMLOutputFactory.newFactory();
+        f.setProperty(XMLOutputFactory.IS_REPAIRING_NAMESPACES, false);
+        FACTORY = f;
+
+        final XMLOutputFactory cf = XMLOutputFactory.newFactory();
+        cf.setProperty(XMLOutputFactory.IS_REPAIRING_NAMESPACES, true);
+        CONTENT_FACTORY = cf;
+    }
+
+    private static final String NULL_BINDING = "";
+
+    // Current prefix bindings along with an undo log, so that leaving an element restores the parent's scope
+    private final Map<String, String> bindings = new HashMap<>();
+    private final Deque<String[]> undo = new ArrayDeque<>();
+    private final XMLStreamWriter writer;
+    private final OutputStream os;
+    private final Map<Element, StreamedContent> content;
+
+    private int generatedPrefixes;
+
+    private DocumentStreamWriter(final XMLStreamWriter writer, final OutputStream os,
+            final Map<Element, StreamedContent> content) {
+        this.writer = requireNonNull(writer);
+        this.os = requireNonNull(os);
+        this.content = requireNonNull(content);
+        bindings.put(XMLConstants.DEFAULT_NS_PREFIX, NULL_BINDING);
+    }
+
+    /**
+     * Serialize a document into an output stream. The stream is flushed, but not closed.
+     *
+     * @param document Document to serialize
+     * @param os Target output stream
+     * @throws XMLStreamException if an error occurs
+     */
+    static void write(final Document document, final OutputStream os) throws XMLStreamException {
+        write(document, Map.of(), os);
+    }
+
+    /**
+     * Serialize a document into an output stream, writing content of its elements which is not present in the DOM.
+     * The stream is flushed, but not closed.
+     *
+     * @param document Document to serialize
+     * @param content Content of elements of the document, keyed by element identity
+     * @param os Target output stream
+     * @throws XMLStreamException if an error occurs
+     */
+    static void write(final Document document, final Map<Element, StreamedContent> content, final OutputStream os)
+            throws XMLStreamException {
+        final XMLStreamWriter writer = FACTORY.createXMLStreamWriter(os, StandardCharsets.UTF_8.name());
+        try {
+            new DocumentStreamWriter(writer, os, content).writeDocument(document);
+            writer.flush();
+        } finally {
+            writer.close();
+        }
+    }
+
+    private void writeDocument(final Document document) throws XMLStreamException {
+        writer.writeStartDocument(StandardCharsets.UTF_8.name(), "1.0");
+        for (Node child = document.getFirstChild(); child != null; child = child.getNextSibling()) {
+            writeNode(child);
+        }
+        writer.writeEndDocument();
+    }
+
+    private void writeNode(final Node node) throws XMLStreamException {
+        switch (node.getNodeType()) {
+            case Node.ELEMENT_NODE:
+                writeElement((Element) node);
+                break;
+            case Node.TEXT_NODE:
+                writer.writeCharacters(node.getNodeValue());
+                break;
+            case Node.CDATA_SECTION_NODE:
+                writer.writeCData(node.getNodeValue());
+                break;
+            case Node.COMMENT_NODE:
+                writer.writeComment(node.getNodeValue());
+                break;
+            case Node.PROCESSING_INSTRUCTION_NODE:
+                final ProcessingInstruction pi = (ProcessingInstruction) node;
+                writer.writeProcessingInstruction(pi.getTarget(), pi.getData());
+                break;
+            case Node.ENTITY_REFERENCE_NODE:
+                writeChildren(node);
+                break;
+            default:
+                // Document type and similar nodes are not part of NETCONF messages
+                break;
+        }
+    }
+
+    private void writeChildren(final Node node) throws XMLStreamException {
+        for (Node child = node.getFirstChild(); child != null; child = child.getNextSibling()) {
+            writeNode(child);
+        }
+    }
+
+    private void writeElement(final Element element) throws XMLStreamException {
+        final int mark = undo.size();
+        final String localName = element.getLocalName();
+        // content which has been materialized is part of the DOM
+        final StreamedContent streamed = content.isEmpty() || element.hasChildNodes() ? null : content.get(element);
+        final boolean empty = streamed == null && !element.hasChildNodes();
+
+        if (localName == null) {
+            // DOM Level 1 node, not namespace-aware: emit it verbatim
+            if (empty) {
+                writer.writeEmptyElement(element.getTagName());
+            } else {
+                writer.writeStartElement(element.getTagName());
+            }
+        } else {
+            final String prefix = nullToEmpty(element.getPrefix());
+            final String namespace = nullToEmpty(element.getNamespaceURI());
+            if (empty) {
+                writer.writeEmptyElement(prefix, localName, namespace);
+            } else {
+                writer.writeStartElement(prefix, localName, namespace);
+            }
+            writeDeclarations(element);
+            if (!namespace.equals(bindings.get(prefix))) {
+                declare(prefix, namespace);
+            }
+        }
+        writeAttributes(element);
+
+        if (!empty) {
+            if (streamed != null) {
+                writeContent(streamed);
+            } else {
+                writeChildren(element);
+            }
+            writer.writeEndElement();
+        }
+
+        while (undo.size() > mark) {
+            final String[] entry = undo.pop();
+            if (entry[1] == null) {
+                bindings.remove(entry[0]);
+            } else {
+                bindings.put(entry[0], entry[1]);
+            }
+        }
+    }
+
+    private void writeContent(final StreamedContent streamed) throws XMLStreamException {
+        // Close the start tag and hand the stream over to a writer repairing namespaces, as the content expects
+        writer.writeCharacters("");
+        writer.flush();
+        final XMLStreamWriter contentWriter = CONTENT_FACTORY.createXMLStreamWriter(os,
+            StandardCharsets.UTF_8.name());
+        try {
+            streamed.writeTo(contentWriter);
+            contentWriter.flush();
+        } finally {
+            contentWriter.close();
+        }
+    }
+
+    private void writeDeclarations(final Element element) throws XMLStreamException {
+        final NamedNodeMap attributes = element.getAttributes();
+        for (int i = 0, length = attributes.getLength(); i < length; i++) {
+            final Attr attr = (Attr) attributes.item(i);
+            if (XMLConstants.XMLNS_ATTRIBUTE_NS_URI.equals(attr.getNamespaceURI())) {
+                final String prefix = XMLConstants.XMLNS_ATTRIBUTE.equals(attr.getPrefix()) ? attr.getLocalName()
+                    : XMLConstants.DEFAULT_NS_PREFIX;
+                final String namespace = attr.getValue();
+                if (!namespace.equals(bindings.get(prefix))) {
+                    declare(prefix, namespace);
+                }
+            }
+        }
+    }
+
+    private void writeAttributes(final Element element) throws XMLStreamException {
+        final NamedNodeMap attributes = element.getAttributes();
+        for (int i = 0, length = attributes.getLength(); i < length; i++) {
+            final Attr attr = (Attr) attributes.item(i);
+            final String localName = attr.getLocalName();
+            if (localName == null) {
+                writer.writeAttribute(attr.getName(), attr.getValue());
+                continue;
+            }
+
+            final String namespace = nullToEmpty(attr.getNamespaceURI());
+            if (namespace.isEmpty()) {
+                writer.writeAttribute(localName, attr.getValue());
+            } else if (XMLConstants.XMLNS_ATTRIBUTE_NS_URI.equals(namespace)) {
+                // Already emitted by writeDeclarations()
+                continue;
+            } else if (XMLConstants.XML_NS_URI.equals(namespace)) {
+                writer.writeAttribute(XMLConstants.XML_NS_PREFIX, namespace, localName, attr.getValue());
+            } else {
+                writer.writeAttribute(attributePrefix(attr.getPrefix(), namespace), namespace, localName,
+                    attr.getValue());
+            }
+        }
+    }
+
+    private String attributePrefix(final String prefix, final String namespace) throws XMLStreamException {
+        // Attributes cannot use the default namespace
+        if (prefix != null && !prefix.isEmpty()) {
+            if (!namespace.equals(bindings.get(prefix))) {
+                declare(prefix, namespace);
+            }
+            return prefix;
+        }
+
+        for (Map.Entry<String, String> entry : bindings.entrySet()) {
+            if (!entry.getKey().isEmpty() && namespace.equals(entry.getValue())) {
+                return entry.getKey();
+            }
+        }
+
+        String generated;
+        do {
+            generated = "ns" + generatedPrefixes++;
+        } while (bindings.containsKey(generated));
+        declare(generated, namespace);
+        return generated;
+    }
+
+    private void declare(final String prefix, final String namespace) throws XMLStreamException {
+        undo.push(new String[] { prefix, bindings.put(prefix, namespace) });
+        if (prefix.isEmpty()) {
+            writer.writeDefaultNamespace(namespace);
+        } else {
+            writer.writeNamespace(prefix, namespace);
+        }
+    }
+
+    private static String nullToEmpty(final String str) {
+        return str == null ? "" : str;
+    }
+}
@@ -9,10 +9,71 @@
 package org.opendaylight.netconf.nettyutil.handler;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
 import io.netty.handler.codec.MessageToByteEncoder;
 
+/**
+ * Encoder of the end-of-message framing mechanism defined in RFC6242 for NETCONF 1.0. The output buffer is sized
+ * to hold both the message and the delimiter, so that the frame is emitted as a single buffer.
+ * {@link NetconfMessageFragment}s are passed through, the delimiter is appended to the last one.
+ * {@link SerializedNetconfMessage}s are framed once and the frame is shared by all sessions.
+ */
 public class EOMFramingMechanismEncoder extends MessageToByteEncoder<ByteBuf> {
+    @Override
+    public void write(final ChannelHandlerContext ctx, final Object msg, final ChannelPromise promise)
+            throws Exception {
+        if (msg instanceof SerializedNetconfMessage) {
+            final SerializedNetconfMessage serialized = (SerializedNetconfMessage) msg;
+            final byte[] frame;
+            try {
+                frame = serialized.getSerialization().get(EOMFramingMechanismEncoder.class, () -> {
+                    final ByteBuf content = serialized.content();
+                    final ByteBuf out = allocateBuffer(ctx, content, false);
+                    try {
+                        encode(ctx, content, out);
+                        return ByteBufUtil.getBytes(out);
+                    } finally {
+                        out.release();
+                    }
+                });
+            } finally {
+                serialized.release();
+            }
+            ctx.write(Unpooled.wrappedBuffer(frame), promise);
+            return;
+        }
+        if (!(msg instanceof NetconfMessageFragment)) {
+            super.write(ctx, msg, promise);
+            return;
+        }
+
+        final NetconfMessageFragment fragment = (NetconfMessageFragment) msg;
+        if (!fragment.isLast()) {
+            ctx.write(fragment.content(), promise);
+            return;
+        }
+
+        final ByteBuf out;
+        try {
+            final ByteBuf content = fragment.content();
+            out = ctx.alloc().ioBuffer(content.readableBytes() + MessageParts.END_OF_MESSAGE.length);
+            out.writeBytes(content);
+            out.writeBytes(MessageParts.END_OF_MESSAGE);
+        } finally {
+            fragment.release();
+        }
+        ctx.write(out, promise);
+    }
+
+    @Override
+    protected ByteBuf allocateBuffer(final ChannelHandlerContext ctx, final ByteBuf msg, final boolean preferDirect) {
+        final int size = msg.readableBytes() + MessageParts.END_OF_MESSAGE.length;
+        return preferDirect ? ctx.alloc().ioBuffer(size) : ctx.alloc().heapBuffer(size);
+    }
+
     @Override
     protected void encode(ChannelHandlerContext ctx, ByteBuf msg, ByteBuf out) {
         out.writeBytes(msg);
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2022 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.nettyutil.handler;
+
+import static java.util.Objects.requireNonNull;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Output stream cutting data into {@link NetconfMessageFragment}s of {@link NetconfMessageToXMLEncoder#FRAGMENT_SIZE}
+ * and passing them to a {@link Sink}.
+ */
+final class FragmentOutputStream extends OutputStream {
+    /**
+     * Consumer of fragments.
+     */
+    @FunctionalInterface
+    interface Sink {
+        /**
+         * Accept a fragment. The sink takes over ownership of the fragment, even if it throws.
+         *
+         * @param fragment fragment to accept
+         * @throws IOException if the fragment cannot be accepted and the stream should not continue
+         */
+        void accept(NetconfMessageFragment fragment) throws IOException;
+    }
+
+    private final ByteBufAllocator alloc;
+    private final Sink sink;
+
+    private ByteBuf buf;
+
+    FragmentOutputStream(final ByteBufAllocator alloc, final Sink sink) {
+        this.alloc = requireNonNull(alloc);
+        this.sink = requireNonNull(sink);
+    }
+
+    @Override
+    public void write(final int byteValue) throws IOException {
+        buffer().writeByte(byteValue);
+        if (!buf.isWritable()) {
+            emit(false);
+        }
+    }
+
+    @Override
+    public void write(final byte[] bytes, final int off, final int len) throws IOException {
+        int offset = off;
+        int remaining = len;
+        while (remaining > 0) {
+            final int xfer = Math.min(remaining, buffer().writableBytes());
+            buf.writeBytes(bytes, offset, xfer);
+            offset += xfer;
+            remaining -= xfer;
+            if (!buf.isWritable()) {
+                emit(false);
+            }
+        }
+    }
+
+    /**
+     * Pass the remaining data to the sink as the last fragment of the message.
+     *
+     * @throws IOException if the sink fails
+     */
+    void finish() throws IOException {
+        buffer();
+        emit(true);
+    }
+
+    /**
+     * Release data which has not been passed to the sink.
+     */
+    void discard() {
+        if (buf != null) {
+            buf.release();
+            buf = null;
+        }
+    }
+
+    private ByteBuf buffer() {
+        if (buf == null) {
+            buf = alloc.ioBuffer(NetconfMessageToXMLEncoder.FRAGMENT_SIZE, NetconfMessageToXMLEncoder.FRAGMENT_SIZE);
+        }
+        return buf;
+    }
+
+    private void emit(final boolean last) throws IOException {
+        final NetconfMessageFragment fragment = new NetconfMessageFragment(buf, last);
+        buf = null;
+        sink.accept(fragment);
+    }
+}
@@ -8,6 +8,8 @@
 
 package org.opendaylight.netconf.nettyutil.handler;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.CompositeByteBuf;
 import io.netty.buffer.Unpooled;
@@ -17,6 +19,16 @@ import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Decoder of the chunked framing mechanism defined in RFC6242. Chunk data is copied out of the inbound buffers as soon
+ * as it is received, without waiting for the entire chunk to arrive, so that the inbound buffers can be released or
+ * reused right away. The data is copied into buffers of at most {@value #COMPONENT_SIZE} bytes, which are assembled
+ * into a composite buffer passed downstream once the end-of-chunks marker is seen.
+ *
+ * <p>
+ * Both the size of a single chunk and the total size of a message are bounded. A peer exceeding either of the limits
+ * causes the decoder to fail.
+ */
 public class NetconfChunkAggregator extends ByteToMessageDecoder {
     private static final Logger LOG = LoggerFactory.getLogger(NetconfChunkAggregator.class);
     private static final String GOT_PARAM_WHILE_WAITING_FOR_PARAM = "Got byte {} while waiting for {}";
@@ -24,6 +36,10 @@ public class NetconfChunkAggregator extends ByteToMessageDecoder {
     private static final String GOT_PARAM_WHILE_WAITING_FOR_PARAM_PARAM_PARAM =
         "Got byte {} while waiting for {}-{}-{}";
     public static final int DEFAULT_MAXIMUM_CHUNK_SIZE = 16 * 1024 * 1024;
+    public static final int DEFAULT_MAXIMUM_MESSAGE_SIZE = 256 * 1024 * 1024;
+
+    // Maximum size of a single component of the message buffer
+    private static final int COMPONENT_SIZE = 64 * 1024;
 
     private enum State {
         HEADER_ONE, // \n
@@ -37,10 +53,31 @@ public class NetconfChunkAggregator extends ByteToMessageDecoder {
         FOOTER_FOUR, // \n
     }
 
-    private final int maxChunkSize = DEFAULT_MAXIMUM_CHUNK_SIZE;
+    private final int maxChunkSize;
+    private final int maxMessageSize;
     private State state = State.HEADER_ONE;
     private long chunkSize;
+    private long messageSize;
     private CompositeByteBuf chunk;
+    private ByteBuf component;
+
+    public NetconfChunkAggregator() {
+        this(DEFAULT_MAXIMUM_CHUNK_SIZE, DEFAULT_MAXIMUM_MESSAGE_SIZE);
+    }
+
+    /**
+     * Create a new aggregator with specified limits.
+     *
+     * @param maxChunkSize maximum size of a single chunk, in bytes
+     * @param maxMessageSize maximum size of a complete message, in bytes
+     * @throws IllegalArgumentException if any of the limits is not positive
+     */
+    public NetconfChunkAggregator(final int maxChunkSize, final int maxMessageSize) {
+        checkArgument(maxChunkSize > 0, "Maximum chunk size %s must be positive", maxChunkSize);
+        checkArgument(maxMessageSize > 0, "Maximum message size %s must be positive", maxMessageSize);
+        this.maxChunkSize = maxChunkSize;
+        this.maxMessageSize = maxMessageSize;
+    }
 
     private static void checkNewLine(final byte byteToCheck, final String errorMessage) {
         if (byteToCheck != '\n') {
@@ -63,6 +100,13 @@ public class NetconfChunkAggregator extends ByteToMessageDecoder {
         }
     }
 
+    private void checkMessageSize() {
+        if (messageSize > maxMessageSize) {
+            LOG.debug("Message size {} exceeds maximum allowed {}", messageSize, maxMessageSize);
+            throw new IllegalStateException("Maximum message size exceeded");
+        }
+    }
+
     @Override
     protected void decode(final ChannelHandlerContext ctx,
                           final ByteBuf in, final List<Object> out) throws IllegalStateException {
@@ -84,12 +128,15 @@ public class NetconfChunkAggregator extends ByteToMessageDecoder {
                 case HEADER_LENGTH_FIRST: {
                     final byte b = in.readByte();
                     chunkSize = processHeaderLengthFirst(b);
+                    checkChunkSize();
                     state = State.HEADER_LENGTH_OTHER;
                     break;
                 }
                 case HEADER_LENGTH_OTHER: {
                     final byte b = in.readByte();
                     if (b == '\n') {
+                        messageSize += chunkSize;
+                        checkMessageSize();
                         state = State.DATA;
                         break;
                     }
@@ -102,21 +149,18 @@ public class NetconfChunkAggregator extends ByteToMessageDecoder {
                     checkChunkSize();
                     break;
                 }
-                case DATA:
-                    /*
-                     * FIXME: this gathers all data into one big chunk before passing
-                     *        it on. Make sure the pipeline can work with partial data
-                     *        and then change this piece to pass the data on as it
-                     *        comes through.
-                     */
-                    if (in.readableBytes() < chunkSize) {
-                        LOG.debug("Buffer has {} bytes, need {} to complete chunk", in.readableBytes(), chunkSize);
-                        in.discardReadBytes();
-                        return;
+                case DATA: {
+                    // Take whatever part of the chunk is available, so that the chunk is not accumulated in the
+                    // inbound buffer
+                    final int available = aggregateChunks(in);
+                    chunkSize -= available;
+                    if (chunkSize == 0) {
+                        state = State.FOOTER_ONE;
+                    } else {
+                        LOG.trace("Received {} bytes, {} remaining to complete chunk", available, chunkSize);
                     }
-                    aggregateChunks(in.readBytes((int) chunkSize));
-                    state = State.FOOTER_ONE;
                     break;
+                }
                 case FOOTER_ONE: {
                     final byte b = in.readByte();
                     checkNewLine(b,"Malformed chunk footer encountered (byte 0)");
@@ -141,16 +185,28 @@ public class NetconfChunkAggregator extends ByteToMessageDecoder {
                     final byte b = in.readByte();
                     checkNewLine(b,"Malformed chunk footer encountered (byte 3)");
                     state = State.HEADER_ONE;
+                    addComponent();
                     out.add(chunk);
                     chunk = null;
+                    messageSize = 0;
                     break;
                 }
                 default:
                     LOG.info("Unknown state.");
             }
         }
+    }
 
-        in.discardReadBytes();
+    @Override
+    protected void handlerRemoved0(final ChannelHandlerContext ctx) {
+        if (component != null) {
+            component.release();
+            component = null;
+        }
+        if (chunk != null) {
+            chunk.release();
+            chunk = null;
+        }
     }
 
     private void extractNewChunkOrMessageEnd(final byte byteToCheck) {
@@ -168,14 +224,27 @@ public class NetconfChunkAggregator extends ByteToMessageDecoder {
     }
 
     private void initChunk() {
-        chunk = Unpooled.compositeBuffer();
+        // Do not allow the buffer to consolidate components, as that would copy the data
+        chunk = Unpooled.compositeBuffer(Integer.MAX_VALUE);
     }
 
-    private void aggregateChunks(final ByteBuf newChunk) {
-        chunk.addComponent(chunk.numComponents(), newChunk);
+    private int aggregateChunks(final ByteBuf in) {
+        if (component == null) {
+            component = in.alloc().buffer((int) Math.min(chunkSize, COMPONENT_SIZE), COMPONENT_SIZE);
+        }
+        final int xfer = (int) Math.min(Math.min(in.readableBytes(), chunkSize), component.maxWritableBytes());
+        component.writeBytes(in, xfer);
+        if (component.maxWritableBytes() == 0) {
+            addComponent();
+        }
+        return xfer;
+    }
 
-        // Update writer index, addComponent does not update it
-        chunk.writerIndex(chunk.writerIndex() + newChunk.readableBytes());
+    private void addComponent() {
+        if (component != null) {
+            chunk.addComponent(true, component);
+            component = null;
+        }
     }
 
     private static int processHeaderLengthFirst(final byte byteToCheck) {
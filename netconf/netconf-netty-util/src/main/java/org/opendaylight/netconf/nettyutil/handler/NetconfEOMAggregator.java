@@ -10,13 +10,73 @@ package org.opendaylight.netconf.nettyutil.handler;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
-import io.netty.handler.codec.DelimiterBasedFrameDecoder;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ByteToMessageDecoder;
+import java.util.List;
 
-public class NetconfEOMAggregator extends DelimiterBasedFrameDecoder {
+/**
+ * Decoder of the end-of-message framing mechanism defined in RFC6242 for NETCONF 1.0. Each emitted frame is a retained
+ * slice of the inbound buffer, stripped of the {@code ]]>]]>} delimiter.
+ *
+ * <p>
+ * Unlike a generic delimiter-based decoder, this class remembers how far it has searched the accumulated input, so
+ * that each byte is examined only once regardless of how many reads it takes for a large message to arrive.
+ */
+public class NetconfEOMAggregator extends ByteToMessageDecoder {
 
     public static final ByteBuf DELIMITER = Unpooled.wrappedBuffer(MessageParts.END_OF_MESSAGE);
 
-    public NetconfEOMAggregator() {
-        super(Integer.MAX_VALUE, DELIMITER);
+    private static final byte[] EOM = MessageParts.END_OF_MESSAGE;
+    private static final byte EOM_FIRST = EOM[0];
+
+    // Number of bytes past readerIndex which are known not to start a delimiter
+    private int searched;
+
+    @Override
+    protected void decode(final ChannelHandlerContext ctx, final ByteBuf in, final List<Object> out) {
+        while (in.isReadable()) {
+            final int index = findDelimiter(in);
+            if (index == -1) {
+                return;
+            }
+
+            out.add(in.readRetainedSlice(index - in.readerIndex()));
+            in.skipBytes(EOM.length);
+            searched = 0;
+        }
+    }
+
+    private int findDelimiter(final ByteBuf in) {
+        final int readerIndex = in.readerIndex();
+        final int writerIndex = in.writerIndex();
+
+        int from = readerIndex + searched;
+        while (from < writerIndex) {
+            final int candidate = in.indexOf(from, writerIndex, EOM_FIRST);
+            if (candidate == -1) {
+                break;
+            }
+            if (writerIndex - candidate < EOM.length) {
+                // Potential delimiter is incomplete, resume from it once more data arrives
+                searched = candidate - readerIndex;
+                return -1;
+            }
+            if (isDelimiter(in, candidate)) {
+                return candidate;
+            }
+            from = candidate + 1;
+        }
+
+        searched = writerIndex - readerIndex;
+        return -1;
+    }
+
+    private static boolean isDelimiter(final ByteBuf in, final int index) {
+        for (int i = 1; i < EOM.length; ++i) {
+            if (in.getByte(index + i) != EOM[i]) {
+                return false;
+            }
+        }
+        return true;
     }
 }
@@ -12,13 +12,23 @@ import static java.util.Objects.requireNonNull;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import org.opendaylight.netconf.nettyutil.handler.exi.EXIParameters;
 import org.opendaylight.netconf.shaded.exificient.core.EXIFactory;
 import org.opendaylight.netconf.shaded.exificient.core.exceptions.EXIException;
 import org.opendaylight.netconf.shaded.exificient.main.api.sax.SAXEncoder;
 import org.xml.sax.EntityResolver;
 import org.xml.sax.InputSource;
+import org.xml.sax.helpers.DefaultHandler;
 
+/**
+ * EXI codec for a particular set of {@link EXIParameters}. Instances are shared by all sessions using the same
+ * parameters, and they maintain a bounded pool of encoders and decoders, so that their relatively expensive setup is
+ * not repeated for each session or message.
+ */
 public final class NetconfEXICodec {
     /**
      * OpenEXI does not allow us to directly prevent resolution of external entities. In order
@@ -27,17 +37,30 @@ public final class NetconfEXICodec {
     private static final EntityResolver ENTITY_RESOLVER = (publicId, systemId) -> new InputSource();
 
     /**
-     * Since we have a limited number of options we can have, instantiating a weak cache
-     * will allow us to reuse instances where possible.
+     * Pooled decoders are reset to this handler, so that they do not retain the last document they produced.
+     */
+    private static final DefaultHandler NOOP_HANDLER = new DefaultHandler();
+
+    /**
+     * Maximum number of idle encoders and decoders retained by each codec. Encoding and decoding takes place on
+     * channel event loops, hence there is little point in retaining more instances than there are threads.
+     */
+    private static final int POOL_SIZE = Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+
+    /**
+     * Since we have a limited number of options we can have, instantiating a soft cache will allow us to reuse
+     * instances, along with their pools, even across reconnects.
      */
     private static final LoadingCache<EXIParameters, NetconfEXICodec> CODECS =
-            CacheBuilder.newBuilder().weakValues().build(new CacheLoader<EXIParameters, NetconfEXICodec>() {
+            CacheBuilder.newBuilder().softValues().build(new CacheLoader<EXIParameters, NetconfEXICodec>() {
                 @Override
                 public NetconfEXICodec load(final EXIParameters key) {
                     return new NetconfEXICodec(key.getFactory());
                 }
             });
 
+    private final BlockingQueue<ThreadLocalSAXDecoder> readers = new ArrayBlockingQueue<>(POOL_SIZE);
+    private final BlockingQueue<SAXEncoder> writers = new ArrayBlockingQueue<>(POOL_SIZE);
     private final ThreadLocalSAXFactory exiFactory;
 
     private NetconfEXICodec(final EXIFactory exiFactory) {
@@ -57,4 +80,45 @@ public final class NetconfEXICodec {
     SAXEncoder getWriter() throws EXIException {
         return exiFactory.createEXIWriter();
     }
+
+    /**
+     * Acquire a decoder from the pool, creating a new one if the pool is empty. The decoder must be returned through
+     * {@link #releaseReader(ThreadLocalSAXDecoder)} once it is no longer used. A decoder
+     * which has thrown an exception must not be returned, as its internal state is unknown.
+     *
+     * @return A decoder
+     * @throws EXIException if a new decoder cannot be created
+     */
+    ThreadLocalSAXDecoder acquireReader() throws EXIException {
+        final ThreadLocalSAXDecoder reader = readers.poll();
+        return reader != null ? reader : getReader();
+    }
+
+    void releaseReader(final ThreadLocalSAXDecoder reader) {
+        reader.setContentHandler(NOOP_HANDLER);
+        readers.offer(reader);
+    }
+
+    /**
+     * Acquire an encoder from the pool, creating a new one if the pool is empty. The encoder must be returned through
+     * {@link #releaseWriter(SAXEncoder)} once it is no longer used. A encoder
+     * which has thrown an exception must not be returned, as its internal state is unknown.
+     *
+     * @return An encoder
+     * @throws EXIException if a new encoder cannot be created
+     */
+    SAXEncoder acquireWriter() throws EXIException {
+        final SAXEncoder writer = writers.poll();
+        return writer != null ? writer : getWriter();
+    }
+
+    void releaseWriter(final SAXEncoder writer) {
+        try {
+            writer.setOutputStream(OutputStream.nullOutputStream());
+        } catch (EXIException | IOException e) {
+            // Do not pool an encoder in an unknown state
+            return;
+        }
+        writers.offer(writer);
+    }
 }
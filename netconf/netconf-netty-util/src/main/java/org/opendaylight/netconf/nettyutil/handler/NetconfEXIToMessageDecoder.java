@@ -49,25 +49,27 @@ public final class NetconfEXIToMessageDecoder extends ByteToMessageDecoder {
     }
 
     /**
-     * This class is not marked as shared, so it can be attached to only a single channel,
-     * which means that {@link #decode(ChannelHandlerContext, ByteBuf, List)}
-     * cannot be invoked concurrently. Hence we can reuse the reader.
+     * Readers are borrowed from the codec for the duration of each
+     * {@link #decode(ChannelHandlerContext, ByteBuf, List)} invocation, so that they are shared with other sessions
+     * using the same parameters.
      */
-    private final ThreadLocalSAXDecoder reader;
+    private final NetconfEXICodec codec;
     private final DocumentBuilder documentBuilder;
 
-    private NetconfEXIToMessageDecoder(final ThreadLocalSAXDecoder reader) {
-        this.reader = requireNonNull(reader);
+    private NetconfEXIToMessageDecoder(final NetconfEXICodec codec) {
+        this.codec = requireNonNull(codec);
         this.documentBuilder = UntrustedXML.newDocumentBuilder();
     }
 
     public static NetconfEXIToMessageDecoder create(final NetconfEXICodec codec) throws EXIException {
-        return new NetconfEXIToMessageDecoder(codec.getReader());
+        // Make sure a reader can be created and prime the pool with it
+        codec.releaseReader(codec.acquireReader());
+        return new NetconfEXIToMessageDecoder(codec);
     }
 
     @Override
     protected void decode(final ChannelHandlerContext ctx, final ByteBuf in, final List<Object> out)
-            throws IOException, SAXException, TransformerConfigurationException {
+            throws IOException, SAXException, TransformerConfigurationException, EXIException {
         /*
          * Note that we could loop here and process all the messages, but we can't do that.
          * The reason is <stop-exi> operation, which has the contract of immediately stopping
@@ -86,15 +88,17 @@ public final class NetconfEXIToMessageDecoder extends ByteToMessageDecoder {
         }
 
         final TransformerHandler handler = FACTORY.newTransformerHandler();
-        reader.setContentHandler(handler);
-
         final DOMResult domResult = new DOMResult(documentBuilder.newDocument());
         handler.setResult(domResult);
 
+        final ThreadLocalSAXDecoder reader = codec.acquireReader();
         try (InputStream is = new ByteBufInputStream(in)) {
+            reader.setContentHandler(handler);
             // Performs internal reset before doing anything
             reader.parse(new InputSource(is));
         }
+        // A reader which has failed is left in an unknown state, hence it is returned to the pool only on success
+        codec.releaseReader(reader);
 
         out.add(new NetconfMessage((Document) domResult.getNode()));
     }
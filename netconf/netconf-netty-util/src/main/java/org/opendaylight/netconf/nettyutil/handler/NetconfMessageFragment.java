@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2022 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.nettyutil.handler;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.DefaultByteBufHolder;
+
+/**
+ * Part of an encoded NETCONF message, for messages which are passed to framing one part at a time, so that they do not
+ * have to be encoded into a single buffer. Framing encoders frame each fragment as it arrives and terminate the message
+ * after its last fragment. A plain {@link ByteBuf} is always a complete message.
+ *
+ * <p>
+ * Fragments passed through a {@link io.netty.handler.stream.ChunkedWriteHandler} are paced by channel writability.
+ * Other fragments not yet accepted by the transport are queued in the outbound buffer, hence a message may end up
+ * held in memory as a whole.
+ */
+public final class NetconfMessageFragment extends DefaultByteBufHolder {
+    private final boolean last;
+
+    public NetconfMessageFragment(final ByteBuf data, final boolean last) {
+        super(data);
+        this.last = last;
+    }
+
+    /**
+     * Check whether this is the last fragment of its message.
+     *
+     * @return true if the message ends with this fragment
+     */
+    public boolean isLast() {
+        return last;
+    }
+
+    @Override
+    public NetconfMessageFragment replace(final ByteBuf data) {
+        return new NetconfMessageFragment(data, last);
+    }
+}
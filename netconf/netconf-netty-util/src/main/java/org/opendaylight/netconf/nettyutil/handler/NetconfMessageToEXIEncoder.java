@@ -15,11 +15,13 @@ import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.MessageToByteEncoder;
 import java.io.IOException;
 import java.io.OutputStream;
+import javax.xml.stream.XMLStreamException;
 import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerException;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.sax.SAXResult;
 import org.opendaylight.netconf.api.NetconfMessage;
+import org.opendaylight.netconf.api.xml.StreamedContent;
 import org.opendaylight.netconf.shaded.exificient.core.exceptions.EXIException;
 import org.opendaylight.netconf.shaded.exificient.main.api.sax.SAXEncoder;
 import org.slf4j.Logger;
@@ -39,14 +41,18 @@ public final class NetconfMessageToEXIEncoder extends MessageToByteEncoder<Netco
 
     @Override
     protected void encode(final ChannelHandlerContext ctx, final NetconfMessage msg, final ByteBuf out)
-            throws IOException, TransformerException, EXIException {
+            throws IOException, TransformerException, EXIException, XMLStreamException {
         LOG.trace("Sent to encode : {}", msg);
+        // EXI is produced from the DOM, content written only on serialization has to be written into it first
+        StreamedContent.materialize(msg.getDocument(), msg.getStreamedContent());
 
+        final SAXEncoder encoder = codec.acquireWriter();
         try (OutputStream os = new ByteBufOutputStream(out)) {
-            final SAXEncoder encoder = codec.getWriter();
             encoder.setOutputStream(os);
             final Transformer transformer = ThreadLocalTransformers.getDefaultTransformer();
             transformer.transform(new DOMSource(msg.getDocument()), new SAXResult(encoder));
         }
+        // A writer which has failed is left in an unknown state, hence it is returned to the pool only on success
+        codec.releaseWriter(encoder);
     }
 }
@@ -8,35 +8,170 @@
 package org.opendaylight.netconf.nettyutil.handler;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
 import io.netty.handler.codec.MessageToByteEncoder;
+import io.netty.handler.stream.ChunkedWriteHandler;
+import io.netty.util.concurrent.PromiseCombiner;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.nio.charset.StandardCharsets;
 import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import javax.xml.stream.XMLStreamException;
 import javax.xml.transform.TransformerException;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
 import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.netconf.api.NetconfMessage;
+import org.opendaylight.netconf.api.xml.SharedSerialization;
+import org.opendaylight.netconf.api.xml.StreamedContent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Comment;
+import org.w3c.dom.Document;
 
 public class NetconfMessageToXMLEncoder extends MessageToByteEncoder<NetconfMessage> {
     private static final Logger LOG = LoggerFactory.getLogger(NetconfMessageToXMLEncoder.class);
 
+    /**
+     * Size of {@link NetconfMessageFragment}s of messages with {@link StreamedContent}.
+     */
+    @VisibleForTesting
+    static final int FRAGMENT_SIZE = 64 * 1024;
+
+    // Serializes messages with streamed content, a thread blocks while its session is not writable
+    private static final Executor SERIALIZER = Executors.newCachedThreadPool(new ThreadFactoryBuilder()
+        .setNameFormat("netconf-message-serializer-%d").setDaemon(true).build());
+
     private final @Nullable String clientId;
+    private final boolean prettyPrint;
 
     public NetconfMessageToXMLEncoder() {
         this(Optional.empty());
     }
 
     public NetconfMessageToXMLEncoder(final Optional<String> clientId) {
+        this(clientId, false);
+    }
+
+    /**
+     * Create a new encoder. Messages are normally written directly into the output buffer without any indentation.
+     * Requesting pretty printing restores the indented output produced by a JAXP identity transformation, which is
+     * easier to read, but is considerably slower and larger on the wire.
+     *
+     * <p>
+     * Messages with {@link StreamedContent} are written as a sequence of {@link NetconfMessageFragment}s while their
+     * content is being serialized, unless pretty printing is requested, in which case the content is materialized in
+     * the DOM first. If the pipeline contains a {@link ChunkedWriteHandler}, serialization runs on a separate thread
+     * and is paced by channel writability, so that only a few fragments of a message are held in memory. Otherwise it
+     * runs to completion on the event loop and the fragments queue up in the outbound buffer.
+     * Messages with {@link SharedSerialization} are serialized once for all sessions and passed on as
+     * {@link SerializedNetconfMessage}s, unless pretty printing or a client identifier is requested.
+     *
+     * @param clientId Optional client identifier to attach as a comment to each message
+     * @param prettyPrint {@code true} if messages should be indented
+     */
+    public NetconfMessageToXMLEncoder(final Optional<String> clientId, final boolean prettyPrint) {
         this.clientId = clientId.orElse(null);
+        this.prettyPrint = prettyPrint;
+    }
+
+    @Override
+    public void write(final ChannelHandlerContext ctx, final Object msg, final ChannelPromise promise)
+            throws Exception {
+        if (!prettyPrint && msg instanceof NetconfMessage) {
+            final Document document = ((NetconfMessage) msg).getDocument();
+            if (document != null) {
+                final Optional<SharedSerialization> shared = clientId == null
+                    ? ((NetconfMessage) msg).getSharedSerialization() : Optional.empty();
+                if (shared.isPresent()) {
+                    writeShared(ctx, (NetconfMessage) msg, shared.get(), promise);
+                    return;
+                }
+                if (!((NetconfMessage) msg).getStreamedContent().isEmpty()) {
+                    final ChunkedWriteHandler writer = ctx.pipeline().get(ChunkedWriteHandler.class);
+                    if (writer != null) {
+                        writeStreamed(ctx, writer, (NetconfMessage) msg, promise);
+                    } else {
+                        writeFragments(ctx, (NetconfMessage) msg, promise);
+                    }
+                    return;
+                }
+            }
+        }
+        super.write(ctx, msg, promise);
+    }
+
+    private static void writeShared(final ChannelHandlerContext ctx, final NetconfMessage msg,
+            final SharedSerialization shared, final ChannelPromise promise) throws IOException {
+        LOG.trace("Sent to encode shared : {}", msg);
+        final byte[] bytes = shared.get(NetconfMessageToXMLEncoder.class, () -> {
+            final ByteArrayOutputStream os = new ByteArrayOutputStream();
+            try {
+                DocumentStreamWriter.write(msg.getDocument(), os);
+            } catch (XMLStreamException e) {
+                throw new IOException("Failed to serialize message " + msg, e);
+            }
+            return os.toByteArray();
+        });
+        ctx.write(new SerializedNetconfMessage(Unpooled.wrappedBuffer(bytes), shared), promise);
+    }
+
+    private void writeStreamed(final ChannelHandlerContext ctx, final ChunkedWriteHandler writer,
+            final NetconfMessage msg, final ChannelPromise promise) {
+        LOG.trace("Sent to encode in background : {}", msg);
+        appendClientId(msg);
+
+        final StreamedMessageInput input = new StreamedMessageInput(msg, writer, ctx.alloc());
+        promise.addListener(future -> {
+            if (!future.isSuccess() && ctx.channel().isActive()) {
+                // part of the message may have been sent already, the session cannot continue
+                LOG.warn("Failed to send message {}, closing channel {}", msg, ctx.channel(), future.cause());
+                ctx.close();
+            }
+        });
+        // Subsequent messages are held by the writer until this one is complete
+        ctx.write(input, promise);
+        SERIALIZER.execute(input::serialize);
+    }
+
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    private void writeFragments(final ChannelHandlerContext ctx, final NetconfMessage msg,
+            final ChannelPromise promise) {
+        LOG.trace("Sent to encode in fragments : {}", msg);
+        appendClientId(msg);
+
+        final PromiseCombiner combiner = new PromiseCombiner(ctx.executor());
+        // flush each fragment, so that the transport can start sending it, there is no pacing by writability
+        final FragmentOutputStream os = new FragmentOutputStream(ctx.alloc(),
+            fragment -> combiner.add(ctx.writeAndFlush(fragment)));
+        try {
+            DocumentStreamWriter.write(msg.getDocument(), msg.getStreamedContent(), os);
+            os.finish();
+        } catch (XMLStreamException | IOException | RuntimeException e) {
+            os.discard();
+            // part of the message may have been sent already, the session cannot continue
+            LOG.warn("Failed to serialize message {}, closing channel {}", msg, ctx.channel(), e);
+            promise.tryFailure(e);
+            ctx.close();
+            return;
+        }
+        combiner.finish(promise);
+    }
+
+    private void appendClientId(final NetconfMessage msg) {
+        if (clientId != null) {
+            Comment comment = msg.getDocument().createComment("clientId:" + clientId);
+            msg.getDocument().appendChild(comment);
+        }
     }
 
     @Override
@@ -44,12 +179,22 @@ public class NetconfMessageToXMLEncoder extends MessageToByteEncoder<NetconfMess
     public void encode(final ChannelHandlerContext ctx, final NetconfMessage msg, final ByteBuf out)
             throws IOException, TransformerException {
         LOG.trace("Sent to encode : {}", msg);
+        appendClientId(msg);
 
-        if (clientId != null) {
-            Comment comment = msg.getDocument().createComment("clientId:" + clientId);
-            msg.getDocument().appendChild(comment);
+        if (!prettyPrint) {
+            try (OutputStream os = new ByteBufOutputStream(out)) {
+                DocumentStreamWriter.write(msg.getDocument(), msg.getStreamedContent(), os);
+            } catch (XMLStreamException e) {
+                throw new IOException("Failed to serialize message " + msg, e);
+            }
+            return;
         }
 
+        try {
+            StreamedContent.materialize(msg.getDocument(), msg.getStreamedContent());
+        } catch (XMLStreamException e) {
+            throw new IOException("Failed to serialize message " + msg, e);
+        }
         try (OutputStream os = new ByteBufOutputStream(out)) {
             // Wrap OutputStreamWriter with BufferedWriter as suggested in javadoc for OutputStreamWriter
 
@@ -15,7 +15,9 @@ import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.ByteToMessageDecoder;
 import java.io.IOException;
 import java.util.List;
+import javax.xml.stream.XMLStreamException;
 import org.opendaylight.netconf.api.FailedNetconfMessage;
+import org.opendaylight.netconf.api.LazyNetconfMessage;
 import org.opendaylight.netconf.api.NetconfMessage;
 import org.opendaylight.netconf.api.xml.XmlUtil;
 import org.slf4j.Logger;
@@ -26,6 +28,22 @@ import org.xml.sax.SAXParseException;
 public final class NetconfXMLToMessageDecoder extends ByteToMessageDecoder {
     private static final Logger LOG = LoggerFactory.getLogger(NetconfXMLToMessageDecoder.class);
 
+    private final boolean lazyParsing;
+
+    public NetconfXMLToMessageDecoder() {
+        this(false);
+    }
+
+    /**
+     * Create a new decoder.
+     *
+     * @param lazyParsing if {@code true}, the decoder emits {@link LazyNetconfMessage}s, which are only verified to be
+     *                    well-formed and construct their DOM on demand
+     */
+    public NetconfXMLToMessageDecoder(final boolean lazyParsing) {
+        this.lazyParsing = lazyParsing;
+    }
+
     @Override
     public void decode(final ChannelHandlerContext ctx, final ByteBuf in,
                        final List<Object> out) throws IOException, SAXException {
@@ -70,21 +88,34 @@ public final class NetconfXMLToMessageDecoder extends ByteToMessageDecoder {
             }
         }
         if (in.isReadable()) {
-            NetconfMessage msg;
-
-            try {
-                msg = new NetconfMessage(XmlUtil.readXmlToDocument(new ByteBufInputStream(in)));
-            } catch (SAXParseException exception) {
-                LOG.error("Failed to parse received message", exception);
-                msg = new FailedNetconfMessage(exception);
-            }
-
-            out.add(msg);
+            out.add(lazyParsing ? decodeLazy(in) : decodeDocument(in));
         } else {
             LOG.debug("No more content in incoming buffer.");
         }
     }
 
+    private static NetconfMessage decodeDocument(final ByteBuf in) throws IOException, SAXException {
+        try {
+            return new NetconfMessage(XmlUtil.readXmlToDocument(new ByteBufInputStream(in)));
+        } catch (SAXParseException exception) {
+            LOG.error("Failed to parse received message", exception);
+            return new FailedNetconfMessage(exception);
+        }
+    }
+
+    private static NetconfMessage decodeLazy(final ByteBuf in) {
+        // Copy the frame out, so that the message does not hold on to a pooled buffer while being passed around
+        final byte[] bytes = ByteBufUtil.getBytes(in);
+        in.skipBytes(bytes.length);
+
+        try {
+            return LazyNetconfMessage.of(bytes);
+        } catch (XMLStreamException exception) {
+            LOG.error("Failed to parse received message", exception);
+            return new FailedNetconfMessage(exception);
+        }
+    }
+
     /**
      * Check whether a byte is whitespace/control character. Considered whitespace characters: <br/>
      * SPACE, \t, \n, \v, \r, \f
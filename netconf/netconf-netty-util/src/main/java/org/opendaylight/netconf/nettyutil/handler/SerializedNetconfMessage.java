@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2022 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.nettyutil.handler;
+
+import static java.util.Objects.requireNonNull;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.DefaultByteBufHolder;
+import org.opendaylight.netconf.api.xml.SharedSerialization;
+
+/**
+ * Encoded NETCONF message whose document is shared by many sessions. Framing encoders frame it once for all sessions
+ * using the same framing mechanism and store the framed form in its {@link SharedSerialization}, so that each session
+ * writes a buffer wrapping the same bytes.
+ */
+public final class SerializedNetconfMessage extends DefaultByteBufHolder {
+    private final SharedSerialization serialization;
+
+    public SerializedNetconfMessage(final ByteBuf data, final SharedSerialization serialization) {
+        super(data);
+        this.serialization = requireNonNull(serialization);
+    }
+
+    /**
+     * Get the serialized forms of the message's document.
+     *
+     * @return serialized forms shared by all sessions sending the message
+     */
+    public SharedSerialization getSerialization() {
+        return serialization;
+    }
+
+    @Override
+    public SerializedNetconfMessage replace(final ByteBuf data) {
+        return new SerializedNetconfMessage(data, serialization);
+    }
+}
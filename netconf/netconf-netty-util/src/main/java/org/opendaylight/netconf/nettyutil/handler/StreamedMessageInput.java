@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2022 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.nettyutil.handler;
+
+import static java.util.Objects.requireNonNull;
+
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.stream.ChunkedInput;
+import io.netty.handler.stream.ChunkedWriteHandler;
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import javax.xml.stream.XMLStreamException;
+import org.opendaylight.netconf.api.NetconfMessage;
+import org.opendaylight.netconf.api.xml.StreamedContent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Message with {@link StreamedContent}, which is serialized by a thread other than the event loop and passed to
+ * the pipeline one {@link NetconfMessageFragment} at a time by a {@link ChunkedWriteHandler}. The handler reads
+ * fragments only while the channel is writable and serialization blocks once {@value #MAX_PENDING_FRAGMENTS} fragments
+ * are waiting to be read, hence only a bounded part of the message is held in memory when the peer reads slowly.
+ */
+final class StreamedMessageInput implements ChunkedInput<NetconfMessageFragment> {
+    private static final Logger LOG = LoggerFactory.getLogger(StreamedMessageInput.class);
+
+    /**
+     * Maximum number of serialized fragments waiting to be read.
+     */
+    static final int MAX_PENDING_FRAGMENTS = 4;
+
+    // How often a serializer waiting for the transport checks whether the message has been abandoned
+    private static final long OFFER_TIMEOUT_MILLIS = 100;
+
+    private final BlockingQueue<NetconfMessageFragment> fragments = new ArrayBlockingQueue<>(MAX_PENDING_FRAGMENTS);
+    private final NetconfMessage msg;
+    private final ChunkedWriteHandler handler;
+    private final ByteBufAllocator alloc;
+
+    private volatile Exception failure;
+    private volatile boolean closed;
+
+    // Accessed only by the event loop
+    private boolean endOfInput;
+    private long progress;
+
+    StreamedMessageInput(final NetconfMessage msg, final ChunkedWriteHandler handler, final ByteBufAllocator alloc) {
+        this.msg = requireNonNull(msg);
+        this.handler = requireNonNull(handler);
+        this.alloc = requireNonNull(alloc);
+    }
+
+    /**
+     * Serialize the message. This method blocks while the transport is not reading fragments quickly enough, hence it
+     * must not be invoked by an event loop.
+     */
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    void serialize() {
+        final FragmentOutputStream os = new FragmentOutputStream(alloc, this::enqueue);
+        try {
+            DocumentStreamWriter.write(msg.getDocument(), msg.getStreamedContent(), os);
+            os.finish();
+        } catch (XMLStreamException | IOException | RuntimeException e) {
+            os.discard();
+            if (closed) {
+                LOG.debug("Serialization of abandoned message {} stopped", msg, e);
+            } else {
+                failure = e;
+            }
+        }
+        handler.resumeTransfer();
+    }
+
+    @Override
+    public boolean isEndOfInput() {
+        return endOfInput;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        drain();
+    }
+
+    @Override
+    @Deprecated
+    public NetconfMessageFragment readChunk(final ChannelHandlerContext ctx) throws Exception {
+        return readChunk(ctx.alloc());
+    }
+
+    @Override
+    public NetconfMessageFragment readChunk(final ByteBufAllocator allocator) throws Exception {
+        final NetconfMessageFragment fragment = fragments.poll();
+        if (fragment == null) {
+            final Exception cause = failure;
+            if (cause != null) {
+                throw cause;
+            }
+            // not serialized yet, the serializer resumes the transfer once there is more
+            return null;
+        }
+
+        progress += fragment.content().readableBytes();
+        endOfInput = fragment.isLast();
+        return fragment;
+    }
+
+    @Override
+    public long length() {
+        return -1;
+    }
+
+    @Override
+    public long progress() {
+        return progress;
+    }
+
+    private void enqueue(final NetconfMessageFragment fragment) throws IOException {
+        try {
+            while (!fragments.offer(fragment, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (closed) {
+                    fragment.release();
+                    throw new IOException("Message was abandoned");
+                }
+            }
+        } catch (InterruptedException e) {
+            fragment.release();
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the transport", e);
+        }
+        if (closed) {
+            // closed while the fragment was being queued, make sure it does not leak
+            drain();
+            throw new IOException("Message was abandoned");
+        }
+        handler.resumeTransfer();
+    }
+
+    private void drain() {
+        for (NetconfMessageFragment fragment = fragments.poll(); fragment != null; fragment = fragments.poll()) {
+            fragment.release();
+        }
+    }
+}
@@ -25,6 +25,8 @@ import org.opendaylight.netconf.shaded.sshd.client.channel.ClientChannel;
 import org.opendaylight.netconf.shaded.sshd.client.future.AuthFuture;
 import org.opendaylight.netconf.shaded.sshd.client.future.ConnectFuture;
 import org.opendaylight.netconf.shaded.sshd.client.session.ClientSession;
+import org.opendaylight.netconf.shaded.sshd.common.SshConstants;
+import org.opendaylight.netconf.shaded.sshd.common.util.buffer.Buffer;
 import org.opendaylight.netconf.shaded.sshd.core.CoreModuleProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -192,6 +194,34 @@ public class AsyncSshHandler extends ChannelOutboundHandlerAdapter {
         disconnect(ctx, ctx.newPromise());
     }
 
+    /**
+     * Send an SSH-level keepalive message to the peer. A failure to send it is treated as a failure of the SSH session.
+     *
+     * @return {@code true} if the message has been sent, {@code false} if the SSH session is not established
+     */
+    public synchronized boolean sendKeepalive() {
+        final ClientSession localSession = session;
+        if (localSession == null || sshWriteAsyncHandler == null) {
+            return false;
+        }
+
+        final Buffer buf = localSession.createBuffer(SshConstants.SSH_MSG_IGNORE, Integer.BYTES);
+        buf.putString("");
+        try {
+            localSession.writePacket(buf).addListener(future -> {
+                if (!future.isWritten()) {
+                    LOG.warn("{}: Failed to send SSH keepalive to device {}", nodeId, remoteAddress,
+                        future.getException());
+                    localSession.exceptionCaught(future.getException());
+                }
+            });
+        } catch (IOException e) {
+            LOG.warn("{}: Failed to send SSH keepalive to device {}", nodeId, remoteAddress, e);
+            localSession.exceptionCaught(e);
+        }
+        return true;
+    }
+
     @Override
     public synchronized void write(final ChannelHandlerContext ctx, final Object msg, final ChannelPromise promise) {
         sshWriteAsyncHandler.write(ctx, msg, promise);
@@ -10,6 +10,7 @@ package org.opendaylight.netconf.nettyutil;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -17,6 +18,8 @@ import static org.mockito.Mockito.verify;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelPipeline;
+import io.netty.handler.flush.FlushConsolidationHandler;
+import io.netty.handler.stream.ChunkedWriteHandler;
 import io.netty.util.concurrent.Promise;
 import org.junit.Before;
 import org.junit.Test;
@@ -45,7 +48,11 @@ public class AbstractChannelInitializerTest {
     public void testInit() throws Exception {
         final TestingInitializer testingInitializer = new TestingInitializer();
         testingInitializer.initialize(channel, sessionPromise);
-        verify(pipeline, times(4)).addLast(anyString(), any(ChannelHandler.class));
+        verify(pipeline, times(6)).addLast(anyString(), any(ChannelHandler.class));
+        verify(pipeline).addLast(eq(AbstractChannelInitializer.NETCONF_FLUSH_CONSOLIDATOR),
+            any(FlushConsolidationHandler.class));
+        verify(pipeline).addLast(eq(AbstractChannelInitializer.NETCONF_MESSAGE_WRITER),
+            any(ChunkedWriteHandler.class));
     }
 
     private static final class TestingInitializer extends AbstractChannelInitializer<NetconfSession> {
@@ -9,11 +9,13 @@
 package org.opendaylight.netconf.nettyutil.handler;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.embedded.EmbeddedChannel;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import org.junit.Before;
@@ -62,6 +64,51 @@ public class ChunkedFramingMechanismEncoderTest {
         assertTrue(string.endsWith("\n#20\naaaaaaaaaaaaaaaaaaaa\n##\n"));
     }
 
+    @Test
+    public void testSingleBufferFrame() {
+        final EmbeddedChannel channel = new EmbeddedChannel(new ChunkedFramingMechanismEncoder(chunkSize));
+        assertTrue(channel.writeOutbound(Unpooled.wrappedBuffer(getByteArray(chunkSize * 2 + 1))));
+
+        final ByteBuf frame = channel.readOutbound();
+        final String string = frame.toString(StandardCharsets.US_ASCII);
+        assertTrue(string.startsWith("\n#256\na"));
+        assertEquals(6 + chunkSize, string.indexOf("\n#256\n", 1));
+        assertTrue(string.endsWith("\n#1\na\n##\n"));
+        assertEquals(chunkSize * 2 + 1 + 2 * 6 + 4 + 4, frame.readableBytes());
+        assertNull(channel.readOutbound());
+        frame.release();
+    }
+
+    @Test
+    public void testFragments() {
+        final EmbeddedChannel channel = new EmbeddedChannel(new ChunkedFramingMechanismEncoder(chunkSize));
+        assertTrue(channel.writeOutbound(new NetconfMessageFragment(
+            Unpooled.wrappedBuffer(getByteArray(chunkSize + 1)), false)));
+        assertTrue(channel.writeOutbound(new NetconfMessageFragment(Unpooled.wrappedBuffer(getByteArray(20)), true)));
+
+        final ByteBuf first = channel.readOutbound();
+        final String string = first.toString(StandardCharsets.US_ASCII);
+        assertTrue(string.startsWith("\n#256\na"));
+        // the message continues in the next fragment
+        assertTrue(string.endsWith("\n#1\na"));
+        first.release();
+
+        final ByteBuf last = channel.readOutbound();
+        assertEquals("\n#20\naaaaaaaaaaaaaaaaaaaa\n##\n", last.toString(StandardCharsets.US_ASCII));
+        last.release();
+        assertNull(channel.readOutbound());
+    }
+
+    @Test
+    public void testEmptyLastFragment() {
+        final EmbeddedChannel channel = new EmbeddedChannel(new ChunkedFramingMechanismEncoder(chunkSize));
+        assertTrue(channel.writeOutbound(new NetconfMessageFragment(Unpooled.EMPTY_BUFFER, true)));
+
+        final ByteBuf last = channel.readOutbound();
+        assertEquals("\n##\n", last.toString(StandardCharsets.US_ASCII));
+        last.release();
+    }
+
     private static byte[] getByteArray(final int size) {
         final byte[] bytes = new byte[size];
         for (int i = 0; i < size; i++) {
@@ -9,9 +9,13 @@
 package org.opendaylight.netconf.nettyutil.handler;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.nio.charset.StandardCharsets;
 import org.junit.Test;
 
 public class EOMFramingMechanismEncoderTest {
@@ -25,4 +29,34 @@ public class EOMFramingMechanismEncoderTest {
 
         assertEquals(Unpooled.wrappedBuffer(source.array(), MessageParts.END_OF_MESSAGE), destination);
     }
+
+    @Test
+    public void testSingleBufferFrame() {
+        final EmbeddedChannel channel = new EmbeddedChannel(new EOMFramingMechanismEncoder());
+        final byte[] content = "<rpc/>".getBytes(StandardCharsets.UTF_8);
+        assertTrue(channel.writeOutbound(Unpooled.wrappedBuffer(content)));
+
+        final ByteBuf frame = channel.readOutbound();
+        assertEquals(Unpooled.wrappedBuffer(content, MessageParts.END_OF_MESSAGE), frame);
+        assertEquals(frame.readableBytes(), frame.capacity());
+        assertNull(channel.readOutbound());
+        frame.release();
+    }
+
+    @Test
+    public void testFragments() {
+        final EmbeddedChannel channel = new EmbeddedChannel(new EOMFramingMechanismEncoder());
+        final byte[] first = "<rpc>".getBytes(StandardCharsets.UTF_8);
+        final byte[] last = "</rpc>".getBytes(StandardCharsets.UTF_8);
+        assertTrue(channel.writeOutbound(new NetconfMessageFragment(Unpooled.wrappedBuffer(first), false)));
+        assertTrue(channel.writeOutbound(new NetconfMessageFragment(Unpooled.wrappedBuffer(last), true)));
+
+        final ByteBuf firstFrame = channel.readOutbound();
+        assertEquals(Unpooled.wrappedBuffer(first), firstFrame);
+        firstFrame.release();
+        final ByteBuf lastFrame = channel.readOutbound();
+        assertEquals(Unpooled.wrappedBuffer(last, MessageParts.END_OF_MESSAGE), lastFrame);
+        lastFrame.release();
+        assertNull(channel.readOutbound());
+    }
 }
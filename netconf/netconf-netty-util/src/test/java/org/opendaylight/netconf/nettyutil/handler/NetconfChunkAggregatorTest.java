@@ -8,8 +8,11 @@
 package org.opendaylight.netconf.nettyutil.handler;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
 import io.netty.buffer.Unpooled;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
@@ -66,4 +69,61 @@ public class NetconfChunkAggregatorTest {
 
         assertEquals(EXPECTED_MESSAGE, chunk.toString(StandardCharsets.UTF_8));
     }
+
+    @Test
+    public void testPartialChunks() throws Exception {
+        final NetconfChunkAggregator aggregator = new NetconfChunkAggregator();
+        final List<Object> output = new ArrayList<>();
+        final byte[] bytes = CHUNKED_MESSAGE.getBytes(StandardCharsets.UTF_8);
+
+        // Feed the message in small pieces, splitting chunks as well as headers
+        for (int offset = 0; offset < bytes.length; offset += 7) {
+            final ByteBuf input = Unpooled.wrappedBuffer(bytes, offset, Math.min(7, bytes.length - offset));
+            aggregator.decode(null, input, output);
+            assertEquals(0, input.readableBytes());
+            // the message does not keep the inbound buffer
+            assertTrue(input.release());
+        }
+
+        assertEquals(1, output.size());
+        final ByteBuf chunk = (ByteBuf) output.get(0);
+        assertEquals(EXPECTED_MESSAGE, chunk.toString(StandardCharsets.UTF_8));
+        chunk.release();
+    }
+
+    @Test
+    public void testLargeMessage() {
+        final NetconfChunkAggregator aggregator = new NetconfChunkAggregator();
+        final String data = "x".repeat(200 * 1024);
+        final ByteBuf input = Unpooled.copiedBuffer("\n#" + data.length() + "\n" + data + "\n##\n",
+            StandardCharsets.UTF_8);
+        final List<Object> output = new ArrayList<>();
+        aggregator.decode(null, input, output);
+
+        // the message is assembled from several bounded components
+        assertEquals(1, output.size());
+        final CompositeByteBuf chunk = (CompositeByteBuf) output.get(0);
+        assertTrue(chunk.numComponents() > 1);
+        assertEquals(data, chunk.toString(StandardCharsets.UTF_8));
+        chunk.release();
+        input.release();
+    }
+
+    @Test
+    public void testMaximumChunkSize() {
+        final NetconfChunkAggregator aggregator = new NetconfChunkAggregator(100, Integer.MAX_VALUE);
+        final ByteBuf input = Unpooled.copiedBuffer(CHUNKED_MESSAGE_ONE.getBytes(StandardCharsets.UTF_8));
+        final IllegalStateException ex = assertThrows(IllegalStateException.class,
+            () -> aggregator.decode(null, input, new ArrayList<>()));
+        assertEquals("Maximum chunk size exceeded", ex.getMessage());
+    }
+
+    @Test
+    public void testMaximumMessageSize() {
+        final NetconfChunkAggregator aggregator = new NetconfChunkAggregator(100, 90);
+        final ByteBuf input = Unpooled.copiedBuffer(CHUNKED_MESSAGE.getBytes(StandardCharsets.UTF_8));
+        final IllegalStateException ex = assertThrows(IllegalStateException.class,
+            () -> aggregator.decode(null, input, new ArrayList<>()));
+        assertEquals("Maximum message size exceeded", ex.getMessage());
+    }
 }
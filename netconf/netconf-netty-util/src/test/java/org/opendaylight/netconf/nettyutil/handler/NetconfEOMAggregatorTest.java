@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2022 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.nettyutil.handler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.nio.charset.StandardCharsets;
+import org.junit.Before;
+import org.junit.Test;
+
+public class NetconfEOMAggregatorTest {
+    private static final String COMM_1 = "<rpc-reply message-id=\"101\"><data><![CDATA[x]]]]></data></rpc-reply>";
+    private static final String COMM_2 = "<rpc-reply message-id=\"102\"><ok/></rpc-reply>";
+
+    private EmbeddedChannel channel;
+
+    @Before
+    public void setUp() {
+        channel = new EmbeddedChannel(new NetconfEOMAggregator());
+    }
+
+    @Test
+    public void testMultipleMessages() {
+        channel.writeInbound(buffer(COMM_1 + "]]>]]>" + COMM_2 + "]]>]]>"));
+        assertMessage(COMM_1);
+        assertMessage(COMM_2);
+        assertNull(channel.readInbound());
+    }
+
+    @Test
+    public void testSplitMessages() {
+        final String input = COMM_1 + "]]>]]>" + COMM_2 + "]]>]]>";
+        for (int i = 0; i < input.length(); i += 3) {
+            channel.writeInbound(buffer(input.substring(i, Math.min(i + 3, input.length()))));
+        }
+        assertMessage(COMM_1);
+        assertMessage(COMM_2);
+        assertNull(channel.readInbound());
+    }
+
+    @Test
+    public void testSplitDelimiter() {
+        channel.writeInbound(buffer(COMM_2 + "]]>]"));
+        assertNull(channel.readInbound());
+        channel.writeInbound(buffer("]>"));
+        assertMessage(COMM_2);
+    }
+
+    @Test
+    public void testIncompleteMessage() {
+        channel.writeInbound(buffer(COMM_1 + "]]>]]"));
+        assertNull(channel.readInbound());
+        channel.writeInbound(buffer(">" + COMM_2));
+        assertMessage(COMM_1);
+        assertNull(channel.readInbound());
+        channel.writeInbound(buffer("]]>]]>"));
+        assertMessage(COMM_2);
+    }
+
+    private void assertMessage(final String expected) {
+        final ByteBuf msg = channel.readInbound();
+        assertEquals(expected, msg.toString(StandardCharsets.UTF_8));
+        msg.release();
+    }
+
+    private static ByteBuf buffer(final String str) {
+        return Unpooled.copiedBuffer(str, StandardCharsets.UTF_8);
+    }
+}
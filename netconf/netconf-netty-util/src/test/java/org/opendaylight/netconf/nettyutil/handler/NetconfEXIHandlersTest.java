@@ -9,6 +9,7 @@ package org.opendaylight.netconf.nettyutil.handler;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
@@ -20,6 +21,7 @@ import java.util.List;
 import javax.xml.transform.TransformerException;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.sax.SAXResult;
+import org.custommonkey.xmlunit.Diff;
 import org.custommonkey.xmlunit.XMLUnit;
 import org.junit.Before;
 import org.junit.Test;
@@ -75,4 +77,28 @@ public class NetconfEXIHandlersTest {
 
         XMLUnit.compareXML(msg.getDocument(), ((NetconfMessage) out.get(0)).getDocument());
     }
+
+    @Test
+    public void testPooledCodecReuse() throws Exception {
+        final NetconfEXICodec codec = NetconfEXICodec.forParameters(EXIParameters.empty());
+        final NetconfMessageToEXIEncoder encoder = NetconfMessageToEXIEncoder.create(codec);
+        final NetconfEXIToMessageDecoder decoder = NetconfEXIToMessageDecoder.create(codec);
+
+        final NetconfMessage other = new NetconfMessage(XmlUtil.readXmlToDocument(
+            "<rpc-reply message-id=\"1\"><ok/></rpc-reply>"));
+        for (int i = 0; i < 10; i++) {
+            final NetconfMessage expected = i % 2 == 0 ? msg : other;
+            final ByteBuf buffer = Unpooled.buffer();
+            // Encoders and decoders are shared with other sessions using the same parameters
+            NetconfMessageToEXIEncoder.create(codec).encode(null, expected, buffer);
+            encoder.encode(null, expected, buffer.clear());
+
+            final List<Object> out = new ArrayList<>();
+            decoder.decode(null, buffer, out);
+            assertEquals(1, out.size());
+            XMLUnit.setIgnoreWhitespace(true);
+            final Diff diff = XMLUnit.compareXML(expected.getDocument(), ((NetconfMessage) out.get(0)).getDocument());
+            assertTrue(diff.toString(), diff.similar());
+        }
+    }
 }
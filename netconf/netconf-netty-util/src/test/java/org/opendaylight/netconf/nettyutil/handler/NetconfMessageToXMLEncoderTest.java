@@ -0,0 +1,254 @@
+/*
+ * Copyright (c) 2022 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.nettyutil.handler;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.DefaultEventLoopGroup;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.channel.local.LocalAddress;
+import io.netty.channel.local.LocalChannel;
+import io.netty.channel.local.LocalServerChannel;
+import io.netty.handler.codec.MessageToByteEncoder;
+import io.netty.handler.stream.ChunkedWriteHandler;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import org.custommonkey.xmlunit.Diff;
+import org.custommonkey.xmlunit.XMLUnit;
+import org.junit.Test;
+import org.opendaylight.netconf.api.NetconfMessage;
+import org.opendaylight.netconf.api.xml.StreamedContent;
+import org.opendaylight.netconf.api.xml.XmlUtil;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+public class NetconfMessageToXMLEncoderTest {
+    private static final String BASE_NS = "urn:ietf:params:xml:ns:netconf:base:1.0";
+
+    @Test
+    public void testEncodeCompact() throws Exception {
+        final NetconfMessage msg = new NetconfMessage(XmlUtil.readXmlToDocument(
+            "<rpc xmlns=\"" + BASE_NS + "\" message-id=\"m-1\">\n"
+                + "  <get-config>\n"
+                + "    <source><running/></source>\n"
+                + "  </get-config>\n"
+                + "</rpc>"));
+
+        final String encoded = encode(new NetconfMessageToXMLEncoder(), msg);
+        assertThat(encoded, containsString("<rpc xmlns=\"" + BASE_NS + "\" message-id=\"m-1\">"));
+        assertThat(encoded, containsString("<source><running/></source>"));
+        assertXmlEquals(msg.getDocument(), encoded);
+    }
+
+    @Test
+    public void testEncodeMissingDeclarations() throws Exception {
+        final Document doc = XmlUtil.newDocument();
+        final Element rpc = doc.createElementNS(BASE_NS, "rpc");
+        rpc.setAttribute("message-id", "m-2");
+        doc.appendChild(rpc);
+        final Element foo = doc.createElementNS("urn:foo", "x:foo");
+        foo.setAttributeNS("urn:bar", "b:attr", "value");
+        foo.setTextContent("a < b & c");
+        rpc.appendChild(foo);
+        rpc.appendChild(doc.createElementNS(BASE_NS, "bar"));
+
+        final String encoded = encode(new NetconfMessageToXMLEncoder(), new NetconfMessage(doc));
+        assertThat(encoded, containsString("<rpc xmlns=\"" + BASE_NS + "\" message-id=\"m-2\">"));
+        assertThat(encoded, containsString("a &lt; b &amp; c"));
+        assertThat(encoded, containsString("<bar/>"));
+        assertXmlEquals(doc, encoded);
+    }
+
+    @Test
+    public void testEncodeClientId() throws Exception {
+        final NetconfMessage msg = new NetconfMessage(XmlUtil.readXmlToDocument(
+            "<rpc xmlns=\"" + BASE_NS + "\" message-id=\"m-3\"/>"));
+
+        final String encoded = encode(new NetconfMessageToXMLEncoder(Optional.of("client")), msg);
+        assertThat(encoded, containsString("<!--clientId:client-->"));
+    }
+
+    @Test
+    public void testEncodePretty() throws Exception {
+        final NetconfMessage msg = new NetconfMessage(XmlUtil.readXmlToDocument(
+            "<rpc xmlns=\"" + BASE_NS + "\" message-id=\"m-4\"><get/></rpc>"));
+
+        final String encoded = encode(new NetconfMessageToXMLEncoder(Optional.empty(), true), msg);
+        assertTrue(encoded.contains("\n"));
+        assertXmlEquals(msg.getDocument(), encoded);
+    }
+
+    @Test
+    public void testEncodeStreamed() throws Exception {
+        final String encoded = encode(new NetconfMessageToXMLEncoder(), streamedMessage(3));
+        assertThat(encoded, containsString("<data><item xmlns=\"urn:foo\">item-0</item>"));
+        assertXmlEquals(materializedMessage(3), encoded);
+    }
+
+    @Test
+    public void testEncodeStreamedPretty() throws Exception {
+        final String encoded = encode(new NetconfMessageToXMLEncoder(Optional.empty(), true), streamedMessage(3));
+        assertXmlEquals(materializedMessage(3), encoded);
+    }
+
+    @Test
+    public void testWriteStreamedFragments() throws Exception {
+        final int items = 10000;
+        final EmbeddedChannel channel = new EmbeddedChannel(new ChunkedFramingMechanismEncoder(),
+            new NetconfMessageToXMLEncoder());
+        assertTrue(channel.writeOutbound(streamedMessage(items)));
+
+        final StringBuilder sb = new StringBuilder();
+        int frames = 0;
+        for (ByteBuf frame = channel.readOutbound(); frame != null; frame = channel.readOutbound()) {
+            sb.append(frame.toString(StandardCharsets.UTF_8));
+            frame.release();
+            frames++;
+        }
+        // content is larger than a single fragment, it is passed to framing in parts
+        assertTrue(sb.length() > 2 * NetconfMessageToXMLEncoder.FRAGMENT_SIZE);
+        assertTrue(frames > 2);
+
+        final String framed = sb.toString();
+        assertTrue(framed.endsWith("\n##\n"));
+        final String encoded = Pattern.compile("\n#[0-9]+\n").matcher(framed.substring(0, framed.length() - 4))
+            .replaceAll("");
+        assertXmlEquals(materializedMessage(items), encoded);
+    }
+
+    @Test(timeout = 30000)
+    public void testWriteStreamedInBackground() throws Exception {
+        final int items = 10000;
+        final String ok = "<rpc-reply xmlns=\"" + BASE_NS + "\" message-id=\"m-6\"><ok/></rpc-reply>";
+        final StringBuilder received = new StringBuilder();
+        final CountDownLatch done = new CountDownLatch(1);
+        final EventLoopGroup group = new DefaultEventLoopGroup(1);
+        try {
+            final LocalAddress address = new LocalAddress("streamed-" + System.nanoTime());
+            final Channel server = new ServerBootstrap().group(group).channel(LocalServerChannel.class)
+                .childHandler(new ChannelInitializer<LocalChannel>() {
+                    @Override
+                    protected void initChannel(final LocalChannel ch) {
+                        ch.pipeline().addLast(new ChannelInboundHandlerAdapter() {
+                            @Override
+                            public void channelRead(final ChannelHandlerContext ctx, final Object msg) {
+                                final ByteBuf buf = (ByteBuf) msg;
+                                received.append(buf.toString(StandardCharsets.UTF_8));
+                                buf.release();
+                                if (received.indexOf(ok) != -1) {
+                                    done.countDown();
+                                }
+                            }
+                        });
+                    }
+                }).bind(address).sync().channel();
+            final Channel client = new Bootstrap().group(group).channel(LocalChannel.class)
+                .handler(new ChannelInitializer<LocalChannel>() {
+                    @Override
+                    protected void initChannel(final LocalChannel ch) {
+                        ch.pipeline().addLast(new ChunkedFramingMechanismEncoder(), new ChunkedWriteHandler(),
+                            new NetconfMessageToXMLEncoder());
+                    }
+                }).connect(address).sync().channel();
+
+            client.writeAndFlush(streamedMessage(items));
+            // a message written while the previous one is being serialized is sent after it
+            client.writeAndFlush(new NetconfMessage(XmlUtil.readXmlToDocument(ok))).sync();
+            assertTrue(done.await(20, TimeUnit.SECONDS));
+            client.close().sync();
+            server.close().sync();
+        } finally {
+            group.shutdownGracefully(0, 0, TimeUnit.SECONDS);
+        }
+
+        final String framed = received.toString();
+        final int end = framed.indexOf("\n##\n");
+        final String encoded = Pattern.compile("\n#[0-9]+\n").matcher(framed.substring(0, end)).replaceAll("");
+        assertXmlEquals(materializedMessage(items), encoded);
+        assertTrue(framed.substring(end + 4).contains(ok));
+    }
+
+    @Test
+    public void testWriteShared() throws Exception {
+        final NetconfMessage msg = new NetconfMessage(XmlUtil.readXmlToDocument(
+            "<notification xmlns=\"urn:ietf:params:xml:ns:netconf:notification:1.0\">"
+                + "<eventTime>2022-01-01T00:00:00Z</eventTime><event xmlns=\"urn:foo\"/></notification>"));
+        final String expected = encode(new NetconfMessageToXMLEncoder(), msg);
+        msg.enableSharedSerialization();
+
+        final ByteBuf first = writeShared(new ChunkedFramingMechanismEncoder(), msg);
+        final ByteBuf second = writeShared(new ChunkedFramingMechanismEncoder(), msg);
+        assertEquals("\n#" + expected.length() + "\n" + expected + "\n##\n", first.toString(StandardCharsets.UTF_8));
+        // sessions with the same framing write the same frame
+        assertSame(first.array(), second.array());
+        first.release();
+        second.release();
+
+        final ByteBuf eom = writeShared(new EOMFramingMechanismEncoder(), msg);
+        assertEquals(expected + "]]>]]>", eom.toString(StandardCharsets.UTF_8));
+        eom.release();
+    }
+
+    private static ByteBuf writeShared(final MessageToByteEncoder<ByteBuf> framing, final NetconfMessage msg) {
+        final EmbeddedChannel channel = new EmbeddedChannel(framing, new NetconfMessageToXMLEncoder());
+        assertTrue(channel.writeOutbound(msg));
+        return channel.readOutbound();
+    }
+
+    static NetconfMessage streamedMessage(final int items) {
+        final Document doc = XmlUtil.newDocument();
+        final Element reply = doc.createElementNS(BASE_NS, "rpc-reply");
+        reply.setAttribute("message-id", "m-5");
+        doc.appendChild(reply);
+        final Element data = doc.createElementNS(BASE_NS, "data");
+        reply.appendChild(data);
+        StreamedContent.attach(data, writer -> {
+            for (int i = 0; i < items; i++) {
+                writer.writeStartElement("", "item", "urn:foo");
+                writer.writeCharacters("item-" + i);
+                writer.writeEndElement();
+            }
+        });
+        return new NetconfMessage(doc, StreamedContent.detach(doc));
+    }
+
+    private static Document materializedMessage(final int items) throws Exception {
+        final NetconfMessage msg = streamedMessage(items);
+        StreamedContent.materialize(msg.getDocument(), msg.getStreamedContent());
+        return msg.getDocument();
+    }
+
+    private static String encode(final NetconfMessageToXMLEncoder encoder, final NetconfMessage msg)
+            throws Exception {
+        final ByteBuf out = Unpooled.buffer();
+        encoder.encode(null, msg, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static void assertXmlEquals(final Document expected, final String actual) throws Exception {
+        XMLUnit.setIgnoreWhitespace(true);
+        final Diff diff = XMLUnit.compareXML(expected, XmlUtil.readXmlToDocument(actual));
+        assertTrue(diff.toString(), diff.similar());
+    }
+}
@@ -12,8 +12,12 @@ import static org.junit.Assert.assertTrue;
 
 import io.netty.buffer.Unpooled;
 import java.util.ArrayList;
+import java.util.List;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamException;
 import org.junit.Test;
 import org.opendaylight.netconf.api.FailedNetconfMessage;
+import org.opendaylight.netconf.api.LazyNetconfMessage;
 import org.xml.sax.SAXParseException;
 
 public class NetconfXMLToMessageDecoderTest {
@@ -92,5 +96,29 @@ public class NetconfXMLToMessageDecoderTest {
                 out);
         assertEquals(1, out.size());
     }
-}
 
+    @Test
+    public void testDecodeLazy() throws Exception {
+        final ArrayList<Object> out = new ArrayList<>();
+        new NetconfXMLToMessageDecoder(true).decode(null, Unpooled.wrappedBuffer(
+            "\n<rpc-reply xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\" message-id=\"m-1\"><ok/></rpc-reply>"
+                .getBytes()), out);
+        assertEquals(1, out.size());
+
+        final LazyNetconfMessage msg = (LazyNetconfMessage) out.get(0);
+        assertEquals("rpc-reply", msg.getRootElement().getLocalPart());
+        assertEquals("m-1", msg.getRootAttribute("message-id"));
+        assertEquals("", msg.getRootAttribute("nonexistent"));
+        assertEquals(List.of(new QName("urn:ietf:params:xml:ns:netconf:base:1.0", "ok")), msg.getRootChildren());
+        assertEquals("ok", msg.getDocument().getDocumentElement().getFirstChild().getLocalName());
+    }
+
+    @Test
+    public void testDecodeLazyGibberish() throws Exception {
+        final ArrayList<Object> out = new ArrayList<>();
+        new NetconfXMLToMessageDecoder(true).decode(null, Unpooled.wrappedBuffer("<msg><a></msg>".getBytes()), out);
+        assertEquals(1, out.size());
+        assertTrue(FailedNetconfMessage.class.isInstance(out.get(0)));
+        assertTrue(((FailedNetconfMessage) out.get(0)).getException() instanceof XMLStreamException);
+    }
+}
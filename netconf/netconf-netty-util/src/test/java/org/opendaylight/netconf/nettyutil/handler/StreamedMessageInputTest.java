@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2022 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.nettyutil.handler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import io.netty.handler.stream.ChunkedWriteHandler;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.opendaylight.netconf.api.NetconfMessage;
+import org.opendaylight.netconf.api.xml.StreamedContent;
+import org.opendaylight.netconf.api.xml.XmlUtil;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+@RunWith(MockitoJUnitRunner.StrictStubs.class)
+public class StreamedMessageInputTest {
+    private static final ByteBufAllocator ALLOC = UnpooledByteBufAllocator.DEFAULT;
+
+    @Mock
+    private ChunkedWriteHandler handler;
+
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newSingleThreadExecutor();
+        doNothing().when(handler).resumeTransfer();
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test(timeout = 30000)
+    public void testSerializationPacedByReads() throws Exception {
+        final StreamedMessageInput input = new StreamedMessageInput(NetconfMessageToXMLEncoderTest.streamedMessage(
+            10000), handler, ALLOC);
+        final Future<?> serializer = executor.submit(input::serialize);
+
+        // serialization stops once the pending fragments are not read
+        verify(handler, timeout(5000).times(StreamedMessageInput.MAX_PENDING_FRAGMENTS)).resumeTransfer();
+        Thread.sleep(200);
+        assertFalse(serializer.isDone());
+
+        final StringBuilder sb = new StringBuilder();
+        long length = 0;
+        while (!input.isEndOfInput()) {
+            final NetconfMessageFragment fragment = input.readChunk(ALLOC);
+            if (fragment == null) {
+                Thread.sleep(1);
+                continue;
+            }
+            length += fragment.content().readableBytes();
+            sb.append(fragment.content().toString(StandardCharsets.UTF_8));
+            fragment.release();
+        }
+        serializer.get(5, TimeUnit.SECONDS);
+        verify(handler, atLeast(StreamedMessageInput.MAX_PENDING_FRAGMENTS + 1)).resumeTransfer();
+
+        assertEquals(length, input.progress());
+        final String xml = sb.toString();
+        assertTrue(xml.contains("<item xmlns=\"urn:foo\">item-0</item>"));
+        assertTrue(xml.contains("<item xmlns=\"urn:foo\">item-9999</item>"));
+        assertNull(input.readChunk(ALLOC));
+    }
+
+    @Test(timeout = 30000)
+    public void testCloseAbortsSerialization() throws Exception {
+        final StreamedMessageInput input = new StreamedMessageInput(NetconfMessageToXMLEncoderTest.streamedMessage(
+            10000), handler, ALLOC);
+        final Future<?> serializer = executor.submit(input::serialize);
+        verify(handler, timeout(5000).times(StreamedMessageInput.MAX_PENDING_FRAGMENTS)).resumeTransfer();
+
+        input.close();
+        serializer.get(5, TimeUnit.SECONDS);
+        // abandoned messages are not reported as failed
+        assertNull(input.readChunk(ALLOC));
+        assertFalse(input.isEndOfInput());
+    }
+
+    @Test
+    public void testSerializationFailure() throws Exception {
+        final Document doc = XmlUtil.newDocument();
+        final Element data = doc.createElementNS("urn:foo", "data");
+        doc.appendChild(data);
+        StreamedContent.attach(data, writer -> {
+            throw new IllegalStateException("failed");
+        });
+        final StreamedMessageInput input = new StreamedMessageInput(new NetconfMessage(doc,
+            StreamedContent.detach(doc)), handler, ALLOC);
+
+        input.serialize();
+        verify(handler).resumeTransfer();
+        final IllegalStateException ex = assertThrows(IllegalStateException.class, () -> input.readChunk(ALLOC));
+        assertEquals("failed", ex.getMessage());
+    }
+}
@@ -8,6 +8,7 @@
 
 package org.opendaylight.netconf.notifications;
 
+import java.util.Date;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.netconf.notification._1._0.rev080714.StreamNameType;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.netmod.notification.rev080714.netconf.Streams;
 
@@ -19,11 +20,36 @@ public interface NetconfNotificationRegistry {
     NotificationListenerRegistration registerNotificationListener(StreamNameType stream,
                                                                   NetconfNotificationListener listener);
 
+    /**
+     * Add listener for a certain notification type, replaying stored notifications with event time not earlier than
+     * the start time first, as defined by RFC5277. Once all of them are passed to the listener,
+     * {@link NetconfNotificationListener#onReplayComplete(StreamNameType)} is invoked and the listener starts
+     * receiving new notifications.
+     *
+     * <p>
+     * The default implementation supports replay of no stream.
+     *
+     * @throws IllegalArgumentException if the stream does not support replay, see
+     *         {@link #isReplaySupported(StreamNameType)}
+     */
+    default NotificationListenerRegistration registerNotificationListener(final StreamNameType stream,
+            final NetconfNotificationListener listener, final Date startTime) {
+        throw new IllegalArgumentException("Replay of stream " + stream.getValue() + " is not supported");
+    }
+
     /**
      * Check stream availability.
      */
     boolean isStreamAvailable(StreamNameType streamNameType);
 
+    /**
+     * Check whether notifications of a stream can be replayed. The default implementation reports no stream as
+     * replayable.
+     */
+    default boolean isReplaySupported(final StreamNameType streamNameType) {
+        return false;
+    }
+
     /**
      * Get all the streams available.
      */
@@ -50,6 +50,7 @@ import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.
 import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.topology.NodeKey;
 import org.opendaylight.yangtools.concepts.ListenerRegistration;
 import org.opendaylight.yangtools.concepts.ObjectRegistration;
+import org.opendaylight.yangtools.concepts.Registration;
 import org.opendaylight.yangtools.yang.binding.Identifier;
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
 import org.opendaylight.yangtools.yang.binding.KeyedInstanceIdentifier;
@@ -64,6 +65,7 @@ public class NetconfTopologyImpl extends AbstractNetconfTopology
     private final RpcProviderService rpcProviderService;
     private ListenerRegistration<NetconfTopologyImpl> datastoreListenerRegistration = null;
     private ObjectRegistration<?> rpcReg = null;
+    private Registration schedulerReg = null;
 
     public NetconfTopologyImpl(final String topologyId, final NetconfClientDispatcher clientDispatcher,
             final EventExecutor eventExecutor, final ScheduledThreadPool keepaliveExecutor,
@@ -105,6 +107,11 @@ public class NetconfTopologyImpl extends AbstractNetconfTopology
             datastoreListenerRegistration.close();
             datastoreListenerRegistration = null;
         }
+
+        if (schedulerReg != null) {
+            schedulerReg.close();
+            schedulerReg = null;
+        }
     }
 
     @Override
@@ -131,6 +138,8 @@ public class NetconfTopologyImpl extends AbstractNetconfTopology
             }
         }, MoreExecutors.directExecutor());
 
+        schedulerReg = getConnectionScheduler().registerMBean(topologyId);
+
         LOG.debug("Registering datastore listener");
         datastoreListenerRegistration = dataBroker.registerDataTreeChangeListener(DataTreeIdentifier.create(
             LogicalDatastoreType.CONFIGURATION, createTopologyListPath(topologyId).child(Node.class)), this);
@@ -50,6 +50,7 @@ import org.opendaylight.netconf.topology.singleton.api.NetconfTopologySingletonS
 import org.opendaylight.netconf.topology.singleton.impl.utils.NetconfTopologySetup;
 import org.opendaylight.netconf.topology.singleton.impl.utils.NetconfTopologySetup.NetconfTopologySetupBuilder;
 import org.opendaylight.netconf.topology.singleton.impl.utils.NetconfTopologyUtils;
+import org.opendaylight.netconf.topology.spi.ConnectionScheduler;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.NetconfNode;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.NetconfNodeTopologyService;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.topology.singleton.config.rev170419.Config;
@@ -93,9 +94,11 @@ public class NetconfTopologyManager
     private final RpcProviderService rpcProviderService;
     private final DeviceActionFactory deviceActionFactory;
     private final SchemaResourceManager resourceManager;
+    private final ConnectionScheduler connectionScheduler;
 
     private ListenerRegistration<NetconfTopologyManager> dataChangeListenerRegistration;
     private Registration rpcReg;
+    private Registration schedulerReg;
     private String privateKeyPath;
     private String privateKeyPassphrase;
 
@@ -129,10 +132,12 @@ public class NetconfTopologyManager
         this.rpcProviderService = requireNonNull(rpcProviderService);
         this.deviceActionFactory = requireNonNull(deviceActionFactory);
         this.resourceManager = requireNonNull(resourceManager);
+        this.connectionScheduler = new ConnectionScheduler(eventExecutor);
     }
 
     // Blueprint init method
     public void init() {
+        schedulerReg = connectionScheduler.registerMBean(topologyId);
         dataChangeListenerRegistration = registerDataTreeChangeListener();
         rpcReg = rpcProviderService.registerRpcImplementation(NetconfNodeTopologyService.class,
             new NetconfTopologyRPCProvider(dataBroker, encryptionService, topologyId));
@@ -240,6 +245,10 @@ public class NetconfTopologyManager
             dataChangeListenerRegistration.close();
             dataChangeListenerRegistration = null;
         }
+        if (schedulerReg != null) {
+            schedulerReg.close();
+            schedulerReg = null;
+        }
 
         contexts.values().forEach(NetconfTopologyManager::close);
         clusterRegistrations.values().forEach(NetconfTopologyManager::close);
@@ -271,6 +280,30 @@ public class NetconfTopologyManager
         this.privateKeyPassphrase = privateKeyPassphrase;
     }
 
+    /**
+     * Sets the maximum number of connections being established at the same time from configuration file using
+     * blueprint.
+     */
+    public void setMaxConcurrentConnections(final int maxConcurrentConnections) {
+        connectionScheduler.setMaxConnections(maxConcurrentConnections);
+    }
+
+    /**
+     * Sets the upper bound of the random delay of connection starts during mass onboarding from configuration file
+     * using blueprint.
+     */
+    public void setConnectionJitterMillis(final long connectionJitterMillis) {
+        connectionScheduler.setJitterMillis(connectionJitterMillis);
+    }
+
+    /**
+     * Sets the time after which a connection which has not been mounted stops counting towards the limit of
+     * concurrent connections from configuration file using blueprint.
+     */
+    public void setConnectionAdmissionTimeoutMillis(final long connectionAdmissionTimeoutMillis) {
+        connectionScheduler.setAdmissionTimeoutMillis(connectionAdmissionTimeoutMillis);
+    }
+
     private ListenerRegistration<NetconfTopologyManager> registerDataTreeChangeListener() {
         final WriteTransaction wtx = dataBroker.newWriteOnlyTransaction();
         initTopology(wtx, LogicalDatastoreType.CONFIGURATION);
@@ -324,7 +357,8 @@ public class NetconfTopologyManager
                 .setIdleTimeout(writeTxIdleTimeout)
                 .setPrivateKeyPath(privateKeyPath)
                 .setPrivateKeyPassphrase(privateKeyPassphrase)
-                .setEncryptionService(encryptionService);
+                .setEncryptionService(encryptionService)
+                .setConnectionScheduler(connectionScheduler);
 
         return builder.build();
     }
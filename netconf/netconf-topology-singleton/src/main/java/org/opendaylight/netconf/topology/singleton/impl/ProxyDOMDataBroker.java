@@ -12,6 +12,7 @@ import akka.pattern.Patterns;
 import akka.util.Timeout;
 import com.google.common.collect.ClassToInstanceMap;
 import com.google.common.collect.ImmutableClassToInstanceMap;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.mdsal.dom.api.DOMDataBrokerExtension;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeReadTransaction;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeReadWriteTransaction;
@@ -20,8 +21,13 @@ import org.opendaylight.mdsal.dom.api.DOMTransactionChain;
 import org.opendaylight.mdsal.dom.api.DOMTransactionChainListener;
 import org.opendaylight.mdsal.dom.spi.PingPongMergingDOMDataBroker;
 import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
+import org.opendaylight.netconf.topology.singleton.impl.tx.CachingReadTransaction;
+import org.opendaylight.netconf.topology.singleton.impl.tx.InvalidatingReadWriteTransaction;
 import org.opendaylight.netconf.topology.singleton.impl.tx.ProxyReadTransaction;
 import org.opendaylight.netconf.topology.singleton.impl.tx.ProxyReadWriteTransaction;
+import org.opendaylight.netconf.topology.singleton.impl.utils.ProxyOptions;
+import org.opendaylight.netconf.topology.singleton.impl.utils.QNameDictionary;
+import org.opendaylight.netconf.topology.singleton.impl.utils.ReadCache;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.NewReadTransactionRequest;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.NewReadWriteTransactionRequest;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.NewWriteTransactionRequest;
@@ -34,6 +40,8 @@ public class ProxyDOMDataBroker implements PingPongMergingDOMDataBroker {
     private final RemoteDeviceId id;
     private final ActorRef masterNode;
     private final ExecutionContext executionContext;
+    private final @Nullable QNameDictionary dictionary;
+    private final @Nullable ReadCache readCache;
 
     /**
      * Constructor for {@code ProxyDOMDataBroker}.
@@ -45,31 +53,60 @@ public class ProxyDOMDataBroker implements PingPongMergingDOMDataBroker {
      */
     public ProxyDOMDataBroker(final RemoteDeviceId id, final ActorRef masterNode,
             final ExecutionContext executionContext, final Timeout askTimeout) {
+        this(id, masterNode, executionContext, askTimeout, ProxyOptions.DEFAULT);
+    }
+
+    /**
+     * Constructor for {@code ProxyDOMDataBroker}.
+     *
+     * @param id          id
+     * @param masterNode  {@link org.opendaylight.netconf.topology.singleton.impl.actors.NetconfNodeActor} ref
+     * @param executionContext ExecutionContext
+     * @param askTimeout  ask timeout
+     * @param options     dictionary and read cache to use
+     */
+    public ProxyDOMDataBroker(final RemoteDeviceId id, final ActorRef masterNode,
+            final ExecutionContext executionContext, final Timeout askTimeout, final ProxyOptions options) {
         this.id = id;
         this.masterNode = masterNode;
         this.executionContext = executionContext;
         this.askTimeout = askTimeout;
+        this.dictionary = options.getDictionary();
+        this.readCache = options.getReadCache();
     }
 
     @SuppressWarnings("checkstyle:IllegalCatch")
     @Override
     public DOMDataTreeReadTransaction newReadOnlyTransaction() {
+        if (readCache != null) {
+            return new CachingReadTransaction(this::newProxyReadTransaction, readCache);
+        }
+        return newProxyReadTransaction();
+    }
+
+    private DOMDataTreeReadTransaction newProxyReadTransaction() {
         final Future<Object> txActorFuture = Patterns.ask(masterNode, new NewReadTransactionRequest(), askTimeout);
-        return new ProxyReadTransaction(id, txActorFuture, executionContext, askTimeout);
+        return new ProxyReadTransaction(id, txActorFuture, executionContext, askTimeout, dictionary);
     }
 
     @SuppressWarnings("checkstyle:IllegalCatch")
     @Override
     public DOMDataTreeReadWriteTransaction newReadWriteTransaction() {
         final Future<Object> txActorFuture = Patterns.ask(masterNode, new NewReadWriteTransactionRequest(), askTimeout);
-        return new ProxyReadWriteTransaction(id, txActorFuture, executionContext, askTimeout);
+        return invalidating(new ProxyReadWriteTransaction(id, txActorFuture, executionContext, askTimeout,
+            dictionary));
     }
 
     @SuppressWarnings("checkstyle:IllegalCatch")
     @Override
     public DOMDataTreeWriteTransaction newWriteOnlyTransaction() {
         final Future<Object> txActorFuture = Patterns.ask(masterNode, new NewWriteTransactionRequest(), askTimeout);
-        return new ProxyReadWriteTransaction(id, txActorFuture, executionContext, askTimeout);
+        return invalidating(new ProxyReadWriteTransaction(id, txActorFuture, executionContext, askTimeout,
+            dictionary));
+    }
+
+    private DOMDataTreeReadWriteTransaction invalidating(final DOMDataTreeReadWriteTransaction tx) {
+        return readCache == null ? tx : new InvalidatingReadWriteTransaction(tx, readCache);
     }
 
     @Override
@@ -14,13 +14,20 @@ import com.google.common.base.Preconditions;
 import com.google.common.util.concurrent.ListenableFuture;
 import java.util.List;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Supplier;
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
 import org.opendaylight.mdsal.dom.api.DOMRpcResult;
 import org.opendaylight.netconf.api.ModifyAction;
 import org.opendaylight.netconf.dom.api.NetconfDataTreeService;
 import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
 import org.opendaylight.netconf.topology.singleton.impl.netconf.ProxyNetconfService;
+import org.opendaylight.netconf.topology.singleton.impl.utils.ProxyOptions;
+import org.opendaylight.netconf.topology.singleton.impl.utils.QNameDictionary;
+import org.opendaylight.netconf.topology.singleton.impl.utils.ReadCache;
 import org.opendaylight.netconf.topology.singleton.messages.netconf.NetconfDataTreeServiceRequest;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
@@ -32,6 +39,10 @@ public class ProxyNetconfDataTreeService implements NetconfDataTreeService {
     private final RemoteDeviceId id;
     private final ActorRef masterNode;
     private final ExecutionContext executionContext;
+    private final @Nullable QNameDictionary dictionary;
+    private final @Nullable ReadCache readCache;
+    // Paths modified by edits pending commit, tracked only when caching reads
+    private final Queue<YangInstanceIdentifier> modifiedPaths = new ConcurrentLinkedQueue<>();
 
     private volatile ProxyNetconfService proxyNetconfService;
 
@@ -45,16 +56,33 @@ public class ProxyNetconfDataTreeService implements NetconfDataTreeService {
      */
     public ProxyNetconfDataTreeService(final RemoteDeviceId id, final ActorRef masterNode,
                                        final ExecutionContext executionContext, final Timeout askTimeout) {
+        this(id, masterNode, executionContext, askTimeout, ProxyOptions.DEFAULT);
+    }
+
+    /**
+     * Constructor for {@code ProxyNetconfDataTreeService}.
+     *
+     * @param id               id
+     * @param masterNode       {@link org.opendaylight.netconf.topology.singleton.impl.actors.NetconfNodeActor} ref
+     * @param executionContext ExecutionContext
+     * @param askTimeout       ask timeout
+     * @param options          dictionary and read cache to use
+     */
+    public ProxyNetconfDataTreeService(final RemoteDeviceId id, final ActorRef masterNode,
+                                       final ExecutionContext executionContext, final Timeout askTimeout,
+                                       final ProxyOptions options) {
         this.id = id;
         this.masterNode = masterNode;
         this.executionContext = executionContext;
         this.askTimeout = askTimeout;
+        this.dictionary = options.getDictionary();
+        this.readCache = options.getReadCache();
     }
 
     @Override
     public synchronized ListenableFuture<DOMRpcResult> lock() {
         final Future<Object> masterActor = Patterns.ask(masterNode, new NetconfDataTreeServiceRequest(), askTimeout);
-        proxyNetconfService = new ProxyNetconfService(id, masterActor, executionContext, askTimeout);
+        proxyNetconfService = new ProxyNetconfService(id, masterActor, executionContext, askTimeout, dictionary);
         return proxyNetconfService.lock();
     }
 
@@ -67,37 +95,34 @@ public class ProxyNetconfDataTreeService implements NetconfDataTreeService {
     @Override
     public ListenableFuture<DOMRpcResult> discardChanges() {
         isLocked();
+        modifiedPaths.clear();
         return proxyNetconfService.discardChanges();
     }
 
     @Override
     public ListenableFuture<Optional<NormalizedNode>> get(final YangInstanceIdentifier path) {
-        final Future<Object> masterActor = Patterns.ask(masterNode, new NetconfDataTreeServiceRequest(), askTimeout);
-        ProxyNetconfService netconfService = new ProxyNetconfService(id, masterActor, executionContext, askTimeout);
-        return netconfService.get(path);
+        return cachedRead(LogicalDatastoreType.OPERATIONAL, path, List.of(),
+            () -> newProxyNetconfService().get(path));
     }
 
     @Override
     public ListenableFuture<Optional<NormalizedNode>> get(final YangInstanceIdentifier path,
             final List<YangInstanceIdentifier> fields) {
-        final Future<Object> masterActor = Patterns.ask(masterNode, new NetconfDataTreeServiceRequest(), askTimeout);
-        ProxyNetconfService netconfService = new ProxyNetconfService(id, masterActor, executionContext, askTimeout);
-        return netconfService.get(path, fields);
+        return cachedRead(LogicalDatastoreType.OPERATIONAL, path, fields,
+            () -> newProxyNetconfService().get(path, fields));
     }
 
     @Override
     public ListenableFuture<Optional<NormalizedNode>> getConfig(final YangInstanceIdentifier path) {
-        final Future<Object> masterActor = Patterns.ask(masterNode, new NetconfDataTreeServiceRequest(), askTimeout);
-        ProxyNetconfService netconfService = new ProxyNetconfService(id, masterActor, executionContext, askTimeout);
-        return netconfService.getConfig(path);
+        return cachedRead(LogicalDatastoreType.CONFIGURATION, path, List.of(),
+            () -> newProxyNetconfService().getConfig(path));
     }
 
     @Override
     public ListenableFuture<Optional<NormalizedNode>> getConfig(final YangInstanceIdentifier path,
             final List<YangInstanceIdentifier> fields) {
-        final Future<Object> masterActor = Patterns.ask(masterNode, new NetconfDataTreeServiceRequest(), askTimeout);
-        ProxyNetconfService netconfService = new ProxyNetconfService(id, masterActor, executionContext, askTimeout);
-        return netconfService.getConfig(path, fields);
+        return cachedRead(LogicalDatastoreType.CONFIGURATION, path, fields,
+            () -> newProxyNetconfService().getConfig(path, fields));
     }
 
     @Override
@@ -105,6 +130,7 @@ public class ProxyNetconfDataTreeService implements NetconfDataTreeService {
             final YangInstanceIdentifier path, final NormalizedNode data,
             final Optional<ModifyAction> defaultOperation) {
         isLocked();
+        trackModification(path);
         return proxyNetconfService.merge(store, path, data, defaultOperation);
     }
 
@@ -113,6 +139,7 @@ public class ProxyNetconfDataTreeService implements NetconfDataTreeService {
             final YangInstanceIdentifier path, final NormalizedNode data,
             final Optional<ModifyAction> defaultOperation) {
         isLocked();
+        trackModification(path);
         return proxyNetconfService.replace(store, path, data, defaultOperation);
     }
 
@@ -121,6 +148,7 @@ public class ProxyNetconfDataTreeService implements NetconfDataTreeService {
             final YangInstanceIdentifier path, final NormalizedNode data,
             final Optional<ModifyAction> defaultOperation) {
         isLocked();
+        trackModification(path);
         return proxyNetconfService.create(store, path, data, defaultOperation);
     }
 
@@ -128,6 +156,7 @@ public class ProxyNetconfDataTreeService implements NetconfDataTreeService {
     public ListenableFuture<? extends DOMRpcResult> delete(final LogicalDatastoreType store,
             final YangInstanceIdentifier path) {
         isLocked();
+        trackModification(path);
         return proxyNetconfService.delete(store, path);
     }
 
@@ -135,13 +164,19 @@ public class ProxyNetconfDataTreeService implements NetconfDataTreeService {
     public ListenableFuture<? extends DOMRpcResult> remove(final LogicalDatastoreType store,
             final YangInstanceIdentifier path) {
         isLocked();
+        trackModification(path);
         return proxyNetconfService.remove(store, path);
     }
 
     @Override
     public ListenableFuture<? extends DOMRpcResult> commit() {
         isLocked();
-        return proxyNetconfService.commit();
+        if (readCache == null) {
+            return proxyNetconfService.commit();
+        }
+        final List<YangInstanceIdentifier> committedPaths = List.copyOf(modifiedPaths);
+        modifiedPaths.clear();
+        return readCache.invalidateOnCompletion(proxyNetconfService.commit(), committedPaths);
     }
 
     @Override
@@ -149,6 +184,23 @@ public class ProxyNetconfDataTreeService implements NetconfDataTreeService {
         return id;
     }
 
+    private ProxyNetconfService newProxyNetconfService() {
+        final Future<Object> masterActor = Patterns.ask(masterNode, new NetconfDataTreeServiceRequest(), askTimeout);
+        return new ProxyNetconfService(id, masterActor, executionContext, askTimeout, dictionary);
+    }
+
+    private ListenableFuture<Optional<NormalizedNode>> cachedRead(final LogicalDatastoreType store,
+            final YangInstanceIdentifier path, final List<YangInstanceIdentifier> fields,
+            final Supplier<ListenableFuture<Optional<NormalizedNode>>> reader) {
+        return readCache == null ? reader.get() : readCache.read(store, path, fields, reader);
+    }
+
+    private void trackModification(final YangInstanceIdentifier path) {
+        if (readCache != null) {
+            modifiedPaths.add(path);
+        }
+    }
+
     private void isLocked() {
         Preconditions.checkState(proxyNetconfService != null,
             "%s: Device's datastore must be locked first", id);
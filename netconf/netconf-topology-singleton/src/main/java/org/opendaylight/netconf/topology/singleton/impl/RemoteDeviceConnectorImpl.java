@@ -22,6 +22,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.aaa.encrypt.AAAEncryptionService;
 import org.opendaylight.netconf.api.NetconfMessage;
 import org.opendaylight.netconf.client.NetconfClientSessionListener;
@@ -42,9 +43,11 @@ import org.opendaylight.netconf.sal.connect.netconf.SchemalessNetconfDevice;
 import org.opendaylight.netconf.sal.connect.netconf.auth.DatastoreBackedPublicKeyAuth;
 import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfDeviceCapabilities;
 import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfDeviceCommunicator;
+import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfDeviceCommunicatorOptions;
 import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfSessionPreferences;
 import org.opendaylight.netconf.sal.connect.netconf.listener.UserPreferences;
 import org.opendaylight.netconf.sal.connect.netconf.sal.KeepaliveSalFacade;
+import org.opendaylight.netconf.sal.connect.netconf.sal.KeepaliveSalFacade.Probe;
 import org.opendaylight.netconf.sal.connect.netconf.sal.NetconfKeystoreAdapter;
 import org.opendaylight.netconf.sal.connect.netconf.schema.YangLibrarySchemaYangSourceProvider;
 import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
@@ -52,11 +55,15 @@ import org.opendaylight.netconf.sal.connect.util.SslHandlerFactoryImpl;
 import org.opendaylight.netconf.topology.singleton.api.RemoteDeviceConnector;
 import org.opendaylight.netconf.topology.singleton.impl.utils.NetconfTopologySetup;
 import org.opendaylight.netconf.topology.singleton.impl.utils.NetconfTopologyUtils;
+import org.opendaylight.netconf.topology.spi.AdmissionSalFacade;
+import org.opendaylight.netconf.topology.spi.ConnectionScheduler;
+import org.opendaylight.netconf.topology.spi.ConnectionScheduler.Admission;
 import org.opendaylight.netconf.topology.spi.NetconfConnectorDTO;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.Host;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.IpAddress;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.Uri;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.NetconfNode;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.NetconfNodeConnectionParameters.KeepaliveProbe;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.connection.parameters.OdlHelloMessageCapabilities;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.connection.parameters.Protocol;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.connection.status.available.capabilities.AvailableCapability.CapabilityOrigin;
@@ -113,23 +120,43 @@ public class RemoteDeviceConnectorImpl implements RemoteDeviceConnector {
         requireNonNull(netconfNode.getHost());
         requireNonNull(netconfNode.getPort());
 
-        this.deviceCommunicatorDTO = createDeviceCommunicator(nodeId, netconfNode, deviceHandler);
+        final ConnectionScheduler connectionScheduler = netconfTopologyDeviceSetup.getConnectionScheduler();
+        final Admission admission = connectionScheduler == null ? null
+            : connectionScheduler.newAdmission(nodeId.getValue(), ConnectionScheduler.priorityOf(netconfNode));
+
+        this.deviceCommunicatorDTO = createDeviceCommunicator(nodeId, netconfNode,
+            admission == null ? deviceHandler : new AdmissionSalFacade(deviceHandler, admission));
         final NetconfDeviceCommunicator deviceCommunicator = deviceCommunicatorDTO.getCommunicator();
         final NetconfClientSessionListener netconfClientSessionListener = deviceCommunicatorDTO.getSessionListener();
         final NetconfReconnectingClientConfiguration clientConfig =
-                getClientConfig(netconfClientSessionListener, netconfNode, nodeId);
-        final ListenableFuture<NetconfDeviceCapabilities> future = deviceCommunicator
-                .initializeRemoteConnection(netconfTopologyDeviceSetup.getNetconfClientDispatcher(), clientConfig);
+                getClientConfig(netconfClientSessionListener, netconfNode, nodeId, admission);
+        final ListenableFuture<NetconfDeviceCapabilities> future;
+        if (admission == null) {
+            future = deviceCommunicator.initializeRemoteConnection(
+                netconfTopologyDeviceSetup.getNetconfClientDispatcher(), clientConfig);
+        } else {
+            // Handshake starts only once the scheduler admits the connection. Closing the connector withdraws it.
+            future = Futures.transformAsync(admission.admit(),
+                ignored -> deviceCommunicator.initializeRemoteConnection(
+                    netconfTopologyDeviceSetup.getNetconfClientDispatcher(), clientConfig),
+                MoreExecutors.directExecutor());
+        }
 
         Futures.addCallback(future, new FutureCallback<NetconfDeviceCapabilities>() {
             @Override
             public void onSuccess(final NetconfDeviceCapabilities result) {
                 LOG.debug("{}: Connector started successfully", remoteDeviceId);
+                if (admission != null) {
+                    admission.sessionUp();
+                }
             }
 
             @Override
             public void onFailure(final Throwable throwable) {
                 LOG.error("{}: Connector failed", remoteDeviceId, throwable);
+                if (admission != null) {
+                    admission.fail(throwable);
+                }
             }
         }, MoreExecutors.directExecutor());
     }
@@ -161,8 +188,8 @@ public class RemoteDeviceConnectorImpl implements RemoteDeviceConnector {
         if (keepaliveDelay > 0) {
             LOG.info("{}: Adding keepalive facade.", remoteDeviceId);
             salFacade = new KeepaliveSalFacade(remoteDeviceId, salFacade,
-                    netconfTopologyDeviceSetup.getKeepaliveExecutor(), keepaliveDelay,
-                    defaultRequestTimeoutMillis);
+                    netconfTopologyDeviceSetup.getKeepaliveExecutor(), keepaliveDelay, defaultRequestTimeoutMillis,
+                    node.getKeepaliveProbe() == KeepaliveProbe.Transport ? Probe.TRANSPORT : Probe.RPC);
         }
 
         final NetconfDevice.SchemaResourcesDTO schemaResourcesDTO = netconfTopologyDeviceSetup.getSchemaResourcesDTO();
@@ -220,12 +247,15 @@ public class RemoteDeviceConnectorImpl implements RemoteDeviceConnector {
             LOG.info("{}: Concurrent rpc limit is smaller than 1, no limit will be enforced.", remoteDeviceId);
         }
 
-        NetconfDeviceCommunicator netconfDeviceCommunicator = userCapabilities.isPresent()
-            ? new NetconfDeviceCommunicator(remoteDeviceId, device, new UserPreferences(userCapabilities.get(),
+        final NetconfDeviceCommunicator netconfDeviceCommunicator = new NetconfDeviceCommunicator(remoteDeviceId,
+            device, userCapabilities.map(capabilities -> new UserPreferences(capabilities,
                 node.getYangModuleCapabilities() == null ? false : node.getYangModuleCapabilities().getOverride(),
-                    node.getNonModuleCapabilities() == null ? false : node.getNonModuleCapabilities().getOverride()),
-                rpcMessageLimit)
-            : new NetconfDeviceCommunicator(remoteDeviceId, device, rpcMessageLimit);
+                    node.getNonModuleCapabilities() == null ? false : node.getNonModuleCapabilities().getOverride())),
+            rpcMessageLimit, NetconfDeviceCommunicatorOptions.builder()
+                .withOutOfOrderReplies(Boolean.TRUE.equals(node.getOutOfOrderReplies()))
+                .withExiReplySizeThreshold(node.getExiReplySizeThreshold() == null ? 0
+                    : node.getExiReplySizeThreshold().toJava())
+                .build());
 
         if (salFacade instanceof KeepaliveSalFacade) {
             ((KeepaliveSalFacade)salFacade).setListener(netconfDeviceCommunicator);
@@ -271,6 +301,11 @@ public class RemoteDeviceConnectorImpl implements RemoteDeviceConnector {
     @VisibleForTesting
     NetconfReconnectingClientConfiguration getClientConfig(final NetconfClientSessionListener listener,
                                                            final NetconfNode node, final NodeId nodeId) {
+        return getClientConfig(listener, node, nodeId, null);
+    }
+
+    private NetconfReconnectingClientConfiguration getClientConfig(final NetconfClientSessionListener listener,
+            final NetconfNode node, final NodeId nodeId, final @Nullable Admission admission) {
 
         //setup default values since default value is not supported in mdsal
         final long clientConnectionTimeoutMillis = node.getConnectionTimeoutMillis() == null
@@ -287,9 +322,12 @@ public class RemoteDeviceConnectorImpl implements RemoteDeviceConnector {
 
         final InetSocketAddress socketAddress = getSocketAddress(node.getHost(), node.getPort().getValue().toJava());
 
-        final ReconnectStrategyFactory sf =
+        final ReconnectStrategyFactory timedFactory =
                 new TimedReconnectStrategyFactory(netconfTopologyDeviceSetup.getEventExecutor(), maxConnectionAttempts,
                         betweenAttemptsTimeoutMillis, sleepFactor);
+        // Reconnects after the session has been lost are admitted like the initial connection
+        final ReconnectStrategyFactory sf = admission == null ? timedFactory
+            : admission.reconnectStrategyFactory(timedFactory);
 
 
         final NetconfReconnectingClientConfigurationBuilder reconnectingClientConfigurationBuilder;
@@ -314,6 +352,12 @@ public class RemoteDeviceConnectorImpl implements RemoteDeviceConnector {
         if (odlHelloCapabilities != null) {
             reconnectingClientConfigurationBuilder.withOdlHelloCapabilities(odlHelloCapabilities);
         }
+        if (node.getMaximumChunkSize() != null) {
+            reconnectingClientConfigurationBuilder.withMaximumChunkSize(node.getMaximumChunkSize().intValue());
+        }
+        if (node.getMaximumMessageSize() != null) {
+            reconnectingClientConfigurationBuilder.withMaximumMessageSize(node.getMaximumMessageSize().intValue());
+        }
 
         return reconnectingClientConfigurationBuilder
                 .withNodeId(nodeId.getValue())
@@ -322,6 +366,9 @@ public class RemoteDeviceConnectorImpl implements RemoteDeviceConnector {
                 .withReconnectStrategy(sf.createReconnectStrategy())
                 .withConnectStrategyFactory(sf)
                 .withSessionListener(listener)
+                .withLazyMessageParsing(Boolean.TRUE.equals(node.getLazyMessageParsing()))
+                .withPrettyPrintMessages(Boolean.TRUE.equals(node.getPrettyPrintMessages()))
+                .withDeferredExiNegotiation(node.getExiReplySizeThreshold() != null)
                 .build();
     }
 
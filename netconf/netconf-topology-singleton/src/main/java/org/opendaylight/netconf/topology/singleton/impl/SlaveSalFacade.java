@@ -10,7 +10,9 @@ package org.opendaylight.netconf.topology.singleton.impl;
 import akka.actor.ActorRef;
 import akka.actor.ActorSystem;
 import akka.util.Timeout;
+import java.util.Collection;
 import java.util.concurrent.atomic.AtomicBoolean;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.mdsal.dom.api.DOMActionService;
 import org.opendaylight.mdsal.dom.api.DOMMountPointService;
 import org.opendaylight.mdsal.dom.api.DOMRpcService;
@@ -18,6 +20,10 @@ import org.opendaylight.netconf.dom.api.NetconfDataTreeService;
 import org.opendaylight.netconf.sal.connect.netconf.sal.NetconfDeviceNotificationService;
 import org.opendaylight.netconf.sal.connect.netconf.sal.NetconfDeviceSalProvider;
 import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
+import org.opendaylight.netconf.topology.singleton.impl.utils.ProxyOptions;
+import org.opendaylight.netconf.topology.singleton.impl.utils.QNameDictionary;
+import org.opendaylight.netconf.topology.singleton.impl.utils.ReadCache;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -31,15 +37,25 @@ public class SlaveSalFacade {
     private final ActorSystem actorSystem;
     private final Timeout actorResponseWaitTime;
     private final AtomicBoolean registered = new AtomicBoolean(false);
+    private final @Nullable ReadCache readCache;
 
     public SlaveSalFacade(final RemoteDeviceId id,
                           final ActorSystem actorSystem,
                           final Timeout actorResponseWaitTime,
                           final DOMMountPointService mountPointService) {
+        this(id, actorSystem, actorResponseWaitTime, mountPointService, null);
+    }
+
+    public SlaveSalFacade(final RemoteDeviceId id,
+                          final ActorSystem actorSystem,
+                          final Timeout actorResponseWaitTime,
+                          final DOMMountPointService mountPointService,
+                          final @Nullable ReadCache readCache) {
         this.id = id;
         this.salProvider = new NetconfDeviceSalProvider(id, mountPointService);
         this.actorSystem = actorSystem;
         this.actorResponseWaitTime = actorResponseWaitTime;
+        this.readCache = readCache;
     }
 
     public void registerSlaveMountPoint(final EffectiveModelContext remoteSchemaContext, final DOMRpcService deviceRpc,
@@ -49,10 +65,14 @@ public class SlaveSalFacade {
         }
 
         final NetconfDeviceNotificationService notificationService = new NetconfDeviceNotificationService();
+        final ProxyOptions options = ProxyOptions.builder()
+            .withDictionary(QNameDictionary.of(remoteSchemaContext))
+            .withReadCache(readCache)
+            .build();
         final ProxyDOMDataBroker netconfDeviceDataBroker = new ProxyDOMDataBroker(id, masterActorRef,
-            actorSystem.dispatcher(), actorResponseWaitTime);
+            actorSystem.dispatcher(), actorResponseWaitTime, options);
         final NetconfDataTreeService proxyNetconfService = new ProxyNetconfDataTreeService(id, masterActorRef,
-            actorSystem.dispatcher(), actorResponseWaitTime);
+            actorSystem.dispatcher(), actorResponseWaitTime, options);
 
         salProvider.getMountInstance().onTopologyDeviceConnected(remoteSchemaContext, netconfDeviceDataBroker,
             proxyNetconfService, deviceRpc, notificationService, deviceAction);
@@ -60,12 +80,26 @@ public class SlaveSalFacade {
         LOG.info("{}: Slave mount point registered.", id);
     }
 
+    /**
+     * Invalidate cached read results overlapping with paths written through master.
+     *
+     * @param modifiedPaths Paths which have been modified
+     */
+    public void invalidateReadCache(final Collection<YangInstanceIdentifier> modifiedPaths) {
+        if (readCache != null) {
+            readCache.invalidate(modifiedPaths);
+        }
+    }
+
     public void close() {
         if (!registered.compareAndSet(true, false)) {
             return;
         }
 
         salProvider.getMountInstance().onTopologyDeviceDisconnected();
+        if (readCache != null) {
+            readCache.invalidateAll();
+        }
 
         LOG.info("{}: Slave mount point unregistered.", id);
     }
@@ -18,10 +18,14 @@ import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.MoreExecutors;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Supplier;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.mdsal.dom.api.DOMRpcResult;
 import org.opendaylight.netconf.dom.api.NetconfDataTreeService;
+import org.opendaylight.netconf.topology.singleton.messages.InvalidateReadCache;
 import org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeMessage;
 import org.opendaylight.netconf.topology.singleton.messages.netconf.CommitRequest;
 import org.opendaylight.netconf.topology.singleton.messages.netconf.CreateEditConfigRequest;
@@ -49,9 +53,14 @@ public final class NetconfDataTreeServiceActor extends UntypedAbstractActor {
 
     private final NetconfDataTreeService netconfService;
     private final long idleTimeout;
+    private final @Nullable ReadResponseEncoder encoder;
+    // Paths modified by edits pending commit, reported to the parent once they are committed
+    private final List<YangInstanceIdentifier> modifiedPaths = new ArrayList<>();
 
-    private NetconfDataTreeServiceActor(final NetconfDataTreeService netconfService, final Duration idleTimeout) {
+    private NetconfDataTreeServiceActor(final NetconfDataTreeService netconfService, final Duration idleTimeout,
+            final @Nullable ReadResponseEncoder encoder) {
         this.netconfService = netconfService;
+        this.encoder = encoder;
         this.idleTimeout = idleTimeout.toSeconds();
         if (this.idleTimeout > 0) {
             context().setReceiveTimeout(JavaDurationConverters.asFiniteDuration(idleTimeout));
@@ -59,8 +68,13 @@ public final class NetconfDataTreeServiceActor extends UntypedAbstractActor {
     }
 
     static Props props(final NetconfDataTreeService netconfService, final Duration idleTimeout) {
+        return props(netconfService, idleTimeout, null);
+    }
+
+    static Props props(final NetconfDataTreeService netconfService, final Duration idleTimeout,
+            final @Nullable ReadResponseEncoder encoder) {
         return Props.create(NetconfDataTreeServiceActor.class, () ->
-            new NetconfDataTreeServiceActor(netconfService, idleTimeout));
+            new NetconfDataTreeServiceActor(netconfService, idleTimeout, encoder));
     }
 
     @Override
@@ -100,6 +114,7 @@ public final class NetconfDataTreeServiceActor extends UntypedAbstractActor {
                 request.getNormalizedNodeMessage().getIdentifier(),
                 request.getNormalizedNodeMessage().getNode(),
                 Optional.ofNullable(request.getDefaultOperation()));
+            modifiedPaths.add(request.getNormalizedNodeMessage().getIdentifier());
         } else if (message instanceof ReplaceEditConfigRequest) {
             final ReplaceEditConfigRequest request = (ReplaceEditConfigRequest) message;
             netconfService.replace(
@@ -107,6 +122,7 @@ public final class NetconfDataTreeServiceActor extends UntypedAbstractActor {
                 request.getNormalizedNodeMessage().getIdentifier(),
                 request.getNormalizedNodeMessage().getNode(),
                 Optional.ofNullable(request.getDefaultOperation()));
+            modifiedPaths.add(request.getNormalizedNodeMessage().getIdentifier());
         } else if (message instanceof CreateEditConfigRequest) {
             final CreateEditConfigRequest request = (CreateEditConfigRequest) message;
             netconfService.create(
@@ -114,15 +130,19 @@ public final class NetconfDataTreeServiceActor extends UntypedAbstractActor {
                 request.getNormalizedNodeMessage().getIdentifier(),
                 request.getNormalizedNodeMessage().getNode(),
                 Optional.ofNullable(request.getDefaultOperation()));
+            modifiedPaths.add(request.getNormalizedNodeMessage().getIdentifier());
         } else if (message instanceof DeleteEditConfigRequest) {
             final DeleteEditConfigRequest request = (DeleteEditConfigRequest) message;
             netconfService.delete(request.getStore(), request.getPath());
+            modifiedPaths.add(request.getPath());
         } else if (message instanceof RemoveEditConfigRequest) {
             final RemoveEditConfigRequest request = (RemoveEditConfigRequest) message;
             netconfService.remove(request.getStore(), request.getPath());
+            modifiedPaths.add(request.getPath());
         } else if (message instanceof CommitRequest) {
             submit(sender(), self());
         } else if (message instanceof DiscardChangesRequest) {
+            modifiedPaths.clear();
             invokeRpcCall(netconfService::discardChanges, sender(), self());
         } else if (message instanceof UnlockRequest) {
             context().stop(self());
@@ -139,9 +159,15 @@ public final class NetconfDataTreeServiceActor extends UntypedAbstractActor {
     }
 
     private void submit(final ActorRef requester, final ActorRef self) {
+        final ActorRef parent = context().parent();
+        final InvalidateReadCache invalidate = modifiedPaths.isEmpty() ? null
+            : new InvalidateReadCache(modifiedPaths);
+        modifiedPaths.clear();
+
         Futures.addCallback(netconfService.commit(), new FutureCallback<DOMRpcResult>() {
             @Override
             public void onSuccess(final DOMRpcResult result) {
+                invalidateReadCache(invalidate, parent, self);
                 if (result == null) {
                     requester.tell(new EmptyResultResponse(), getSender());
                     return;
@@ -155,11 +181,20 @@ public final class NetconfDataTreeServiceActor extends UntypedAbstractActor {
 
             @Override
             public void onFailure(final Throwable throwable) {
+                // the device may have applied part of the changes
+                invalidateReadCache(invalidate, parent, self);
                 requester.tell(new Status.Failure(throwable), self);
             }
         }, MoreExecutors.directExecutor());
     }
 
+    private static void invalidateReadCache(final @Nullable InvalidateReadCache invalidate, final ActorRef parent,
+            final ActorRef self) {
+        if (invalidate != null) {
+            parent.tell(invalidate, self);
+        }
+    }
+
     private void invokeRpcCall(final Supplier<ListenableFuture<? extends DOMRpcResult>> operation,
         final ActorRef requester, final ActorRef self) {
         Futures.addCallback(operation.get(), new FutureCallback<DOMRpcResult>() {
@@ -183,7 +218,7 @@ public final class NetconfDataTreeServiceActor extends UntypedAbstractActor {
         }, MoreExecutors.directExecutor());
     }
 
-    private static void sendResult(final ListenableFuture<Optional<NormalizedNode>> feature,
+    private void sendResult(final ListenableFuture<Optional<NormalizedNode>> feature,
             final YangInstanceIdentifier path, final ActorRef sender, final ActorRef self) {
         Futures.addCallback(feature, new FutureCallback<>() {
             @Override
@@ -192,7 +227,7 @@ public final class NetconfDataTreeServiceActor extends UntypedAbstractActor {
                     sender.tell(new EmptyReadResponse(), self);
                     return;
                 }
-                sender.tell(new NormalizedNodeMessage(path, result.get()), self);
+                sender.tell(ReadResponseEncoder.encode(encoder, sender, path, result.get()), self);
             }
 
             @Override
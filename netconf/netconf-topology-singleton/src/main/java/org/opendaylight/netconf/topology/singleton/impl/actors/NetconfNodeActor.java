@@ -11,6 +11,7 @@ import akka.actor.ActorRef;
 import akka.actor.Props;
 import akka.actor.Status.Failure;
 import akka.actor.Status.Success;
+import akka.actor.Terminated;
 import akka.pattern.AskTimeoutException;
 import akka.util.Timeout;
 import com.google.common.base.Throwables;
@@ -21,7 +22,9 @@ import com.google.common.util.concurrent.MoreExecutors;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.io.IOException;
 import java.time.Duration;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 import org.opendaylight.controller.cluster.common.actor.AbstractUntypedActor;
 import org.opendaylight.controller.cluster.schema.provider.RemoteYangTextSourceProvider;
@@ -44,9 +47,12 @@ import org.opendaylight.netconf.topology.singleton.impl.ProxyDOMRpcService;
 import org.opendaylight.netconf.topology.singleton.impl.ProxyYangTextSourceProvider;
 import org.opendaylight.netconf.topology.singleton.impl.SlaveSalFacade;
 import org.opendaylight.netconf.topology.singleton.impl.utils.NetconfTopologySetup;
+import org.opendaylight.netconf.topology.singleton.impl.utils.QNameDictionary;
+import org.opendaylight.netconf.topology.singleton.impl.utils.ReadCache;
 import org.opendaylight.netconf.topology.singleton.messages.AskForMasterMountPoint;
 import org.opendaylight.netconf.topology.singleton.messages.ContainerNodeMessage;
 import org.opendaylight.netconf.topology.singleton.messages.CreateInitialMasterActorData;
+import org.opendaylight.netconf.topology.singleton.messages.InvalidateReadCache;
 import org.opendaylight.netconf.topology.singleton.messages.MasterActorDataInitialized;
 import org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeMessage;
 import org.opendaylight.netconf.topology.singleton.messages.NotMasterException;
@@ -64,6 +70,7 @@ import org.opendaylight.netconf.topology.singleton.messages.transactions.EmptyRe
 import org.opendaylight.netconf.topology.singleton.messages.transactions.NewReadTransactionRequest;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.NewReadWriteTransactionRequest;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.NewWriteTransactionRequest;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.NetconfNode;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
@@ -91,9 +98,12 @@ public class NetconfNodeActor extends AbstractUntypedActor {
     private SlaveSalFacade slaveSalManager;
     private DOMDataBroker deviceDataBroker;
     private NetconfDataTreeService netconfService;
+    private ReadResponseEncoder readResponseEncoder;
     //readTxActor can be shared
     private ActorRef readTxActor;
     private List<SchemaSourceRegistration<YangTextSchemaSource>> registeredSchemas;
+    // slaves which have asked for the mount point, notified of writes so they can invalidate their read caches
+    private final Set<ActorRef> slaveActors = new HashSet<>();
 
     public static Props props(final NetconfTopologySetup setup, final RemoteDeviceId id,
             final Timeout actorResponseWaitTime, final DOMMountPointService mountPointService) {
@@ -123,8 +133,11 @@ public class NetconfNodeActor extends AbstractUntypedActor {
             sourceIdentifiers = masterActorData.getSourceIndentifiers();
             this.deviceDataBroker = masterActorData.getDeviceDataBroker();
             this.netconfService = masterActorData.getNetconfDataTreeService();
+            final QNameDictionary dictionary = masterActorData.getDictionary();
+            this.readResponseEncoder = dictionary == null ? null : new ReadResponseEncoder(dictionary,
+                context().system(), Duration.ofMillis(actorResponseWaitTime.duration().toMillis()));
             final DOMDataTreeReadTransaction tx = deviceDataBroker.newReadOnlyTransaction();
-            readTxActor = context().actorOf(ReadTransactionActor.props(tx));
+            readTxActor = context().actorOf(ReadTransactionActor.props(tx, readResponseEncoder));
             this.deviceRpc = masterActorData.getDeviceRpc();
             this.deviceAction = masterActorData.getDeviceAction();
 
@@ -141,6 +154,9 @@ public class NetconfNodeActor extends AbstractUntypedActor {
                 LOG.debug("{}: Sending RegisterMountPoint reply to {}", id, askForMasterMountPoint.getSlaveActorRef());
                 askForMasterMountPoint.getSlaveActorRef().tell(new RegisterMountPoint(sourceIdentifiers, self()),
                     sender());
+                if (slaveActors.add(askForMasterMountPoint.getSlaveActorRef())) {
+                    context().watch(askForMasterMountPoint.getSlaveActorRef());
+                }
             } else {
                 LOG.warn("{}: Received {} but we don't appear to be the master", id, askForMasterMountPoint);
                 sender().tell(new Failure(new NotMasterException(self())), self());
@@ -161,7 +177,8 @@ public class NetconfNodeActor extends AbstractUntypedActor {
         } else if (message instanceof NewReadWriteTransactionRequest) {
             try {
                 final DOMDataTreeReadWriteTransaction tx = deviceDataBroker.newReadWriteTransaction();
-                final ActorRef txActor = context().actorOf(ReadWriteTransactionActor.props(tx, writeTxIdleTimeout));
+                final ActorRef txActor = context().actorOf(ReadWriteTransactionActor.props(tx, writeTxIdleTimeout,
+                    readResponseEncoder));
                 sender().tell(new Success(txActor), self());
             } catch (final Exception t) {
                 sender().tell(new Failure(t), self());
@@ -190,8 +207,15 @@ public class NetconfNodeActor extends AbstractUntypedActor {
             schemaRepository = ((RefreshSlaveActor) message).getSchemaRepository();
         } else if (message instanceof NetconfDataTreeServiceRequest) {
             ActorRef netconfActor = context()
-                .actorOf(NetconfDataTreeServiceActor.props(netconfService, writeTxIdleTimeout));
+                .actorOf(NetconfDataTreeServiceActor.props(netconfService, writeTxIdleTimeout,
+                    readResponseEncoder));
             sender().tell(new Success(netconfActor), self());
+        } else if (message instanceof InvalidateReadCache) {
+            invalidateReadCache((InvalidateReadCache) message);
+        } else if (message instanceof Terminated) {
+            // A slave actor, watched since it asked for the master mount point, has stopped. Stop forwarding read cache
+            // invalidations to it.
+            slaveActors.remove(((Terminated) message).actor());
         }
     }
 
@@ -213,6 +237,16 @@ public class NetconfNodeActor extends AbstractUntypedActor {
         closeSchemaSourceRegistrations();
     }
 
+    private void invalidateReadCache(final InvalidateReadCache message) {
+        if (deviceDataBroker != null) {
+            // sent by one of our transaction actors, forward to slaves
+            LOG.debug("{}: Forwarding {} to {}", id, message, slaveActors);
+            slaveActors.forEach(slave -> slave.tell(message, self()));
+        } else if (slaveSalManager != null) {
+            slaveSalManager.invalidateReadCache(message.getPaths());
+        }
+    }
+
     private void sendYangTextSchemaSourceProxy(final SourceIdentifier sourceIdentifier, final ActorRef sender) {
         final ListenableFuture<YangTextSchemaSource> schemaSourceFuture =
                 schemaRepository.getSchemaSource(sourceIdentifier, YangTextSchemaSource.class);
@@ -311,7 +345,10 @@ public class NetconfNodeActor extends AbstractUntypedActor {
     private void registerSlaveMountPoint(final ActorRef masterReference) {
         unregisterSlaveMountPoint();
 
-        slaveSalManager = new SlaveSalFacade(id, setup.getActorSystem(), actorResponseWaitTime, mountPointService);
+        final NetconfNode netconfNode = setup.getNode() == null ? null
+            : setup.getNode().augmentation(NetconfNode.class);
+        slaveSalManager = new SlaveSalFacade(id, setup.getActorSystem(), actorResponseWaitTime, mountPointService,
+            ReadCache.of(netconfNode));
 
         resolveSchemaContext(createSchemaContextFactory(masterReference), slaveSalManager, masterReference, 1);
     }
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2022 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.topology.singleton.impl.actors;
+
+import akka.actor.Props;
+import akka.actor.ReceiveTimeout;
+import akka.actor.Status.Failure;
+import akka.actor.UntypedAbstractActor;
+import akka.util.JavaDurationConverters;
+import com.google.common.io.ByteStreams;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import org.opendaylight.netconf.topology.singleton.messages.EncodedNodeMessage;
+import org.opendaylight.netconf.topology.singleton.messages.NodeChunkRequest;
+import org.opendaylight.netconf.topology.singleton.messages.NodeChunkResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * NodeStreamActor hands out an encoded read result in chunks of {@link EncodedNodeMessage#CHUNK_SIZE}, one for each
+ * {@link NodeChunkRequest} received. The actor stops once the last chunk has been requested, or when no chunk has
+ * been requested for the idle timeout. The whole encoded result is held until then.
+ */
+final class NodeStreamActor extends UntypedAbstractActor {
+    private static final Logger LOG = LoggerFactory.getLogger(NodeStreamActor.class);
+
+    private final InputStream stream;
+    private final Duration idleTimeout;
+    private final int size;
+
+    private int offset;
+
+    private NodeStreamActor(final EncodedNodeMessage message, final Duration idleTimeout) {
+        stream = message.openStream();
+        size = message.size();
+        this.idleTimeout = idleTimeout;
+        context().setReceiveTimeout(JavaDurationConverters.asFiniteDuration(idleTimeout));
+    }
+
+    /**
+     * Creates new actor Props.
+     *
+     * @param message     encoded read result
+     * @param idleTimeout time after which an unfinished stream is abandoned
+     * @return props
+     */
+    static Props props(final EncodedNodeMessage message, final Duration idleTimeout) {
+        return Props.create(NodeStreamActor.class, () -> new NodeStreamActor(message, idleTimeout));
+    }
+
+    @Override
+    public void onReceive(final Object message) {
+        if (message instanceof NodeChunkRequest) {
+            final int requested = ((NodeChunkRequest) message).getOffset();
+            if (requested != offset) {
+                sender().tell(new Failure(new IllegalStateException("Requested offset " + requested
+                    + " does not match expected " + offset)), self());
+                return;
+            }
+
+            final byte[] chunk = new byte[Math.min(EncodedNodeMessage.CHUNK_SIZE, size - offset)];
+            try {
+                ByteStreams.readFully(stream, chunk);
+            } catch (IOException e) {
+                sender().tell(new Failure(e), self());
+                context().stop(self());
+                return;
+            }
+
+            sender().tell(new NodeChunkResponse(offset, chunk), self());
+            offset += chunk.length;
+            if (offset == size) {
+                context().stop(self());
+            }
+        } else if (message instanceof ReceiveTimeout) {
+            LOG.warn("Haven't received chunk request for {} seconds, abandoning stream at {} of {} bytes",
+                idleTimeout.toSeconds(), offset, size);
+            context().stop(self());
+        } else {
+            unhandled(message);
+        }
+    }
+}
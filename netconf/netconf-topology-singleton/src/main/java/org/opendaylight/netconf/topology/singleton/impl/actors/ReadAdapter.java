@@ -12,9 +12,9 @@ import akka.actor.Status.Failure;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.MoreExecutors;
 import java.util.Optional;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeReadOperations;
-import org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeMessage;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.EmptyReadResponse;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.ExistsRequest;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.ReadRequest;
@@ -22,11 +22,16 @@ import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 
 class ReadAdapter {
-
     private final DOMDataTreeReadOperations tx;
+    private final @Nullable ReadResponseEncoder encoder;
 
     ReadAdapter(final DOMDataTreeReadOperations tx) {
+        this(tx, null);
+    }
+
+    ReadAdapter(final DOMDataTreeReadOperations tx, final @Nullable ReadResponseEncoder encoder) {
         this.tx = tx;
+        this.encoder = encoder;
     }
 
     @SuppressWarnings("checkstyle:IllegalThrows")
@@ -55,7 +60,7 @@ class ReadAdapter {
                     sender.tell(new EmptyReadResponse(), self);
                     return;
                 }
-                sender.tell(new NormalizedNodeMessage(path, result.get()), self);
+                sender.tell(ReadResponseEncoder.encode(encoder, sender, path, result.get()), self);
             }
 
             @Override
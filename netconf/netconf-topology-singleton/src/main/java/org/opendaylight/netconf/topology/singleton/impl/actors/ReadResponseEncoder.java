@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2022 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.topology.singleton.impl.actors;
+
+import static java.util.Objects.requireNonNull;
+
+import akka.actor.ActorRef;
+import akka.actor.ActorRefFactory;
+import java.io.IOException;
+import java.time.Duration;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.netconf.topology.singleton.impl.utils.QNameDictionary;
+import org.opendaylight.netconf.topology.singleton.messages.EncodedNodeMessage;
+import org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeMessage;
+import org.opendaylight.netconf.topology.singleton.messages.StreamedNodeMessage;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Creates responses to successful reads. Data sent to an actor on another cluster member is encoded with the
+ * {@link QNameDictionary} of the device schema. Encoded data exceeding {@link EncodedNodeMessage#CHUNK_SIZE} is not
+ * sent at all, but handed to a {@link NodeStreamActor}, from which the recipient pulls it chunk by chunk.
+ */
+final class ReadResponseEncoder {
+    private static final Logger LOG = LoggerFactory.getLogger(ReadResponseEncoder.class);
+
+    private final QNameDictionary dictionary;
+    private final ActorRefFactory streamFactory;
+    private final Duration idleTimeout;
+
+    /**
+     * Constructor.
+     *
+     * @param dictionary    dictionary of the device schema
+     * @param streamFactory factory of stream actors, must be safe to use from any thread
+     * @param idleTimeout   time after which an unfinished stream is abandoned
+     */
+    ReadResponseEncoder(final QNameDictionary dictionary, final ActorRefFactory streamFactory,
+            final Duration idleTimeout) {
+        this.dictionary = requireNonNull(dictionary);
+        this.streamFactory = requireNonNull(streamFactory);
+        this.idleTimeout = requireNonNull(idleTimeout);
+    }
+
+    /**
+     * Create the response to a successful read.
+     *
+     * @param encoder   encoder to use, if null data is always sent unencoded
+     * @param recipient recipient of the response
+     * @param path      path of the data
+     * @param data      data read
+     * @return response message
+     */
+    static Object encode(final @Nullable ReadResponseEncoder encoder, final ActorRef recipient,
+            final YangInstanceIdentifier path, final NormalizedNode data) {
+        if (encoder == null || recipient.path().address().hasLocalScope()) {
+            return new NormalizedNodeMessage(path, data);
+        }
+        return encoder.encode(path, data);
+    }
+
+    private Object encode(final YangInstanceIdentifier path, final NormalizedNode data) {
+        final EncodedNodeMessage encoded;
+        try {
+            encoded = dictionary.encode(path, data);
+        } catch (IOException e) {
+            LOG.warn("Failed to encode data at {}, sending it unencoded", path, e);
+            return new NormalizedNodeMessage(path, data);
+        }
+
+        final int size = encoded.size();
+        if (size <= EncodedNodeMessage.CHUNK_SIZE) {
+            return encoded;
+        }
+
+        LOG.debug("Streaming {} bytes of data at {}", size, path);
+        return new StreamedNodeMessage(streamFactory.actorOf(NodeStreamActor.props(encoded, idleTimeout)), size);
+    }
+}
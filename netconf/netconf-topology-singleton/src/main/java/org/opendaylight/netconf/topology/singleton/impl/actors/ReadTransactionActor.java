@@ -9,6 +9,7 @@ package org.opendaylight.netconf.topology.singleton.impl.actors;
 
 import akka.actor.Props;
 import akka.actor.UntypedAbstractActor;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeReadTransaction;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.ReadActorMessage;
 
@@ -19,8 +20,8 @@ public final class ReadTransactionActor extends UntypedAbstractActor {
 
     private final ReadAdapter readAdapter;
 
-    private ReadTransactionActor(final DOMDataTreeReadTransaction tx) {
-        readAdapter = new ReadAdapter(tx);
+    private ReadTransactionActor(final DOMDataTreeReadTransaction tx, final @Nullable ReadResponseEncoder encoder) {
+        readAdapter = new ReadAdapter(tx, encoder);
     }
 
     /**
@@ -30,7 +31,18 @@ public final class ReadTransactionActor extends UntypedAbstractActor {
      * @return props
      */
     static Props props(final DOMDataTreeReadTransaction tx) {
-        return Props.create(ReadTransactionActor.class, () -> new ReadTransactionActor(tx));
+        return props(tx, null);
+    }
+
+    /**
+     * Creates new actor Props.
+     *
+     * @param tx         delegate device read transaction
+     * @param encoder    encoder of data sent to other cluster members, may be null
+     * @return props
+     */
+    static Props props(final DOMDataTreeReadTransaction tx, final @Nullable ReadResponseEncoder encoder) {
+        return Props.create(ReadTransactionActor.class, () -> new ReadTransactionActor(tx, encoder));
     }
 
     @Override
@@ -12,6 +12,7 @@ import akka.actor.ReceiveTimeout;
 import akka.actor.UntypedAbstractActor;
 import akka.util.JavaDurationConverters;
 import java.time.Duration;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeReadWriteTransaction;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.ReadActorMessage;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.WriteActorMessage;
@@ -27,13 +28,14 @@ public final class ReadWriteTransactionActor extends UntypedAbstractActor {
     private final ReadAdapter readAdapter;
     private final WriteAdapter writeAdapter;
 
-    private ReadWriteTransactionActor(final DOMDataTreeReadWriteTransaction tx, final Duration idleTimeout) {
+    private ReadWriteTransactionActor(final DOMDataTreeReadWriteTransaction tx, final Duration idleTimeout,
+            final @Nullable ReadResponseEncoder encoder) {
         this.tx = tx;
         this.idleTimeout = idleTimeout.toSeconds();
         if (this.idleTimeout > 0) {
             context().setReceiveTimeout(JavaDurationConverters.asFiniteDuration(idleTimeout));
         }
-        readAdapter = new ReadAdapter(tx);
+        readAdapter = new ReadAdapter(tx, encoder);
         writeAdapter = new WriteAdapter(tx);
     }
 
@@ -45,7 +47,21 @@ public final class ReadWriteTransactionActor extends UntypedAbstractActor {
      * @return props
      */
     static Props props(final DOMDataTreeReadWriteTransaction tx, final Duration idleTimeout) {
-        return Props.create(ReadWriteTransactionActor.class, () -> new ReadWriteTransactionActor(tx, idleTimeout));
+        return props(tx, idleTimeout, null);
+    }
+
+    /**
+     * Creates new actor Props.
+     *
+     * @param tx          delegate device read write transaction
+     * @param idleTimeout idle time in seconds, after which transaction is closed automatically
+     * @param encoder     encoder of data sent to other cluster members, may be null
+     * @return props
+     */
+    static Props props(final DOMDataTreeReadWriteTransaction tx, final Duration idleTimeout,
+            final @Nullable ReadResponseEncoder encoder) {
+        return Props.create(ReadWriteTransactionActor.class,
+            () -> new ReadWriteTransactionActor(tx, idleTimeout, encoder));
     }
 
     @Override
@@ -14,14 +14,19 @@ import akka.actor.Status.Success;
 import com.google.common.util.concurrent.FluentFuture;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.MoreExecutors;
+import java.util.ArrayList;
+import java.util.List;
 import org.opendaylight.mdsal.common.api.CommitInfo;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeWriteTransaction;
+import org.opendaylight.netconf.topology.singleton.messages.InvalidateReadCache;
 import org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeMessage;
+import org.opendaylight.netconf.topology.singleton.messages.transactions.BatchedWriteRequest;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.CancelRequest;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.DeleteRequest;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.MergeRequest;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.PutRequest;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.SubmitRequest;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -30,6 +35,8 @@ class WriteAdapter {
     private static final Logger LOG = LoggerFactory.getLogger(WriteAdapter.class);
 
     private final DOMDataTreeWriteTransaction tx;
+    // Paths modified by this transaction, reported to the parent once it is committed
+    private final List<YangInstanceIdentifier> modifiedPaths = new ArrayList<>();
 
     WriteAdapter(final DOMDataTreeWriteTransaction tx) {
         this.tx = tx;
@@ -43,20 +50,30 @@ class WriteAdapter {
 
     private void submit(final ActorRef requester, final ActorRef self, final ActorContext context) {
         final FluentFuture<? extends CommitInfo> submitFuture = tx.commit();
+        final ActorRef parent = context.parent();
         context.stop(self);
         submitFuture.addCallback(new FutureCallback<CommitInfo>() {
             @Override
             public void onSuccess(final CommitInfo result) {
+                invalidateReadCache(parent, self);
                 requester.tell(new Success(null), self);
             }
 
             @Override
             public void onFailure(final Throwable throwable) {
+                // the device may have applied part of the changes
+                invalidateReadCache(parent, self);
                 requester.tell(new Failure(throwable), self);
             }
         }, MoreExecutors.directExecutor());
     }
 
+    private void invalidateReadCache(final ActorRef parent, final ActorRef self) {
+        if (!modifiedPaths.isEmpty()) {
+            parent.tell(new InvalidateReadCache(modifiedPaths), self);
+        }
+    }
+
     @SuppressWarnings("checkstyle:IllegalCatch")
     public void handle(final Object message, final ActorRef sender, final ActorContext context, final ActorRef self) {
         // we need to catch everything, since an unchecked exception can be thrown from the underlying parse.
@@ -66,13 +83,21 @@ class WriteAdapter {
                 final MergeRequest mergeRequest = (MergeRequest) message;
                 final NormalizedNodeMessage data = mergeRequest.getNormalizedNodeMessage();
                 tx.merge(mergeRequest.getStore(), data.getIdentifier(), data.getNode());
+                modifiedPaths.add(data.getIdentifier());
             } else if (message instanceof PutRequest) {
                 final PutRequest putRequest = (PutRequest) message;
                 final NormalizedNodeMessage data = putRequest.getNormalizedNodeMessage();
                 tx.put(putRequest.getStore(), data.getIdentifier(), data.getNode());
+                modifiedPaths.add(data.getIdentifier());
             } else if (message instanceof DeleteRequest) {
                 final DeleteRequest deleteRequest = (DeleteRequest) message;
                 tx.delete(deleteRequest.getStore(), deleteRequest.getPath());
+                modifiedPaths.add(deleteRequest.getPath());
+            } else if (message instanceof BatchedWriteRequest) {
+                // each request is handled on its own, so that a failing one does not prevent the others
+                for (Object request : ((BatchedWriteRequest) message).getRequests()) {
+                    handle(request, sender, context, self);
+                }
             } else if (message instanceof CancelRequest) {
                 cancel(context, sender, self);
             } else if (message instanceof SubmitRequest) {
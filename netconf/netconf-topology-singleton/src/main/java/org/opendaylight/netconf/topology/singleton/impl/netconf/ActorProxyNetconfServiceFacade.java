@@ -15,14 +15,19 @@ import akka.dispatch.OnComplete;
 import akka.pattern.AskTimeoutException;
 import akka.pattern.Patterns;
 import akka.util.Timeout;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.common.util.concurrent.SettableFuture;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
 import org.opendaylight.mdsal.common.api.ReadFailedException;
 import org.opendaylight.mdsal.dom.api.DOMRpcResult;
@@ -31,7 +36,11 @@ import org.opendaylight.netconf.api.ModifyAction;
 import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
 import org.opendaylight.netconf.topology.singleton.impl.utils.ClusteringRpcException;
 import org.opendaylight.netconf.topology.singleton.impl.utils.NetconfTopologyUtils;
+import org.opendaylight.netconf.topology.singleton.impl.utils.NodeStreamReader;
+import org.opendaylight.netconf.topology.singleton.impl.utils.QNameDictionary;
+import org.opendaylight.netconf.topology.singleton.messages.EncodedNodeMessage;
 import org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeMessage;
+import org.opendaylight.netconf.topology.singleton.messages.StreamedNodeMessage;
 import org.opendaylight.netconf.topology.singleton.messages.netconf.CommitRequest;
 import org.opendaylight.netconf.topology.singleton.messages.netconf.CreateEditConfigRequest;
 import org.opendaylight.netconf.topology.singleton.messages.netconf.DeleteEditConfigRequest;
@@ -61,13 +70,21 @@ public class ActorProxyNetconfServiceFacade implements ProxyNetconfServiceFacade
     private final RemoteDeviceId id;
     private final ExecutionContext executionContext;
     private final Timeout askTimeout;
+    private final @Nullable QNameDictionary dictionary;
 
     public ActorProxyNetconfServiceFacade(final ActorRef masterActor, final RemoteDeviceId id,
                                           final ExecutionContext executionContext, final Timeout askTimeout) {
+        this(masterActor, id, executionContext, askTimeout, null);
+    }
+
+    public ActorProxyNetconfServiceFacade(final ActorRef masterActor, final RemoteDeviceId id,
+                                          final ExecutionContext executionContext, final Timeout askTimeout,
+                                          final @Nullable QNameDictionary dictionary) {
         this.masterActor = Objects.requireNonNull(masterActor);
         this.id = Objects.requireNonNull(id);
         this.executionContext = Objects.requireNonNull(executionContext);
         this.askTimeout = Objects.requireNonNull(askTimeout);
+        this.dictionary = dictionary;
     }
 
     @Override
@@ -274,6 +291,24 @@ public class ActorProxyNetconfServiceFacade implements ProxyNetconfServiceFacade
                     return;
                 }
 
+                if (response instanceof StreamedNodeMessage) {
+                    readStream((StreamedNodeMessage) response, store, path, settableFuture);
+                    return;
+                }
+
+                if (response instanceof EncodedNodeMessage) {
+                    final NormalizedNodeMessage data;
+                    try {
+                        data = decode((EncodedNodeMessage) response);
+                    } catch (IOException e) {
+                        settableFuture.setException(new ReadFailedException("Read of store " + store + " path "
+                            + path + " failed to decode response", e));
+                        return;
+                    }
+                    settableFuture.set(Optional.of(data.getNode()));
+                    return;
+                }
+
                 if (response instanceof NormalizedNodeMessage) {
                     final NormalizedNodeMessage data = (NormalizedNodeMessage) response;
                     settableFuture.set(Optional.of(data.getNode()));
@@ -284,6 +319,39 @@ public class ActorProxyNetconfServiceFacade implements ProxyNetconfServiceFacade
         return settableFuture;
     }
 
+    private void readStream(final StreamedNodeMessage message, final LogicalDatastoreType store,
+            final YangInstanceIdentifier path, final SettableFuture<Optional<NormalizedNode>> settableFuture) {
+        if (dictionary == null) {
+            settableFuture.setException(new ReadFailedException("Read of store " + store + " path " + path
+                + " failed", new IOException("No dictionary to decode " + message)));
+            return;
+        }
+
+        Futures.addCallback(NodeStreamReader.read(message, dictionary, executionContext, askTimeout),
+            new FutureCallback<NormalizedNode>() {
+                @Override
+                public void onSuccess(final NormalizedNode result) {
+                    settableFuture.set(Optional.of(result));
+                }
+
+                @Override
+                public void onFailure(final Throwable cause) {
+                    LOG.debug("{}: Streamed read {} {} failed", id, store, path, cause);
+                    settableFuture.setException(new ReadFailedException("Read of store " + store + " path " + path
+                        + " failed", processFailure(cause)));
+                }
+            }, MoreExecutors.directExecutor());
+    }
+
+    @SuppressFBWarnings(value = "UPM_UNCALLED_PRIVATE_METHOD",
+        justification = "https://github.com/spotbugs/spotbugs/issues/811")
+    private NormalizedNodeMessage decode(final EncodedNodeMessage message) throws IOException {
+        if (dictionary == null) {
+            throw new IOException("No dictionary to decode " + message);
+        }
+        return dictionary.decode(message);
+    }
+
     @SuppressFBWarnings(value = "UPM_UNCALLED_PRIVATE_METHOD",
         justification = "https://github.com/spotbugs/spotbugs/issues/811")
     private Throwable processFailure(final Throwable failure) {
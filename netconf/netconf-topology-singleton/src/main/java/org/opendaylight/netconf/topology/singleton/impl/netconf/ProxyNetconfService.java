@@ -23,11 +23,13 @@ import java.util.Optional;
 import java.util.function.Consumer;
 import org.checkerframework.checker.lock.qual.GuardedBy;
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
 import org.opendaylight.mdsal.dom.api.DOMRpcResult;
 import org.opendaylight.netconf.api.ModifyAction;
 import org.opendaylight.netconf.dom.api.NetconfDataTreeService;
 import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
+import org.opendaylight.netconf.topology.singleton.impl.utils.QNameDictionary;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.slf4j.Logger;
@@ -50,6 +52,12 @@ public class ProxyNetconfService implements NetconfDataTreeService {
 
     public ProxyNetconfService(final RemoteDeviceId id, final Future<Object> masterActorFuture,
                                final ExecutionContext executionContext, final Timeout askTimeout) {
+        this(id, masterActorFuture, executionContext, askTimeout, null);
+    }
+
+    public ProxyNetconfService(final RemoteDeviceId id, final Future<Object> masterActorFuture,
+                               final ExecutionContext executionContext, final Timeout askTimeout,
+                               final @Nullable QNameDictionary dictionary) {
         this.id = id;
         masterActorFuture.onComplete(new OnComplete<>() {
             @Override
@@ -61,7 +69,7 @@ public class ProxyNetconfService implements NetconfDataTreeService {
                 } else {
                     LOG.debug("{}: Obtained master actor {}", id, masterActor);
                     newNetconfFacade = new ActorProxyNetconfServiceFacade((ActorRef) masterActor, id,
-                        executionContext, askTimeout);
+                        executionContext, askTimeout, dictionary);
                 }
                 executePriorNetconfOperations(newNetconfFacade);
             }
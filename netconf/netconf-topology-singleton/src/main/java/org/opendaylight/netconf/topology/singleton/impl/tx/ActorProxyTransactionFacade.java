@@ -13,17 +13,32 @@ import akka.pattern.AskTimeoutException;
 import akka.pattern.Patterns;
 import akka.util.Timeout;
 import com.google.common.util.concurrent.FluentFuture;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.common.util.concurrent.SettableFuture;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.checkerframework.checker.lock.qual.GuardedBy;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.mdsal.common.api.CommitInfo;
 import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
 import org.opendaylight.mdsal.common.api.ReadFailedException;
 import org.opendaylight.mdsal.common.api.TransactionCommitFailedException;
 import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
 import org.opendaylight.netconf.topology.singleton.impl.utils.NetconfTopologyUtils;
+import org.opendaylight.netconf.topology.singleton.impl.utils.NodeStreamReader;
+import org.opendaylight.netconf.topology.singleton.impl.utils.QNameDictionary;
+import org.opendaylight.netconf.topology.singleton.messages.EncodedNodeMessage;
 import org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeMessage;
+import org.opendaylight.netconf.topology.singleton.messages.StreamedNodeMessage;
+import org.opendaylight.netconf.topology.singleton.messages.transactions.BatchedWriteRequest;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.CancelRequest;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.DeleteRequest;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.EmptyReadResponse;
@@ -32,32 +47,69 @@ import org.opendaylight.netconf.topology.singleton.messages.transactions.MergeRe
 import org.opendaylight.netconf.topology.singleton.messages.transactions.PutRequest;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.ReadRequest;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.SubmitRequest;
+import org.opendaylight.netconf.topology.singleton.messages.transactions.WriteActorMessage;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodeContainer;
+import org.opendaylight.yangtools.yang.data.api.schema.ValueNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import scala.concurrent.ExecutionContext;
 import scala.concurrent.Future;
 
 /**
- * ProxyTransactionFacade implementation that interfaces with an actor.
+ * ProxyTransactionFacade implementation that interfaces with an actor. Writes are buffered and sent to the actor in
+ * a single {@link BatchedWriteRequest} once {@value #MAX_BATCH_SIZE} of them are pending, or before any other request,
+ * so that the actor observes all operations in the order they were issued. A batch is also sent before its estimated
+ * serialized size would exceed {@value #MAX_BATCH_BYTES} bytes, which keeps it well below the default Akka maximum
+ * frame size. The size of each write is estimated from its path and data when it is buffered.
+ *
+ * <p>
+ * Writes are not held back for longer than {@value #MAX_BATCH_DELAY_MILLIS} milliseconds, so that the actor keeps
+ * observing activity while writes are being buffered and does not close the transaction once its idle timeout, which
+ * is configured in whole seconds, expires.
  *
  * @author Thomas Pantelis
  */
 class ActorProxyTransactionFacade implements ProxyTransactionFacade {
     private static final Logger LOG = LoggerFactory.getLogger(ActorProxyTransactionFacade.class);
 
+    static final int MAX_BATCH_SIZE = 128;
+    static final int MAX_BATCH_BYTES = 64 * 1024;
+    static final long MAX_BATCH_DELAY_MILLIS = 500;
+
+    // Rough upper bounds of the serialized size of a path argument or a data node without its value
+    private static final int PATH_ARGUMENT_BYTES = 32;
+    private static final int NODE_BYTES = 32;
+    private static final int VALUE_BYTES = 16;
+
     private final ActorRef masterTxActor;
     private final RemoteDeviceId id;
     private final ExecutionContext executionContext;
     private final Timeout askTimeout;
+    private final @Nullable QNameDictionary dictionary;
+
+    @GuardedBy("this")
+    private final List<WriteActorMessage> pendingWrites = new ArrayList<>();
+    @GuardedBy("this")
+    private long pendingBytes;
+    // Incremented whenever pending writes are sent or discarded, so that a delayed flush of earlier writes is ignored
+    @GuardedBy("this")
+    private long batchGeneration;
 
     ActorProxyTransactionFacade(final ActorRef masterTxActor, final RemoteDeviceId id,
             final ExecutionContext executionContext, final Timeout askTimeout) {
+        this(masterTxActor, id, executionContext, askTimeout, null);
+    }
+
+    ActorProxyTransactionFacade(final ActorRef masterTxActor, final RemoteDeviceId id,
+            final ExecutionContext executionContext, final Timeout askTimeout,
+            final @Nullable QNameDictionary dictionary) {
         this.masterTxActor = Objects.requireNonNull(masterTxActor);
         this.id = Objects.requireNonNull(id);
         this.executionContext = Objects.requireNonNull(executionContext);
         this.askTimeout = Objects.requireNonNull(askTimeout);
+        this.dictionary = dictionary;
     }
 
     @Override
@@ -69,6 +121,8 @@ class ActorProxyTransactionFacade implements ProxyTransactionFacade {
     public boolean cancel() {
         LOG.debug("{}: Cancel via actor {}", id, masterTxActor);
 
+        // writes not sent yet would be cancelled anyway
+        discardWrites();
         final Future<Object> future = Patterns.ask(masterTxActor, new CancelRequest(), askTimeout);
 
         future.onComplete(new OnComplete<>() {
@@ -91,6 +145,7 @@ class ActorProxyTransactionFacade implements ProxyTransactionFacade {
             final YangInstanceIdentifier path) {
         LOG.debug("{}: Read {} {} via actor {}", id, store, path, masterTxActor);
 
+        flushWrites();
         final Future<Object> future = Patterns.ask(masterTxActor, new ReadRequest(store, path), askTimeout);
 
         final SettableFuture<Optional<NormalizedNode>> settableFuture = SettableFuture.create();
@@ -117,6 +172,24 @@ class ActorProxyTransactionFacade implements ProxyTransactionFacade {
                     return;
                 }
 
+                if (response instanceof StreamedNodeMessage) {
+                    readStream((StreamedNodeMessage) response, store, path, settableFuture);
+                    return;
+                }
+
+                if (response instanceof EncodedNodeMessage) {
+                    final NormalizedNodeMessage data;
+                    try {
+                        data = decode((EncodedNodeMessage) response);
+                    } catch (IOException e) {
+                        settableFuture.setException(new ReadFailedException("Read of store " + store + " path "
+                            + path + " failed to decode response", e));
+                        return;
+                    }
+                    settableFuture.set(Optional.of(data.getNode()));
+                    return;
+                }
+
                 if (response instanceof NormalizedNodeMessage) {
                     final NormalizedNodeMessage data = (NormalizedNodeMessage) response;
                     settableFuture.set(Optional.of(data.getNode()));
@@ -131,6 +204,7 @@ class ActorProxyTransactionFacade implements ProxyTransactionFacade {
     public FluentFuture<Boolean> exists(final LogicalDatastoreType store, final YangInstanceIdentifier path) {
         LOG.debug("{}: Exists {} {} via actor {}", id, store, path, masterTxActor);
 
+        flushWrites();
         final Future<Object> future = Patterns.ask(masterTxActor, new ExistsRequest(store, path), askTimeout);
 
         final SettableFuture<Boolean> settableFuture = SettableFuture.create();
@@ -162,25 +236,28 @@ class ActorProxyTransactionFacade implements ProxyTransactionFacade {
     @Override
     public void delete(final LogicalDatastoreType store, final YangInstanceIdentifier path) {
         LOG.debug("{}: Delete {} {} via actor {}", id, store, path, masterTxActor);
-        masterTxActor.tell(new DeleteRequest(store, path), ActorRef.noSender());
+        bufferWrite(new DeleteRequest(store, path), estimatedSize(path));
     }
 
     @Override
     public void put(final LogicalDatastoreType store, final YangInstanceIdentifier path, final NormalizedNode data) {
         LOG.debug("{}: Put {} {} via actor {}", id, store, path, masterTxActor);
-        masterTxActor.tell(new PutRequest(store, new NormalizedNodeMessage(path, data)), ActorRef.noSender());
+        bufferWrite(new PutRequest(store, new NormalizedNodeMessage(path, data)),
+            estimatedSize(path) + estimatedSize(data));
     }
 
     @Override
     public void merge(final LogicalDatastoreType store, final YangInstanceIdentifier path, final NormalizedNode data) {
         LOG.debug("{}: Merge {} {} via actor {}", id, store, path, masterTxActor);
-        masterTxActor.tell(new MergeRequest(store, new NormalizedNodeMessage(path, data)), ActorRef.noSender());
+        bufferWrite(new MergeRequest(store, new NormalizedNodeMessage(path, data)),
+            estimatedSize(path) + estimatedSize(data));
     }
 
     @Override
     public FluentFuture<? extends CommitInfo> commit() {
         LOG.debug("{}: Commit via actor {}", id, masterTxActor);
 
+        flushWrites();
         final Future<Object> future = Patterns.ask(masterTxActor, new SubmitRequest(), askTimeout);
 
         final SettableFuture<CommitInfo> settableFuture = SettableFuture.create();
@@ -207,6 +284,113 @@ class ActorProxyTransactionFacade implements ProxyTransactionFacade {
         return FluentFuture.from(settableFuture);
     }
 
+    private synchronized void bufferWrite(final WriteActorMessage request, final long size) {
+        if (pendingBytes + size > MAX_BATCH_BYTES) {
+            flushWrites();
+        }
+        if (pendingWrites.isEmpty()) {
+            scheduleFlush(batchGeneration);
+        }
+        pendingWrites.add(request);
+        pendingBytes += size;
+        // a single write exceeding the limit is sent on its own
+        if (pendingWrites.size() >= MAX_BATCH_SIZE || pendingBytes >= MAX_BATCH_BYTES) {
+            flushWrites();
+        }
+    }
+
+    private void scheduleFlush(final long generation) {
+        CompletableFuture.delayedExecutor(MAX_BATCH_DELAY_MILLIS, TimeUnit.MILLISECONDS, executionContext::execute)
+            .execute(() -> delayedFlush(generation));
+    }
+
+    private synchronized void delayedFlush(final long generation) {
+        if (generation == batchGeneration) {
+            LOG.debug("{}: Sending writes buffered for {}ms", id, MAX_BATCH_DELAY_MILLIS);
+            flushWrites();
+        }
+    }
+
+    private synchronized void flushWrites() {
+        switch (pendingWrites.size()) {
+            case 0:
+                return;
+            case 1:
+                masterTxActor.tell(pendingWrites.get(0), ActorRef.noSender());
+                break;
+            default:
+                LOG.debug("{}: Sending {} writes via actor {}", id, pendingWrites.size(), masterTxActor);
+                masterTxActor.tell(new BatchedWriteRequest(pendingWrites), ActorRef.noSender());
+        }
+        discardWrites();
+    }
+
+    private synchronized void discardWrites() {
+        pendingWrites.clear();
+        pendingBytes = 0;
+        batchGeneration++;
+    }
+
+    private static long estimatedSize(final YangInstanceIdentifier path) {
+        return (long) PATH_ARGUMENT_BYTES * path.getPathArguments().size();
+    }
+
+    private static long estimatedSize(final NormalizedNode data) {
+        if (data instanceof NormalizedNodeContainer) {
+            long size = NODE_BYTES;
+            for (NormalizedNode child : ((NormalizedNodeContainer<?>) data).body()) {
+                size += estimatedSize(child);
+            }
+            return size;
+        }
+        if (data instanceof ValueNode) {
+            final Object value = ((ValueNode<?>) data).body();
+            if (value instanceof String) {
+                // at most three bytes per character in modified UTF-8
+                return NODE_BYTES + 3L * ((String) value).length();
+            }
+            if (value instanceof byte[]) {
+                return NODE_BYTES + ((byte[]) value).length;
+            }
+            return NODE_BYTES + VALUE_BYTES;
+        }
+        // anydata and anyxml are rare in writes, assume the worst so that they are sent on their own
+        return MAX_BATCH_BYTES;
+    }
+
+    private void readStream(final StreamedNodeMessage message, final LogicalDatastoreType store,
+            final YangInstanceIdentifier path, final SettableFuture<Optional<NormalizedNode>> settableFuture) {
+        if (dictionary == null) {
+            settableFuture.setException(new ReadFailedException("Read of store " + store + " path " + path
+                + " failed", new IOException("No dictionary to decode " + message)));
+            return;
+        }
+
+        Futures.addCallback(NodeStreamReader.read(message, dictionary, executionContext, askTimeout),
+            new FutureCallback<NormalizedNode>() {
+                @Override
+                public void onSuccess(final NormalizedNode result) {
+                    settableFuture.set(Optional.of(result));
+                }
+
+                @Override
+                public void onFailure(final Throwable cause) {
+                    LOG.debug("{}: Streamed read {} {} failed", id, store, path, cause);
+                    settableFuture.setException(new ReadFailedException("Read of store " + store + " path " + path
+                        + " failed", processFailure(cause)));
+                }
+            }, MoreExecutors.directExecutor());
+    }
+
+    @SuppressFBWarnings(value = "UPM_UNCALLED_PRIVATE_METHOD",
+            justification = "https://github.com/spotbugs/spotbugs/issues/811")
+    private NormalizedNodeMessage decode(final EncodedNodeMessage message) throws IOException {
+        if (dictionary == null) {
+            throw new IOException("No dictionary to decode " + message);
+        }
+        return dictionary.decode(message);
+    }
+
     @SuppressFBWarnings(value = "UPM_UNCALLED_PRIVATE_METHOD",
             justification = "https://github.com/spotbugs/spotbugs/issues/811")
     private Throwable processFailure(final Throwable failure) {
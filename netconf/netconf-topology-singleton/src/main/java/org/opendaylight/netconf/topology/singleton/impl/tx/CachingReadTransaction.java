@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2022 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.topology.singleton.impl.tx;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.util.concurrent.FluentFuture;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
+import org.opendaylight.mdsal.dom.api.DOMDataTreeReadTransaction;
+import org.opendaylight.netconf.topology.singleton.impl.utils.ReadCache;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+
+/**
+ * Read-only transaction serving reads from a {@link ReadCache}. The transaction proxying reads to master is created
+ * only once a read misses the cache.
+ */
+public class CachingReadTransaction implements DOMDataTreeReadTransaction {
+    private final Supplier<DOMDataTreeReadTransaction> txFactory;
+    private final ReadCache cache;
+
+    private DOMDataTreeReadTransaction delegate;
+
+    public CachingReadTransaction(final Supplier<DOMDataTreeReadTransaction> txFactory, final ReadCache cache) {
+        this.txFactory = requireNonNull(txFactory);
+        this.cache = requireNonNull(cache);
+    }
+
+    @Override
+    public FluentFuture<Optional<NormalizedNode>> read(final LogicalDatastoreType store,
+            final YangInstanceIdentifier path) {
+        return cache.read(store, path, List.of(), () -> delegate().read(store, path));
+    }
+
+    @Override
+    public FluentFuture<Boolean> exists(final LogicalDatastoreType store, final YangInstanceIdentifier path) {
+        return delegate().exists(store, path);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (delegate != null) {
+            delegate.close();
+        }
+    }
+
+    @Override
+    public Object getIdentifier() {
+        return this;
+    }
+
+    private synchronized DOMDataTreeReadTransaction delegate() {
+        if (delegate == null) {
+            delegate = txFactory.get();
+        }
+        return delegate;
+    }
+}
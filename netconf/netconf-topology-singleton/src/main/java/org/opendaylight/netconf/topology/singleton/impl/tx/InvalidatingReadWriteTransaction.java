@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2022 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.topology.singleton.impl.tx;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.util.concurrent.FluentFuture;
+import java.util.ArrayList;
+import java.util.List;
+import org.opendaylight.mdsal.common.api.CommitInfo;
+import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
+import org.opendaylight.mdsal.dom.api.DOMDataTreeReadWriteTransaction;
+import org.opendaylight.mdsal.dom.spi.ForwardingDOMDataReadWriteTransaction;
+import org.opendaylight.netconf.topology.singleton.impl.utils.ReadCache;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+
+/**
+ * Read-write transaction which invalidates cached read results overlapping with the paths it modified once it is
+ * committed. Master notifies all members of the write as well, this only makes sure the committing member observes
+ * the write as soon as the commit completes.
+ */
+public class InvalidatingReadWriteTransaction extends ForwardingDOMDataReadWriteTransaction {
+    private final DOMDataTreeReadWriteTransaction delegate;
+    private final ReadCache cache;
+    private final List<YangInstanceIdentifier> modifiedPaths = new ArrayList<>();
+
+    public InvalidatingReadWriteTransaction(final DOMDataTreeReadWriteTransaction delegate, final ReadCache cache) {
+        this.delegate = requireNonNull(delegate);
+        this.cache = requireNonNull(cache);
+    }
+
+    @Override
+    protected DOMDataTreeReadWriteTransaction delegate() {
+        return delegate;
+    }
+
+    @Override
+    public synchronized void put(final LogicalDatastoreType store, final YangInstanceIdentifier path,
+            final NormalizedNode data) {
+        super.put(store, path, data);
+        modifiedPaths.add(path);
+    }
+
+    @Override
+    public synchronized void merge(final LogicalDatastoreType store, final YangInstanceIdentifier path,
+            final NormalizedNode data) {
+        super.merge(store, path, data);
+        modifiedPaths.add(path);
+    }
+
+    @Override
+    public synchronized void delete(final LogicalDatastoreType store, final YangInstanceIdentifier path) {
+        super.delete(store, path);
+        modifiedPaths.add(path);
+    }
+
+    @Override
+    public synchronized FluentFuture<? extends CommitInfo> commit() {
+        return cache.invalidateOnCompletion(super.commit(), List.copyOf(modifiedPaths));
+    }
+}
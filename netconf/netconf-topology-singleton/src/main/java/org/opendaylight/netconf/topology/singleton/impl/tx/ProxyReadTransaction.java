@@ -9,8 +9,10 @@ package org.opendaylight.netconf.topology.singleton.impl.tx;
 
 import akka.actor.ActorRef;
 import akka.util.Timeout;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeReadTransaction;
 import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
+import org.opendaylight.netconf.topology.singleton.impl.utils.QNameDictionary;
 import scala.concurrent.ExecutionContext;
 import scala.concurrent.Future;
 
@@ -25,6 +27,12 @@ public class ProxyReadTransaction extends ProxyReadWriteTransaction implements D
         super(id, masterTxActorFuture, executionContext, askTimeout);
     }
 
+    public ProxyReadTransaction(final RemoteDeviceId id, final Future<Object> masterTxActorFuture,
+            final ExecutionContext executionContext, final Timeout askTimeout,
+            final @Nullable QNameDictionary dictionary) {
+        super(id, masterTxActorFuture, executionContext, askTimeout, dictionary);
+    }
+
     @Override
     public void close() {
         cancel();
@@ -22,11 +22,13 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 import org.checkerframework.checker.lock.qual.GuardedBy;
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.mdsal.common.api.CommitInfo;
 import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeReadWriteTransaction;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeWriteTransaction;
 import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
+import org.opendaylight.netconf.topology.singleton.impl.utils.QNameDictionary;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.slf4j.Logger;
@@ -51,6 +53,12 @@ public class ProxyReadWriteTransaction implements DOMDataTreeReadWriteTransactio
 
     public ProxyReadWriteTransaction(final RemoteDeviceId id, final Future<Object> masterTxActorFuture,
             final ExecutionContext executionContext, final Timeout askTimeout) {
+        this(id, masterTxActorFuture, executionContext, askTimeout, null);
+    }
+
+    public ProxyReadWriteTransaction(final RemoteDeviceId id, final Future<Object> masterTxActorFuture,
+            final ExecutionContext executionContext, final Timeout askTimeout,
+            final @Nullable QNameDictionary dictionary) {
         this.id = id;
 
         masterTxActorFuture.onComplete(new OnComplete<>() {
@@ -63,7 +71,7 @@ public class ProxyReadWriteTransaction implements DOMDataTreeReadWriteTransactio
                 } else {
                     LOG.debug("{}: Obtained master actor {}", id, masterTxActor);
                     newTransactionFacade = new ActorProxyTransactionFacade((ActorRef)masterTxActor, id,
-                            executionContext, askTimeout);
+                            executionContext, askTimeout, dictionary);
                 }
 
                 executePriorTransactionOperations(newTransactionFacade);
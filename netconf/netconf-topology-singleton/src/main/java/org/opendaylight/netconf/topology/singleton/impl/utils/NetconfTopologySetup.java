@@ -14,6 +14,7 @@ import com.google.common.util.concurrent.ListeningExecutorService;
 import io.netty.util.concurrent.EventExecutor;
 import java.time.Duration;
 import java.util.concurrent.ScheduledExecutorService;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.aaa.encrypt.AAAEncryptionService;
 import org.opendaylight.mdsal.binding.api.DataBroker;
 import org.opendaylight.mdsal.dom.api.DOMActionProviderService;
@@ -22,6 +23,7 @@ import org.opendaylight.mdsal.singleton.common.api.ClusterSingletonServiceProvid
 import org.opendaylight.netconf.client.NetconfClientDispatcher;
 import org.opendaylight.netconf.sal.connect.netconf.NetconfDevice;
 import org.opendaylight.netconf.sal.connect.netconf.schema.mapping.BaseNetconfSchemas;
+import org.opendaylight.netconf.topology.spi.ConnectionScheduler;
 import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.topology.Node;
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
 
@@ -45,6 +47,7 @@ public class NetconfTopologySetup {
     private final String privateKeyPassphrase;
     private final AAAEncryptionService encryptionService;
     private final BaseNetconfSchemas baseSchemas;
+    private final ConnectionScheduler connectionScheduler;
 
     NetconfTopologySetup(final NetconfTopologySetupBuilder builder) {
         this.clusterSingletonServiceProvider = builder.getClusterSingletonServiceProvider();
@@ -65,6 +68,7 @@ public class NetconfTopologySetup {
         this.privateKeyPassphrase = builder.getPrivateKeyPassphrase();
         this.encryptionService = builder.getEncryptionService();
         this.baseSchemas = builder.getBaseSchemas();
+        this.connectionScheduler = builder.getConnectionScheduler();
     }
 
     public ClusterSingletonServiceProvider getClusterSingletonServiceProvider() {
@@ -139,6 +143,10 @@ public class NetconfTopologySetup {
         return baseSchemas;
     }
 
+    public @Nullable ConnectionScheduler getConnectionScheduler() {
+        return connectionScheduler;
+    }
+
     public static class NetconfTopologySetupBuilder {
         private ClusterSingletonServiceProvider clusterSingletonServiceProvider;
         private DOMRpcProviderService rpcProviderRegistry;
@@ -158,6 +166,7 @@ public class NetconfTopologySetup {
         private String privateKeyPassphrase;
         private AAAEncryptionService encryptionService;
         private BaseNetconfSchemas baseSchemas;
+        private ConnectionScheduler connectionScheduler;
 
         public NetconfTopologySetupBuilder() {
 
@@ -332,6 +341,15 @@ public class NetconfTopologySetup {
             return this;
         }
 
+        ConnectionScheduler getConnectionScheduler() {
+            return connectionScheduler;
+        }
+
+        public NetconfTopologySetupBuilder setConnectionScheduler(final ConnectionScheduler connectionScheduler) {
+            this.connectionScheduler = connectionScheduler;
+            return this;
+        }
+
         public static NetconfTopologySetupBuilder create() {
             return new NetconfTopologySetupBuilder();
         }
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2022 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.topology.singleton.impl.utils;
+
+import static java.util.Objects.requireNonNull;
+
+import akka.dispatch.OnComplete;
+import akka.pattern.Patterns;
+import akka.util.Timeout;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.opendaylight.netconf.topology.singleton.messages.NodeChunkRequest;
+import org.opendaylight.netconf.topology.singleton.messages.NodeChunkResponse;
+import org.opendaylight.netconf.topology.singleton.messages.StreamedNodeMessage;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import scala.concurrent.ExecutionContext;
+
+/**
+ * Reader of a read result streamed by master. Chunks are pulled from the source of a {@link StreamedNodeMessage} one
+ * at a time, so that the master never sends more than the reader is ready to receive. Each chunk request is subject
+ * to the ask timeout on its own, hence the time it takes to transfer a result is bounded by its size rather than by
+ * a single timeout.
+ *
+ * <p>
+ * Streaming bounds the size of each message, not the memory needed on either side. The master encodes the entire
+ * result before streaming it and holds it until the last chunk is requested. The reader keeps all chunks and decodes
+ * the result only once all of them have arrived, as decoding is a blocking operation which would otherwise occupy a
+ * thread for the duration of the transfer. Both sides therefore hold the whole encoded result, and the reader holds
+ * the decoded result as well.
+ */
+public final class NodeStreamReader {
+    private static final Logger LOG = LoggerFactory.getLogger(NodeStreamReader.class);
+
+    private final SettableFuture<NormalizedNode> future = SettableFuture.create();
+    private final List<byte[]> chunks = new ArrayList<>();
+    private final StreamedNodeMessage message;
+    private final QNameDictionary dictionary;
+    private final ExecutionContext executionContext;
+    private final Timeout askTimeout;
+
+    // Accessed only from the callback of the single outstanding request, hence no synchronization is needed
+    private int offset;
+
+    private NodeStreamReader(final StreamedNodeMessage message, final QNameDictionary dictionary,
+            final ExecutionContext executionContext, final Timeout askTimeout) {
+        this.message = requireNonNull(message);
+        this.dictionary = requireNonNull(dictionary);
+        this.executionContext = requireNonNull(executionContext);
+        this.askTimeout = requireNonNull(askTimeout);
+    }
+
+    /**
+     * Read a streamed read result.
+     *
+     * @param message          response to the read
+     * @param dictionary       dictionary of the device schema
+     * @param executionContext execution context to process responses in
+     * @param askTimeout       timeout of a single chunk request
+     * @return Future completing with the data read
+     */
+    public static ListenableFuture<NormalizedNode> read(final StreamedNodeMessage message,
+            final QNameDictionary dictionary, final ExecutionContext executionContext, final Timeout askTimeout) {
+        final NodeStreamReader reader = new NodeStreamReader(message, dictionary, executionContext, askTimeout);
+        reader.requestChunk();
+        return reader.future;
+    }
+
+    private void requestChunk() {
+        Patterns.ask(message.getSource(), new NodeChunkRequest(offset), askTimeout).onComplete(new OnComplete<>() {
+            @Override
+            public void onComplete(final Throwable failure, final Object response) {
+                if (failure != null) {
+                    LOG.debug("Failed to read chunk at {} from {}", offset, message, failure);
+                    future.setException(failure);
+                } else if (response instanceof NodeChunkResponse) {
+                    onChunk((NodeChunkResponse) response);
+                } else {
+                    future.setException(new IllegalStateException("Unexpected response " + response));
+                }
+            }
+        }, executionContext);
+    }
+
+    private void onChunk(final NodeChunkResponse chunk) {
+        if (chunk.getOffset() != offset) {
+            future.setException(new IllegalStateException("Received chunk at " + chunk.getOffset()
+                + ", expected " + offset));
+            return;
+        }
+
+        final byte[] data = chunk.getData();
+        chunks.add(data);
+        offset += data.length;
+        if (offset < message.getSize()) {
+            requestChunk();
+            return;
+        }
+
+        LOG.debug("Received {} bytes in {} chunks from {}", offset, chunks.size(), message);
+        final List<InputStream> streams = new ArrayList<>(chunks.size());
+        for (byte[] bytes : chunks) {
+            streams.add(new ByteArrayInputStream(bytes));
+        }
+        try {
+            future.set(dictionary.decode(new SequenceInputStream(Collections.enumeration(streams))).getNode());
+        } catch (IOException e) {
+            future.setException(e);
+        }
+    }
+}
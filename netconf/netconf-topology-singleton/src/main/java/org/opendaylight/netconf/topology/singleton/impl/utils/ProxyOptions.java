@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2022 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.topology.singleton.impl.utils;
+
+import com.google.common.base.MoreObjects;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Optional behaviour of proxies forwarding data access to the master, such as
+ * {@link org.opendaylight.netconf.topology.singleton.impl.ProxyDOMDataBroker}. Instances are immutable and created
+ * through {@link #builder()}.
+ */
+public final class ProxyOptions {
+    public static final ProxyOptions DEFAULT = builder().build();
+
+    private final @Nullable QNameDictionary dictionary;
+    private final @Nullable ReadCache readCache;
+
+    private ProxyOptions(final Builder builder) {
+        dictionary = builder.dictionary;
+        readCache = builder.readCache;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Return the dictionary of the device schema used to decode data sent by master.
+     *
+     * @return dictionary, or {@code null} if data is sent by master without one
+     */
+    public @Nullable QNameDictionary getDictionary() {
+        return dictionary;
+    }
+
+    /**
+     * Return the cache of read results.
+     *
+     * @return cache, or {@code null} if reads are not cached
+     */
+    public @Nullable ReadCache getReadCache() {
+        return readCache;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).omitNullValues()
+            .add("dictionary", dictionary)
+            .add("readCache", readCache)
+            .toString();
+    }
+
+    /**
+     * Builder of {@link ProxyOptions}. Options which are not set are not used.
+     */
+    public static final class Builder {
+        private QNameDictionary dictionary;
+        private ReadCache readCache;
+
+        private Builder() {
+            // Hidden on purpose
+        }
+
+        public Builder withDictionary(final @Nullable QNameDictionary schemaDictionary) {
+            this.dictionary = schemaDictionary;
+            return this;
+        }
+
+        public Builder withReadCache(final @Nullable ReadCache cache) {
+            this.readCache = cache;
+            return this;
+        }
+
+        public ProxyOptions build() {
+            return new ProxyOptions(this);
+        }
+    }
+}
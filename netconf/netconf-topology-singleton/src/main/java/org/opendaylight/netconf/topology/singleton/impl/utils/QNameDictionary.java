@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2022 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.topology.singleton.impl.utils;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.Adler32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.controller.cluster.io.ChunkedOutputStream;
+import org.opendaylight.netconf.topology.singleton.messages.EncodedNodeMessage;
+import org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeMessage;
+import org.opendaylight.yangtools.yang.common.Revision;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.codec.binfmt.NormalizedNodeDataInput;
+import org.opendaylight.yangtools.yang.data.codec.binfmt.NormalizedNodeDataOutput;
+import org.opendaylight.yangtools.yang.data.codec.binfmt.NormalizedNodeStreamVersion;
+import org.opendaylight.yangtools.yang.model.api.ChoiceSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.model.api.Module;
+
+/**
+ * Dictionary of the namespaces and node names of a device schema, used to compact node data exchanged between
+ * cluster members. The dictionary is derived deterministically from the {@link EffectiveModelContext}, hence the
+ * master and the slaves of a device arrive at the same dictionary without exchanging it.
+ *
+ * <p>
+ * The dictionary is used as a preset dictionary of a raw DEFLATE stream carrying the node in the binary
+ * {@link NormalizedNodeStreamVersion#current()} format, so that the first occurrence of a namespace or a node name in
+ * each message refers back to the dictionary rather than spelling it out. Each encoded message is tagged with the
+ * checksum of the dictionary it was encoded with and decoding with any other dictionary is rejected.
+ */
+public final class QNameDictionary {
+    // Size of the DEFLATE window, anything further back cannot be referenced
+    private static final int MAX_SIZE = 32 * 1024;
+    private static final int BUFFER_SIZE = 8192;
+    private static final int INITIAL_CAPACITY = 256;
+    private static final Comparator<Module> MODULE_ORDER = Comparator.comparing(Module::getName)
+        .thenComparing(module -> module.getRevision().map(Revision::toString).orElse(""));
+
+    private final byte[] dictionary;
+    private final int id;
+
+    private QNameDictionary(final byte[] dictionary) {
+        this.dictionary = dictionary;
+
+        final Adler32 checksum = new Adler32();
+        checksum.update(dictionary);
+        id = (int) checksum.getValue();
+    }
+
+    /**
+     * Create the dictionary of a schema.
+     *
+     * @param schemaContext Schema of a device
+     * @return Dictionary
+     */
+    public static @NonNull QNameDictionary of(final EffectiveModelContext schemaContext) {
+        final List<Module> modules = new ArrayList<>(schemaContext.getModules());
+        modules.sort(MODULE_ORDER);
+
+        final Set<String> namespaces = new LinkedHashSet<>();
+        final Deque<DataSchemaNode> queue = new ArrayDeque<>();
+        for (Module module : modules) {
+            namespaces.add(module.getNamespace().toString());
+            module.getRevision().ifPresent(revision -> namespaces.add(revision.toString()));
+            queue.addAll(module.getChildNodes());
+        }
+
+        final ByteArrayOutputStream namespaceBytes = new ByteArrayOutputStream();
+        for (String namespace : namespaces) {
+            final byte[] bytes = namespace.getBytes(StandardCharsets.UTF_8);
+            if (namespaceBytes.size() + bytes.length > MAX_SIZE) {
+                break;
+            }
+            namespaceBytes.writeBytes(bytes);
+        }
+
+        // Node names closer to the top of the tree are more likely to occur in a message, hence breadth-first
+        final int maxNameSize = MAX_SIZE - namespaceBytes.size();
+        final Set<String> names = new LinkedHashSet<>();
+        final ByteArrayOutputStream nameBytes = new ByteArrayOutputStream();
+        while (!queue.isEmpty()) {
+            final DataSchemaNode node = queue.poll();
+            final String name = node.getQName().getLocalName();
+            if (names.add(name)) {
+                final byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+                if (nameBytes.size() + bytes.length > maxNameSize) {
+                    break;
+                }
+                nameBytes.writeBytes(bytes);
+            }
+            if (node instanceof DataNodeContainer) {
+                queue.addAll(((DataNodeContainer) node).getChildNodes());
+            } else if (node instanceof ChoiceSchemaNode) {
+                queue.addAll(((ChoiceSchemaNode) node).getCases());
+            }
+        }
+
+        // DEFLATE favours near matches, place the namespaces, which occur in every message, at the end
+        nameBytes.writeBytes(namespaceBytes.toByteArray());
+        return new QNameDictionary(nameBytes.toByteArray());
+    }
+
+    /**
+     * Return the checksum identifying this dictionary.
+     *
+     * @return Checksum of dictionary contents
+     */
+    public int id() {
+        return id;
+    }
+
+    /**
+     * Encode node data.
+     *
+     * @param path Path of the node
+     * @param node Node to encode
+     * @return Encoded message
+     * @throws IOException if the node cannot be encoded
+     */
+    public @NonNull EncodedNodeMessage encode(final YangInstanceIdentifier path, final NormalizedNode node)
+            throws IOException {
+        final ChunkedOutputStream chunked = new ChunkedOutputStream(INITIAL_CAPACITY, EncodedNodeMessage.CHUNK_SIZE);
+        final Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+        try {
+            deflater.setDictionary(dictionary);
+            try (DataOutputStream out = new DataOutputStream(chunked)) {
+                out.writeInt(id);
+                try (DataOutputStream deflated = new DataOutputStream(
+                        new DeflaterOutputStream(out, deflater, BUFFER_SIZE));
+                     NormalizedNodeDataOutput nnout = NormalizedNodeStreamVersion.current().newDataOutput(deflated)) {
+                    nnout.writeYangInstanceIdentifier(requireNonNull(path));
+                    nnout.writeNormalizedNode(requireNonNull(node));
+                }
+            }
+        } finally {
+            deflater.end();
+        }
+        return new EncodedNodeMessage(chunked.toVariant());
+    }
+
+    /**
+     * Decode node data encoded by a dictionary of the same schema.
+     *
+     * @param message Encoded message
+     * @return Decoded node data
+     * @throws IOException if the message was encoded with a different dictionary or cannot be decoded
+     */
+    public @NonNull NormalizedNodeMessage decode(final EncodedNodeMessage message) throws IOException {
+        try (InputStream stream = message.openStream()) {
+            return decode(stream);
+        }
+    }
+
+    /**
+     * Decode node data encoded by a dictionary of the same schema, such as data assembled from the chunks of
+     * an {@link EncodedNodeMessage}. The stream is not closed.
+     *
+     * @param stream Stream of encoded data
+     * @return Decoded node data
+     * @throws IOException if the data was encoded with a different dictionary or cannot be decoded
+     */
+    public @NonNull NormalizedNodeMessage decode(final InputStream stream) throws IOException {
+        final DataInputStream in = new DataInputStream(stream);
+        final int messageId = in.readInt();
+        if (messageId != id) {
+            throw new IOException("Message encoded with dictionary " + Integer.toHexString(messageId)
+                + ", expected " + Integer.toHexString(id));
+        }
+
+        final Inflater inflater = new Inflater(true);
+        try {
+            inflater.setDictionary(dictionary);
+            final NormalizedNodeDataInput nnin = NormalizedNodeDataInput.newDataInput(
+                new DataInputStream(new InflaterInputStream(in, inflater, BUFFER_SIZE)));
+            final YangInstanceIdentifier path = nnin.readYangInstanceIdentifier();
+            return new NormalizedNodeMessage(path, nnin.readNormalizedNode());
+        } finally {
+            inflater.end();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "QNameDictionary [id=" + Integer.toHexString(id) + ", size=" + dictionary.length + "]";
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2022 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.topology.singleton.impl.utils;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.FluentFuture;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.NetconfNode;
+import org.opendaylight.yangtools.yang.common.Uint32;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cache of read results of a device on a cluster member other than the master. Results are keyed by datastore, path
+ * and fields, and are bounded both in count and in age. A read is cached from the moment it is issued, so that
+ * concurrent identical reads are forwarded to the master only once, and so that an invalidation arriving while a read
+ * is in flight discards its result. Failed reads are not cached.
+ *
+ * <p>
+ * Entries are invalidated when any path they overlap with, i.e. an ancestor or a descendant of their path, is
+ * reported as modified.
+ */
+public final class ReadCache {
+    private static final Logger LOG = LoggerFactory.getLogger(ReadCache.class);
+    private static final long DEFAULT_MAX_ENTRIES = 1024;
+
+    private static final class Key {
+        private final LogicalDatastoreType store;
+        private final YangInstanceIdentifier path;
+        private final ImmutableList<YangInstanceIdentifier> fields;
+
+        Key(final LogicalDatastoreType store, final YangInstanceIdentifier path,
+                final List<YangInstanceIdentifier> fields) {
+            this.store = requireNonNull(store);
+            this.path = requireNonNull(path);
+            this.fields = ImmutableList.copyOf(fields);
+        }
+
+        boolean overlaps(final YangInstanceIdentifier modified) {
+            return modified.contains(path) || path.contains(modified);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * store.hashCode() + path.hashCode()) + fields.hashCode();
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) obj;
+            return store == other.store && path.equals(other.path) && fields.equals(other.fields);
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(this).add("store", store).add("path", path).add("fields", fields)
+                .toString();
+        }
+    }
+
+    private final Cache<Key, ListenableFuture<Optional<NormalizedNode>>> entries;
+
+    public ReadCache(final Duration timeToLive, final long maxEntries) {
+        entries = CacheBuilder.newBuilder().expireAfterWrite(timeToLive).maximumSize(maxEntries).build();
+    }
+
+    /**
+     * Create the cache configured for a node.
+     *
+     * @param node Node configuration, may be null
+     * @return Cache, or {@code null} if caching is not enabled for the node
+     */
+    public static @Nullable ReadCache of(final @Nullable NetconfNode node) {
+        if (node == null) {
+            return null;
+        }
+        final Uint32 ttl = node.getReadCacheTtlMillis();
+        if (ttl == null || ttl.longValue() == 0) {
+            return null;
+        }
+        final Uint32 maxEntries = node.getReadCacheMaxEntries();
+        return new ReadCache(Duration.ofMillis(ttl.longValue()),
+            maxEntries == null ? DEFAULT_MAX_ENTRIES : maxEntries.longValue());
+    }
+
+    /**
+     * Read data, reusing the result of an identical read if it is cached.
+     *
+     * @param store  Datastore to read from
+     * @param path   Path to read
+     * @param fields Fields to read, empty if the whole subtree is read
+     * @param reader Supplier of the actual read
+     * @return Future completing with the data read
+     */
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    public @NonNull FluentFuture<Optional<NormalizedNode>> read(final LogicalDatastoreType store,
+            final YangInstanceIdentifier path, final List<YangInstanceIdentifier> fields,
+            final Supplier<? extends ListenableFuture<Optional<NormalizedNode>>> reader) {
+        final Key key = new Key(store, path, fields);
+        final SettableFuture<Optional<NormalizedNode>> created = SettableFuture.create();
+        final ListenableFuture<Optional<NormalizedNode>> existing = entries.asMap().putIfAbsent(key, created);
+        if (existing != null) {
+            LOG.trace("Read of {} served from cache", key);
+            return nonCancellable(existing);
+        }
+
+        try {
+            created.setFuture(reader.get());
+        } catch (RuntimeException e) {
+            created.setException(e);
+        }
+        created.addListener(() -> {
+            if (!isSuccessful(created)) {
+                entries.asMap().remove(key, created);
+            }
+        }, MoreExecutors.directExecutor());
+        return nonCancellable(created);
+    }
+
+    /**
+     * Invalidate cached results overlapping with modified paths.
+     *
+     * @param modifiedPaths Paths which have been modified
+     */
+    public void invalidate(final Collection<YangInstanceIdentifier> modifiedPaths) {
+        if (!modifiedPaths.isEmpty()) {
+            entries.asMap().keySet().removeIf(key -> modifiedPaths.stream().anyMatch(key::overlaps));
+        }
+    }
+
+    /**
+     * Invalidate cached results overlapping with modified paths once a write completes, whether it succeeds or not.
+     * The returned future completes only after the invalidation, so that a read issued from its callbacks observes
+     * the write.
+     *
+     * @param write         Future of the write
+     * @param modifiedPaths Paths modified by the write
+     * @return Future completing with the result of the write
+     */
+    public <T> @NonNull FluentFuture<T> invalidateOnCompletion(final ListenableFuture<T> write,
+            final Collection<YangInstanceIdentifier> modifiedPaths) {
+        final SettableFuture<T> result = SettableFuture.create();
+        write.addListener(() -> {
+            invalidate(modifiedPaths);
+            result.setFuture(write);
+        }, MoreExecutors.directExecutor());
+        return FluentFuture.from(result);
+    }
+
+    /**
+     * Invalidate all cached results.
+     */
+    public void invalidateAll() {
+        entries.invalidateAll();
+    }
+
+    long size() {
+        entries.cleanUp();
+        return entries.size();
+    }
+
+    // Results are shared between readers, none of them may cancel the read for the others
+    private static FluentFuture<Optional<NormalizedNode>> nonCancellable(
+            final ListenableFuture<Optional<NormalizedNode>> future) {
+        return FluentFuture.from(Futures.nonCancellationPropagating(future));
+    }
+
+    private static boolean isSuccessful(final ListenableFuture<?> future) {
+        if (future.isCancelled()) {
+            return false;
+        }
+        try {
+            Futures.getDone(future);
+            return true;
+        } catch (ExecutionException e) {
+            return false;
+        }
+    }
+}
@@ -8,10 +8,12 @@
 package org.opendaylight.netconf.topology.singleton.messages;
 
 import java.util.List;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.mdsal.dom.api.DOMActionService;
 import org.opendaylight.mdsal.dom.api.DOMDataBroker;
 import org.opendaylight.mdsal.dom.api.DOMRpcService;
 import org.opendaylight.netconf.dom.api.NetconfDataTreeService;
+import org.opendaylight.netconf.topology.singleton.impl.utils.QNameDictionary;
 import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
 
 /**
@@ -23,16 +25,26 @@ public class CreateInitialMasterActorData {
     private final List<SourceIdentifier> allSourceIdentifiers;
     private final DOMRpcService deviceRpc;
     private final DOMActionService deviceAction;
+    private final QNameDictionary dictionary;
 
     public CreateInitialMasterActorData(final DOMDataBroker deviceDataBroker,
                                         final NetconfDataTreeService netconfService,
                                         final List<SourceIdentifier> allSourceIdentifiers,
                                         final DOMRpcService deviceRpc,final DOMActionService deviceAction) {
+        this(deviceDataBroker, netconfService, allSourceIdentifiers, deviceRpc, deviceAction, null);
+    }
+
+    public CreateInitialMasterActorData(final DOMDataBroker deviceDataBroker,
+                                        final NetconfDataTreeService netconfService,
+                                        final List<SourceIdentifier> allSourceIdentifiers,
+                                        final DOMRpcService deviceRpc, final DOMActionService deviceAction,
+                                        final @Nullable QNameDictionary dictionary) {
         this.deviceDataBroker = deviceDataBroker;
         this.netconfService = netconfService;
         this.allSourceIdentifiers = allSourceIdentifiers;
         this.deviceRpc = deviceRpc;
         this.deviceAction = deviceAction;
+        this.dictionary = dictionary;
     }
 
     public DOMDataBroker getDeviceDataBroker() {
@@ -54,4 +66,8 @@ public class CreateInitialMasterActorData {
     public DOMActionService getDeviceAction() {
         return deviceAction;
     }
+
+    public @Nullable QNameDictionary getDictionary() {
+        return dictionary;
+    }
 }
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2022 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.topology.singleton.messages;
+
+import java.io.ByteArrayInputStream;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import org.opendaylight.controller.cluster.io.ChunkedByteArray;
+import org.opendaylight.yangtools.concepts.Either;
+
+/**
+ * Message which holds node data in an encoded form, as produced by
+ * {@link org.opendaylight.netconf.topology.singleton.impl.utils.QNameDictionary}. The encoded form is kept in bounded
+ * chunks, so that large data does not need a single contiguous buffer on either side.
+ */
+public class EncodedNodeMessage implements Externalizable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Maximum size of a single chunk of encoded data. This is also the maximum size of encoded data sent in a single
+     * message between cluster members: larger data is streamed in chunks of this size, see
+     * {@link StreamedNodeMessage}.
+     */
+    public static final int CHUNK_SIZE = 128 * 1024;
+
+    private Either<byte[], ChunkedByteArray> data;
+
+    public EncodedNodeMessage() {
+        // empty constructor needed for Externalizable
+    }
+
+    public EncodedNodeMessage(final Either<byte[], ChunkedByteArray> data) {
+        this.data = data;
+    }
+
+    public int size() {
+        return data.isFirst() ? data.getFirst().length : data.getSecond().size();
+    }
+
+    public InputStream openStream() {
+        return data.isFirst() ? new ByteArrayInputStream(data.getFirst()) : data.getSecond().openStream();
+    }
+
+    @Override
+    public void writeExternal(final ObjectOutput out) throws IOException {
+        out.writeInt(size());
+        if (data.isFirst()) {
+            out.write(data.getFirst());
+        } else {
+            data.getSecond().copyTo(out);
+        }
+    }
+
+    @Override
+    public void readExternal(final ObjectInput in) throws IOException {
+        final int size = in.readInt();
+        data = Either.ofSecond(ChunkedByteArray.readFrom(in, size, CHUNK_SIZE));
+    }
+
+    @Override
+    public String toString() {
+        return "EncodedNodeMessage [size=" + size() + "]";
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2022 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.topology.singleton.messages;
+
+import com.google.common.collect.ImmutableList;
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.List;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+
+/**
+ * Master sends this message to slaves once a write to the device has completed, so that they drop cached read results
+ * overlapping with the modified paths.
+ */
+public class InvalidateReadCache implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final ImmutableList<YangInstanceIdentifier> paths;
+
+    public InvalidateReadCache(final Collection<YangInstanceIdentifier> paths) {
+        this.paths = ImmutableList.copyOf(paths);
+    }
+
+    public List<YangInstanceIdentifier> getPaths() {
+        return paths;
+    }
+
+    @Override
+    public String toString() {
+        return "InvalidateReadCache [paths=" + paths + "]";
+    }
+}
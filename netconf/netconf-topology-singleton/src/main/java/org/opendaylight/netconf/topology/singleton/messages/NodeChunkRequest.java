@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) 2022 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.topology.singleton.messages;
+
+import java.io.Serializable;
+
+/**
+ * Slave sends this message to the source of a {@link StreamedNodeMessage} to request the next chunk of data.
+ */
+public class NodeChunkRequest implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final int offset;
+
+    public NodeChunkRequest(final int offset) {
+        this.offset = offset;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    @Override
+    public String toString() {
+        return "NodeChunkRequest [offset=" + offset + "]";
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2022 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.topology.singleton.messages;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.Serializable;
+
+/**
+ * Master sends this message in response to a {@link NodeChunkRequest}.
+ */
+public class NodeChunkResponse implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final int offset;
+    private final byte[] data;
+
+    public NodeChunkResponse(final int offset, final byte[] data) {
+        this.offset = offset;
+        this.data = data;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    @SuppressFBWarnings(value = "EI_EXPOSE_REP", justification = "Chunks are handed over without copying")
+    public byte[] getData() {
+        return data;
+    }
+
+    @Override
+    public String toString() {
+        return "NodeChunkResponse [offset=" + offset + ", length=" + data.length + "]";
+    }
+}
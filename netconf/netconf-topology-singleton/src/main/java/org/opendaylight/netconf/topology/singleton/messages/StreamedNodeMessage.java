@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2022 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.topology.singleton.messages;
+
+import akka.actor.ActorRef;
+import java.io.Serializable;
+
+/**
+ * Master sends this message in response to a read whose encoded result is too large to be sent in a single message.
+ * The result is pulled from the source actor piecewise by sending it {@link NodeChunkRequest}s.
+ */
+public class StreamedNodeMessage implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final ActorRef source;
+    private final int size;
+
+    public StreamedNodeMessage(final ActorRef source, final int size) {
+        this.source = source;
+        this.size = size;
+    }
+
+    public ActorRef getSource() {
+        return source;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        return "StreamedNodeMessage [source=" + source + ", size=" + size + "]";
+    }
+}
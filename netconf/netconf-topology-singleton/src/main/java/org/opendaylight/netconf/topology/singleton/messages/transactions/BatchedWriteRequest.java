@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2022 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.topology.singleton.messages.transactions;
+
+import com.google.common.collect.ImmutableList;
+import java.util.List;
+
+/**
+ * Slave sends this message to apply several {@link PutRequest}s, {@link MergeRequest}s and {@link DeleteRequest}s in
+ * the order they were issued, as if they were sent one by one.
+ */
+public class BatchedWriteRequest implements WriteActorMessage {
+    private static final long serialVersionUID = 1L;
+
+    private final ImmutableList<WriteActorMessage> requests;
+
+    public BatchedWriteRequest(final List<? extends WriteActorMessage> requests) {
+        this.requests = ImmutableList.copyOf(requests);
+    }
+
+    public List<WriteActorMessage> getRequests() {
+        return requests;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchedWriteRequest [size=" + requests.size() + "]";
+    }
+}
@@ -72,6 +72,7 @@ public class ProxyDOMDataBrokerTest {
         assertEquals(DEVICE_ID, tx.getIdentifier());
 
         tx.delete(LogicalDatastoreType.CONFIGURATION, YangInstanceIdentifier.empty());
+        tx.commit();
         masterActor.expectMsgClass(DeleteRequest.class);
     }
 
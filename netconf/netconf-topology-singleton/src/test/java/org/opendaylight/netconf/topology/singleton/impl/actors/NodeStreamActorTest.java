@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2022 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.topology.singleton.impl.actors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import akka.actor.ActorRef;
+import akka.actor.ActorSystem;
+import akka.actor.Status.Failure;
+import akka.testkit.javadsl.TestKit;
+import akka.util.Timeout;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.mdsal.binding.runtime.spi.BindingRuntimeHelpers;
+import org.opendaylight.netconf.topology.singleton.impl.utils.NodeStreamReader;
+import org.opendaylight.netconf.topology.singleton.impl.utils.QNameDictionary;
+import org.opendaylight.netconf.topology.singleton.messages.EncodedNodeMessage;
+import org.opendaylight.netconf.topology.singleton.messages.NodeChunkRequest;
+import org.opendaylight.netconf.topology.singleton.messages.NodeChunkResponse;
+import org.opendaylight.netconf.topology.singleton.messages.StreamedNodeMessage;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.controller.md.sal.test.list.rev140701.Top;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.controller.md.sal.test.list.rev140701.two.level.list.TopLevelList;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.SystemMapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.builder.CollectionNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+
+public class NodeStreamActorTest {
+    private static final QName NAME = QName.create(TopLevelList.QNAME, "name");
+    private static final YangInstanceIdentifier PATH = YangInstanceIdentifier.of(Top.QNAME);
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private static ActorSystem system;
+    private static QNameDictionary dictionary;
+
+    @BeforeClass
+    public static void beforeClass() {
+        system = ActorSystem.apply();
+        dictionary = QNameDictionary.of(BindingRuntimeHelpers.createEffectiveModel(Top.class));
+    }
+
+    @AfterClass
+    public static void afterClass() {
+        TestKit.shutdownActorSystem(system, true);
+    }
+
+    @Test
+    public void testStreamedRead() throws Exception {
+        final ContainerNode top = createTop(20000);
+        final EncodedNodeMessage encoded = dictionary.encode(PATH, top);
+        assertTrue(encoded.size() > 2 * EncodedNodeMessage.CHUNK_SIZE);
+
+        final ActorRef source = system.actorOf(NodeStreamActor.props(encoded, TIMEOUT));
+        final TestKit watcher = new TestKit(system);
+        watcher.watch(source);
+
+        final StreamedNodeMessage message = new StreamedNodeMessage(source, encoded.size());
+        assertEquals(top, NodeStreamReader.read(message, dictionary, system.dispatcher(),
+            Timeout.create(TIMEOUT)).get(TIMEOUT.toSeconds(), TimeUnit.SECONDS));
+
+        // source stops once the last chunk has been handed out
+        watcher.expectTerminated(source);
+    }
+
+    @Test
+    public void testUnexpectedOffset() throws Exception {
+        final EncodedNodeMessage encoded = dictionary.encode(PATH, createTop(1));
+        final ActorRef source = system.actorOf(NodeStreamActor.props(encoded, TIMEOUT));
+        final TestKit probe = new TestKit(system);
+
+        source.tell(new NodeChunkRequest(1), probe.getRef());
+        probe.expectMsgClass(Failure.class);
+
+        source.tell(new NodeChunkRequest(0), probe.getRef());
+        final NodeChunkResponse response = probe.expectMsgClass(NodeChunkResponse.class);
+        assertEquals(0, response.getOffset());
+        assertEquals(encoded.size(), response.getData().length);
+    }
+
+    @Test
+    public void testIdleTimeout() throws Exception {
+        final EncodedNodeMessage encoded = dictionary.encode(PATH, createTop(1));
+        final ActorRef source = system.actorOf(NodeStreamActor.props(encoded, Duration.ofMillis(100)));
+        final TestKit watcher = new TestKit(system);
+        watcher.watch(source);
+        watcher.expectTerminated(TIMEOUT, source);
+    }
+
+    private static ContainerNode createTop(final int entries) {
+        final CollectionNodeBuilder<MapEntryNode, SystemMapNode> list =
+            Builders.mapBuilder().withNodeIdentifier(new NodeIdentifier(TopLevelList.QNAME));
+        for (int i = 0; i < entries; i++) {
+            list.withChild(ImmutableNodes.mapEntry(TopLevelList.QNAME, NAME, UUID.randomUUID().toString()));
+        }
+        return Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(Top.QNAME))
+            .withChild(list.build())
+            .build();
+    }
+}
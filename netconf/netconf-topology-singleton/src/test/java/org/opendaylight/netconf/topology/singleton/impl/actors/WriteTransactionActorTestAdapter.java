@@ -9,6 +9,7 @@ package org.opendaylight.netconf.topology.singleton.impl.actors;
 
 import static org.junit.Assert.assertEquals;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -23,10 +24,13 @@ import akka.actor.ActorSystem;
 import akka.actor.Status.Failure;
 import akka.actor.Status.Success;
 import akka.testkit.TestProbe;
+import java.util.List;
 import org.junit.Test;
+import org.mockito.InOrder;
 import org.opendaylight.mdsal.common.api.TransactionCommitFailedException;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeWriteTransaction;
 import org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeMessage;
+import org.opendaylight.netconf.topology.singleton.messages.transactions.BatchedWriteRequest;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.CancelRequest;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.DeleteRequest;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.MergeRequest;
@@ -75,6 +79,17 @@ public abstract class WriteTransactionActorTestAdapter {
         verify(mockWriteTx).delete(STORE, PATH);
     }
 
+    @Test
+    public void testBatchedWrite() {
+        final NormalizedNodeMessage normalizedNodeMessage = new NormalizedNodeMessage(PATH, NODE);
+        actorRef.tell(new BatchedWriteRequest(List.of(new PutRequest(STORE, normalizedNodeMessage),
+            new MergeRequest(STORE, normalizedNodeMessage), new DeleteRequest(STORE, PATH))), probe.ref());
+        final InOrder inOrder = inOrder(mockWriteTx);
+        inOrder.verify(mockWriteTx).put(STORE, PATH, NODE);
+        inOrder.verify(mockWriteTx).merge(STORE, PATH, NODE);
+        inOrder.verify(mockWriteTx).delete(STORE, PATH);
+    }
+
     @Test
     public void testCancel() {
         when(mockWriteTx.cancel()).thenReturn(true);
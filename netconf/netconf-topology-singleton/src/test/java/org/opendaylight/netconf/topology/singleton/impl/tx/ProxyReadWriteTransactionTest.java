@@ -35,6 +35,7 @@ import org.opendaylight.mdsal.common.api.TransactionCommitFailedException;
 import org.opendaylight.netconf.api.DocumentedException;
 import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
 import org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeMessage;
+import org.opendaylight.netconf.topology.singleton.messages.transactions.BatchedWriteRequest;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.CancelRequest;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.DeleteRequest;
 import org.opendaylight.netconf.topology.singleton.messages.transactions.EmptyReadResponse;
@@ -51,6 +52,7 @@ import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
 import scala.concurrent.Promise;
 import scala.concurrent.duration.Duration;
 import scala.concurrent.duration.FiniteDuration;
@@ -128,9 +130,13 @@ public class ProxyReadWriteTransactionTest {
         ProxyReadWriteTransaction tx = newSuccessfulProxyTx();
 
         tx.delete(STORE, PATH);
+        masterActor.expectNoMessage(EXP_NO_MESSAGE_TIMEOUT);
+
+        tx.commit();
         final DeleteRequest deleteRequest = masterActor.expectMsgClass(DeleteRequest.class);
         assertEquals(STORE, deleteRequest.getStore());
         assertEquals(PATH, deleteRequest.getPath());
+        masterActor.expectMsgClass(SubmitRequest.class);
     }
 
     @Test
@@ -151,10 +157,14 @@ public class ProxyReadWriteTransactionTest {
         ProxyReadWriteTransaction tx = newSuccessfulProxyTx();
 
         tx.put(STORE, PATH, node);
+        masterActor.expectNoMessage(EXP_NO_MESSAGE_TIMEOUT);
+
+        tx.commit();
         final PutRequest putRequest = masterActor.expectMsgClass(PutRequest.class);
         assertEquals(STORE, putRequest.getStore());
         assertEquals(PATH, putRequest.getNormalizedNodeMessage().getIdentifier());
         assertEquals(node, putRequest.getNormalizedNodeMessage().getNode());
+        masterActor.expectMsgClass(SubmitRequest.class);
     }
 
     @Test
@@ -175,10 +185,84 @@ public class ProxyReadWriteTransactionTest {
         ProxyReadWriteTransaction tx = newSuccessfulProxyTx();
 
         tx.merge(STORE, PATH, node);
+        masterActor.expectNoMessage(EXP_NO_MESSAGE_TIMEOUT);
+
+        tx.commit();
         final MergeRequest mergeRequest = masterActor.expectMsgClass(MergeRequest.class);
         assertEquals(STORE, mergeRequest.getStore());
         assertEquals(PATH, mergeRequest.getNormalizedNodeMessage().getIdentifier());
         assertEquals(node, mergeRequest.getNormalizedNodeMessage().getNode());
+        masterActor.expectMsgClass(SubmitRequest.class);
+    }
+
+    @Test
+    public void testBatchedWrites() {
+        ProxyReadWriteTransaction tx = newSuccessfulProxyTx();
+
+        for (int i = 0; i < ActorProxyTransactionFacade.MAX_BATCH_SIZE; i++) {
+            tx.merge(STORE, PATH, node);
+        }
+        // a full batch is sent right away
+        BatchedWriteRequest batch = masterActor.expectMsgClass(BatchedWriteRequest.class);
+        assertEquals(ActorProxyTransactionFacade.MAX_BATCH_SIZE, batch.getRequests().size());
+
+        tx.put(STORE, PATH, node);
+        tx.delete(STORE, PATH);
+        masterActor.expectNoMessage(EXP_NO_MESSAGE_TIMEOUT);
+
+        // pending writes are sent before a read so that it observes them
+        tx.read(STORE, PATH);
+        batch = masterActor.expectMsgClass(BatchedWriteRequest.class);
+        assertTrue(batch.getRequests().get(0) instanceof PutRequest);
+        assertTrue(batch.getRequests().get(1) instanceof DeleteRequest);
+        masterActor.expectMsgClass(ReadRequest.class);
+    }
+
+    @Test
+    public void testBatchedWritesSizeLimit() {
+        ProxyReadWriteTransaction tx = newSuccessfulProxyTx();
+        final ContainerNode large = Builders.containerBuilder()
+                .withNodeIdentifier(new YangInstanceIdentifier.NodeIdentifier(QName.create("", "cont")))
+                .withChild(ImmutableNodes.leafNode(QName.create("", "leaf"),
+                    "a".repeat(ActorProxyTransactionFacade.MAX_BATCH_BYTES / 4)))
+                .build();
+
+        tx.merge(STORE, PATH, large);
+        masterActor.expectNoMessage(EXP_NO_MESSAGE_TIMEOUT);
+
+        // the pending write is sent before the batch would grow over the limit
+        tx.merge(STORE, PATH, large);
+        assertEquals(large, masterActor.expectMsgClass(MergeRequest.class).getNormalizedNodeMessage().getNode());
+        masterActor.expectNoMessage(EXP_NO_MESSAGE_TIMEOUT);
+
+        tx.commit();
+        masterActor.expectMsgClass(MergeRequest.class);
+        masterActor.expectMsgClass(SubmitRequest.class);
+    }
+
+    @Test
+    public void testDelayedWrites() {
+        ProxyReadWriteTransaction tx = newSuccessfulProxyTx();
+
+        // pending writes are sent eventually, so that the master transaction does not become idle
+        tx.put(STORE, PATH, node);
+        tx.delete(STORE, PATH);
+        final BatchedWriteRequest batch = masterActor.expectMsgClass(Duration.apply(5, TimeUnit.SECONDS),
+            BatchedWriteRequest.class);
+        assertEquals(2, batch.getRequests().size());
+
+        tx.commit();
+        masterActor.expectMsgClass(SubmitRequest.class);
+    }
+
+    @Test
+    public void testCancelDiscardsPendingWrites() {
+        ProxyReadWriteTransaction tx = newSuccessfulProxyTx();
+
+        tx.put(STORE, PATH, node);
+        tx.cancel();
+        masterActor.expectMsgClass(CancelRequest.class);
+        masterActor.expectNoMessage(EXP_NO_MESSAGE_TIMEOUT);
     }
 
     @Test
@@ -347,9 +431,11 @@ public class ProxyReadWriteTransactionTest {
         masterActor.expectMsgClass(ExistsRequest.class);
         masterActor.reply(Boolean.TRUE);
 
-        masterActor.expectMsgClass(PutRequest.class);
-        masterActor.expectMsgClass(MergeRequest.class);
-        masterActor.expectMsgClass(DeleteRequest.class);
+        final BatchedWriteRequest batch = masterActor.expectMsgClass(BatchedWriteRequest.class);
+        assertEquals(3, batch.getRequests().size());
+        assertTrue(batch.getRequests().get(0) instanceof PutRequest);
+        assertTrue(batch.getRequests().get(1) instanceof MergeRequest);
+        assertTrue(batch.getRequests().get(2) instanceof DeleteRequest);
 
         masterActor.expectMsgClass(SubmitRequest.class);
         masterActor.reply(new Success(null));
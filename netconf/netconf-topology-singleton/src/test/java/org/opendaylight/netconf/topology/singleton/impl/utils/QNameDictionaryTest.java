@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2022 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.topology.singleton.impl.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.mdsal.binding.runtime.spi.BindingRuntimeHelpers;
+import org.opendaylight.netconf.topology.singleton.messages.EncodedNodeMessage;
+import org.opendaylight.netconf.topology.singleton.messages.NormalizedNodeMessage;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.controller.md.sal.test.list.rev140701.Top;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.controller.md.sal.test.list.rev140701.two.level.list.TopLevelList;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.SystemMapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.builder.CollectionNodeBuilder;
+import org.opendaylight.yangtools.yang.data.codec.binfmt.NormalizedNodeDataOutput;
+import org.opendaylight.yangtools.yang.data.codec.binfmt.NormalizedNodeStreamVersion;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+
+public class QNameDictionaryTest {
+    private static final QName NAME = QName.create(TopLevelList.QNAME, "name");
+    private static final YangInstanceIdentifier PATH = YangInstanceIdentifier.of(Top.QNAME);
+
+    private static EffectiveModelContext schemaContext;
+
+    @BeforeClass
+    public static void beforeClass() {
+        schemaContext = BindingRuntimeHelpers.createEffectiveModel(Top.class);
+    }
+
+    @Test
+    public void testSameSchemaSameDictionary() {
+        final QNameDictionary first = QNameDictionary.of(schemaContext);
+        final QNameDictionary second = QNameDictionary.of(BindingRuntimeHelpers.createEffectiveModel(Top.class));
+        assertEquals(first.id(), second.id());
+        assertNotEquals(first.id(), QNameDictionary.of(mock(EffectiveModelContext.class)).id());
+    }
+
+    @Test
+    public void testEncodeDecode() throws Exception {
+        final ContainerNode top = createTop(1000);
+        final QNameDictionary dictionary = QNameDictionary.of(schemaContext);
+
+        final EncodedNodeMessage encoded = dictionary.encode(PATH, top);
+        assertTrue(encoded.size() < unencodedSize(top));
+
+        final NormalizedNodeMessage decoded = QNameDictionary.of(schemaContext).decode(transfer(encoded));
+        assertEquals(PATH, decoded.getIdentifier());
+        assertEquals(top, decoded.getNode());
+    }
+
+    @Test
+    public void testDecodeWithOtherDictionary() throws Exception {
+        final EncodedNodeMessage encoded = QNameDictionary.of(schemaContext).encode(PATH, createTop(1));
+        final QNameDictionary other = QNameDictionary.of(mock(EffectiveModelContext.class));
+        assertThrows(IOException.class, () -> other.decode(encoded));
+    }
+
+    private static ContainerNode createTop(final int entries) {
+        final CollectionNodeBuilder<MapEntryNode, SystemMapNode> list =
+            Builders.mapBuilder().withNodeIdentifier(new NodeIdentifier(TopLevelList.QNAME));
+        for (int i = 0; i < entries; i++) {
+            list.withChild(ImmutableNodes.mapEntry(TopLevelList.QNAME, NAME, "entry-" + i));
+        }
+        return Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(Top.QNAME))
+            .withChild(list.build())
+            .build();
+    }
+
+    private static int unencodedSize(final ContainerNode node) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (NormalizedNodeDataOutput out = NormalizedNodeStreamVersion.current()
+                .newDataOutput(new DataOutputStream(bytes))) {
+            out.writeYangInstanceIdentifier(PATH);
+            out.writeNormalizedNode(node);
+        }
+        return bytes.size();
+    }
+
+    private static EncodedNodeMessage transfer(final EncodedNodeMessage message) throws Exception {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(message);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return (EncodedNodeMessage) in.readObject();
+        }
+    }
+}
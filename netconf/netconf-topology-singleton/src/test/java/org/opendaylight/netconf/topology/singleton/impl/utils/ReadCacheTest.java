@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2022 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.topology.singleton.impl.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.NetconfNodeBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.controller.md.sal.test.list.rev140701.Top;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.controller.md.sal.test.list.rev140701.two.level.list.TopLevelList;
+import org.opendaylight.yangtools.yang.common.Uint32;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+
+public class ReadCacheTest {
+    private static final YangInstanceIdentifier TOP = YangInstanceIdentifier.of(Top.QNAME);
+    private static final YangInstanceIdentifier LIST = TOP.node(TopLevelList.QNAME);
+    private static final YangInstanceIdentifier OTHER = YangInstanceIdentifier.of(TopLevelList.QNAME);
+    private static final Optional<NormalizedNode> DATA = Optional.of(ImmutableNodes.containerNode(Top.QNAME));
+
+    private final AtomicInteger reads = new AtomicInteger();
+    private ReadCache cache;
+
+    @Before
+    public void setUp() {
+        cache = new ReadCache(Duration.ofMinutes(1), 16);
+    }
+
+    @Test
+    public void testConcurrentReadsCoalesced() throws Exception {
+        final SettableFuture<Optional<NormalizedNode>> pending = SettableFuture.create();
+        final ListenableFuture<Optional<NormalizedNode>> first = read(TOP, () -> pending);
+        final ListenableFuture<Optional<NormalizedNode>> second = read(TOP, () -> pending);
+        assertEquals(1, reads.get());
+        assertFalse(second.isDone());
+
+        pending.set(DATA);
+        assertSame(DATA, first.get());
+        assertSame(DATA, second.get());
+
+        // fields are part of the key
+        read(LogicalDatastoreType.OPERATIONAL, TOP, List.of(LIST), ReadCacheTest::readData);
+        assertEquals(2, reads.get());
+        // so is the datastore
+        read(LogicalDatastoreType.CONFIGURATION, TOP, List.of(), ReadCacheTest::readData);
+        assertEquals(3, reads.get());
+    }
+
+    @Test
+    public void testFailedReadNotCached() throws Exception {
+        final ListenableFuture<Optional<NormalizedNode>> failed =
+            read(TOP, () -> Futures.immediateFailedFuture(new IllegalStateException("failed")));
+        assertTrue(failed.isDone());
+        assertEquals(0, cache.size());
+
+        assertSame(DATA, read(TOP, ReadCacheTest::readData).get());
+        assertEquals(2, reads.get());
+    }
+
+    @Test
+    public void testCancelDoesNotAffectOtherReaders() throws Exception {
+        final SettableFuture<Optional<NormalizedNode>> pending = SettableFuture.create();
+        final ListenableFuture<Optional<NormalizedNode>> first = read(TOP, () -> pending);
+        final ListenableFuture<Optional<NormalizedNode>> second = read(TOP, () -> pending);
+        first.cancel(true);
+        assertFalse(pending.isCancelled());
+
+        pending.set(DATA);
+        assertSame(DATA, second.get());
+    }
+
+    @Test
+    public void testInvalidateOverlapping() throws Exception {
+        read(TOP, ReadCacheTest::readData).get();
+        read(OTHER, ReadCacheTest::readData).get();
+        assertEquals(2, cache.size());
+
+        // modification of a descendant invalidates the ancestor
+        cache.invalidate(List.of(LIST));
+        assertEquals(1, cache.size());
+        read(OTHER, ReadCacheTest::readData).get();
+        assertEquals(2, reads.get());
+
+        // modification of an ancestor invalidates the descendant
+        read(TOP.node(TopLevelList.QNAME), ReadCacheTest::readData).get();
+        cache.invalidate(List.of(TOP));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testInvalidateOnCompletion() throws Exception {
+        read(TOP, ReadCacheTest::readData).get();
+        final SettableFuture<String> write = SettableFuture.create();
+        final ListenableFuture<String> result = cache.invalidateOnCompletion(write, List.of(LIST));
+        assertEquals(1, cache.size());
+
+        write.setException(new IllegalStateException("failed"));
+        assertTrue(result.isDone());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testDisabledByDefault() {
+        assertNull(ReadCache.of(null));
+        assertNull(ReadCache.of(new NetconfNodeBuilder().build()));
+        assertNull(ReadCache.of(new NetconfNodeBuilder().setReadCacheTtlMillis(Uint32.ZERO).build()));
+        assertNotNull(ReadCache.of(new NetconfNodeBuilder().setReadCacheTtlMillis(Uint32.valueOf(500)).build()));
+    }
+
+    private ListenableFuture<Optional<NormalizedNode>> read(final YangInstanceIdentifier path,
+            final Supplier<ListenableFuture<Optional<NormalizedNode>>> reader) {
+        return read(LogicalDatastoreType.OPERATIONAL, path, List.of(), reader);
+    }
+
+    private ListenableFuture<Optional<NormalizedNode>> read(final LogicalDatastoreType store,
+            final YangInstanceIdentifier path, final List<YangInstanceIdentifier> fields,
+            final Supplier<ListenableFuture<Optional<NormalizedNode>>> reader) {
+        return cache.read(store, path, fields, () -> {
+            reads.incrementAndGet();
+            return reader.get();
+        });
+    }
+
+    private static ListenableFuture<Optional<NormalizedNode>> readData() {
+        return Futures.immediateFuture(DATA);
+    }
+}
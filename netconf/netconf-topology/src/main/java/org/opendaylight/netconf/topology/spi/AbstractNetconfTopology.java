@@ -24,6 +24,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.aaa.encrypt.AAAEncryptionService;
 import org.opendaylight.controller.config.threadpool.ScheduledThreadPool;
 import org.opendaylight.controller.config.threadpool.ThreadPool;
@@ -50,21 +51,26 @@ import org.opendaylight.netconf.sal.connect.netconf.SchemalessNetconfDevice;
 import org.opendaylight.netconf.sal.connect.netconf.auth.DatastoreBackedPublicKeyAuth;
 import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfDeviceCapabilities;
 import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfDeviceCommunicator;
+import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfDeviceCommunicatorOptions;
 import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfSessionPreferences;
 import org.opendaylight.netconf.sal.connect.netconf.listener.UserPreferences;
 import org.opendaylight.netconf.sal.connect.netconf.sal.KeepaliveSalFacade;
+import org.opendaylight.netconf.sal.connect.netconf.sal.KeepaliveSalFacade.Probe;
 import org.opendaylight.netconf.sal.connect.netconf.sal.NetconfKeystoreAdapter;
 import org.opendaylight.netconf.sal.connect.netconf.schema.YangLibrarySchemaYangSourceProvider;
 import org.opendaylight.netconf.sal.connect.netconf.schema.mapping.BaseNetconfSchemas;
 import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
 import org.opendaylight.netconf.sal.connect.util.SslHandlerFactoryImpl;
 import org.opendaylight.netconf.topology.api.NetconfTopology;
+import org.opendaylight.netconf.topology.spi.ConnectionScheduler.Admission;
+import org.opendaylight.netconf.topology.spi.ConnectionScheduler.Priority;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.Host;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.IetfInetUtil;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.IpAddress;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.Uri;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.optional.rev190614.NetconfNodeAugmentedOptional;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.NetconfNode;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.NetconfNodeConnectionParameters.KeepaliveProbe;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.connection.parameters.Protocol;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.connection.parameters.Protocol.Name;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.netconf.node.connection.status.available.capabilities.AvailableCapability.CapabilityOrigin;
@@ -95,6 +101,7 @@ public abstract class AbstractNetconfTopology implements NetconfTopology {
     private final NetconfKeystoreAdapter keystoreAdapter;
     private final SchemaResourceManager schemaManager;
     private final BaseNetconfSchemas baseSchemas;
+    private final ConnectionScheduler connectionScheduler;
 
     protected final ScheduledThreadPool keepaliveExecutor;
     protected final ListeningExecutorService processingExecutor;
@@ -124,6 +131,7 @@ public abstract class AbstractNetconfTopology implements NetconfTopology {
         this.mountPointService = mountPointService;
         this.encryptionService = encryptionService;
         this.baseSchemas = requireNonNull(baseSchemas);
+        this.connectionScheduler = new ConnectionScheduler(eventExecutor);
 
         this.keystoreAdapter = new NetconfKeystoreAdapter(dataBroker);
     }
@@ -170,25 +178,33 @@ public abstract class AbstractNetconfTopology implements NetconfTopology {
         requireNonNull(netconfNode.getHost());
         requireNonNull(netconfNode.getPort());
 
-        final NetconfConnectorDTO deviceCommunicatorDTO = createDeviceCommunicator(nodeId, netconfNode, nodeOptional);
+        final Admission admission = connectionScheduler.newAdmission(nodeId.getValue(),
+            getConnectionPriority(netconfNode));
+        final NetconfConnectorDTO deviceCommunicatorDTO = createDeviceCommunicator(nodeId, netconfNode, nodeOptional,
+            admission);
         final NetconfDeviceCommunicator deviceCommunicator = deviceCommunicatorDTO.getCommunicator();
         final NetconfClientSessionListener netconfClientSessionListener = deviceCommunicatorDTO.getSessionListener();
         final NetconfReconnectingClientConfiguration clientConfig =
-                getClientConfig(netconfClientSessionListener, netconfNode, nodeId);
-        final ListenableFuture<NetconfDeviceCapabilities> future =
-                deviceCommunicator.initializeRemoteConnection(clientDispatcher, clientConfig);
+                getClientConfig(netconfClientSessionListener, netconfNode, nodeId, admission);
 
         activeConnectors.put(nodeId, deviceCommunicatorDTO);
 
+        // Handshake starts only once the scheduler admits the connection. Closing the connector withdraws it.
+        final ListenableFuture<NetconfDeviceCapabilities> future = Futures.transformAsync(admission.admit(),
+            ignored -> deviceCommunicator.initializeRemoteConnection(clientDispatcher, clientConfig),
+            MoreExecutors.directExecutor());
+
         Futures.addCallback(future, new FutureCallback<NetconfDeviceCapabilities>() {
             @Override
             public void onSuccess(final NetconfDeviceCapabilities result) {
                 LOG.debug("Connector for {} started succesfully", nodeId.getValue());
+                admission.sessionUp();
             }
 
             @Override
             public void onFailure(final Throwable throwable) {
                 LOG.error("Connector for {} failed", nodeId.getValue(), throwable);
+                admission.fail(throwable);
                 // remove this node from active connectors?
             }
         }, MoreExecutors.directExecutor());
@@ -202,6 +218,11 @@ public abstract class AbstractNetconfTopology implements NetconfTopology {
 
     protected NetconfConnectorDTO createDeviceCommunicator(final NodeId nodeId, final NetconfNode node,
             final NetconfNodeAugmentedOptional nodeOptional) {
+        return createDeviceCommunicator(nodeId, node, nodeOptional, null);
+    }
+
+    private NetconfConnectorDTO createDeviceCommunicator(final NodeId nodeId, final NetconfNode node,
+            final NetconfNodeAugmentedOptional nodeOptional, final @Nullable Admission admission) {
         final Host host = node.getHost();
         final IpAddress ipAddress = host.getIpAddress();
         final InetSocketAddress address;
@@ -216,10 +237,14 @@ public abstract class AbstractNetconfTopology implements NetconfTopology {
 
         final long keepaliveDelay = node.requireKeepaliveDelay().toJava();
         RemoteDeviceHandler<NetconfSessionPreferences> salFacade = createSalFacade(remoteDeviceId);
+        if (admission != null) {
+            salFacade = new AdmissionSalFacade(salFacade, admission);
+        }
         if (keepaliveDelay > 0) {
             LOG.info("Adding keepalive facade, for device {}", nodeId);
-            salFacade = new KeepaliveSalFacade(remoteDeviceId, salFacade, this.keepaliveExecutor.getExecutor(),
-                    keepaliveDelay, node.requireDefaultRequestTimeoutMillis().toJava());
+            salFacade = new KeepaliveSalFacade(remoteDeviceId, salFacade, keepaliveExecutor.getExecutor(),
+                    keepaliveDelay, node.requireDefaultRequestTimeoutMillis().toJava(),
+                    node.getKeepaliveProbe() == KeepaliveProbe.Transport ? Probe.TRANSPORT : Probe.RPC);
         }
 
         final RemoteDevice<NetconfSessionPreferences, NetconfMessage, NetconfDeviceCommunicator> device;
@@ -251,10 +276,12 @@ public abstract class AbstractNetconfTopology implements NetconfTopology {
             LOG.info("Concurrent rpc limit is smaller than 1, no limit will be enforced for device {}", remoteDeviceId);
         }
 
-        final NetconfDeviceCommunicator netconfDeviceCommunicator =
-             userCapabilities.isPresent() ? new NetconfDeviceCommunicator(remoteDeviceId, device,
-                     userCapabilities.get(), rpcMessageLimit)
-            : new NetconfDeviceCommunicator(remoteDeviceId, device, rpcMessageLimit);
+        final NetconfDeviceCommunicator netconfDeviceCommunicator = new NetconfDeviceCommunicator(remoteDeviceId,
+            device, userCapabilities, rpcMessageLimit, NetconfDeviceCommunicatorOptions.builder()
+                .withOutOfOrderReplies(Boolean.TRUE.equals(node.getOutOfOrderReplies()))
+                .withExiReplySizeThreshold(node.getExiReplySizeThreshold() == null ? 0
+                    : node.getExiReplySizeThreshold().toJava())
+                .build());
 
         if (salFacade instanceof KeepaliveSalFacade) {
             ((KeepaliveSalFacade)salFacade).setListener(netconfDeviceCommunicator);
@@ -296,6 +323,44 @@ public abstract class AbstractNetconfTopology implements NetconfTopology {
         return List.of();
     }
 
+    /**
+     * Returns the priority with which connections to a node are admitted by the {@link ConnectionScheduler}.
+     *
+     * @param node Node configuration
+     * @return Connection priority
+     */
+    protected Priority getConnectionPriority(final NetconfNode node) {
+        return ConnectionScheduler.priorityOf(node);
+    }
+
+    protected final ConnectionScheduler getConnectionScheduler() {
+        return connectionScheduler;
+    }
+
+    /**
+     * Sets the maximum number of connections being established at the same time from configuration file using
+     * blueprint.
+     */
+    public void setMaxConcurrentConnections(final int maxConcurrentConnections) {
+        connectionScheduler.setMaxConnections(maxConcurrentConnections);
+    }
+
+    /**
+     * Sets the upper bound of the random delay of connection starts during mass onboarding from configuration file
+     * using blueprint.
+     */
+    public void setConnectionJitterMillis(final long connectionJitterMillis) {
+        connectionScheduler.setJitterMillis(connectionJitterMillis);
+    }
+
+    /**
+     * Sets the time after which a connection which has not been mounted stops counting towards the limit of
+     * concurrent connections from configuration file using blueprint.
+     */
+    public void setConnectionAdmissionTimeoutMillis(final long connectionAdmissionTimeoutMillis) {
+        connectionScheduler.setAdmissionTimeoutMillis(connectionAdmissionTimeoutMillis);
+    }
+
     /**
      * Sets the private key path from location specified in configuration file using blueprint.
      */
@@ -314,9 +379,17 @@ public abstract class AbstractNetconfTopology implements NetconfTopology {
     public NetconfReconnectingClientConfiguration getClientConfig(final NetconfClientSessionListener listener,
                                                                   final NetconfNode node,
                                                                   final NodeId nodeId) {
-        final ReconnectStrategyFactory sf = new TimedReconnectStrategyFactory(eventExecutor,
+        return getClientConfig(listener, node, nodeId, null);
+    }
+
+    private NetconfReconnectingClientConfiguration getClientConfig(final NetconfClientSessionListener listener,
+            final NetconfNode node, final NodeId nodeId, final @Nullable Admission admission) {
+        final ReconnectStrategyFactory timedFactory = new TimedReconnectStrategyFactory(eventExecutor,
                 node.requireMaxConnectionAttempts().toJava(), node.requireBetweenAttemptsTimeoutMillis().toJava(),
                 node.requireSleepFactor());
+        // Reconnects after the session has been lost are admitted like the initial connection
+        final ReconnectStrategyFactory sf = admission == null ? timedFactory
+            : admission.reconnectStrategyFactory(timedFactory);
         final NetconfReconnectingClientConfigurationBuilder reconnectingClientConfigurationBuilder;
         final Protocol protocol = node.getProtocol();
         if (node.requireTcpOnly()) {
@@ -339,6 +412,12 @@ public abstract class AbstractNetconfTopology implements NetconfTopology {
             reconnectingClientConfigurationBuilder
                     .withOdlHelloCapabilities(node.getOdlHelloMessageCapabilities().getCapability());
         }
+        if (node.getMaximumChunkSize() != null) {
+            reconnectingClientConfigurationBuilder.withMaximumChunkSize(node.getMaximumChunkSize().intValue());
+        }
+        if (node.getMaximumMessageSize() != null) {
+            reconnectingClientConfigurationBuilder.withMaximumMessageSize(node.getMaximumMessageSize().intValue());
+        }
 
         return reconnectingClientConfigurationBuilder
                 .withNodeId(nodeId.getValue())
@@ -347,6 +426,9 @@ public abstract class AbstractNetconfTopology implements NetconfTopology {
                 .withReconnectStrategy(sf.createReconnectStrategy())
                 .withConnectStrategyFactory(sf)
                 .withSessionListener(listener)
+                .withLazyMessageParsing(Boolean.TRUE.equals(node.getLazyMessageParsing()))
+                .withPrettyPrintMessages(Boolean.TRUE.equals(node.getPrettyPrintMessages()))
+                .withDeferredExiNegotiation(node.getExiReplySizeThreshold() != null)
                 .build();
     }
 
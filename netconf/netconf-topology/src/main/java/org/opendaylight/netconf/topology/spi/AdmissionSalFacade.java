@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2022 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.topology.spi;
+
+import static java.util.Objects.requireNonNull;
+
+import org.opendaylight.mdsal.dom.api.DOMActionService;
+import org.opendaylight.mdsal.dom.api.DOMNotification;
+import org.opendaylight.mdsal.dom.api.DOMRpcService;
+import org.opendaylight.netconf.sal.connect.api.RemoteDeviceHandler;
+import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfSessionPreferences;
+import org.opendaylight.netconf.topology.spi.ConnectionScheduler.Admission;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.NetconfNode;
+import org.opendaylight.yangtools.rfc8528.data.api.MountPointContext;
+
+/**
+ * Facade reporting progress of device onboarding to an {@link Admission}, so that its slot is released once the device
+ * is mounted or has failed.
+ */
+public final class AdmissionSalFacade implements RemoteDeviceHandler<NetconfSessionPreferences> {
+    private final RemoteDeviceHandler<NetconfSessionPreferences> delegate;
+    private final Admission admission;
+
+    public AdmissionSalFacade(final RemoteDeviceHandler<NetconfSessionPreferences> delegate,
+            final Admission admission) {
+        this.delegate = requireNonNull(delegate);
+        this.admission = requireNonNull(admission);
+    }
+
+    @Override
+    public void onDeviceConnected(final MountPointContext remoteSchemaContext,
+            final NetconfSessionPreferences netconfSessionPreferences, final DOMRpcService deviceRpc) {
+        admission.mountStarted();
+        try {
+            delegate.onDeviceConnected(remoteSchemaContext, netconfSessionPreferences, deviceRpc);
+        } finally {
+            admission.complete();
+        }
+    }
+
+    @Override
+    public void onDeviceConnected(final MountPointContext mountContext,
+            final NetconfSessionPreferences netconfSessionPreferences, final DOMRpcService deviceRpc,
+            final DOMActionService deviceAction) {
+        admission.mountStarted();
+        try {
+            delegate.onDeviceConnected(mountContext, netconfSessionPreferences, deviceRpc, deviceAction);
+        } finally {
+            admission.complete();
+        }
+    }
+
+    @Override
+    public void onDeviceReconnected(final NetconfSessionPreferences netconfSessionPreferences,
+            final NetconfNode node) {
+        delegate.onDeviceReconnected(netconfSessionPreferences, node);
+    }
+
+    @Override
+    public void onDeviceDisconnected() {
+        admission.fail(new IllegalStateException("Device disconnected before it was mounted"));
+        delegate.onDeviceDisconnected();
+    }
+
+    @Override
+    public void onDeviceFailed(final Throwable throwable) {
+        admission.fail(throwable);
+        delegate.onDeviceFailed(throwable);
+    }
+
+    @Override
+    public void onNotification(final DOMNotification domNotification) {
+        delegate.onNotification(domNotification);
+    }
+
+    @Override
+    public void close() {
+        admission.close();
+        delegate.close();
+    }
+}
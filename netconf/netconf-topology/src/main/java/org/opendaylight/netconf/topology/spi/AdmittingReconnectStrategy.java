@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2022 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.topology.spi;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.MoreExecutors;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.ImmediateEventExecutor;
+import io.netty.util.concurrent.Promise;
+import org.opendaylight.netconf.nettyutil.ReconnectStrategy;
+import org.opendaylight.netconf.topology.spi.ConnectionScheduler.Admission;
+
+/**
+ * Reconnect strategy which makes a connection re-established after it has been lost wait for its {@link Admission}.
+ * Everything else is left to the delegate strategy.
+ */
+final class AdmittingReconnectStrategy implements ReconnectStrategy {
+    private final ReconnectStrategy delegate;
+    private final Admission admission;
+
+    AdmittingReconnectStrategy(final ReconnectStrategy delegate, final Admission admission) {
+        this.delegate = requireNonNull(delegate);
+        this.admission = requireNonNull(admission);
+    }
+
+    @Override
+    public int getConnectTimeout() throws Exception {
+        return delegate.getConnectTimeout();
+    }
+
+    @Override
+    public Future<Void> scheduleReconnect(final Throwable cause) {
+        return delegate.scheduleReconnect(cause);
+    }
+
+    @Override
+    public Future<Void> scheduleSessionReconnect() {
+        final Promise<Void> promise = ImmediateEventExecutor.INSTANCE.newPromise();
+        delegate.scheduleSessionReconnect().addListener(scheduled -> {
+            if (scheduled.isSuccess()) {
+                admit(promise);
+            } else {
+                promise.tryFailure(scheduled.cause());
+            }
+        });
+        return promise;
+    }
+
+    private void admit(final Promise<Void> promise) {
+        Futures.addCallback(admission.admit(), new FutureCallback<Void>() {
+            @Override
+            public void onSuccess(final Void result) {
+                promise.trySuccess(null);
+            }
+
+            @Override
+            public void onFailure(final Throwable cause) {
+                promise.tryFailure(cause);
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
+    @Override
+    public void reconnectSuccessful() {
+        delegate.reconnectSuccessful();
+    }
+}
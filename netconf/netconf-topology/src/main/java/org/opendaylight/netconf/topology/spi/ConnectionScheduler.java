@@ -0,0 +1,505 @@
+/*
+ * Copyright (c) 2022 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.topology.spi;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.checkerframework.checker.lock.qual.GuardedBy;
+import org.checkerframework.checker.lock.qual.Holding;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.netconf.nettyutil.ReconnectStrategyFactory;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.NetconfNode;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.NetconfNodeConnectionParameters.ConnectionPriority;
+import org.opendaylight.yangtools.concepts.AbstractRegistration;
+import org.opendaylight.yangtools.concepts.Registration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Admission control for connections to devices. It bounds the number of connections which are being established at
+ * the same time, so that writing a large number of nodes does not result in all of them competing for the processing
+ * executor and timing out their handshakes. A connection holds its slot from admission until it is either mounted or
+ * fails, or until the admission timeout expires. A connection which is re-established after it has been lost is
+ * admitted again, see {@link Admission#reconnectStrategyFactory(ReconnectStrategyFactory)}.
+ *
+ * <p>
+ * Waiting connections are admitted in order of their {@link Priority}, and in order of arrival within a priority.
+ * Connections admitted while other connections are in progress start after a random delay bounded by the configured
+ * jitter, so that handshakes of a large batch are spread out rather than started in lockstep.
+ */
+public final class ConnectionScheduler implements ConnectionSchedulerMXBean {
+    /**
+     * Priority of a connection.
+     */
+    public enum Priority {
+        /**
+         * Admitted immediately without delay and without taking a slot, for sessions which have already been
+         * established by the device.
+         */
+        IMMEDIATE,
+        HIGH,
+        NORMAL,
+        LOW
+    }
+
+    public static final int DEFAULT_MAX_CONNECTIONS = 64;
+    public static final long DEFAULT_JITTER_MILLIS = 1000;
+    public static final long DEFAULT_ADMISSION_TIMEOUT_MILLIS = 120_000;
+
+    private static final Logger LOG = LoggerFactory.getLogger(ConnectionScheduler.class);
+
+    private enum State {
+        NEW,
+        QUEUED,
+        STARTING,
+        HANDSHAKE,
+        SCHEMA,
+        MOUNT,
+        DONE
+    }
+
+    /**
+     * Admission of a connection. Its owner reports progress of the current connection attempt, so that the slot is
+     * released once the connection has been mounted or has failed. Once an attempt is done, the connection can be
+     * admitted again, until the admission is closed.
+     */
+    public final class Admission implements AutoCloseable {
+        private final @NonNull String name;
+        private final @NonNull Priority priority;
+
+        @GuardedBy("ConnectionScheduler.this")
+        private SettableFuture<Void> admitted = SettableFuture.create();
+        @GuardedBy("ConnectionScheduler.this")
+        private State state = State.NEW;
+        @GuardedBy("ConnectionScheduler.this")
+        private boolean closed;
+        @GuardedBy("ConnectionScheduler.this")
+        private boolean holdsSlot;
+        @GuardedBy("ConnectionScheduler.this")
+        private ScheduledFuture<?> timeout;
+
+        Admission(final String name, final Priority priority) {
+            this.name = requireNonNull(name);
+            this.priority = requireNonNull(priority);
+        }
+
+        /**
+         * Request admission of a connection attempt. If an attempt is already admitted and has not finished yet, this
+         * method returns the future of that attempt.
+         *
+         * @return Future completing once the connection may start, or cancelled if this admission is closed before
+         */
+        public @NonNull ListenableFuture<Void> admit() {
+            final ListenableFuture<Void> future;
+            synchronized (ConnectionScheduler.this) {
+                if (closed) {
+                    return Futures.immediateCancelledFuture();
+                }
+                if (state != State.NEW && state != State.DONE) {
+                    return admitted;
+                }
+                if (state == State.DONE) {
+                    admitted = SettableFuture.create();
+                }
+                future = admitted;
+                if (priority == Priority.IMMEDIATE) {
+                    transition(this, State.STARTING);
+                } else {
+                    transition(this, State.QUEUED);
+                    queues.get(priority).add(this);
+                }
+            }
+
+            if (priority == Priority.IMMEDIATE) {
+                start(this);
+            } else {
+                dispatch();
+            }
+            return future;
+        }
+
+        /**
+         * Wrap a reconnect strategy factory, so that a connection re-established after it has been lost waits for
+         * admission like the initial connection did.
+         *
+         * @param delegate Factory of strategies to wrap
+         * @return A factory of strategies which admit reconnects
+         */
+        public @NonNull ReconnectStrategyFactory reconnectStrategyFactory(final ReconnectStrategyFactory delegate) {
+            requireNonNull(delegate);
+            return () -> new AdmittingReconnectStrategy(delegate.createReconnectStrategy(), this);
+        }
+
+        /**
+         * Report that the NETCONF session has been established and device schema setup has started.
+         */
+        public void sessionUp() {
+            synchronized (ConnectionScheduler.this) {
+                if (state == State.HANDSHAKE) {
+                    transition(this, State.SCHEMA);
+                }
+            }
+        }
+
+        /**
+         * Report that mount point registration has started.
+         */
+        public void mountStarted() {
+            synchronized (ConnectionScheduler.this) {
+                if (state == State.HANDSHAKE || state == State.SCHEMA) {
+                    transition(this, State.MOUNT);
+                }
+            }
+        }
+
+        /**
+         * Report that the device has been mounted.
+         */
+        public void complete() {
+            synchronized (ConnectionScheduler.this) {
+                if (!finish()) {
+                    return;
+                }
+                completed++;
+            }
+            LOG.debug("{}: Connection completed", name);
+            dispatch();
+        }
+
+        /**
+         * Report that the connection has failed.
+         *
+         * @param cause Failure cause
+         */
+        public void fail(final Throwable cause) {
+            synchronized (ConnectionScheduler.this) {
+                if (!finish()) {
+                    return;
+                }
+                failed++;
+            }
+            LOG.debug("{}: Connection failed", name, cause);
+            dispatch();
+        }
+
+        /**
+         * Withdraw this admission, for example because the node has been removed.
+         */
+        @Override
+        public void close() {
+            final SettableFuture<Void> future;
+            synchronized (ConnectionScheduler.this) {
+                closed = true;
+                if (state == State.QUEUED) {
+                    queues.get(priority).remove(this);
+                }
+                future = admitted;
+            }
+            if (finish()) {
+                dispatch();
+            }
+            future.cancel(false);
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+
+        private boolean finish() {
+            synchronized (ConnectionScheduler.this) {
+                if (state == State.DONE) {
+                    return false;
+                }
+                transition(this, State.DONE);
+                if (timeout != null) {
+                    timeout.cancel(false);
+                    timeout = null;
+                }
+                releaseSlot(this);
+                return true;
+            }
+        }
+    }
+
+    @GuardedBy("this")
+    private final Map<Priority, Deque<Admission>> queues = new EnumMap<>(Priority.class);
+    @GuardedBy("this")
+    private final int[] counts = new int[State.values().length];
+    private final ScheduledExecutorService executor;
+
+    private volatile int maxConnections = DEFAULT_MAX_CONNECTIONS;
+    private volatile long jitterMillis = DEFAULT_JITTER_MILLIS;
+    private volatile long admissionTimeoutMillis = DEFAULT_ADMISSION_TIMEOUT_MILLIS;
+
+    @GuardedBy("this")
+    private int active;
+    @GuardedBy("this")
+    private long admittedCount;
+    @GuardedBy("this")
+    private long completed;
+    @GuardedBy("this")
+    private long failed;
+    @GuardedBy("this")
+    private long timedOut;
+
+    public ConnectionScheduler(final ScheduledExecutorService executor) {
+        this.executor = requireNonNull(executor);
+        for (Priority priority : Priority.values()) {
+            queues.put(priority, new ArrayDeque<>());
+        }
+    }
+
+    /**
+     * Create an admission for a connection attempt.
+     *
+     * @param name Name of the connection, used for logging
+     * @param priority Priority of the connection
+     * @return A new admission
+     */
+    public @NonNull Admission newAdmission(final String name, final Priority priority) {
+        return new Admission(name, priority);
+    }
+
+    /**
+     * Returns the priority configured for connections to a node.
+     *
+     * @param node Node configuration
+     * @return Connection priority, {@link Priority#NORMAL} if none is configured
+     */
+    public static @NonNull Priority priorityOf(final NetconfNode node) {
+        final ConnectionPriority priority = node.getConnectionPriority();
+        if (priority == null) {
+            return Priority.NORMAL;
+        }
+        switch (priority) {
+            case High:
+                return Priority.HIGH;
+            case Low:
+                return Priority.LOW;
+            default:
+                return Priority.NORMAL;
+        }
+    }
+
+    public void setMaxConnections(final int maxConnections) {
+        checkArgument(maxConnections > 0, "Invalid connection limit %s", maxConnections);
+        this.maxConnections = maxConnections;
+        dispatch();
+    }
+
+    public void setJitterMillis(final long jitterMillis) {
+        checkArgument(jitterMillis >= 0, "Invalid jitter %s", jitterMillis);
+        this.jitterMillis = jitterMillis;
+    }
+
+    public void setAdmissionTimeoutMillis(final long admissionTimeoutMillis) {
+        checkArgument(admissionTimeoutMillis > 0, "Invalid admission timeout %s", admissionTimeoutMillis);
+        this.admissionTimeoutMillis = admissionTimeoutMillis;
+    }
+
+    /**
+     * Register this scheduler with the platform MBean server.
+     *
+     * @param topologyId Identifier of the topology this scheduler belongs to
+     * @return Registration, which needs to be closed to unregister the bean
+     */
+    public @NonNull Registration registerMBean(final String topologyId) {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName objectName;
+        try {
+            objectName = new ObjectName("org.opendaylight.netconf.topology:type=ConnectionScheduler,name="
+                + ObjectName.quote(topologyId));
+            server.registerMBean(this, objectName);
+        } catch (JMException e) {
+            LOG.warn("Failed to register connection scheduler of topology {}", topologyId, e);
+            return new AbstractRegistration() {
+                @Override
+                protected void removeRegistration() {
+                    // Nothing to do
+                }
+            };
+        }
+
+        return new AbstractRegistration() {
+            @Override
+            protected void removeRegistration() {
+                try {
+                    server.unregisterMBean(objectName);
+                } catch (JMException e) {
+                    LOG.warn("Failed to unregister connection scheduler of topology {}", topologyId, e);
+                }
+            }
+        };
+    }
+
+    @Override
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    @Override
+    public synchronized int getQueued() {
+        return counts[State.QUEUED.ordinal()];
+    }
+
+    @Override
+    public synchronized int getStarting() {
+        return counts[State.STARTING.ordinal()];
+    }
+
+    @Override
+    public synchronized int getHandshakesInProgress() {
+        return counts[State.HANDSHAKE.ordinal()];
+    }
+
+    @Override
+    public synchronized int getSchemaSetupsInProgress() {
+        return counts[State.SCHEMA.ordinal()];
+    }
+
+    @Override
+    public synchronized int getMountRegistrationsInProgress() {
+        return counts[State.MOUNT.ordinal()];
+    }
+
+    @Override
+    public synchronized long getAdmitted() {
+        return admittedCount;
+    }
+
+    @Override
+    public synchronized long getCompleted() {
+        return completed;
+    }
+
+    @Override
+    public synchronized long getFailed() {
+        return failed;
+    }
+
+    @Override
+    public synchronized long getTimedOut() {
+        return timedOut;
+    }
+
+    @Holding("this")
+    private void transition(final Admission admission, final State newState) {
+        if (admission.state != State.NEW && admission.state != State.DONE) {
+            counts[admission.state.ordinal()]--;
+        }
+        if (newState != State.DONE) {
+            counts[newState.ordinal()]++;
+        }
+        if (newState == State.STARTING) {
+            admittedCount++;
+        }
+        admission.state = newState;
+    }
+
+    @Holding("this")
+    private void releaseSlot(final Admission admission) {
+        if (admission.holdsSlot) {
+            admission.holdsSlot = false;
+            active--;
+        }
+    }
+
+    private void dispatch() {
+        final List<Admission> granted = new ArrayList<>();
+        final boolean busy;
+        synchronized (this) {
+            // Ramp-up jitter applies only if other connections are in progress or waiting
+            busy = active > 0 || counts[State.QUEUED.ordinal()] > 1;
+            while (active < maxConnections) {
+                final Admission next = pollQueued();
+                if (next == null) {
+                    break;
+                }
+                active++;
+                next.holdsSlot = true;
+                transition(next, State.STARTING);
+                granted.add(next);
+            }
+        }
+
+        final long jitter = jitterMillis;
+        for (Admission admission : granted) {
+            final long delay = busy || granted.size() > 1 ? ThreadLocalRandom.current().nextLong(jitter + 1) : 0;
+            if (delay == 0) {
+                start(admission);
+            } else {
+                LOG.debug("{}: Connection admitted, starting in {}ms", admission, delay);
+                executor.schedule(() -> start(admission), delay, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    @Holding("this")
+    private Admission pollQueued() {
+        for (Deque<Admission> queue : queues.values()) {
+            final Admission next = queue.poll();
+            if (next != null) {
+                return next;
+            }
+        }
+        return null;
+    }
+
+    private void start(final Admission admission) {
+        final SettableFuture<Void> future;
+        synchronized (this) {
+            if (admission.state != State.STARTING) {
+                // Closed while waiting for its start
+                return;
+            }
+            transition(admission, State.HANDSHAKE);
+            if (admission.holdsSlot) {
+                admission.timeout = executor.schedule(() -> timeout(admission), admissionTimeoutMillis,
+                    TimeUnit.MILLISECONDS);
+            }
+            future = admission.admitted;
+        }
+        future.set(null);
+    }
+
+    private void timeout(final Admission admission) {
+        synchronized (this) {
+            if (admission.state == State.DONE || !admission.holdsSlot) {
+                return;
+            }
+            // The attempt is no longer tracked, so it is not counted as in progress. Its completion or failure is not
+            // counted either.
+            admission.timeout = null;
+            transition(admission, State.DONE);
+            releaseSlot(admission);
+            timedOut++;
+        }
+        LOG.info("{}: Connection did not complete within {}ms, admitting other connections", admission,
+            admissionTimeoutMillis);
+        dispatch();
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2022 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.topology.spi;
+
+/**
+ * Management interface of a {@link ConnectionScheduler}.
+ */
+public interface ConnectionSchedulerMXBean {
+    /**
+     * Return the maximum number of connections being established at the same time.
+     *
+     * @return Maximum number of connections
+     */
+    int getMaxConnections();
+
+    /**
+     * Return the number of connections waiting for admission.
+     *
+     * @return Number of queued connections
+     */
+    int getQueued();
+
+    /**
+     * Return the number of admitted connections which have not started their handshake yet, due to ramp-up jitter.
+     *
+     * @return Number of delayed connections
+     */
+    int getStarting();
+
+    /**
+     * Return the number of connections performing their transport and NETCONF handshake.
+     *
+     * @return Number of handshakes in progress
+     */
+    int getHandshakesInProgress();
+
+    /**
+     * Return the number of connections setting up their device schema.
+     *
+     * @return Number of schema setups in progress
+     */
+    int getSchemaSetupsInProgress();
+
+    /**
+     * Return the number of connections registering their mount point.
+     *
+     * @return Number of mount point registrations in progress
+     */
+    int getMountRegistrationsInProgress();
+
+    /**
+     * Return the total number of admitted connections.
+     *
+     * @return Number of admitted connections
+     */
+    long getAdmitted();
+
+    /**
+     * Return the total number of connections which were established and mounted.
+     *
+     * @return Number of completed connections
+     */
+    long getCompleted();
+
+    /**
+     * Return the total number of connections which failed before being mounted.
+     *
+     * @return Number of failed connections
+     */
+    long getFailed();
+
+    /**
+     * Return the total number of connections which did not complete within the admission timeout. Such connections
+     * continue in the background, but no longer count towards the limit.
+     *
+     * @return Number of timed out connections
+     */
+    long getTimedOut();
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) 2022 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.topology.spi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.verify;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.opendaylight.netconf.topology.spi.ConnectionScheduler.Admission;
+import org.opendaylight.netconf.topology.spi.ConnectionScheduler.Priority;
+
+@RunWith(MockitoJUnitRunner.StrictStubs.class)
+public class ConnectionSchedulerTest {
+    @Mock
+    private ScheduledExecutorService executor;
+    @Mock
+    private ScheduledFuture<?> scheduledFuture;
+
+    private ConnectionScheduler scheduler;
+
+    @Before
+    public void before() {
+        doReturn(scheduledFuture).when(executor).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+        scheduler = new ConnectionScheduler(executor);
+        scheduler.setMaxConnections(2);
+        scheduler.setJitterMillis(0);
+    }
+
+    @Test
+    public void testConnectionLimit() {
+        final Admission first = scheduler.newAdmission("first", Priority.NORMAL);
+        final Admission second = scheduler.newAdmission("second", Priority.NORMAL);
+        final Admission third = scheduler.newAdmission("third", Priority.NORMAL);
+
+        assertTrue(first.admit().isDone());
+        assertTrue(second.admit().isDone());
+        final ListenableFuture<Void> thirdAdmitted = third.admit();
+        assertFalse(thirdAdmitted.isDone());
+        assertEquals(2, scheduler.getHandshakesInProgress());
+        assertEquals(1, scheduler.getQueued());
+
+        first.sessionUp();
+        assertEquals(1, scheduler.getSchemaSetupsInProgress());
+        assertFalse(thirdAdmitted.isDone());
+
+        first.mountStarted();
+        assertEquals(1, scheduler.getMountRegistrationsInProgress());
+        first.complete();
+        assertTrue(thirdAdmitted.isDone());
+        assertEquals(0, scheduler.getQueued());
+        assertEquals(2, scheduler.getHandshakesInProgress());
+        assertEquals(0, scheduler.getMountRegistrationsInProgress());
+
+        second.fail(new IllegalStateException("failed"));
+        // Repeated reports have no effect
+        second.fail(new IllegalStateException("failed"));
+        second.complete();
+        third.complete();
+
+        assertEquals(3, scheduler.getAdmitted());
+        assertEquals(2, scheduler.getCompleted());
+        assertEquals(1, scheduler.getFailed());
+        assertEquals(0, scheduler.getHandshakesInProgress());
+    }
+
+    @Test
+    public void testPriorityOrder() {
+        scheduler.setMaxConnections(1);
+        final Admission first = scheduler.newAdmission("first", Priority.NORMAL);
+        final Admission low = scheduler.newAdmission("low", Priority.LOW);
+        final Admission normal = scheduler.newAdmission("normal", Priority.NORMAL);
+        final Admission high = scheduler.newAdmission("high", Priority.HIGH);
+
+        assertTrue(first.admit().isDone());
+        final ListenableFuture<Void> lowAdmitted = low.admit();
+        final ListenableFuture<Void> normalAdmitted = normal.admit();
+        final ListenableFuture<Void> highAdmitted = high.admit();
+
+        first.complete();
+        assertTrue(highAdmitted.isDone());
+        assertFalse(normalAdmitted.isDone());
+
+        high.complete();
+        assertTrue(normalAdmitted.isDone());
+        assertFalse(lowAdmitted.isDone());
+
+        normal.complete();
+        assertTrue(lowAdmitted.isDone());
+    }
+
+    @Test
+    public void testImmediateBypassesLimit() {
+        scheduler.setMaxConnections(1);
+        assertTrue(scheduler.newAdmission("first", Priority.NORMAL).admit().isDone());
+        final Admission callHome = scheduler.newAdmission("call-home", Priority.IMMEDIATE);
+        assertTrue(callHome.admit().isDone());
+        assertEquals(2, scheduler.getHandshakesInProgress());
+
+        final ListenableFuture<Void> queued = scheduler.newAdmission("queued", Priority.HIGH).admit();
+        callHome.complete();
+        assertFalse(queued.isDone());
+    }
+
+    @Test
+    public void testCloseQueued() {
+        scheduler.setMaxConnections(1);
+        final Admission first = scheduler.newAdmission("first", Priority.NORMAL);
+        final Admission second = scheduler.newAdmission("second", Priority.NORMAL);
+        final Admission third = scheduler.newAdmission("third", Priority.NORMAL);
+
+        assertTrue(first.admit().isDone());
+        final ListenableFuture<Void> secondAdmitted = second.admit();
+        final ListenableFuture<Void> thirdAdmitted = third.admit();
+        assertEquals(2, scheduler.getQueued());
+
+        second.close();
+        assertTrue(secondAdmitted.isCancelled());
+        assertEquals(1, scheduler.getQueued());
+
+        first.close();
+        assertTrue(thirdAdmitted.isDone());
+        assertFalse(thirdAdmitted.isCancelled());
+        assertEquals(0, scheduler.getCompleted());
+        assertEquals(0, scheduler.getFailed());
+    }
+
+    @Test
+    public void testAdmissionTimeout() {
+        scheduler.setMaxConnections(1);
+        scheduler.setAdmissionTimeoutMillis(1000);
+        final Admission first = scheduler.newAdmission("first", Priority.NORMAL);
+        assertTrue(first.admit().isDone());
+
+        final ArgumentCaptor<Runnable> timeout = ArgumentCaptor.forClass(Runnable.class);
+        verify(executor).schedule(timeout.capture(), eq(1000L), eq(TimeUnit.MILLISECONDS));
+
+        final ListenableFuture<Void> secondAdmitted = scheduler.newAdmission("second", Priority.NORMAL).admit();
+        assertFalse(secondAdmitted.isDone());
+
+        timeout.getValue().run();
+        assertTrue(secondAdmitted.isDone());
+        assertEquals(1, scheduler.getTimedOut());
+
+        // The timed out connection is no longer tracked, its late completion is ignored
+        assertEquals(1, scheduler.getHandshakesInProgress());
+        first.complete();
+        assertEquals(1, scheduler.getHandshakesInProgress());
+        assertEquals(0, scheduler.getCompleted());
+    }
+
+    @Test
+    public void testReadmission() {
+        scheduler.setMaxConnections(1);
+        final Admission first = scheduler.newAdmission("first", Priority.NORMAL);
+        final Admission second = scheduler.newAdmission("second", Priority.NORMAL);
+        assertTrue(first.admit().isDone());
+        first.complete();
+
+        // The connection was lost and is being re-established, it waits for its slot like any other connection
+        assertTrue(second.admit().isDone());
+        final ListenableFuture<Void> readmitted = first.admit();
+        assertFalse(readmitted.isDone());
+        assertEquals(1, scheduler.getQueued());
+        // Repeated requests share the pending attempt
+        assertEquals(readmitted, first.admit());
+
+        second.fail(new IllegalStateException("failed"));
+        assertTrue(readmitted.isDone());
+        assertEquals(1, scheduler.getHandshakesInProgress());
+        first.complete();
+        assertEquals(0, scheduler.getHandshakesInProgress());
+        assertEquals(3, scheduler.getAdmitted());
+        assertEquals(2, scheduler.getCompleted());
+    }
+
+    @Test
+    public void testAdmitAfterClose() {
+        final Admission admission = scheduler.newAdmission("first", Priority.NORMAL);
+        assertTrue(admission.admit().isDone());
+        admission.close();
+        assertTrue(admission.admit().isCancelled());
+        assertEquals(0, scheduler.getHandshakesInProgress());
+        assertEquals(1, scheduler.getAdmitted());
+    }
+
+    @Test
+    public void testJitterWhenBusy() {
+        scheduler.setJitterMillis(500);
+        final Admission first = scheduler.newAdmission("first", Priority.NORMAL);
+        // Idle scheduler starts the connection right away
+        assertTrue(first.admit().isDone());
+
+        final Admission second = scheduler.newAdmission("second", Priority.NORMAL);
+        final ListenableFuture<Void> secondAdmitted = second.admit();
+        final ArgumentCaptor<Long> delay = ArgumentCaptor.forClass(Long.class);
+        final ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(executor, atLeastOnce()).schedule(task.capture(), delay.capture(), eq(TimeUnit.MILLISECONDS));
+
+        // Anything else than admission timeouts is the delayed start, unless the random delay happened to be zero
+        for (int i = 0; i < delay.getAllValues().size(); ++i) {
+            if (delay.getAllValues().get(i) < ConnectionScheduler.DEFAULT_ADMISSION_TIMEOUT_MILLIS) {
+                assertTrue(delay.getAllValues().get(i) <= 500);
+                assertFalse(secondAdmitted.isDone());
+                assertEquals(1, scheduler.getStarting());
+                task.getAllValues().get(i).run();
+            }
+        }
+        assertTrue(secondAdmitted.isDone());
+        assertEquals(0, scheduler.getStarting());
+    }
+}
@@ -11,7 +11,9 @@ import com.google.common.collect.Collections2;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import javax.xml.namespace.QName;
 import org.opendaylight.netconf.api.DocumentedException;
+import org.opendaylight.netconf.api.LazyNetconfMessage;
 import org.opendaylight.netconf.api.NetconfDocumentedException;
 import org.opendaylight.netconf.api.NetconfMessage;
 import org.opendaylight.netconf.api.xml.XmlElement;
@@ -28,6 +30,12 @@ public final class NetconfMessageUtil {
     }
 
     public static boolean isOKMessage(final NetconfMessage message) throws NetconfDocumentedException {
+        if (message instanceof LazyNetconfMessage) {
+            final List<QName> children = ((LazyNetconfMessage) message).getRootChildren();
+            return children.size() == 1 && XmlNetconfConstants.OK.equals(children.get(0).getLocalPart())
+                && XmlNetconfConstants.URN_IETF_PARAMS_XML_NS_NETCONF_BASE_1_0.equals(
+                    children.get(0).getNamespaceURI());
+        }
         return isOKMessage(message.getDocument());
     }
 
@@ -47,6 +55,13 @@ public final class NetconfMessageUtil {
     }
 
     public static boolean isErrorMessage(final NetconfMessage message) throws NetconfDocumentedException {
+        if (message instanceof LazyNetconfMessage) {
+            final List<QName> children = ((LazyNetconfMessage) message).getRootChildren();
+            // An empty message is reported through the DOM path below
+            if (!children.isEmpty()) {
+                return children.stream().anyMatch(child -> DocumentedException.RPC_ERROR.equals(child.getLocalPart()));
+            }
+        }
         return isErrorMessage(message.getDocument());
     }
 
@@ -10,8 +10,10 @@ package org.opendaylight.netconf.util.messages;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import org.junit.Test;
+import org.opendaylight.netconf.api.LazyNetconfMessage;
 import org.opendaylight.netconf.api.NetconfMessage;
 import org.opendaylight.netconf.util.test.XmlFileLoader;
 
@@ -33,4 +35,15 @@ public class NetconfMessageUtilTest {
         assertTrue(caps.contains("urn:ietf:params:netconf:base:1.0"));
         assertTrue(caps.contains("urn:ietf:params:netconf:base:1.1"));
     }
+
+    @Test
+    public void testLazyOkMessage() throws Exception {
+        assertTrue(NetconfMessageUtil.isOKMessage(LazyNetconfMessage.of(
+            "<rpc-reply xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\"><ok/></rpc-reply>"
+                .getBytes(StandardCharsets.UTF_8))));
+        // an ok element in a foreign namespace is not a success reply
+        assertFalse(NetconfMessageUtil.isOKMessage(LazyNetconfMessage.of(
+            "<rpc-reply xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\"><ok xmlns=\"urn:foo\"/></rpc-reply>"
+                .getBytes(StandardCharsets.UTF_8))));
+    }
 }
@@ -11,17 +11,25 @@ import static java.util.Objects.requireNonNull;
 
 import com.google.common.annotations.Beta;
 import com.google.common.base.Strings;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.File;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.checkerframework.checker.lock.qual.GuardedBy;
 import org.eclipse.jdt.annotation.NonNull;
 import org.opendaylight.netconf.sal.connect.api.SchemaResourceManager;
+import org.opendaylight.netconf.sal.connect.netconf.DeviceSchemaCache;
+import org.opendaylight.netconf.sal.connect.netconf.ModuleSetSnapshots;
 import org.opendaylight.netconf.sal.connect.netconf.NetconfDevice.SchemaResourcesDTO;
 import org.opendaylight.netconf.sal.connect.netconf.NetconfStateSchemasResolverImpl;
+import org.opendaylight.netconf.sal.connect.netconf.schema.SchemaDownloadScheduler;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.netconf.node.topology.rev150114.NetconfNode;
+import org.opendaylight.yangtools.yang.model.repo.api.EffectiveModelContextFactory;
 import org.opendaylight.yangtools.yang.model.repo.api.SchemaContextFactoryConfiguration;
 import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
 import org.opendaylight.yangtools.yang.model.repo.fs.FilesystemSchemaSourceCache;
@@ -32,6 +40,7 @@ import org.opendaylight.yangtools.yang.parser.rfc7950.ir.IRSchemaSource;
 import org.opendaylight.yangtools.yang.parser.rfc7950.repo.TextToIRTransformer;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.RequireServiceComponentRuntime;
 import org.slf4j.Logger;
@@ -46,15 +55,20 @@ import org.slf4j.LoggerFactory;
 @Singleton
 @Component(immediate = true)
 @RequireServiceComponentRuntime
-public final class DefaultSchemaResourceManager implements SchemaResourceManager {
+public final class DefaultSchemaResourceManager implements SchemaResourceManager, AutoCloseable {
     private static final Logger LOG = LoggerFactory.getLogger(DefaultSchemaResourceManager.class);
+    private static final String MODULE_SETS_DIRECTORY = ".module-sets";
 
     @GuardedBy("this")
     private final Map<String, SchemaResourcesDTO> resources = new HashMap<>();
+    // Assembles recorded schemas in the background, one repository at a time
+    private final ExecutorService prewarmExecutor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+        .setNameFormat("netconf-schema-prewarm-%d").setDaemon(true).build());
     private final @NonNull SchemaResourcesDTO defaultResources;
     private final YangParserFactory parserFactory;
     private final String defaultSubdirectory;
     private final String rootDirectory;
+    private final int maxSchemaDownloads;
 
     @Activate
     @Inject
@@ -64,13 +78,27 @@ public final class DefaultSchemaResourceManager implements SchemaResourceManager
 
     public DefaultSchemaResourceManager(final YangParserFactory parserFactory, final String rootDirectory,
             final String defaultSubdirectory) {
+        this(parserFactory, rootDirectory, defaultSubdirectory, SchemaDownloadScheduler.DEFAULT_MAX_DOWNLOADS);
+    }
+
+    public DefaultSchemaResourceManager(final YangParserFactory parserFactory, final String rootDirectory,
+            final String defaultSubdirectory, final int maxSchemaDownloads) {
         this.parserFactory = requireNonNull(parserFactory);
+        this.maxSchemaDownloads = maxSchemaDownloads;
         this.rootDirectory = requireNonNull(rootDirectory);
         this.defaultSubdirectory = requireNonNull(defaultSubdirectory);
         this.defaultResources = createResources(defaultSubdirectory);
         LOG.info("Schema Resource Manager instantiated on {}/{}", rootDirectory, defaultSubdirectory);
     }
 
+    @Deactivate
+    @PreDestroy
+    @Override
+    public void close() {
+        prewarmExecutor.shutdownNow();
+        LOG.info("Schema Resource Manager stopped");
+    }
+
     @Override
     public SchemaResourcesDTO getSchemaResources(final NetconfNode node, final Object nodeId) {
         final String subdir = node.getSchemaCacheDirectory();
@@ -121,11 +149,21 @@ public final class DefaultSchemaResourceManager implements SchemaResourceManager
         // Attach the filesystem cache, providing persistence capability, so that restarts do not require us to
         // re-populate the cache. This also acts as a side-load capability, as anything pre-populated into that
         // directory will not be fetched from the device.
+        final File directory = new File(rootDirectory + File.separator + subdir);
         repository.registerSchemaSourceListener(new FilesystemSchemaSourceCache<>(repository,
-                YangTextSchemaSource.class, new File(rootDirectory + File.separator + subdir)));
+                YangTextSchemaSource.class, directory));
+
+        // Remember which module sets were assembled completely, so that after a restart devices advertising them
+        // skip source verification and their schemas are rebuilt in the background before the devices connect.
+        final EffectiveModelContextFactory factory =
+            repository.createEffectiveModelContextFactory(SchemaContextFactoryConfiguration.getDefault());
+        final DeviceSchemaCache schemaCache = new DeviceSchemaCache(
+            new ModuleSetSnapshots(directory.toPath().resolve(MODULE_SETS_DIRECTORY)));
+        schemaCache.prewarm(factory, prewarmExecutor);
 
-        return new SchemaResourcesDTO(repository, repository,
-            repository.createEffectiveModelContextFactory(SchemaContextFactoryConfiguration.getDefault()),
-            new NetconfStateSchemasResolverImpl());
+        // Downloads from devices are deduplicated and bounded per repository, as sources are identified only by name
+        // and revision within a repository
+        return new SchemaResourcesDTO(repository, repository, factory, new NetconfStateSchemasResolverImpl(),
+            schemaCache, new SchemaDownloadScheduler(maxSchemaDownloads));
     }
 }
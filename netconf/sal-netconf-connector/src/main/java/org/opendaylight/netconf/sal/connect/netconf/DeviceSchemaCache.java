@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2022 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.sal.connect.netconf;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableSet;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.netconf.sal.connect.netconf.schema.mapping.MessageTransformerContext;
+import org.opendaylight.yangtools.rfc8528.data.util.EmptyMountPointContext;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.model.repo.api.EffectiveModelContextFactory;
+import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cache of schema state shared by devices which advertise the same set of sources. It is keyed by the set of
+ * {@link SourceIdentifier}s a device requires, which acts as a fingerprint of the device's model. A device matching
+ * an existing entry skips source verification and {@link EffectiveModelContext} assembly altogether and reuses the
+ * {@link MessageTransformerContext} computed for the first such device.
+ *
+ * <p>
+ * Only schemas assembled from all required sources are cached, as a partial schema may be completed by sources
+ * which become available later. Entries are softly referenced and their number is bounded, so that schemas of
+ * disconnected devices are retained across reconnects until the memory is needed elsewhere. Since sources are
+ * identified only by name and revision, a cache instance must not be shared between schema repositories.
+ *
+ * <p>
+ * When backed by {@link ModuleSetSnapshots}, complete source sets are also recorded persistently. After a restart,
+ * devices advertising a recorded set skip per-source verification, and recorded schemas can be rebuilt in the
+ * background via {@link #prewarm(EffectiveModelContextFactory, Executor)} before any device connects.
+ */
+public final class DeviceSchemaCache {
+    private static final Logger LOG = LoggerFactory.getLogger(DeviceSchemaCache.class);
+    private static final int MAX_ENTRIES = 256;
+    private static final int MAX_PREWARM_ENTRIES = 32;
+
+    /**
+     * Schema state of a set of sources.
+     */
+    public static final class Entry {
+        private final @NonNull EmptyMountPointContext mountContext;
+
+        private volatile MessageTransformerContext transformerContext;
+
+        Entry(final EffectiveModelContext schemaContext) {
+            mountContext = new EmptyMountPointContext(schemaContext);
+        }
+
+        public @NonNull EffectiveModelContext getEffectiveModelContext() {
+            return mountContext.getEffectiveModelContext();
+        }
+
+        public @NonNull EmptyMountPointContext getMountPointContext() {
+            return mountContext;
+        }
+
+        public @NonNull MessageTransformerContext getTransformerContext() {
+            MessageTransformerContext local = transformerContext;
+            if (local == null) {
+                synchronized (this) {
+                    local = transformerContext;
+                    if (local == null) {
+                        transformerContext = local = MessageTransformerContext.of(mountContext);
+                    }
+                }
+            }
+            return local;
+        }
+    }
+
+    private final Cache<ImmutableSet<SourceIdentifier>, Entry> entries = CacheBuilder.newBuilder()
+        .maximumSize(MAX_ENTRIES).softValues().build();
+    private final @Nullable ModuleSetSnapshots snapshots;
+
+    public DeviceSchemaCache() {
+        this(null);
+    }
+
+    public DeviceSchemaCache(final @Nullable ModuleSetSnapshots snapshots) {
+        this.snapshots = snapshots;
+    }
+
+    /**
+     * Look up the entry for a set of required sources.
+     *
+     * @param requiredSources Sources required by a device
+     * @return Cached entry, or {@code null} if not present
+     */
+    public @Nullable Entry lookup(final Set<SourceIdentifier> requiredSources) {
+        return entries.getIfPresent(ImmutableSet.copyOf(requiredSources));
+    }
+
+    /**
+     * Store a schema assembled from a set of required sources. If a concurrent assembly has already stored an entry,
+     * that entry is returned instead, so that all devices converge on a single instance.
+     *
+     * @param requiredSources Sources required by a device, all of which are part of the schema
+     * @param schemaContext Assembled schema
+     * @return Cached entry
+     */
+    public @NonNull Entry store(final Set<SourceIdentifier> requiredSources,
+            final EffectiveModelContext schemaContext) {
+        final Entry created = new Entry(requireNonNull(schemaContext));
+        final ImmutableSet<SourceIdentifier> key = ImmutableSet.copyOf(requiredSources);
+        final Entry existing = entries.asMap().putIfAbsent(key, created);
+        if (snapshots != null) {
+            snapshots.record(key);
+        }
+        return existing != null ? existing : created;
+    }
+
+    /**
+     * Check whether a set of required sources is known to have been assembled completely before, possibly by a
+     * previous instance of this application.
+     *
+     * @param requiredSources Sources required by a device
+     * @return {@code true} if all sources are known to be available
+     */
+    public boolean isKnownComplete(final Set<SourceIdentifier> requiredSources) {
+        return snapshots != null && snapshots.contains(requiredSources);
+    }
+
+    /**
+     * Asynchronously assemble schemas of the most recently recorded source sets. Sets which can no longer be
+     * assembled are forgotten. This method does nothing if this cache is not backed by {@link ModuleSetSnapshots}.
+     *
+     * @param factory Factory to assemble schemas with
+     * @param executor Executor to assemble schemas on
+     */
+    public void prewarm(final EffectiveModelContextFactory factory, final Executor executor) {
+        requireNonNull(factory);
+        requireNonNull(executor);
+        if (snapshots == null) {
+            return;
+        }
+
+        executor.execute(() -> prewarmEntries(snapshots, factory));
+    }
+
+    private void prewarmEntries(final ModuleSetSnapshots local, final EffectiveModelContextFactory factory) {
+        for (ImmutableSet<SourceIdentifier> sources : local.load(MAX_PREWARM_ENTRIES)) {
+            if (entries.getIfPresent(sources) != null) {
+                continue;
+            }
+
+            final EffectiveModelContext schemaContext;
+            try {
+                schemaContext = factory.createEffectiveModelContext(sources).get();
+            } catch (ExecutionException e) {
+                LOG.debug("Failed to assemble recorded module set {}, forgetting it", sources, e);
+                local.forget(sources);
+                continue;
+            } catch (InterruptedException e) {
+                LOG.debug("Interrupted while assembling recorded module sets", e);
+                Thread.currentThread().interrupt();
+                return;
+            }
+            entries.asMap().putIfAbsent(sources, new Entry(schemaContext));
+        }
+        LOG.debug("Finished assembling recorded module sets");
+    }
+
+    long size() {
+        entries.cleanUp();
+        return entries.size();
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2022 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.sal.connect.netconf;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.hash.Hashing;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.yang.common.Revision;
+import org.opendaylight.yangtools.yang.model.repo.api.RevisionSourceIdentifier;
+import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Persistent record of module sets which have been assembled into a schema from all of their sources. Each set is
+ * stored in its own file, named after a fingerprint of its sources, so that it can be recognized after a restart
+ * without reading the file. Contents are read only when schemas are pre-built.
+ *
+ * <p>
+ * File names contain a {@code @} which is not followed by a revision, so that a {@code FilesystemSchemaSourceCache}
+ * sharing the directory tree does not mistake them for sources.
+ */
+public final class ModuleSetSnapshots {
+    private static final Logger LOG = LoggerFactory.getLogger(ModuleSetSnapshots.class);
+    private static final String SUFFIX = "@module-set";
+    private static final String HEADER = "# NETCONF module set v1";
+
+    private final Map<String, Boolean> known = new ConcurrentHashMap<>();
+    private final @NonNull Path directory;
+
+    public ModuleSetSnapshots(final Path directory) {
+        this.directory = requireNonNull(directory);
+        for (Path file : listFiles()) {
+            final String name = file.getFileName().toString();
+            known.put(name.substring(0, name.length() - SUFFIX.length()), Boolean.TRUE);
+        }
+        LOG.debug("Found {} module set snapshots in {}", known.size(), directory);
+    }
+
+    /**
+     * Check whether a module set has been recorded.
+     *
+     * @param sources Sources of the module set
+     * @return {@code true} if the set has been recorded
+     */
+    public boolean contains(final Set<SourceIdentifier> sources) {
+        return known.containsKey(fingerprint(sources));
+    }
+
+    /**
+     * Record a module set, unless it has been recorded already.
+     *
+     * @param sources Sources of the module set
+     */
+    public void record(final Set<SourceIdentifier> sources) {
+        final String fingerprint = fingerprint(sources);
+        if (known.putIfAbsent(fingerprint, Boolean.TRUE) != null) {
+            return;
+        }
+
+        final List<String> lines = new ArrayList<>(sources.size() + 1);
+        lines.add(HEADER);
+        sources.stream().map(ModuleSetSnapshots::toLine).sorted().forEach(lines::add);
+
+        try {
+            Files.createDirectories(directory);
+            final Path tmp = Files.createTempFile(directory, fingerprint, ".tmp");
+            Files.write(tmp, lines, StandardCharsets.UTF_8);
+            Files.move(tmp, fileOf(fingerprint), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+            LOG.debug("Recorded module set {} with {} sources", fingerprint, sources.size());
+        } catch (IOException e) {
+            LOG.warn("Failed to record module set {} in {}", fingerprint, directory, e);
+            known.remove(fingerprint);
+        }
+    }
+
+    /**
+     * Remove a module set, for example because its sources are no longer available.
+     *
+     * @param sources Sources of the module set
+     */
+    public void forget(final Set<SourceIdentifier> sources) {
+        final String fingerprint = fingerprint(sources);
+        known.remove(fingerprint);
+        try {
+            Files.deleteIfExists(fileOf(fingerprint));
+        } catch (IOException e) {
+            LOG.warn("Failed to remove module set {} from {}", fingerprint, directory, e);
+        }
+    }
+
+    /**
+     * Load recorded module sets, most recently recorded first.
+     *
+     * @param limit Maximum number of sets to load
+     * @return Module sets
+     */
+    public @NonNull List<ImmutableSet<SourceIdentifier>> load(final int limit) {
+        final List<Path> files = listFiles();
+        files.sort(Comparator.comparing(ModuleSetSnapshots::lastModified).reversed());
+
+        final ImmutableList.Builder<ImmutableSet<SourceIdentifier>> builder = ImmutableList.builder();
+        for (Path file : files.subList(0, Math.min(limit, files.size()))) {
+            final List<String> lines;
+            try {
+                lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                LOG.warn("Failed to read module set from {}, ignoring it", file, e);
+                continue;
+            }
+            if (lines.isEmpty() || !HEADER.equals(lines.get(0))) {
+                LOG.warn("Ignoring unrecognized module set file {}", file);
+                continue;
+            }
+
+            final ImmutableSet.Builder<SourceIdentifier> sources = ImmutableSet.builder();
+            lines.stream().skip(1).filter(line -> !line.isEmpty()).map(ModuleSetSnapshots::fromLine)
+                .forEach(sources::add);
+            builder.add(sources.build());
+        }
+        return builder.build();
+    }
+
+    static @NonNull String fingerprint(final Set<SourceIdentifier> sources) {
+        final StringBuilder sb = new StringBuilder();
+        sources.stream().map(ModuleSetSnapshots::toLine).sorted().forEach(line -> sb.append(line).append('\n'));
+        return Hashing.sha256().hashString(sb, StandardCharsets.UTF_8).toString();
+    }
+
+    private Path fileOf(final String fingerprint) {
+        return directory.resolve(fingerprint + SUFFIX);
+    }
+
+    private List<Path> listFiles() {
+        final List<Path> ret = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            stream.forEach(ret::add);
+        } catch (NoSuchFileException e) {
+            LOG.trace("Module set directory {} does not exist yet", directory, e);
+        } catch (IOException e) {
+            LOG.warn("Failed to list module sets in {}", directory, e);
+        }
+        return ret;
+    }
+
+    private static FileTime lastModified(final Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            LOG.debug("Failed to read modification time of {}", file, e);
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private static String toLine(final SourceIdentifier source) {
+        return source.getRevision().map(rev -> source.getName() + '@' + rev).orElse(source.getName());
+    }
+
+    private static SourceIdentifier fromLine(final String line) {
+        final int at = line.indexOf('@');
+        return at == -1 ? RevisionSourceIdentifier.create(line)
+            : RevisionSourceIdentifier.create(line.substring(0, at), Revision.of(line.substring(at + 1)));
+    }
+}
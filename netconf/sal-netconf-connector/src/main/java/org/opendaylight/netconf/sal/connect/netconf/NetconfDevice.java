@@ -13,6 +13,8 @@ import static org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTr
 
 import com.google.common.base.Predicates;
 import com.google.common.collect.Collections2;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSetMultimap;
 import com.google.common.collect.Sets;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
@@ -26,10 +28,14 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -48,8 +54,11 @@ import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfDeviceCapabi
 import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfDeviceCommunicator;
 import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfSessionPreferences;
 import org.opendaylight.netconf.sal.connect.netconf.sal.NetconfDeviceRpc;
+import org.opendaylight.netconf.sal.connect.netconf.schema.SchemaDownloadScheduler;
+import org.opendaylight.netconf.sal.connect.netconf.schema.SchemaDownloadScheduler.DeviceDownloads;
 import org.opendaylight.netconf.sal.connect.netconf.schema.mapping.BaseNetconfSchemas;
 import org.opendaylight.netconf.sal.connect.netconf.schema.mapping.BaseSchema;
+import org.opendaylight.netconf.sal.connect.netconf.schema.mapping.MessageTransformerContext;
 import org.opendaylight.netconf.sal.connect.netconf.schema.mapping.NetconfMessageTransformer;
 import org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil;
 import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
@@ -63,12 +72,14 @@ import org.opendaylight.yangtools.rfc8528.data.util.EmptyMountPointContext;
 import org.opendaylight.yangtools.rfc8528.model.api.SchemaMountConstants;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.common.RpcError;
+import org.opendaylight.yangtools.yang.common.Uint16;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
 import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.model.api.ModuleImport;
 import org.opendaylight.yangtools.yang.model.repo.api.EffectiveModelContextFactory;
 import org.opendaylight.yangtools.yang.model.repo.api.MissingSchemaSourceException;
 import org.opendaylight.yangtools.yang.model.repo.api.SchemaRepository;
@@ -79,6 +90,8 @@ import org.opendaylight.yangtools.yang.model.repo.spi.PotentialSchemaSource;
 import org.opendaylight.yangtools.yang.model.repo.spi.SchemaSourceProvider;
 import org.opendaylight.yangtools.yang.model.repo.spi.SchemaSourceRegistration;
 import org.opendaylight.yangtools.yang.model.repo.spi.SchemaSourceRegistry;
+import org.opendaylight.yangtools.yang.parser.rfc7950.ir.IRSchemaSource;
+import org.opendaylight.yangtools.yang.parser.rfc7950.repo.YangModelDependencyInfo;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -114,10 +127,16 @@ public class NetconfDevice
     private final NetconfNode node;
     private final EventExecutor eventExecutor;
     private final NetconfNodeAugmentedOptional nodeOptional;
+    private final DeviceSchemaCache schemaCache;
+    private final SchemaDownloadScheduler downloadScheduler;
 
     @GuardedBy("this")
     private boolean connected = false;
 
+    // Shared schema state, if the device's schema has been assembled from all of its sources
+    private volatile DeviceSchemaCache.Entry schemaEntry;
+    private volatile DeviceDownloads downloads;
+
     // Message transformer is constructed once the schemas are available
     private MessageTransformer<NetconfMessage> messageTransformer;
 
@@ -143,6 +162,8 @@ public class NetconfDevice
         this.schemaRegistry = schemaResourcesDTO.getSchemaRegistry();
         this.schemaRepository = schemaResourcesDTO.getSchemaRepository();
         this.schemaContextFactory = schemaResourcesDTO.getSchemaContextFactory();
+        this.schemaCache = schemaResourcesDTO.getSchemaCache();
+        this.downloadScheduler = schemaResourcesDTO.getDownloadScheduler();
         this.salFacade = salFacade;
         this.stateSchemasResolver = schemaResourcesDTO.getStateSchemasResolver();
         this.processingExecutor = requireNonNull(globalProcessingExecutor);
@@ -255,7 +276,7 @@ public class NetconfDevice
         //NetconfDevice.SchemaSetup can complete after NetconfDeviceCommunicator was closed. In that case do nothing,
         //since salFacade.onDeviceDisconnected was already called.
         if (connected) {
-            this.messageTransformer = new NetconfMessageTransformer(result, true,
+            this.messageTransformer = new NetconfMessageTransformer(transformerContext(result), true,
                 resolveBaseSchema(remoteSessionCapabilities.isNotificationsSupported()));
 
             // salFacade.onDeviceConnected has to be called before the notification handler is initialized
@@ -300,7 +321,10 @@ public class NetconfDevice
     private ListenableFuture<EffectiveModelContext> assembleSchemaContext(final DeviceSources deviceSources,
             final NetconfSessionPreferences remoteSessionCapabilities) {
         LOG.debug("{}: Resolved device sources to {}", id, deviceSources);
-        final SchemaSourceProvider<YangTextSchemaSource> yangProvider = deviceSources.getSourceProvider();
+        final DeviceDownloads deviceDownloads = downloadScheduler.forDevice(id, maxSchemaDownloads());
+        downloads = deviceDownloads;
+        final SchemaSourceProvider<YangTextSchemaSource> yangProvider =
+            deviceDownloads.schedule(deviceSources.getSourceProvider());
         for (final SourceIdentifier sourceId : deviceSources.getProvidedSources()) {
             sourceRegistrations.add(schemaRegistry.registerSchemaSource(yangProvider,
                 PotentialSchemaSource.create(sourceId, YangTextSchemaSource.class,
@@ -310,9 +334,16 @@ public class NetconfDevice
         return new SchemaSetup(deviceSources, remoteSessionCapabilities).startResolution();
     }
 
+    private int maxSchemaDownloads() {
+        final Uint16 limit = node == null ? null : node.getSchemaDownloadLimit();
+        return limit == null ? SchemaDownloadScheduler.DEFAULT_MAX_DEVICE_DOWNLOADS : limit.toJava();
+    }
+
     private ListenableFuture<MountPointContext> createMountPointContext(final EffectiveModelContext schemaContext,
             final BaseSchema baseSchema, final NetconfDeviceCommunicator listener) {
-        final MountPointContext emptyContext = new EmptyMountPointContext(schemaContext);
+        final DeviceSchemaCache.Entry entry = schemaEntry;
+        final MountPointContext emptyContext = entry != null && entry.getEffectiveModelContext() == schemaContext
+            ? entry.getMountPointContext() : new EmptyMountPointContext(schemaContext);
         if (schemaContext.findModule(SchemaMountConstants.RFC8528_MODULE).isEmpty()) {
             return Futures.immediateFuture(emptyContext);
         }
@@ -355,6 +386,12 @@ public class NetconfDevice
         sourceRegistrations.forEach(SchemaSourceRegistration::close);
         sourceRegistrations.clear();
         resetMessageTransformer();
+        schemaEntry = null;
+        final DeviceDownloads deviceDownloads = downloads;
+        if (deviceDownloads != null) {
+            downloads = null;
+            deviceDownloads.close();
+        }
     }
 
     @Override
@@ -375,7 +412,13 @@ public class NetconfDevice
     protected NetconfDeviceRpc getDeviceSpecificRpc(final MountPointContext result,
             final RemoteDeviceCommunicator<NetconfMessage> listener, final BaseSchema schema) {
         return new NetconfDeviceRpc(result.getEffectiveModelContext(), listener,
-            new NetconfMessageTransformer(result, true, schema));
+            new NetconfMessageTransformer(transformerContext(result), true, schema));
+    }
+
+    private MessageTransformerContext transformerContext(final MountPointContext mountContext) {
+        final DeviceSchemaCache.Entry entry = schemaEntry;
+        return entry != null && entry.getMountPointContext() == mountContext ? entry.getTransformerContext()
+            : MessageTransformerContext.of(mountContext);
     }
 
     /**
@@ -386,15 +429,38 @@ public class NetconfDevice
         private final SchemaRepository schemaRepository;
         private final EffectiveModelContextFactory schemaContextFactory;
         private final NetconfDeviceSchemasResolver stateSchemasResolver;
+        private final DeviceSchemaCache schemaCache;
+        private final SchemaDownloadScheduler downloadScheduler;
 
         public SchemaResourcesDTO(final SchemaSourceRegistry schemaRegistry,
                                   final SchemaRepository schemaRepository,
                                   final EffectiveModelContextFactory schemaContextFactory,
                                   final NetconfDeviceSchemasResolver deviceSchemasResolver) {
+            this(schemaRegistry, schemaRepository, schemaContextFactory, deviceSchemasResolver,
+                new DeviceSchemaCache());
+        }
+
+        public SchemaResourcesDTO(final SchemaSourceRegistry schemaRegistry,
+                                  final SchemaRepository schemaRepository,
+                                  final EffectiveModelContextFactory schemaContextFactory,
+                                  final NetconfDeviceSchemasResolver deviceSchemasResolver,
+                                  final DeviceSchemaCache schemaCache) {
+            this(schemaRegistry, schemaRepository, schemaContextFactory, deviceSchemasResolver, schemaCache,
+                new SchemaDownloadScheduler());
+        }
+
+        public SchemaResourcesDTO(final SchemaSourceRegistry schemaRegistry,
+                                  final SchemaRepository schemaRepository,
+                                  final EffectiveModelContextFactory schemaContextFactory,
+                                  final NetconfDeviceSchemasResolver deviceSchemasResolver,
+                                  final DeviceSchemaCache schemaCache,
+                                  final SchemaDownloadScheduler downloadScheduler) {
             this.schemaRegistry = requireNonNull(schemaRegistry);
             this.schemaRepository = requireNonNull(schemaRepository);
             this.schemaContextFactory = requireNonNull(schemaContextFactory);
             this.stateSchemasResolver = requireNonNull(deviceSchemasResolver);
+            this.schemaCache = requireNonNull(schemaCache);
+            this.downloadScheduler = requireNonNull(downloadScheduler);
         }
 
         public SchemaSourceRegistry getSchemaRegistry() {
@@ -412,6 +478,14 @@ public class NetconfDevice
         public NetconfDeviceSchemasResolver getStateSchemasResolver() {
             return stateSchemasResolver;
         }
+
+        public DeviceSchemaCache getSchemaCache() {
+            return schemaCache;
+        }
+
+        public SchemaDownloadScheduler getDownloadScheduler() {
+            return downloadScheduler;
+        }
     }
 
     /**
@@ -438,6 +512,8 @@ public class NetconfDevice
         private final NetconfDeviceCapabilities capabilities;
 
         private Collection<SourceIdentifier> requiredSources;
+        // All sources required by the device, identifying its schema in the cache
+        private ImmutableSet<SourceIdentifier> fingerprint;
 
         SchemaSetup(final DeviceSources deviceSources, final NetconfSessionPreferences remoteSessionCapabilities) {
             this.deviceSources = deviceSources;
@@ -458,22 +534,84 @@ public class NetconfDevice
             }
 
             requiredSources = deviceSources.getRequiredSources();
-            final Collection<SourceIdentifier> missingSources = filterMissingSources(requiredSources);
-
-            capabilities.addUnresolvedCapabilities(getQNameFromSourceIdentifiers(missingSources),
-                    UnavailableCapability.FailureReason.MissingSource);
-            requiredSources.removeAll(missingSources);
         }
 
         ListenableFuture<EffectiveModelContext> startResolution() {
-            trySetupSchema();
+            fingerprint = ImmutableSet.copyOf(requiredSources);
+            final DeviceSchemaCache.Entry cached = schemaCache.lookup(fingerprint);
+            if (cached != null) {
+                LOG.debug("{}: Reusing schema context of a device with the same sources", id);
+                schemaEntry = cached;
+                completeResolution(cached.getEffectiveModelContext());
+                return resultFuture;
+            }
+
+            // Sources of a set assembled completely before need not be checked one by one, failures are handled
+            // by the regular resolution fallback
+            if (schemaCache.isKnownComplete(fingerprint)) {
+                LOG.debug("{}: Sources are known to be complete, skipping their verification", id);
+                trySetupSchema();
+            } else {
+                verifySources();
+            }
             return resultFuture;
         }
 
+        /**
+         * Request all sources at once, excluding those which are not available. Downloads are bounded by the
+         * {@link SchemaDownloadScheduler}, hence no thread is blocked waiting for them.
+         */
+        private void verifySources() {
+            final List<SourceIdentifier> sources = List.copyOf(requiredSources);
+            final List<ListenableFuture<YangTextSchemaSource>> futures = sources.stream()
+                .map(sourceId -> schemaRepository.getSchemaSource(sourceId, YangTextSchemaSource.class))
+                .collect(Collectors.toList());
+
+            whenAllComplete(futures, () -> {
+                final List<SourceIdentifier> missingSources = new ArrayList<>();
+                for (int i = 0; i < futures.size(); ++i) {
+                    try {
+                        Futures.getDone(futures.get(i));
+                    } catch (ExecutionException | CancellationException e) {
+                        LOG.debug("{}: Source {} is not available", id, sources.get(i), e);
+                        missingSources.add(sources.get(i));
+                    }
+                }
+
+                capabilities.addUnresolvedCapabilities(getQNameFromSourceIdentifiers(missingSources),
+                        UnavailableCapability.FailureReason.MissingSource);
+                requiredSources.removeAll(missingSources);
+                analyzeSources();
+            });
+        }
+
+        @SuppressWarnings("checkstyle:IllegalCatch")
+        private void whenAllComplete(final List<? extends ListenableFuture<?>> futures, final Runnable task) {
+            Futures.whenAllComplete(futures).run(() -> {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    LOG.debug("{}: Failed to process sources", id, e);
+                    resultFuture.setException(e);
+                }
+            }, processingExecutor);
+        }
+
         @Override
         public void onSuccess(final EffectiveModelContext result) {
             LOG.debug("{}: Schema context built successfully from {}", id, requiredSources);
 
+            if (fingerprint.equals(ImmutableSet.copyOf(requiredSources))) {
+                final DeviceSchemaCache.Entry entry = schemaCache.store(fingerprint, result);
+                schemaEntry = entry;
+                completeResolution(entry.getEffectiveModelContext());
+            } else {
+                completeResolution(result);
+            }
+        }
+
+        private void completeResolution(final EffectiveModelContext result) {
+
             final Collection<QName> filteredQNames = Sets.difference(deviceSources.getRequiredSourcesQName(),
                     capabilities.getUnresolvedCapabilites().keySet());
             capabilities.addCapabilities(filteredQNames.stream().map(entry -> new AvailableCapabilityBuilder()
@@ -521,15 +659,72 @@ public class NetconfDevice
             }
         }
 
-        private Collection<SourceIdentifier> filterMissingSources(final Collection<SourceIdentifier> origSources) {
-            return origSources.parallelStream().filter(sourceIdentifier -> {
+        /**
+         * Analyze all available sources and exclude those which cannot be parsed or whose imports and includes
+         * cannot be satisfied, directly or through other excluded sources. This allows the schema to be assembled
+         * in one attempt, rather than excluding one source after each failed attempt. Sources whose dependencies
+         * cannot be determined are kept, any failure caused by them is handled by {@link #onFailure(Throwable)}.
+         */
+        private void analyzeSources() {
+            final List<SourceIdentifier> sources = List.copyOf(requiredSources);
+            final List<ListenableFuture<IRSchemaSource>> futures = sources.stream()
+                .map(sourceId -> schemaRepository.getSchemaSource(sourceId, IRSchemaSource.class))
+                .collect(Collectors.toList());
+
+            whenAllComplete(futures, () -> {
+                excludeUnresolvableSources(sources, futures);
+                trySetupSchema();
+            });
+        }
+
+        private void excludeUnresolvableSources(final List<SourceIdentifier> sources,
+                final List<ListenableFuture<IRSchemaSource>> futures) {
+            final Map<SourceIdentifier, YangModelDependencyInfo> dependencies = new HashMap<>();
+            final Set<SourceIdentifier> flawedSources = new HashSet<>();
+            for (int i = 0; i < futures.size(); ++i) {
+                final SourceIdentifier sourceId = sources.get(i);
+                final IRSchemaSource source;
                 try {
-                    schemaRepository.getSchemaSource(sourceIdentifier, YangTextSchemaSource.class).get();
-                    return false;
-                } catch (InterruptedException | ExecutionException e) {
-                    return true;
+                    source = Futures.getDone(futures.get(i));
+                } catch (CancellationException e) {
+                    LOG.debug("{}: Analysis of source {} was cancelled", id, sourceId, e);
+                    continue;
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof MissingSchemaSourceException) {
+                        LOG.debug("{}: Source {} cannot be analyzed", id, sourceId, e);
+                    } else {
+                        LOG.debug("{}: Failed to parse source {}", id, sourceId, e);
+                        flawedSources.add(sourceId);
+                    }
+                    continue;
                 }
-            }).collect(Collectors.toList());
+
+                try {
+                    dependencies.put(sourceId, YangModelDependencyInfo.forIR(source));
+                } catch (IllegalArgumentException e) {
+                    LOG.debug("{}: Failed to analyze dependencies of source {}", id, sourceId, e);
+                    flawedSources.add(sourceId);
+                }
+            }
+
+            if (!flawedSources.isEmpty()) {
+                LOG.warn("{}: Excluding sources which failed to parse {}", id, flawedSources);
+            }
+
+            final ImmutableSetMultimap<SourceIdentifier, ModuleImport> unsatisfiedImports = UnresolvableSources.find(
+                Sets.difference(ImmutableSet.copyOf(requiredSources), flawedSources), dependencies);
+            if (!unsatisfiedImports.isEmpty()) {
+                LOG.warn("{}: Excluding sources with unsatisfied imports {}", id, unsatisfiedImports);
+            }
+
+            // Capabilities are mapped through required sources, hence they need to be reported before removal
+            final Set<SourceIdentifier> unresolvedSources =
+                ImmutableSet.copyOf(Sets.union(flawedSources, unsatisfiedImports.keySet()));
+            if (!unresolvedSources.isEmpty()) {
+                capabilities.addUnresolvedCapabilities(getQNameFromSourceIdentifiers(unresolvedSources),
+                    UnavailableCapability.FailureReason.UnableToResolve);
+                requiredSources.removeAll(unresolvedSources);
+            }
         }
 
         private Collection<SourceIdentifier> handleMissingSchemaSourceException(
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2022 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.sal.connect.netconf;
+
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.ImmutableSetMultimap;
+import com.google.common.collect.SetMultimap;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.opendaylight.yangtools.yang.common.Revision;
+import org.opendaylight.yangtools.yang.model.api.ModuleImport;
+import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
+import org.opendaylight.yangtools.yang.parser.rfc7950.repo.YangModelDependencyInfo;
+
+/**
+ * Import and include analysis of a set of sources. It finds all sources which cannot be resolved within the set,
+ * including those which depend on unresolvable sources, so that they can be excluded before a schema is assembled
+ * rather than one at a time after each failed assembly.
+ *
+ * <p>
+ * An import without a revision is satisfied by any source with the same name, an import with a revision only by a
+ * source with that exact revision. This mirrors the dependency resolution performed by the YANG parser.
+ */
+final class UnresolvableSources {
+    private UnresolvableSources() {
+        // Hidden on purpose
+    }
+
+    /**
+     * Find the closure of unresolvable sources.
+     *
+     * @param sources All sources which are to be assembled
+     * @param dependencies Dependencies of sources which could be analyzed. Sources without dependency information are
+     *                     assumed to be resolvable.
+     * @return Unresolvable sources along with their unsatisfied imports and includes
+     */
+    static ImmutableSetMultimap<SourceIdentifier, ModuleImport> find(final Collection<SourceIdentifier> sources,
+            final Map<SourceIdentifier, YangModelDependencyInfo> dependencies) {
+        final Set<SourceIdentifier> remaining = new HashSet<>(sources);
+        final SetMultimap<String, SourceIdentifier> byName = HashMultimap.create();
+        for (SourceIdentifier source : sources) {
+            byName.put(source.getName(), source);
+        }
+
+        // Reverse dependencies, so that only affected sources are re-examined when a source is excluded
+        final SetMultimap<String, SourceIdentifier> dependents = HashMultimap.create();
+        for (Map.Entry<SourceIdentifier, YangModelDependencyInfo> entry : dependencies.entrySet()) {
+            for (ModuleImport dependency : entry.getValue().getDependencies()) {
+                dependents.put(dependency.getModuleName(), entry.getKey());
+            }
+        }
+
+        final ImmutableSetMultimap.Builder<SourceIdentifier, ModuleImport> builder = ImmutableSetMultimap.builder();
+        final Deque<SourceIdentifier> work = new ArrayDeque<>(dependencies.keySet());
+        while (!work.isEmpty()) {
+            final SourceIdentifier source = work.poll();
+            if (!remaining.contains(source)) {
+                continue;
+            }
+
+            final List<ModuleImport> unsatisfied = dependencies.get(source).getDependencies().stream()
+                .filter(dependency -> !isSatisfied(dependency, byName.get(dependency.getModuleName()), remaining))
+                .collect(Collectors.toList());
+            if (!unsatisfied.isEmpty()) {
+                remaining.remove(source);
+                builder.putAll(source, unsatisfied);
+                work.addAll(dependents.get(source.getName()));
+            }
+        }
+        return builder.build();
+    }
+
+    private static boolean isSatisfied(final ModuleImport dependency, final Set<SourceIdentifier> candidates,
+            final Set<SourceIdentifier> remaining) {
+        final Optional<Revision> revision = dependency.getRevision();
+        for (SourceIdentifier candidate : candidates) {
+            if (remaining.contains(candidate) && (revision.isEmpty() || revision.equals(candidate.getRevision()))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -7,22 +7,30 @@
  */
 package org.opendaylight.netconf.sal.connect.netconf.listener;
 
+import static java.util.Objects.requireNonNull;
+
 import com.google.common.base.Strings;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.common.util.concurrent.SettableFuture;
 import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.GlobalEventExecutor;
+import io.netty.util.concurrent.ScheduledFuture;
 import java.io.EOFException;
-import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import org.opendaylight.netconf.api.FailedNetconfMessage;
+import org.opendaylight.netconf.api.LazyNetconfMessage;
 import org.opendaylight.netconf.api.NetconfDocumentedException;
 import org.opendaylight.netconf.api.NetconfMessage;
 import org.opendaylight.netconf.api.NetconfTerminationReason;
@@ -32,8 +40,10 @@ import org.opendaylight.netconf.api.xml.XmlUtil;
 import org.opendaylight.netconf.client.NetconfClientDispatcher;
 import org.opendaylight.netconf.client.NetconfClientSession;
 import org.opendaylight.netconf.client.NetconfClientSessionListener;
+import org.opendaylight.netconf.client.NetconfClientSessionNegotiatorFactory;
 import org.opendaylight.netconf.client.conf.NetconfClientConfiguration;
 import org.opendaylight.netconf.client.conf.NetconfReconnectingClientConfiguration;
+import org.opendaylight.netconf.nettyutil.handler.exi.NetconfStartExiMessage;
 import org.opendaylight.netconf.sal.connect.api.RemoteDevice;
 import org.opendaylight.netconf.sal.connect.api.RemoteDeviceCommunicator;
 import org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil;
@@ -46,22 +56,47 @@ import org.opendaylight.yangtools.yang.common.RpcResult;
 import org.opendaylight.yangtools.yang.common.RpcResultBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.w3c.dom.Node;
 
 public class NetconfDeviceCommunicator
         implements NetconfClientSessionListener, RemoteDeviceCommunicator<NetconfMessage> {
 
     private static final Logger LOG = LoggerFactory.getLogger(NetconfDeviceCommunicator.class);
+    private static final String START_EXI_MESSAGE_ID = "adaptive-start-exi";
+    private static final long START_EXI_TIMEOUT_SECONDS = 60;
 
     protected final RemoteDevice<NetconfSessionPreferences, NetconfMessage, NetconfDeviceCommunicator> remoteDevice;
     private final Optional<UserPreferences> overrideNetconfCapabilities;
     protected final RemoteDeviceId id;
+    // Serializes session lifecycle callbacks, it is not used when sending requests or processing replies
     private final Lock sessionLock = new ReentrantLock();
 
     private final Semaphore semaphore;
     private final int concurentRpcMsgs;
-
-    private final Queue<Request> requests = new ArrayDeque<>();
-    private NetconfClientSession currentSession;
+    private final boolean outOfOrderReplies;
+    private final long exiReplySizeThreshold;
+
+    // Requests waiting to be sent, outstanding requests in the order they were sent, and outstanding requests indexed
+    // by their message-id. With out-of-order replies, requests which have a unique message-id are only indexed, so
+    // that they can be matched without searching the queue. All are lock-free, so that any number of threads can issue
+    // requests while replies are being processed.
+    private final Queue<Request> pendingRequests = new ConcurrentLinkedQueue<>();
+    private final Queue<Request> requests = new ConcurrentLinkedQueue<>();
+    private final Map<String, Request> requestsById = new ConcurrentHashMap<>();
+    private volatile NetconfClientSession currentSession;
+
+    // Number of sendRequest() invocations which have asked for pendingRequests to be drained. Only the thread which
+    // increments it from zero drains, which guarantees requests are written in the same order they become outstanding.
+    private static final AtomicIntegerFieldUpdater<NetconfDeviceCommunicator> DRAIN_UPDATER =
+            AtomicIntegerFieldUpdater.newUpdater(NetconfDeviceCommunicator.class, "drainRequests");
+    private volatile int drainRequests;
+
+    // Set once EXI has been requested on the current session, and while we are waiting for the reply to start-exi,
+    // during which no further requests may be sent
+    private volatile boolean exiRequested;
+    private volatile boolean sendsPaused;
+    // System.nanoTime() of the last message received from the device
+    private volatile long lastInboundNanos;
 
     private final SettableFuture<NetconfDeviceCapabilities> firstConnectionFuture;
     private Future<?> taskFuture;
@@ -83,24 +118,28 @@ public class NetconfDeviceCommunicator
             final RemoteDeviceId id,
             final RemoteDevice<NetconfSessionPreferences, NetconfMessage, NetconfDeviceCommunicator> remoteDevice,
             final UserPreferences netconfSessionPreferences, final int rpcMessageLimit) {
-        this(id, remoteDevice, Optional.of(netconfSessionPreferences), rpcMessageLimit);
+        this(id, remoteDevice, Optional.of(netconfSessionPreferences), rpcMessageLimit,
+            NetconfDeviceCommunicatorOptions.DEFAULT);
     }
 
     public NetconfDeviceCommunicator(
             final RemoteDeviceId id,
             final RemoteDevice<NetconfSessionPreferences, NetconfMessage, NetconfDeviceCommunicator> remoteDevice,
             final int rpcMessageLimit) {
-        this(id, remoteDevice, Optional.empty(), rpcMessageLimit);
+        this(id, remoteDevice, Optional.empty(), rpcMessageLimit, NetconfDeviceCommunicatorOptions.DEFAULT);
     }
 
-    private NetconfDeviceCommunicator(
+    public NetconfDeviceCommunicator(
             final RemoteDeviceId id,
             final RemoteDevice<NetconfSessionPreferences, NetconfMessage, NetconfDeviceCommunicator> remoteDevice,
-            final Optional<UserPreferences> overrideNetconfCapabilities, final int rpcMessageLimit) {
+            final Optional<UserPreferences> overrideNetconfCapabilities, final int rpcMessageLimit,
+            final NetconfDeviceCommunicatorOptions options) {
         concurentRpcMsgs = rpcMessageLimit;
+        outOfOrderReplies = options.isOutOfOrderReplies();
+        exiReplySizeThreshold = options.getExiReplySizeThreshold();
         this.id = id;
         this.remoteDevice = remoteDevice;
-        this.overrideNetconfCapabilities = overrideNetconfCapabilities;
+        this.overrideNetconfCapabilities = requireNonNull(overrideNetconfCapabilities);
         firstConnectionFuture = SettableFuture.create();
         semaphore = rpcMessageLimit > 0 ? new Semaphore(rpcMessageLimit) : null;
     }
@@ -110,7 +149,11 @@ public class NetconfDeviceCommunicator
         sessionLock.lock();
         try {
             LOG.debug("{}: Session established", id);
+            exiRequested = false;
             currentSession = session;
+            lastInboundNanos = System.nanoTime();
+            // Requests queued while sends were paused would otherwise wait for another request to drain them
+            resumeSends();
 
             NetconfSessionPreferences netconfSessionPreferences =
                                              NetconfSessionPreferences.fromNetconfSession(session);
@@ -195,20 +238,27 @@ public class NetconfDeviceCommunicator
             if (currentSession != null) {
                 currentSession = null;
                 /*
-                 * Walk all requests, check if they have been executing
-                 * or cancelled and remove them from the queue.
+                 * Drain all requests, collecting those which are still executing. Requests enqueued concurrently
+                 * with this loop will notice the session is gone and fail themselves.
                  */
-                final Iterator<Request> it = requests.iterator();
-                while (it.hasNext()) {
-                    final Request r = it.next();
+                for (Request r = pollRequest(); r != null; r = pollRequest()) {
                     if (r.future.isUncancellable()) {
                         futuresToCancel.add(r.future);
-                        it.remove();
-                    } else if (r.future.isCancelled()) {
-                        // This just does some house-cleaning
-                        it.remove();
                     }
                 }
+                for (final Request r : requestsById.values()) {
+                    if (r.claim()) {
+                        dequeued(r);
+                        if (r.future.isUncancellable()) {
+                            futuresToCancel.add(r.future);
+                        }
+                    }
+                }
+                for (Request r = pendingRequests.poll(); r != null; r = pendingRequests.poll()) {
+                    r.claim();
+                    dequeued(r);
+                    futuresToCancel.add(r.future);
+                }
 
                 remoteDevice.onRemoteSessionDown();
             }
@@ -273,9 +323,10 @@ public class NetconfDeviceCommunicator
 
     @Override
     public void onMessage(final NetconfClientSession session, final NetconfMessage message) {
+        lastInboundNanos = System.nanoTime();
+
         /*
-         * Dispatch between notifications and messages. Messages need to be processed
-         * with lock held, notifications do not.
+         * Dispatch between notifications and messages.
          */
         if (isNotification(message)) {
             processNotification(message);
@@ -284,36 +335,47 @@ public class NetconfDeviceCommunicator
         }
     }
 
-    private void processMessage(final NetconfMessage message) {
-        Request request = null;
-        sessionLock.lock();
+    /**
+     * Return the time at which the last message has been received from the device, as reported by
+     * {@link System#nanoTime()}.
+     *
+     * @return Time of the last received message
+     */
+    public long getLastInboundNanos() {
+        return lastInboundNanos;
+    }
 
-        try {
-            request = requests.peek();
-            if (request != null && request.future.isUncancellable()) {
-                request = requests.poll();
-                // we have just removed one request from the queue
-                // we can also release one permit
-                if (semaphore != null) {
-                    semaphore.release();
-                }
+    /**
+     * Send a transport-level keepalive on the current session, which does not involve the NETCONF server of
+     * the device.
+     *
+     * @return {@code true} if a keepalive has been sent, {@code false} if there is no session or its transport does not
+     *         support keepalives
+     */
+    public boolean sendTransportKeepalive() {
+        final NetconfClientSession session = currentSession;
+        return session != null && session.sendTransportKeepalive();
+    }
+
+    private void processMessage(final NetconfMessage message) {
+        if (message instanceof FailedNetconfMessage) {
+            // There is no way to tell which request this message is a reply to, hence assume it is the oldest one
+            final FailedNetconfMessage failed = (FailedNetconfMessage) message;
+            final Request request = pollAnyRequest();
+            if (request == null) {
+                LOG.warn("{}: Ignoring unsolicited failed message", id, failed.getException());
             } else {
-                request = null;
-                LOG.warn("{}: Ignoring unsolicited message {}", id,
-                        msgToS(message));
+                request.future.set(NetconfMessageTransformUtil.toRpcResult(failed));
+                if (request.request instanceof NetconfStartExiMessage) {
+                    dropSession("Failed to process reply to start-exi");
+                }
             }
-        } finally {
-            sessionLock.unlock();
-        }
-
-        if (request == null) {
-            // No matching request, bail out
             return;
         }
 
-
-        if (message instanceof FailedNetconfMessage) {
-            request.future.set(NetconfMessageTransformUtil.toRpcResult((FailedNetconfMessage) message));
+        final Request request = matchRequest(message);
+        if (request == null) {
+            LOG.warn("{}: Ignoring unsolicited message {}", id, msgToS(message));
             return;
         }
 
@@ -323,93 +385,336 @@ public class NetconfDeviceCommunicator
             LOG.trace("{}: Matched request: {} to response: {}", id, msgToS(request.request), msgToS(message));
         }
 
-        try {
-            NetconfMessageTransformUtil.checkValidReply(request.request, message);
-        } catch (final NetconfDocumentedException e) {
-            LOG.warn("{}: Invalid request-reply match, reply message contains different message-id, "
-                + "request: {}, response: {}", id, msgToS(request.request), msgToS(message), e);
-
-            request.future.set(RpcResultBuilder.<NetconfMessage>failed()
-                .withRpcError(NetconfMessageTransformUtil.toRpcError(e))
-                .build());
-
-            //recursively processing message to eventually find matching request
-            processMessage(message);
-            return;
-        }
-
         try {
             NetconfMessageTransformUtil.checkSuccessReply(message);
         } catch (final NetconfDocumentedException e) {
             LOG.warn("{}: Error reply from remote device, request: {}, response: {}",
                 id, msgToS(request.request), msgToS(message), e);
 
+            if (request.request instanceof NetconfStartExiMessage) {
+                resumeSends();
+            }
             request.future.set(RpcResultBuilder.<NetconfMessage>failed()
                 .withRpcError(NetconfMessageTransformUtil.toRpcError(e))
                 .build());
             return;
         }
 
+        if (request.request instanceof NetconfStartExiMessage) {
+            startExi((NetconfStartExiMessage) request.request);
+        } else if (exiReplySizeThreshold > 0 && !exiRequested) {
+            requestExi(message);
+        }
         request.future.set(RpcResultBuilder.success(message).build());
     }
 
-    private static String msgToS(final NetconfMessage msg) {
-        return XmlUtil.toString(msg.getDocument());
+    /**
+     * Request EXI to be started if a reply is larger than the configured threshold and the device supports it. Only
+     * a single attempt is made on each session.
+     *
+     * @param reply Successful reply
+     */
+    private void requestExi(final NetconfMessage reply) {
+        final NetconfClientSession session = currentSession;
+        if (session == null || !supportsExi(session) || messageSize(reply) <= exiReplySizeThreshold) {
+            return;
+        }
+        if (semaphore != null && !semaphore.tryAcquire()) {
+            // We will try again on next large reply
+            return;
+        }
+
+        LOG.info("{}: Reply size exceeds {} bytes, starting EXI", id, exiReplySizeThreshold);
+        exiRequested = true;
+        enqueue(new Request(new UncancellableFuture<>(true), NetconfStartExiMessage.create(
+            NetconfClientSessionNegotiatorFactory.DEFAULT_OPTIONS, START_EXI_MESSAGE_ID), START_EXI_MESSAGE_ID));
     }
 
-    @Override
-    public ListenableFuture<RpcResult<NetconfMessage>> sendRequest(final NetconfMessage message, final QName rpc) {
-        sessionLock.lock();
-        try {
-            if (semaphore != null && !semaphore.tryAcquire()) {
-                LOG.warn("Limit of concurrent rpc messages was reached (limit: {}). Rpc reply message is needed. "
-                    + "Discarding request of Netconf device with id: {}", concurentRpcMsgs, id.getName());
-                return FluentFutures.immediateFailedFluentFuture(new NetconfDocumentedException(
-                        "Limit of rpc messages was reached (Limit :" + concurentRpcMsgs
-                        + ") waiting for emptying the queue of Netconf device with id: " + id.getName()));
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    private void startExi(final NetconfStartExiMessage startExiMessage) {
+        final NetconfClientSession session = currentSession;
+        if (session != null) {
+            // We are running on the event loop, hence the next message will be decoded by the EXI decoder
+            try {
+                session.startExiCommunication(startExiMessage);
+            } catch (RuntimeException e) {
+                // The device has already switched to EXI, hence we cannot continue without it
+                LOG.warn("{}: Unable to start EXI communication", id, e);
+                dropSession("Failed to start EXI communication");
+                return;
             }
+            LOG.debug("{}: EXI communication started", id);
+        }
+        resumeSends();
+    }
 
-            return sendRequestWithLock(message, rpc);
-        } finally {
-            sessionLock.unlock();
+    /**
+     * Drop the current session after start-exi has failed in a way which leaves us unable to tell whether the device
+     * uses EXI. The session cannot be used any longer and is re-established, outstanding requests are failed.
+     *
+     * @param reason Reason for dropping the session
+     */
+    private void dropSession(final String reason) {
+        LOG.warn("{}: {}, dropping the session", id, reason);
+        disconnect();
+    }
+
+    private void resumeSends() {
+        sendsPaused = false;
+        drainRequests();
+    }
+
+    private static boolean supportsExi(final NetconfClientSession session) {
+        return session.getServerCapabilities().stream()
+            .anyMatch(cap -> cap.startsWith(XmlNetconfConstants.URN_IETF_PARAMS_NETCONF_CAPABILITY_EXI_1_0));
+    }
+
+    private long messageSize(final NetconfMessage message) {
+        if (message instanceof LazyNetconfMessage) {
+            return ((LazyNetconfMessage) message).size();
+        }
+        // Estimate the serialized size, but only until it exceeds the threshold
+        return estimateSize(message.getDocument(), 0);
+    }
+
+    private long estimateSize(final Node node, final long size) {
+        long ret = size;
+        for (Node child = node.getFirstChild(); child != null && ret <= exiReplySizeThreshold;
+                child = child.getNextSibling()) {
+            switch (child.getNodeType()) {
+                case Node.ELEMENT_NODE:
+                    // Start and end tags
+                    ret = estimateSize(child, ret + 2 * child.getNodeName().length() + 5);
+                    break;
+                case Node.TEXT_NODE:
+                case Node.CDATA_SECTION_NODE:
+                    ret += child.getNodeValue().length();
+                    break;
+                default:
+                    break;
+            }
+        }
+        return ret;
+    }
+
+    /**
+     * Find the request a reply belongs to and remove it from outstanding requests. Unless out-of-order replies are
+     * enabled, replies are expected to arrive in the order requests were sent, hence any request sent before the
+     * matching one will never see its reply and is failed. If there is no matching request, all outstanding requests
+     * are failed.
+     *
+     * <p>
+     * With out-of-order replies enabled, only the request with the same message-id is removed, and all other requests
+     * remain outstanding.
+     *
+     * @param message Received reply
+     * @return Matching request, or {@code null} if there is none
+     */
+    private Request matchRequest(final NetconfMessage message) {
+        final String messageId = NetconfMessageTransformUtil.getMessageId(message);
+        final Request matched = messageId.isEmpty() ? null : requestsById.get(messageId);
+        if (outOfOrderReplies) {
+            // The request may have been drained by tearDown() in the meantime
+            if (matched == null || !matched.claim()) {
+                return null;
+            }
+            dequeued(matched);
+            return matched;
+        }
+
+        while (true) {
+            final Request request = pollRequest();
+            if (request == null || request == matched || request.messageId.equals(messageId)) {
+                return request;
+            }
+
+            try {
+                NetconfMessageTransformUtil.checkValidReply(request.request, message);
+            } catch (final NetconfDocumentedException e) {
+                LOG.warn("{}: Invalid request-reply match, reply message contains different message-id, "
+                    + "request: {}, response: {}", id, msgToS(request.request), msgToS(message), e);
+
+                request.future.set(RpcResultBuilder.<NetconfMessage>failed()
+                    .withRpcError(NetconfMessageTransformUtil.toRpcError(e))
+                    .build());
+            }
+            if (request.request instanceof NetconfStartExiMessage) {
+                dropSession("Reply to start-exi is missing");
+            }
+        }
+    }
+
+    private Request pollRequest() {
+        while (true) {
+            final Request request = requests.poll();
+            // Skip requests which have been claimed by some other means
+            if (request == null || request.claim()) {
+                if (request != null) {
+                    dequeued(request);
+                }
+                return request;
+            }
+        }
+    }
+
+    /**
+     * Remove the oldest outstanding request. With out-of-order replies, requests which are only indexed by their
+     * message-id have no order, hence an arbitrary one of them is removed when the queue is empty.
+     *
+     * @return An outstanding request, or {@code null} if there is none
+     */
+    private Request pollAnyRequest() {
+        final Request request = pollRequest();
+        if (request != null || !outOfOrderReplies) {
+            return request;
+        }
+        for (final Request indexed : requestsById.values()) {
+            if (indexed.claim()) {
+                dequeued(indexed);
+                return indexed;
+            }
         }
+        return null;
     }
 
-    private ListenableFuture<RpcResult<NetconfMessage>> sendRequestWithLock(final NetconfMessage message,
-                                                                            final QName rpc) {
+    // Needs to be called only once the request has been claimed
+    private void dequeued(final Request request) {
+        if (!request.messageId.isEmpty()) {
+            requestsById.remove(request.messageId, request);
+        }
+        if (semaphore != null) {
+            semaphore.release();
+        }
+    }
+
+    private static String msgToS(final NetconfMessage msg) {
+        return XmlUtil.toString(msg.getDocument());
+    }
+
+    @Override
+    public ListenableFuture<RpcResult<NetconfMessage>> sendRequest(final NetconfMessage message, final QName rpc) {
         if (LOG.isTraceEnabled()) {
             LOG.trace("{}: Sending message {}", id, msgToS(message));
         }
 
-        if (currentSession == null) {
+        final NetconfClientSession session = currentSession;
+        if (session == null) {
             LOG.warn("{}: Session is disconnected, failing RPC request {}",
                     id, message);
             return FluentFutures.immediateFluentFuture(createSessionDownRpcResult());
         }
 
-        final Request req = new Request(new UncancellableFuture<>(true), message);
-        requests.add(req);
+        if (semaphore != null && !semaphore.tryAcquire()) {
+            LOG.warn("Limit of concurrent rpc messages was reached (limit: {}). Rpc reply message is needed. "
+                + "Discarding request of Netconf device with id: {}", concurentRpcMsgs, id.getName());
+            return FluentFutures.immediateFailedFluentFuture(new NetconfDocumentedException(
+                    "Limit of rpc messages was reached (Limit :" + concurentRpcMsgs
+                    + ") waiting for emptying the queue of Netconf device with id: " + id.getName()));
+        }
+
+        final Request req = new Request(new UncancellableFuture<>(true), message,
+            NetconfMessageTransformUtil.getMessageId(message));
+        enqueue(req);
+        return req.future;
+    }
+
+    private void enqueue(final Request req) {
+        pendingRequests.add(req);
+        drainRequests();
+    }
 
-        currentSession.sendMessage(req.request).addListener(future -> {
-            if (!future.isSuccess()) {
-                // We expect that a session down will occur at this point
-                LOG.debug("{}: Failed to send request {}", id,
-                        XmlUtil.toString(req.request.getDocument()),
-                        future.cause());
-
-                if (future.cause() != null) {
-                    req.future.set(createErrorRpcResult(RpcError.ErrorType.TRANSPORT,
-                            future.cause().getLocalizedMessage()));
-                } else {
-                    req.future.set(createSessionDownRpcResult()); // assume session is down
+    private void drainRequests() {
+        if (DRAIN_UPDATER.getAndIncrement(this) != 0) {
+            // Another thread is draining and will pick up our request
+            return;
+        }
+
+        int missed = 1;
+        do {
+            while (!sendsPaused) {
+                final Request req = pendingRequests.poll();
+                if (req == null) {
+                    break;
                 }
-                req.future.setException(future.cause());
-            } else {
-                LOG.trace("Finished sending request {}", req.request);
+                if (req.request instanceof NetconfStartExiMessage) {
+                    // Nothing may be sent until we know whether the device has switched to EXI
+                    sendsPaused = true;
+                }
+                writeRequest(req);
             }
-        });
+            missed = DRAIN_UPDATER.addAndGet(this, -missed);
+        } while (missed != 0);
+    }
 
-        return req.future;
+    private void writeRequest(final Request req) {
+        final NetconfClientSession session = currentSession;
+        if (session != null) {
+            track(req);
+            if (currentSession == session) {
+                // Note: the write itself is performed on the channel's event loop, in the order of invocation
+                session.sendMessage(req.request).addListener(future -> {
+                    if (!future.isSuccess()) {
+                        // We expect that a session down will occur at this point
+                        LOG.debug("{}: Failed to send request {}", id,
+                                XmlUtil.toString(req.request.getDocument()),
+                                future.cause());
+
+                        if (req.request instanceof NetconfStartExiMessage) {
+                            dropSession("Failed to send start-exi");
+                        }
+                        // A reply, a timeout or tearDown() may have completed the request in the meantime
+                        if (!req.claim()) {
+                            return;
+                        }
+                        requests.remove(req);
+                        dequeued(req);
+
+                        if (future.cause() != null) {
+                            req.future.set(createErrorRpcResult(RpcError.ErrorType.TRANSPORT,
+                                    future.cause().getLocalizedMessage()));
+                        } else {
+                            req.future.set(createSessionDownRpcResult()); // assume session is down
+                        }
+                        req.future.setException(future.cause());
+                    } else {
+                        LOG.trace("Finished sending request {}", req.request);
+                    }
+                });
+                if (req.request instanceof NetconfStartExiMessage) {
+                    scheduleStartExiTimeout(session, req);
+                }
+                return;
+            }
+
+            // We have raced with tearDown(), which may or may not have seen our request. If it has not, the request
+            // is left in the queue, where it is skipped.
+            if (!req.claim()) {
+                return;
+            }
+        } else {
+            req.claim();
+        }
+
+        dequeued(req);
+        req.future.set(createSessionDownRpcResult());
+    }
+
+    private void track(final Request req) {
+        if (!req.messageId.isEmpty() && requestsById.putIfAbsent(req.messageId, req) == null && outOfOrderReplies) {
+            // Matched through the index only
+            return;
+        }
+        requests.add(req);
+    }
+
+    private void scheduleStartExiTimeout(final NetconfClientSession session, final Request req) {
+        // Sends remain paused until the device replies, hence a device which does not reply would stall the session
+        final ScheduledFuture<?> timeout = GlobalEventExecutor.INSTANCE.schedule(() -> {
+            if (!req.future.isDone() && currentSession == session) {
+                dropSession("Timed out waiting for reply to start-exi");
+            }
+        }, START_EXI_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        req.future.addListener(() -> timeout.cancel(false), MoreExecutors.directExecutor());
     }
 
     private void processNotification(final NetconfMessage notification) {
@@ -421,6 +726,10 @@ public class NetconfDeviceCommunicator
     }
 
     private static boolean isNotification(final NetconfMessage message) {
+        if (message instanceof LazyNetconfMessage) {
+            return XmlNetconfConstants.NOTIFICATION_ELEMENT_NAME.equals(
+                ((LazyNetconfMessage) message).getRootElement().getLocalPart());
+        }
         if (message.getDocument() == null) {
             // We have no message, which mean we have a FailedNetconfMessage
             return false;
@@ -430,13 +739,25 @@ public class NetconfDeviceCommunicator
     }
 
     private static final class Request {
+        private static final AtomicIntegerFieldUpdater<Request> CLAIMED_UPDATER =
+                AtomicIntegerFieldUpdater.newUpdater(Request.class, "claimed");
+
         final UncancellableFuture<RpcResult<NetconfMessage>> future;
         final NetconfMessage request;
+        final String messageId;
+
+        // Set by whoever removes the request from outstanding requests, so that it is completed exactly once
+        private volatile int claimed;
 
         private Request(final UncancellableFuture<RpcResult<NetconfMessage>> future,
-                        final NetconfMessage request) {
+                        final NetconfMessage request, final String messageId) {
             this.future = future;
             this.request = request;
+            this.messageId = messageId;
+        }
+
+        boolean claim() {
+            return CLAIMED_UPDATER.compareAndSet(this, 0, 1);
         }
     }
 
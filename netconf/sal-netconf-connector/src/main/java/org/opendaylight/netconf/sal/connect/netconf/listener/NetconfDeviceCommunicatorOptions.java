@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2022 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.sal.connect.netconf.listener;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.base.MoreObjects;
+
+/**
+ * Optional behaviour of a {@link NetconfDeviceCommunicator}. Instances are immutable and created through
+ * {@link #builder()}.
+ */
+public final class NetconfDeviceCommunicatorOptions {
+    public static final NetconfDeviceCommunicatorOptions DEFAULT = builder().build();
+
+    private final boolean outOfOrderReplies;
+    private final long exiReplySizeThreshold;
+
+    private NetconfDeviceCommunicatorOptions(final Builder builder) {
+        outOfOrderReplies = builder.outOfOrderReplies;
+        exiReplySizeThreshold = builder.exiReplySizeThreshold;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public boolean isOutOfOrderReplies() {
+        return outOfOrderReplies;
+    }
+
+    public long getExiReplySizeThreshold() {
+        return exiReplySizeThreshold;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("outOfOrderReplies", outOfOrderReplies)
+            .add("exiReplySizeThreshold", exiReplySizeThreshold)
+            .toString();
+    }
+
+    /**
+     * Builder of {@link NetconfDeviceCommunicatorOptions}. Options which are not set keep their defaults.
+     */
+    public static final class Builder {
+        private boolean outOfOrderReplies;
+        private long exiReplySizeThreshold;
+
+        private Builder() {
+            // Hidden on purpose
+        }
+
+        /**
+         * Match replies to requests by their message-id, allowing the device to reply out of order. By default
+         * replies are expected in the order requests were sent and requests skipped by a reply are failed.
+         *
+         * @param enabled whether the device may reply out of order
+         * @return this builder
+         */
+        public Builder withOutOfOrderReplies(final boolean enabled) {
+            this.outOfOrderReplies = enabled;
+            return this;
+        }
+
+        /**
+         * Start EXI on the session once a reply larger than the threshold is received, if the device supports it.
+         *
+         * @param threshold reply size in bytes, 0 disables switching to EXI
+         * @return this builder
+         * @throws IllegalArgumentException if {@code threshold} is negative
+         */
+        public Builder withExiReplySizeThreshold(final long threshold) {
+            checkArgument(threshold >= 0, "Invalid EXI reply size threshold %s", threshold);
+            this.exiReplySizeThreshold = threshold;
+            return this;
+        }
+
+        public NetconfDeviceCommunicatorOptions build() {
+            return new NetconfDeviceCommunicatorOptions(this);
+        }
+    }
+}
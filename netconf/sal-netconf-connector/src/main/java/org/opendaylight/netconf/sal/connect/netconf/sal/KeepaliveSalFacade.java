@@ -14,16 +14,24 @@ import static org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTr
 import static org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil.NETCONF_GET_CONFIG_QNAME;
 import static org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil.NETCONF_RUNNING_QNAME;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.MoreExecutors;
 import com.google.common.util.concurrent.SettableFuture;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import io.netty.util.Timer;
 import java.util.Collection;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.checkerframework.checker.lock.qual.GuardedBy;
 import org.eclipse.jdt.annotation.NonNull;
 import org.opendaylight.mdsal.dom.api.DOMActionService;
@@ -48,6 +56,16 @@ import org.slf4j.LoggerFactory;
  * SalFacade proxy that invokes keepalive RPCs to prevent session shutdown from remote device
  * and to detect incorrect session drops (netconf session is inactive, but TCP/SSH connection is still present).
  * The keepalive RPC is a get-config with empty filter.
+ *
+ * <p>
+ * Keepalives are sent only if nothing has been received from the device for the keepalive delay. With
+ * {@link Probe#TRANSPORT}, an SSH-level keepalive is sent instead of the RPC, which does not involve the NETCONF server
+ * of the device. A successful write of a transport keepalive does not prove the NETCONF server responds, hence the RPC
+ * is still sent once nothing has been received from the device for {@value #TRANSPORT_PROBES_PER_RPC} keepalive
+ * delays. Facades which are not given a scheduled executor share a single hashed wheel timer, so that the number of
+ * devices does not affect the number of scheduled tasks managed by executors. The timer only hands expired tasks over
+ * to the executor the facade is given. It is started with the first such facade and stopped once the last one is
+ * closed.
  */
 public final class KeepaliveSalFacade implements RemoteDeviceHandler<NetconfSessionPreferences> {
     private static final Logger LOG = LoggerFactory.getLogger(KeepaliveSalFacade.class);
@@ -58,13 +76,86 @@ public final class KeepaliveSalFacade implements RemoteDeviceHandler<NetconfSess
     // 1 minute transaction timeout by default
     private static final long DEFAULT_TRANSACTION_TIMEOUT_MILLI = TimeUnit.MILLISECONDS.toMillis(60000);
 
+    // Number of keepalive delays without anything received from the device after which a transport probe is replaced
+    // by the RPC
+    private static final int TRANSPORT_PROBES_PER_RPC = 4;
+
+    /**
+     * Keepalive message sent to an idle device.
+     */
+    public enum Probe {
+        /**
+         * A get-config RPC with empty filter.
+         */
+        RPC,
+        /**
+         * A transport-level keepalive message, if supported by the transport. Otherwise a get-config RPC is used.
+         */
+        TRANSPORT
+    }
+
+    @FunctionalInterface
+    private interface Scheduler extends AutoCloseable {
+        /**
+         * Schedule a task.
+         *
+         * @param task Task to run
+         * @param delayNanos Delay in nanoseconds
+         * @return Canceller of the scheduled task
+         */
+        Runnable schedule(Runnable task, long delayNanos);
+
+        /**
+         * Release resources held by this scheduler. Tasks scheduled afterwards may not run.
+         */
+        @Override
+        default void close() {
+            // Nothing by default
+        }
+    }
+
+    /**
+     * Reference-counted timer shared by all facades which are not given a scheduled executor.
+     */
+    private static final class SharedTimer {
+        @GuardedBy("SharedTimer.class")
+        private static Timer instance;
+        @GuardedBy("SharedTimer.class")
+        private static int references;
+
+        private SharedTimer() {
+            // Hidden on purpose
+        }
+
+        static synchronized Timer acquire() {
+            if (references++ == 0) {
+                instance = new HashedWheelTimer(new ThreadFactoryBuilder().setNameFormat("netconf-keepalive-timer")
+                    .setDaemon(true).build(), 100, TimeUnit.MILLISECONDS, 512);
+            }
+            return instance;
+        }
+
+        static synchronized void release() {
+            if (--references == 0) {
+                instance.stop();
+                instance = null;
+            }
+        }
+
+        static synchronized boolean isRunning() {
+            return instance != null;
+        }
+    }
+
     private final KeepaliveTask keepaliveTask = new KeepaliveTask();
     private final RemoteDeviceHandler<NetconfSessionPreferences> salFacade;
-    private final ScheduledExecutorService executor;
+    private final Scheduler scheduler;
+    private final Probe probe;
 
     private final long keepaliveDelaySeconds;
     private final long timeoutNanos;
     private final long delayNanos;
+    private final long rpcProbeNanos;
 
     private final RemoteDeviceId id;
 
@@ -74,11 +165,26 @@ public final class KeepaliveSalFacade implements RemoteDeviceHandler<NetconfSess
     public KeepaliveSalFacade(final RemoteDeviceId id, final RemoteDeviceHandler<NetconfSessionPreferences> salFacade,
                               final ScheduledExecutorService executor, final long keepaliveDelaySeconds,
                               final long requestTimeoutMillis) {
+        this(id, salFacade, executorScheduler(executor), keepaliveDelaySeconds, requestTimeoutMillis, Probe.RPC);
+    }
+
+    public KeepaliveSalFacade(final RemoteDeviceId id, final RemoteDeviceHandler<NetconfSessionPreferences> salFacade,
+                              final Executor executor, final long keepaliveDelaySeconds,
+                              final long requestTimeoutMillis, final Probe probe) {
+        this(id, salFacade, sharedTimerScheduler(executor), keepaliveDelaySeconds, requestTimeoutMillis, probe);
+    }
+
+    private KeepaliveSalFacade(final RemoteDeviceId id,
+                               final RemoteDeviceHandler<NetconfSessionPreferences> salFacade,
+                               final Scheduler scheduler, final long keepaliveDelaySeconds,
+                               final long requestTimeoutMillis, final Probe probe) {
         this.id = id;
         this.salFacade = salFacade;
-        this.executor = requireNonNull(executor);
+        this.scheduler = requireNonNull(scheduler);
+        this.probe = requireNonNull(probe);
         this.keepaliveDelaySeconds = keepaliveDelaySeconds;
         delayNanos = TimeUnit.SECONDS.toNanos(keepaliveDelaySeconds);
+        rpcProbeNanos = TRANSPORT_PROBES_PER_RPC * delayNanos;
         timeoutNanos = TimeUnit.MILLISECONDS.toNanos(requestTimeoutMillis);
     }
 
@@ -87,6 +193,60 @@ public final class KeepaliveSalFacade implements RemoteDeviceHandler<NetconfSess
         this(id, salFacade, executor, DEFAULT_DELAY, DEFAULT_TRANSACTION_TIMEOUT_MILLI);
     }
 
+    private static Scheduler executorScheduler(final ScheduledExecutorService executor) {
+        requireNonNull(executor);
+        return (task, delayNanos) -> {
+            final ScheduledFuture<?> future = executor.schedule(task, delayNanos, TimeUnit.NANOSECONDS);
+            return () -> future.cancel(false);
+        };
+    }
+
+    private static Scheduler sharedTimerScheduler(final Executor executor) {
+        requireNonNull(executor);
+        final Timer timer = SharedTimer.acquire();
+        final AtomicBoolean closed = new AtomicBoolean();
+        return new Scheduler() {
+            @Override
+            public Runnable schedule(final Runnable task, final long delayNanos) {
+                if (closed.get()) {
+                    LOG.debug("Not scheduling {} after the facade has been closed", task);
+                    return () -> { };
+                }
+                // Tasks invoke RPCs and may block, hence they must not run on the timer thread shared by all devices
+                final Timeout timeout;
+                try {
+                    timeout = timer.newTimeout(ignored -> executeExpired(executor, task), delayNanos,
+                        TimeUnit.NANOSECONDS);
+                } catch (IllegalStateException e) {
+                    // The timer has been stopped after the last facade closed, this one included
+                    LOG.debug("Timer rejected task {}", task, e);
+                    return () -> { };
+                }
+                return timeout::cancel;
+            }
+
+            @Override
+            public void close() {
+                if (closed.compareAndSet(false, true)) {
+                    SharedTimer.release();
+                }
+            }
+        };
+    }
+
+    @VisibleForTesting
+    static boolean isSharedTimerRunning() {
+        return SharedTimer.isRunning();
+    }
+
+    private static void executeExpired(final Executor executor, final Runnable task) {
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            LOG.debug("Executor rejected expired task {}", task, e);
+        }
+    }
+
     /**
      * Set the netconf session listener whenever ready.
      *
@@ -151,6 +311,7 @@ public final class KeepaliveSalFacade implements RemoteDeviceHandler<NetconfSess
     @Override
     public void close() {
         stopKeepalives();
+        scheduler.close();
         salFacade.close();
     }
 
@@ -176,7 +337,15 @@ public final class KeepaliveSalFacade implements RemoteDeviceHandler<NetconfSess
 
         @Override
         public void run() {
-            final long local = lastActivity;
+            long local = lastActivity;
+            final NetconfDeviceCommunicator localListener = listener;
+            if (localListener != null) {
+                // Anything received from the device proves the session is alive
+                final long inbound = localListener.getLastInboundNanos();
+                if (inbound - local > 0) {
+                    local = inbound;
+                }
+            }
             final long now = System.nanoTime();
             final long inFutureNanos = local + delayNanos - now;
             if (inFutureNanos > 0) {
@@ -221,6 +390,17 @@ public final class KeepaliveSalFacade implements RemoteDeviceHandler<NetconfSess
                 return;
             }
 
+            if (probe == Probe.TRANSPORT) {
+                final NetconfDeviceCommunicator localListener = listener;
+                if (localListener != null && now - localListener.getLastInboundNanos() < rpcProbeNanos
+                        && localListener.sendTransportKeepalive()) {
+                    LOG.trace("{}: Sent transport keepalive", id);
+                    lastActivity = now;
+                    reschedule();
+                    return;
+                }
+            }
+
             LOG.trace("{}: Invoking keepalive RPC", id);
             final ListenableFuture<? extends DOMRpcResult> deviceFuture =
                 currentDeviceRpc.invokeRpc(NETCONF_GET_CONFIG_QNAME, KEEPALIVE_PAYLOAD);
@@ -266,7 +446,7 @@ public final class KeepaliveSalFacade implements RemoteDeviceHandler<NetconfSess
         }
 
         private void reschedule(final long delay) {
-            executor.schedule(this, delay, TimeUnit.NANOSECONDS);
+            scheduler.schedule(this, delay);
         }
     }
 
@@ -330,8 +510,8 @@ public final class KeepaliveSalFacade implements RemoteDeviceHandler<NetconfSess
             final ListenableFuture<? extends DOMRpcResult> deviceFuture = deviceRpc.invokeRpc(type, input);
 
             final RequestTimeoutTask timeout = new RequestTimeoutTask(deviceFuture);
-            final ScheduledFuture<?> timeoutFuture = executor.schedule(timeout, timeoutNanos, TimeUnit.NANOSECONDS);
-            deviceFuture.addListener(() -> timeoutFuture.cancel(false), MoreExecutors.directExecutor());
+            final Runnable cancelTimeout = scheduler.schedule(timeout, timeoutNanos);
+            deviceFuture.addListener(cancelTimeout, MoreExecutors.directExecutor());
 
             return timeout.userFuture;
         }
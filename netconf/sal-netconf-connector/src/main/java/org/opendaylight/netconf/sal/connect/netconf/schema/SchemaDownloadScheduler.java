@@ -0,0 +1,257 @@
+/*
+ * Copyright (c) 2022 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.sal.connect.netconf.schema;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.checkerframework.checker.lock.qual.GuardedBy;
+import org.checkerframework.checker.lock.qual.Holding;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
+import org.opendaylight.yangtools.yang.model.repo.api.SchemaSourceException;
+import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
+import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
+import org.opendaylight.yangtools.yang.model.repo.spi.SchemaSourceProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Scheduler of YANG source downloads from devices, shared by all devices using the same schema repository. It ensures
+ * that:
+ * <ul>
+ *   <li>a source is downloaded only once at a time, even if it is requested by several devices, as the repository
+ *       treats sources with the same identifier as interchangeable. Should such a download fail, each of the other
+ *       devices falls back to downloading the source itself,</li>
+ *   <li>no device has more than a configured number of downloads outstanding, so that {@code get-schema} requests
+ *       are pipelined on its session without flooding it, and</li>
+ *   <li>the total number of outstanding downloads is bounded, with devices served in a round-robin fashion.</li>
+ * </ul>
+ * The scheduler does not use any threads of its own. Downloads are started by the thread requesting them or by the
+ * thread completing a previous download.
+ */
+public final class SchemaDownloadScheduler {
+    public static final int DEFAULT_MAX_DOWNLOADS = 64;
+    public static final int DEFAULT_MAX_DEVICE_DOWNLOADS = 4;
+
+    private static final Logger LOG = LoggerFactory.getLogger(SchemaDownloadScheduler.class);
+
+    /**
+     * Downloads of a single device session.
+     */
+    public final class DeviceDownloads implements AutoCloseable {
+        @GuardedBy("SchemaDownloadScheduler.this")
+        private final Deque<Download> pending = new ArrayDeque<>();
+        private final RemoteDeviceId id;
+        private final int maxDownloads;
+
+        @GuardedBy("SchemaDownloadScheduler.this")
+        private int active;
+        @GuardedBy("SchemaDownloadScheduler.this")
+        private boolean scheduled;
+        @GuardedBy("SchemaDownloadScheduler.this")
+        private boolean closed;
+
+        DeviceDownloads(final RemoteDeviceId id, final int maxDownloads) {
+            this.id = requireNonNull(id);
+            this.maxDownloads = maxDownloads;
+        }
+
+        /**
+         * Wrap a device's source provider, so that its downloads are subject to this scheduler.
+         *
+         * @param provider Provider to wrap
+         * @return Scheduled provider
+         */
+        public @NonNull SchemaSourceProvider<YangTextSchemaSource> schedule(
+                final SchemaSourceProvider<? extends YangTextSchemaSource> provider) {
+            requireNonNull(provider);
+            return sourceId -> download(sourceId, provider);
+        }
+
+        /**
+         * Fail all downloads of this device which have not started yet and reject any further ones.
+         */
+        @Override
+        public void close() {
+            final List<Download> failed;
+            synchronized (SchemaDownloadScheduler.this) {
+                closed = true;
+                failed = new ArrayList<>(pending);
+                pending.clear();
+                failed.forEach(download -> inFlight.remove(download.sourceId, download));
+                if (scheduled) {
+                    scheduled = false;
+                    ready.remove(this);
+                }
+            }
+
+            for (Download download : failed) {
+                download.future.setException(new SchemaSourceException(
+                    id + ": Device disconnected before " + download.sourceId + " was downloaded"));
+            }
+        }
+
+        private ListenableFuture<YangTextSchemaSource> download(final SourceIdentifier sourceId,
+                final SchemaSourceProvider<? extends YangTextSchemaSource> provider) {
+            final Download existing;
+            synchronized (SchemaDownloadScheduler.this) {
+                existing = inFlight.get(sourceId);
+            }
+            if (existing == null) {
+                return enqueue(sourceId, provider);
+            }
+            if (existing.owner == this) {
+                return Futures.nonCancellationPropagating(existing.future);
+            }
+
+            LOG.debug("{}: Joining download of {} started by {}", id, sourceId, existing.owner.id);
+            return Futures.catchingAsync(Futures.nonCancellationPropagating(existing.future), Exception.class,
+                cause -> {
+                    LOG.debug("{}: Download of {} by {} failed, downloading it directly", id, sourceId,
+                        existing.owner.id, cause);
+                    return enqueue(sourceId, provider);
+                }, MoreExecutors.directExecutor());
+        }
+
+        private ListenableFuture<YangTextSchemaSource> enqueue(final SourceIdentifier sourceId,
+                final SchemaSourceProvider<? extends YangTextSchemaSource> provider) {
+            final Download download = new Download(this, sourceId, provider);
+            synchronized (SchemaDownloadScheduler.this) {
+                if (closed) {
+                    return Futures.immediateFailedFuture(new SchemaSourceException(
+                        id + ": Device disconnected, not downloading " + sourceId));
+                }
+                inFlight.putIfAbsent(sourceId, download);
+                pending.add(download);
+                reschedule();
+            }
+            dispatch();
+            return download.future;
+        }
+
+        @Holding("SchemaDownloadScheduler.this")
+        private void reschedule() {
+            if (!scheduled && !pending.isEmpty() && active < maxDownloads) {
+                scheduled = true;
+                ready.add(this);
+            }
+        }
+    }
+
+    private static final class Download {
+        final SettableFuture<YangTextSchemaSource> future = SettableFuture.create();
+        final SchemaSourceProvider<? extends YangTextSchemaSource> provider;
+        final SourceIdentifier sourceId;
+        final DeviceDownloads owner;
+
+        Download(final DeviceDownloads owner, final SourceIdentifier sourceId,
+                final SchemaSourceProvider<? extends YangTextSchemaSource> provider) {
+            this.owner = owner;
+            this.sourceId = sourceId;
+            this.provider = provider;
+        }
+    }
+
+    @GuardedBy("this")
+    private final Map<SourceIdentifier, Download> inFlight = new HashMap<>();
+    @GuardedBy("this")
+    private final Deque<DeviceDownloads> ready = new ArrayDeque<>();
+    private final int maxDownloads;
+
+    @GuardedBy("this")
+    private int active;
+
+    public SchemaDownloadScheduler() {
+        this(DEFAULT_MAX_DOWNLOADS);
+    }
+
+    public SchemaDownloadScheduler(final int maxDownloads) {
+        checkArgument(maxDownloads > 0, "Invalid download limit %s", maxDownloads);
+        this.maxDownloads = maxDownloads;
+    }
+
+    /**
+     * Create a download queue for a device session.
+     *
+     * @param id Device identifier
+     * @param maxDeviceDownloads Maximum number of outstanding downloads from the device
+     * @return Device downloads, to be closed when the session goes down
+     */
+    public @NonNull DeviceDownloads forDevice(final RemoteDeviceId id, final int maxDeviceDownloads) {
+        checkArgument(maxDeviceDownloads > 0, "Invalid device download limit %s", maxDeviceDownloads);
+        return new DeviceDownloads(id, maxDeviceDownloads);
+    }
+
+    private void dispatch() {
+        while (true) {
+            final Download next;
+            synchronized (this) {
+                next = nextDownload();
+            }
+            if (next == null) {
+                return;
+            }
+            start(next);
+        }
+    }
+
+    @Holding("this")
+    private Download nextDownload() {
+        while (active < maxDownloads) {
+            final DeviceDownloads device = ready.poll();
+            if (device == null) {
+                return null;
+            }
+
+            device.scheduled = false;
+            final Download download = device.pending.poll();
+            if (download != null) {
+                device.active++;
+                active++;
+                // Go to the back of the queue, so that other devices get their turn
+                device.reschedule();
+                return download;
+            }
+        }
+        return null;
+    }
+
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    private void start(final Download download) {
+        LOG.trace("{}: Downloading {}", download.owner.id, download.sourceId);
+        ListenableFuture<? extends YangTextSchemaSource> source;
+        try {
+            source = download.provider.getSource(download.sourceId);
+        } catch (RuntimeException e) {
+            source = Futures.immediateFailedFuture(e);
+        }
+        download.future.setFuture(source);
+        source.addListener(() -> complete(download), MoreExecutors.directExecutor());
+    }
+
+    private void complete(final Download download) {
+        synchronized (this) {
+            inFlight.remove(download.sourceId, download);
+            download.owner.active--;
+            active--;
+            download.owner.reschedule();
+        }
+        dispatch();
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2022 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.sal.connect.netconf.schema.mapping;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Multimap;
+import com.google.common.collect.Multimaps;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.rfc8528.data.api.MountPointContext;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.util.DataSchemaContextTree;
+import org.opendaylight.yangtools.yang.model.api.ActionDefinition;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContextProvider;
+import org.opendaylight.yangtools.yang.model.api.NotificationDefinition;
+import org.opendaylight.yangtools.yang.model.api.RpcDefinition;
+import org.opendaylight.yangtools.yang.model.api.SchemaNode;
+import org.opendaylight.yangtools.yang.model.api.stmt.SchemaNodeIdentifier.Absolute;
+import org.opendaylight.yangtools.yang.model.util.SchemaInferenceStack;
+import org.opendaylight.yangtools.yang.model.util.SchemaInferenceStack.Inference;
+
+/**
+ * Schema-derived state of a {@link NetconfMessageTransformer}. It depends only on a {@link MountPointContext}, hence
+ * a single instance can be shared by transformers of all devices which end up with the same context.
+ */
+public final class MessageTransformerContext implements EffectiveModelContextProvider {
+    private final @NonNull MountPointContext mountContext;
+    private final @NonNull DataSchemaContextTree contextTree;
+    private final @NonNull ImmutableMap<QName, ? extends RpcDefinition> mappedRpcs;
+    private final @NonNull Multimap<QName, ? extends NotificationDefinition> mappedNotifications;
+    private final @NonNull ImmutableMap<Absolute, ActionDefinition> actions;
+    // Inferences of notifications and operation outputs, populated as they are encountered
+    private final ConcurrentMap<SchemaNode, CachedInference> inferences = new ConcurrentHashMap<>();
+
+    private MessageTransformerContext(final MountPointContext mountContext) {
+        this.mountContext = requireNonNull(mountContext);
+
+        final EffectiveModelContext schemaContext = mountContext.getEffectiveModelContext();
+        contextTree = DataSchemaContextTree.from(schemaContext);
+        mappedRpcs = Maps.uniqueIndex(schemaContext.getOperations(), SchemaNode::getQName);
+        actions = Maps.uniqueIndex(NetconfMessageTransformer.getActions(schemaContext),
+            action -> action.getPath().asAbsolute());
+
+        // RFC6020 normal notifications
+        mappedNotifications = Multimaps.index(schemaContext.getNotifications(),
+            node -> node.getQName().withoutRevision());
+    }
+
+    public static @NonNull MessageTransformerContext of(final MountPointContext mountContext) {
+        return new MessageTransformerContext(mountContext);
+    }
+
+    public @NonNull MountPointContext getMountPointContext() {
+        return mountContext;
+    }
+
+    @Override
+    public @NonNull EffectiveModelContext getEffectiveModelContext() {
+        return mountContext.getEffectiveModelContext();
+    }
+
+    @NonNull DataSchemaContextTree getContextTree() {
+        return contextTree;
+    }
+
+    @NonNull ImmutableMap<QName, ? extends RpcDefinition> getMappedRpcs() {
+        return mappedRpcs;
+    }
+
+    @NonNull Multimap<QName, ? extends NotificationDefinition> getMappedNotifications() {
+        return mappedNotifications;
+    }
+
+    @NonNull ImmutableMap<Absolute, ActionDefinition> getActions() {
+        return actions;
+    }
+
+    @NonNull CachedInference inferenceOf(final SchemaNode schemaNode) {
+        return inferences.computeIfAbsent(schemaNode, node -> new CachedInference(node.getPath().asAbsolute(),
+            SchemaInferenceStack.ofInstantiatedPath(getEffectiveModelContext(), node.getPath()).toInference()));
+    }
+
+    static final class CachedInference {
+        final Absolute path;
+        final Inference inference;
+
+        CachedInference(final Absolute path, final Inference inference) {
+            this.path = requireNonNull(path);
+            this.inference = requireNonNull(inference);
+        }
+    }
+}
@@ -18,9 +18,7 @@ import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
-import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
-import com.google.common.collect.Multimaps;
 import com.google.common.collect.Streams;
 import java.io.IOException;
 import java.net.URISyntaxException;
@@ -39,6 +37,7 @@ import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import javax.xml.transform.dom.DOMResult;
 import javax.xml.transform.dom.DOMSource;
 import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
@@ -49,10 +48,13 @@ import org.opendaylight.mdsal.dom.api.DOMNotification;
 import org.opendaylight.mdsal.dom.api.DOMRpcResult;
 import org.opendaylight.mdsal.dom.spi.DefaultDOMRpcResult;
 import org.opendaylight.mdsal.dom.spi.SimpleDOMActionResult;
+import org.opendaylight.netconf.api.LazyNetconfMessage;
 import org.opendaylight.netconf.api.NetconfMessage;
 import org.opendaylight.netconf.api.xml.MissingNameSpaceException;
 import org.opendaylight.netconf.api.xml.XmlElement;
+import org.opendaylight.netconf.api.xml.XmlNetconfConstants;
 import org.opendaylight.netconf.sal.connect.api.MessageTransformer;
+import org.opendaylight.netconf.sal.connect.netconf.schema.mapping.MessageTransformerContext.CachedInference;
 import org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil;
 import org.opendaylight.netconf.sal.connect.util.MessageCounter;
 import org.opendaylight.yangtools.rfc8528.data.api.MountPointContext;
@@ -85,7 +87,6 @@ import org.opendaylight.yangtools.yang.model.api.RpcDefinition;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 import org.opendaylight.yangtools.yang.model.api.SchemaNode;
 import org.opendaylight.yangtools.yang.model.api.stmt.SchemaNodeIdentifier.Absolute;
-import org.opendaylight.yangtools.yang.model.util.SchemaInferenceStack;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
@@ -94,6 +95,11 @@ import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 import org.xml.sax.SAXException;
 
+/**
+ * Transformer between NETCONF messages and their normalized representation. Instances do not hold any mutable state
+ * other than caches safe for concurrent access, hence messages for a single device can be transformed by multiple
+ * threads at the same time.
+ */
 public class NetconfMessageTransformer implements MessageTransformer<NetconfMessage> {
     private static final Logger LOG = LoggerFactory.getLogger(NetconfMessageTransformer.class);
 
@@ -110,21 +116,30 @@ public class NetconfMessageTransformer implements MessageTransformer<NetconfMess
     private final Multimap<QName, ? extends NotificationDefinition> mappedNotifications;
     private final boolean strictParsing;
     private final ImmutableMap<Absolute, ActionDefinition> actions;
+    private final MessageTransformerContext transformerContext;
 
     public NetconfMessageTransformer(final MountPointContext mountContext, final boolean strictParsing,
                                      final BaseSchema baseSchema) {
-        this.counter = new MessageCounter();
-        this.mountContext = requireNonNull(mountContext);
-
-        final EffectiveModelContext schemaContext = mountContext.getEffectiveModelContext();
-        this.contextTree = DataSchemaContextTree.from(schemaContext);
-
-        this.mappedRpcs = Maps.uniqueIndex(schemaContext.getOperations(), SchemaNode::getQName);
-        this.actions = Maps.uniqueIndex(getActions(schemaContext), action -> action.getPath().asAbsolute());
+        this(MessageTransformerContext.of(mountContext), strictParsing, baseSchema);
+    }
 
-        // RFC6020 normal notifications
-        this.mappedNotifications = Multimaps.index(schemaContext.getNotifications(),
-            node -> node.getQName().withoutRevision());
+    /**
+     * Create a transformer reusing schema-derived state of a {@link MessageTransformerContext}, which may be shared
+     * with other transformers.
+     *
+     * @param transformerContext Schema-derived state
+     * @param strictParsing Whether parsing should fail on unknown elements
+     * @param baseSchema Base NETCONF schema
+     */
+    public NetconfMessageTransformer(final MessageTransformerContext transformerContext, final boolean strictParsing,
+                                     final BaseSchema baseSchema) {
+        this.counter = new MessageCounter();
+        this.transformerContext = requireNonNull(transformerContext);
+        this.mountContext = transformerContext.getMountPointContext();
+        this.contextTree = transformerContext.getContextTree();
+        this.mappedRpcs = transformerContext.getMappedRpcs();
+        this.actions = transformerContext.getActions();
+        this.mappedNotifications = transformerContext.getMappedNotifications();
         this.baseSchema = baseSchema;
         this.strictParsing = strictParsing;
     }
@@ -155,7 +170,7 @@ public class NetconfMessageTransformer implements MessageTransformer<NetconfMess
     }
 
     @Override
-    public synchronized DOMNotification toNotification(final NetconfMessage message) {
+    public DOMNotification toNotification(final NetconfMessage message) {
         final Entry<Instant, XmlElement> stripped = NetconfMessageTransformUtil.stripNotification(message);
         final QName notificationNoRev;
         try {
@@ -185,14 +200,14 @@ public class NetconfMessageTransformer implements MessageTransformer<NetconfMess
                 notificationDefinitions, mappedNotifications.keySet());
 
         final NotificationDefinition mostRecentNotification = getMostRecentNotification(notificationDefinitions);
+        final CachedInference notificationInference = inferenceOf(mostRecentNotification);
 
         final ContainerNode content;
         try {
             final NormalizedNodeResult resultHolder = new NormalizedNodeResult();
             final NormalizedNodeStreamWriter writer = ImmutableNormalizedNodeStreamWriter.from(resultHolder);
             final XmlParserStream xmlParser = XmlParserStream.create(writer, mountContext,
-                    SchemaInferenceStack.ofInstantiatedPath(mountContext.getEffectiveModelContext(),
-                        mostRecentNotification.getPath()).toInference(), strictParsing);
+                    notificationInference.inference, strictParsing);
             xmlParser.traverse(new DOMSource(element));
             content = (ContainerNode) resultHolder.getResult();
         } catch (XMLStreamException | URISyntaxException | IOException | SAXException
@@ -201,10 +216,8 @@ public class NetconfMessageTransformer implements MessageTransformer<NetconfMess
         }
 
         if (nestedNotificationInfo != null) {
-            return new NetconfDeviceTreeNotification(content,
-                // FIXME: improve this to cache the path
-                mostRecentNotification.getPath().asAbsolute(),
-                stripped.getKey(), nestedNotificationInfo.domDataTreeIdentifier);
+            return new NetconfDeviceTreeNotification(content, notificationInference.path, stripped.getKey(),
+                nestedNotificationInfo.domDataTreeIdentifier);
         }
 
         return new NetconfDeviceNotification(content, stripped.getKey());
@@ -398,7 +411,7 @@ public class NetconfMessageTransformer implements MessageTransformer<NetconfMess
     }
 
     @Override
-    public synchronized DOMRpcResult toRpcResult(final NetconfMessage message, final QName rpc) {
+    public DOMRpcResult toRpcResult(final NetconfMessage message, final QName rpc) {
         final NormalizedNode normalizedNode;
         if (NetconfMessageTransformUtil.isDataRetrievalOperation(rpc)) {
             normalizedNode = Builders.containerBuilder()
@@ -443,34 +456,57 @@ public class NetconfMessageTransformer implements MessageTransformer<NetconfMess
     }
 
     private NormalizedNode parseResult(final NetconfMessage message, final OperationDefinition operationDefinition) {
-        final Optional<XmlElement> okResponseElement = XmlElement.fromDomDocument(message.getDocument())
-                .getOnlyChildElementWithSameNamespaceOptionally("ok");
+        final boolean okResponse = isOkResponse(message);
         if (operationDefinition.getOutput().getChildNodes().isEmpty()) {
-            Preconditions.checkArgument(okResponseElement.isPresent(),
+            Preconditions.checkArgument(okResponse,
                 "Unexpected content in response of rpc: %s, %s", operationDefinition.getQName(), message);
             return null;
         } else {
-            if (okResponseElement.isPresent()) {
+            if (okResponse) {
                 LOG.debug("Received response <ok/> for RPC with defined Output");
                 return null;
             }
 
-            Element element = message.getDocument().getDocumentElement();
             try {
                 final NormalizedNodeResult resultHolder = new NormalizedNodeResult();
                 final NormalizedNodeStreamWriter writer = ImmutableNormalizedNodeStreamWriter.from(resultHolder);
                 final XmlParserStream xmlParser = XmlParserStream.create(writer, mountContext,
-                        // FIXME: we should have a cached inference here
-                        SchemaInferenceStack.ofInstantiatedPath(mountContext.getEffectiveModelContext(),
-                            operationDefinition.getOutput().getPath()).toInference(), strictParsing);
-                xmlParser.traverse(new DOMSource(element));
+                        inferenceOf(operationDefinition.getOutput()).inference, strictParsing);
+                if (message instanceof LazyNetconfMessage) {
+                    // Parse directly from the serialized message, without constructing its DOM
+                    final XMLStreamReader reader = ((LazyNetconfMessage) message).openStream();
+                    try {
+                        xmlParser.parse(reader);
+                    } finally {
+                        reader.close();
+                    }
+                } else {
+                    xmlParser.traverse(new DOMSource(message.getDocument().getDocumentElement()));
+                }
                 return resultHolder.getResult();
             } catch (XMLStreamException | URISyntaxException | IOException | SAXException e) {
-                throw new IllegalArgumentException(String.format("Failed to parse RPC response %s", element), e);
+                throw new IllegalArgumentException(String.format("Failed to parse RPC response %s", message), e);
             }
         }
     }
 
+    private CachedInference inferenceOf(final SchemaNode schemaNode) {
+        return transformerContext.inferenceOf(schemaNode);
+    }
+
+    private static boolean isOkResponse(final NetconfMessage message) {
+        if (message instanceof LazyNetconfMessage) {
+            final LazyNetconfMessage lazy = (LazyNetconfMessage) message;
+            final String namespace = lazy.getRootElement().getNamespaceURI();
+            return !namespace.isEmpty() && lazy.getRootChildren().stream()
+                .filter(child -> XmlNetconfConstants.OK.equals(child.getLocalPart())
+                    && namespace.equals(child.getNamespaceURI()))
+                .count() == 1;
+        }
+        return XmlElement.fromDomDocument(message.getDocument())
+            .getOnlyChildElementWithSameNamespaceOptionally(XmlNetconfConstants.OK).isPresent();
+    }
+
     @Beta
     public static class NetconfDeviceNotification implements DOMNotification, DOMEvent {
         private final ContainerNode content;
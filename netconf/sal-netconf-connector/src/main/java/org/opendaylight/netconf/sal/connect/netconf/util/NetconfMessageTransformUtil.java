@@ -35,6 +35,7 @@ import org.eclipse.jdt.annotation.NonNull;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeIdentifier;
 import org.opendaylight.netconf.api.DocumentedException;
 import org.opendaylight.netconf.api.FailedNetconfMessage;
+import org.opendaylight.netconf.api.LazyNetconfMessage;
 import org.opendaylight.netconf.api.ModifyAction;
 import org.opendaylight.netconf.api.NetconfDocumentedException;
 import org.opendaylight.netconf.api.NetconfMessage;
@@ -285,8 +286,8 @@ public final class NetconfMessageTransformUtil {
 
     public static void checkValidReply(final NetconfMessage input, final NetconfMessage output)
             throws NetconfDocumentedException {
-        final String inputMsgId = input.getDocument().getDocumentElement().getAttribute(MESSAGE_ID_ATTR);
-        final String outputMsgId = output.getDocument().getDocumentElement().getAttribute(MESSAGE_ID_ATTR);
+        final String inputMsgId = getMessageId(input);
+        final String outputMsgId = getMessageId(output);
 
         if (!inputMsgId.equals(outputMsgId)) {
             throw new NetconfDocumentedException("Response message contained unknown \"message-id\"", null,
@@ -295,6 +296,21 @@ public final class NetconfMessageTransformUtil {
         }
     }
 
+    /**
+     * Return the message-id attribute of a message's document element.
+     *
+     * @param message Message to examine
+     * @return message-id attribute value, or an empty string if it is not present
+     */
+    public static String getMessageId(final NetconfMessage message) {
+        if (message instanceof LazyNetconfMessage) {
+            return ((LazyNetconfMessage) message).getRootAttribute(MESSAGE_ID_ATTR);
+        }
+        final Document document = message.getDocument();
+        final Element root = document == null ? null : document.getDocumentElement();
+        return root == null ? "" : root.getAttribute(MESSAGE_ID_ATTR);
+    }
+
     public static void checkSuccessReply(final NetconfMessage output) throws NetconfDocumentedException {
         if (NetconfMessageUtil.isErrorMessage(output)) {
             throw NetconfDocumentedException.fromXMLDocument(output.getDocument());
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2022 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.sal.connect.netconf;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.opendaylight.yangtools.yang.common.Revision;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.model.repo.api.EffectiveModelContextFactory;
+import org.opendaylight.yangtools.yang.model.repo.api.RevisionSourceIdentifier;
+import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
+
+public class ModuleSetSnapshotsTest {
+    private static final Set<SourceIdentifier> SOURCES = ImmutableSet.of(
+        RevisionSourceIdentifier.create("foo", Revision.of("2022-01-01")),
+        RevisionSourceIdentifier.create("bar"));
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testRecordAndReload() throws Exception {
+        final Path directory = folder.getRoot().toPath().resolve("module-sets");
+        final ModuleSetSnapshots snapshots = new ModuleSetSnapshots(directory);
+        assertFalse(snapshots.contains(SOURCES));
+
+        snapshots.record(SOURCES);
+        assertTrue(snapshots.contains(SOURCES));
+        try (var files = Files.list(directory)) {
+            assertEquals(1, files.count());
+        }
+
+        final ModuleSetSnapshots reloaded = new ModuleSetSnapshots(directory);
+        assertTrue(reloaded.contains(ImmutableSet.of(RevisionSourceIdentifier.create("bar"),
+            RevisionSourceIdentifier.create("foo", Revision.of("2022-01-01")))));
+        assertEquals(List.of(SOURCES), reloaded.load(10));
+
+        reloaded.forget(SOURCES);
+        assertFalse(reloaded.contains(SOURCES));
+        assertFalse(new ModuleSetSnapshots(directory).contains(SOURCES));
+    }
+
+    @Test
+    public void testCacheRecordsCompleteSets() {
+        final DeviceSchemaCache cache = new DeviceSchemaCache(
+            new ModuleSetSnapshots(folder.getRoot().toPath()));
+        assertFalse(cache.isKnownComplete(SOURCES));
+
+        cache.store(SOURCES, mock(EffectiveModelContext.class));
+        assertTrue(cache.isKnownComplete(SOURCES));
+        assertTrue(new DeviceSchemaCache(new ModuleSetSnapshots(folder.getRoot().toPath())).isKnownComplete(SOURCES));
+    }
+
+    @Test
+    public void testPrewarm() {
+        new ModuleSetSnapshots(folder.getRoot().toPath()).record(SOURCES);
+
+        final EffectiveModelContextFactory factory = mock(EffectiveModelContextFactory.class);
+        doReturn(Futures.immediateFuture(mock(EffectiveModelContext.class))).when(factory)
+            .createEffectiveModelContext(SOURCES);
+        final DeviceSchemaCache cache = new DeviceSchemaCache(new ModuleSetSnapshots(folder.getRoot().toPath()));
+        cache.prewarm(factory, MoreExecutors.directExecutor());
+        assertNotNull(cache.lookup(SOURCES));
+    }
+
+    @Test
+    public void testPrewarmWithoutSnapshots() {
+        final EffectiveModelContextFactory factory = mock(EffectiveModelContextFactory.class);
+        final DeviceSchemaCache cache = new DeviceSchemaCache();
+        final Executor executor = mock(Executor.class);
+        cache.prewarm(factory, executor);
+        assertFalse(cache.isKnownComplete(SOURCES));
+        verifyNoInteractions(factory, executor);
+    }
+}
@@ -9,9 +9,11 @@ package org.opendaylight.netconf.sal.connect.netconf;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.after;
@@ -28,12 +30,14 @@ import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
+import com.google.common.io.ByteSource;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListeningExecutorService;
 import com.google.common.util.concurrent.MoreExecutors;
 import com.google.common.util.concurrent.SettableFuture;
 import java.io.IOException;
 import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -81,6 +85,8 @@ import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
 import org.opendaylight.yangtools.yang.model.repo.spi.PotentialSchemaSource;
 import org.opendaylight.yangtools.yang.model.repo.spi.SchemaSourceRegistration;
 import org.opendaylight.yangtools.yang.model.repo.spi.SchemaSourceRegistry;
+import org.opendaylight.yangtools.yang.parser.rfc7950.ir.IRSchemaSource;
+import org.opendaylight.yangtools.yang.parser.rfc7950.repo.TextToIRTransformer;
 import org.xml.sax.SAXException;
 
 public class NetconfDeviceTest extends AbstractTestModelTest {
@@ -255,6 +261,43 @@ public class NetconfDeviceTest extends AbstractTestModelTest {
         verify(schemaFactory, times(1)).createEffectiveModelContext(anyCollection());
     }
 
+    @Test
+    public void testNetconfDeviceUnsatisfiedImport() throws Exception {
+        final RemoteDeviceHandler<NetconfSessionPreferences> facade = getFacade();
+        final NetconfDeviceCommunicator listener = getListener();
+
+        final EffectiveModelContextFactory schemaFactory = getSchemaFactory();
+        final SchemaRepository schemaRepository = getSchemaRepository();
+
+        // The second module imports a module the device does not have, it should be excluded before assembly
+        doReturn(Futures.immediateFuture(getIRSource(TEST_SID, "")))
+                .when(schemaRepository).getSchemaSource(eq(TEST_SID), eq(IRSchemaSource.class));
+        doReturn(Futures.immediateFuture(getIRSource(TEST_SID2, "import missing-module { prefix m; }")))
+                .when(schemaRepository).getSchemaSource(eq(TEST_SID2), eq(IRSchemaSource.class));
+
+        final NetconfDevice.SchemaResourcesDTO schemaResourcesDTO = new NetconfDevice
+                .SchemaResourcesDTO(getSchemaRegistry(), schemaRepository, schemaFactory, STATE_SCHEMAS_RESOLVER);
+        final NetconfDevice device = new NetconfDeviceBuilder()
+                .setReconnectOnSchemasChange(true)
+                .setSchemaResourcesDTO(schemaResourcesDTO)
+                .setGlobalProcessingExecutor(getExecutor())
+                .setBaseSchemas(BASE_SCHEMAS)
+                .setId(getId())
+                .setSalFacade(facade)
+                .build();
+        final NetconfSessionPreferences sessionCaps =
+                getSessionCaps(false, Lists.newArrayList(TEST_CAPABILITY, TEST_CAPABILITY2));
+        device.onRemoteSessionUp(sessionCaps, listener);
+
+        verify(facade, timeout(5000)).onDeviceConnected(any(MountPointContext.class),
+            any(NetconfSessionPreferences.class), any(NetconfDeviceRpc.class), isNull());
+        verify(schemaFactory, times(1)).createEffectiveModelContext(anyCollection());
+        verify(schemaFactory).createEffectiveModelContext(
+            argThat((Collection<SourceIdentifier> sources) -> List.copyOf(sources).equals(List.of(TEST_SID))));
+        assertTrue(sessionCaps.getNetconfDeviceCapabilities().getUnresolvedCapabilites()
+            .containsKey(QName.create(TEST_NAMESPACE, TEST_REVISION, TEST_MODULE + "2")));
+    }
+
     private static SchemaSourceRegistry getSchemaRegistry() {
         final SchemaSourceRegistry mock = mock(SchemaSourceRegistry.class);
         final SchemaSourceRegistration<?> mockReg = mock(SchemaSourceRegistration.class);
@@ -270,9 +313,20 @@ public class NetconfDeviceTest extends AbstractTestModelTest {
         final SchemaSourceRepresentation mockRep = mock(SchemaSourceRepresentation.class);
         doReturn(Futures.immediateFuture(mockRep))
                 .when(mock).getSchemaSource(any(SourceIdentifier.class), eq(YangTextSchemaSource.class));
+        doAnswer(invocation -> Futures.immediateFailedFuture(new MissingSchemaSourceException("no IR",
+                invocation.getArgument(0))))
+                .when(mock).getSchemaSource(any(SourceIdentifier.class), eq(IRSchemaSource.class));
         return mock;
     }
 
+    // Also used by UnresolvableSourcesTest
+    static IRSchemaSource getIRSource(final SourceIdentifier sourceId, final String body) throws Exception {
+        return TextToIRTransformer.transformText(YangTextSchemaSource.delegateForByteSource(sourceId,
+            ByteSource.wrap(("module " + sourceId.getName() + " { namespace " + TEST_NAMESPACE + ":"
+                + sourceId.getName() + "; prefix p; revision " + TEST_REVISION + "; " + body + " }")
+                .getBytes(StandardCharsets.UTF_8))));
+    }
+
     @Test
     public void testNotificationBeforeSchema() throws Exception {
         final RemoteDeviceHandler<NetconfSessionPreferences> facade = getFacade();
@@ -339,10 +393,42 @@ public class NetconfDeviceTest extends AbstractTestModelTest {
 
         device.onRemoteSessionUp(sessionCaps, listener);
 
-        verify(schemaContextProviderFactory, timeout(5000).times(2)).createEffectiveModelContext(any(Collection.class));
+        // The schema assembled on first connect is reused
         verify(facade, timeout(5000).times(2)).onDeviceConnected(
                 any(MountPointContext.class), any(NetconfSessionPreferences.class), any(DOMRpcService.class),
                 isNull());
+        verify(schemaContextProviderFactory).createEffectiveModelContext(any(Collection.class));
+    }
+
+    @Test
+    public void testNetconfDeviceSharedSchema() throws Exception {
+        final EffectiveModelContextFactory schemaContextProviderFactory = getSchemaFactory();
+        final NetconfDevice.SchemaResourcesDTO schemaResourcesDTO = new NetconfDevice.SchemaResourcesDTO(
+                getSchemaRegistry(), getSchemaRepository(), schemaContextProviderFactory, STATE_SCHEMAS_RESOLVER);
+
+        final List<MountPointContext> contexts = new ArrayList<>();
+        for (int i = 0; i < 2; ++i) {
+            final RemoteDeviceHandler<NetconfSessionPreferences> facade = getFacade();
+            final NetconfDevice device = new NetconfDeviceBuilder()
+                    .setSchemaResourcesDTO(schemaResourcesDTO)
+                    .setGlobalProcessingExecutor(getExecutor())
+                    .setId(getId())
+                    .setSalFacade(facade)
+                    .setBaseSchemas(BASE_SCHEMAS)
+                    .build();
+            device.onRemoteSessionUp(getSessionCaps(true, Lists.newArrayList(
+                TEST_NAMESPACE + "?module=" + TEST_MODULE + "&amp;revision=" + TEST_REVISION)), getListener());
+
+            final ArgumentCaptor<MountPointContext> captor = ArgumentCaptor.forClass(MountPointContext.class);
+            verify(facade, timeout(5000)).onDeviceConnected(captor.capture(), any(NetconfSessionPreferences.class),
+                    any(DOMRpcService.class), isNull());
+            contexts.add(captor.getValue());
+        }
+
+        // Second device reuses the schema of the first one
+        verify(schemaContextProviderFactory).createEffectiveModelContext(any(Collection.class));
+        assertSame(contexts.get(0), contexts.get(1));
+        assertEquals(1, schemaResourcesDTO.getSchemaCache().size());
     }
 
     @Test
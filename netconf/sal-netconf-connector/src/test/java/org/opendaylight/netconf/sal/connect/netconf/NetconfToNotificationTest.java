@@ -13,7 +13,12 @@ import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.junit.Before;
 import org.junit.Test;
 import org.opendaylight.mdsal.dom.api.DOMEvent;
@@ -83,4 +88,26 @@ public class NetconfToNotificationTest extends AbstractBaseSchemasTest {
         assertEquals(NetconfNotification.RFC3339_DATE_PARSER.apply("2015-10-23T09:42:27.67175+00:00").toInstant(),
                 ((DOMEvent) domNotification).getEventInstant());
     }
+
+    @Test
+    public void testToNotificationConcurrently() throws Exception {
+        final EffectiveModelContext schemaContext = getNotificationSchemaContext(getClass(), false);
+        messageTransformer = new NetconfMessageTransformer(new EmptyMountPointContext(schemaContext), true,
+            BASE_SCHEMAS.getBaseSchema());
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<DOMNotification>> futures = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                // DOM is not safe for concurrent access, hence each task gets its own copy of the message
+                futures.add(executor.submit(() -> messageTransformer.toNotification(new NetconfMessage(
+                    XmlUtil.readXmlToDocument(getClass().getResourceAsStream("/notification-payload.xml"))))));
+            }
+            for (Future<DOMNotification> future : futures) {
+                assertEquals(6, future.get().getBody().body().size());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
 }
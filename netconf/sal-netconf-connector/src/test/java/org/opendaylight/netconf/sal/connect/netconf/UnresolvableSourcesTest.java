@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2022 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.sal.connect.netconf;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableSetMultimap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.Revision;
+import org.opendaylight.yangtools.yang.model.api.ModuleImport;
+import org.opendaylight.yangtools.yang.model.repo.api.RevisionSourceIdentifier;
+import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
+import org.opendaylight.yangtools.yang.parser.rfc7950.repo.YangModelDependencyInfo;
+
+public class UnresolvableSourcesTest {
+    private static final SourceIdentifier BASE = RevisionSourceIdentifier.create("base");
+    private static final SourceIdentifier BROKEN = RevisionSourceIdentifier.create("broken");
+    private static final SourceIdentifier USES_BROKEN = RevisionSourceIdentifier.create("uses-broken");
+    private static final SourceIdentifier USES_USES_BROKEN = RevisionSourceIdentifier.create("uses-uses-broken");
+    private static final SourceIdentifier USES_BASE = RevisionSourceIdentifier.create("uses-base");
+    private static final SourceIdentifier WRONG_REVISION = RevisionSourceIdentifier.create("wrong-revision");
+
+    @Test
+    public void testTransitiveClosure() throws Exception {
+        final Map<SourceIdentifier, YangModelDependencyInfo> dependencies = Map.of(
+            BASE, dependencyInfo(BASE, ""),
+            BROKEN, dependencyInfo(BROKEN, "import missing { prefix m; }"),
+            USES_BROKEN, dependencyInfo(USES_BROKEN, "import broken { prefix b; } import base { prefix b2; }"),
+            USES_USES_BROKEN, dependencyInfo(USES_USES_BROKEN, "import uses-broken { prefix u; }"),
+            USES_BASE, dependencyInfo(USES_BASE, "import base { prefix b; }"),
+            WRONG_REVISION, dependencyInfo(WRONG_REVISION, "import base { prefix b; revision-date 2022-01-01; }"));
+
+        final ImmutableSetMultimap<SourceIdentifier, ModuleImport> unresolvable =
+            UnresolvableSources.find(dependencies.keySet(), dependencies);
+        assertEquals(Set.of(BROKEN, USES_BROKEN, USES_USES_BROKEN, WRONG_REVISION), unresolvable.keySet());
+        assertEquals("missing", unresolvable.get(BROKEN).iterator().next().getModuleName());
+        assertEquals("broken", unresolvable.get(USES_BROKEN).iterator().next().getModuleName());
+        assertEquals(Revision.ofNullable("2022-01-01"),
+            unresolvable.get(WRONG_REVISION).iterator().next().getRevision());
+    }
+
+    @Test
+    public void testUnanalyzedSourcesAreKept() throws Exception {
+        final Map<SourceIdentifier, YangModelDependencyInfo> dependencies =
+            Map.of(USES_BASE, dependencyInfo(USES_BASE, "import base { prefix b; }"));
+
+        assertTrue(UnresolvableSources.find(List.of(BASE, USES_BASE), dependencies).isEmpty());
+        assertEquals(Set.of(USES_BASE), UnresolvableSources.find(List.of(USES_BASE), dependencies).keySet());
+    }
+
+    private static YangModelDependencyInfo dependencyInfo(final SourceIdentifier sourceId, final String body)
+            throws Exception {
+        return YangModelDependencyInfo.forIR(NetconfDeviceTest.getIRSource(sourceId, body));
+    }
+}
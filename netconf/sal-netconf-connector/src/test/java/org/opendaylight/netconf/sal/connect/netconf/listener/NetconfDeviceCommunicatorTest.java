@@ -21,6 +21,7 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.opendaylight.netconf.api.xml.XmlNetconfConstants.URN_IETF_PARAMS_XML_NS_NETCONF_BASE_1_0;
 
@@ -41,7 +42,14 @@ import java.net.InetSocketAddress;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import javax.xml.parsers.ParserConfigurationException;
@@ -51,6 +59,7 @@ import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.opendaylight.netconf.api.FailedNetconfMessage;
 import org.opendaylight.netconf.api.NetconfMessage;
 import org.opendaylight.netconf.api.NetconfTerminationReason;
 import org.opendaylight.netconf.api.xml.XmlNetconfConstants;
@@ -61,6 +70,7 @@ import org.opendaylight.netconf.client.conf.NetconfReconnectingClientConfigurati
 import org.opendaylight.netconf.client.conf.NetconfReconnectingClientConfigurationBuilder;
 import org.opendaylight.netconf.nettyutil.ReconnectStrategy;
 import org.opendaylight.netconf.nettyutil.TimedReconnectStrategy;
+import org.opendaylight.netconf.nettyutil.handler.exi.NetconfStartExiMessage;
 import org.opendaylight.netconf.nettyutil.handler.ssh.authentication.LoginPasswordHandler;
 import org.opendaylight.netconf.sal.connect.api.RemoteDevice;
 import org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil;
@@ -252,6 +262,17 @@ public class NetconfDeviceCommunicatorTest {
         verifyErrorRpcResult(rpcResult, RpcError.ErrorType.TRANSPORT, "operation-failed");
     }
 
+    private static NetconfMessage createOkResponseMessage(final String messageID) {
+        Document doc = UntrustedXML.newDocumentBuilder().newDocument();
+        Element rpcReply =
+                doc.createElementNS(URN_IETF_PARAMS_XML_NS_NETCONF_BASE_1_0, XmlNetconfConstants.RPC_REPLY_KEY);
+        rpcReply.setAttribute("message-id", messageID);
+        rpcReply.appendChild(doc.createElementNS(URN_IETF_PARAMS_XML_NS_NETCONF_BASE_1_0, XmlNetconfConstants.OK));
+        doc.appendChild(rpcReply);
+
+        return new NetconfMessage(doc);
+    }
+
     private static NetconfMessage createSuccessResponseMessage(final String messageID)
             throws ParserConfigurationException {
         Document doc = UntrustedXML.newDocumentBuilder().newDocument();
@@ -300,6 +321,30 @@ public class NetconfDeviceCommunicatorTest {
                 rpcError.getMessage().contains("mock error"));
     }
 
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    @Test
+    public void testSendFailureReleasesMessageLimit() throws Exception {
+        communicator = new NetconfDeviceCommunicator(
+                new RemoteDeviceId("test", InetSocketAddress.createUnresolved("localhost", 22)), mockDevice, 1);
+        setupSession();
+
+        final NetconfMessage message = new NetconfMessage(UntrustedXML.newDocumentBuilder().newDocument());
+        final ArgumentCaptor<GenericFutureListener> futureListener =
+                ArgumentCaptor.forClass(GenericFutureListener.class);
+        final ChannelFuture mockChannelFuture = mock(ChannelFuture.class);
+        doReturn(mockChannelFuture).when(mockChannelFuture).addListener(futureListener.capture());
+        doReturn(mockChannelFuture).when(mockSession).sendMessage(same(message));
+        communicator.sendRequest(message, QName.create("", "mockRpc"));
+
+        final Future<Void> operationFuture = mock(Future.class);
+        doReturn(false).when(operationFuture).isSuccess();
+        doReturn(new Exception("mock error")).when(operationFuture).cause();
+        futureListener.getValue().operationComplete(operationFuture);
+
+        // the failed request is no longer outstanding
+        assertTrue(sendRequest() instanceof UncancellableFuture);
+    }
+
     //Test scenario verifying whether missing message is handled
     @Test
     public void testOnMissingResponseMessage() throws Exception {
@@ -338,6 +383,153 @@ public class NetconfDeviceCommunicatorTest {
         verifyResponseMessage(resultFuture2.get(), messageID2);
     }
 
+    @Test
+    public void testOnOutOfOrderResponseMessage() throws Exception {
+        communicator = new NetconfDeviceCommunicator(
+            new RemoteDeviceId("test", InetSocketAddress.createUnresolved("localhost", 22)), mockDevice,
+            Optional.empty(), 10,
+            NetconfDeviceCommunicatorOptions.builder().withOutOfOrderReplies(true).build());
+        setupSession();
+
+        String messageID1 = UUID.randomUUID().toString();
+        ListenableFuture<RpcResult<NetconfMessage>> resultFuture1 = sendRequest(messageID1, true);
+
+        String messageID2 = UUID.randomUUID().toString();
+        ListenableFuture<RpcResult<NetconfMessage>> resultFuture2 = sendRequest(messageID2, true);
+
+        // Reply to the second request does not affect the first one
+        communicator.onMessage(mockSession, createSuccessResponseMessage(messageID2));
+        verifyResponseMessage(resultFuture2.get(), messageID2);
+        assertFalse("Request 1 should still be outstanding", resultFuture1.isDone());
+
+        // Unknown message-id does not affect it either
+        communicator.onMessage(mockSession, createSuccessResponseMessage(UUID.randomUUID().toString()));
+        assertFalse("Request 1 should still be outstanding", resultFuture1.isDone());
+
+        communicator.onMessage(mockSession, createSuccessResponseMessage(messageID1));
+        verifyResponseMessage(resultFuture1.get(), messageID1);
+    }
+
+    @Test
+    public void testOutOfOrderRequestsFailOnSessionDown() throws Exception {
+        communicator = new NetconfDeviceCommunicator(
+            new RemoteDeviceId("test", InetSocketAddress.createUnresolved("localhost", 22)), mockDevice,
+            Optional.empty(), 10,
+            NetconfDeviceCommunicatorOptions.builder().withOutOfOrderReplies(true).build());
+        setupSession();
+
+        final List<ListenableFuture<RpcResult<NetconfMessage>>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            futures.add(sendRequest());
+        }
+        doNothing().when(mockDevice).onRemoteSessionDown();
+        communicator.onSessionDown(mockSession, new Exception("mock ex"));
+
+        for (ListenableFuture<RpcResult<NetconfMessage>> future : futures) {
+            verifyErrorRpcResult(future.get(), RpcError.ErrorType.TRANSPORT, "operation-failed");
+        }
+
+        // All requests have released the message limit
+        communicator.onSessionUp(mockSession);
+        for (int i = 0; i < 10; i++) {
+            assertTrue(sendRequest() instanceof UncancellableFuture);
+        }
+    }
+
+    @Test
+    public void testStartExiOnLargeReply() throws Exception {
+        communicator = new NetconfDeviceCommunicator(
+            new RemoteDeviceId("test", InetSocketAddress.createUnresolved("localhost", 22)), mockDevice,
+            Optional.empty(), 10,
+            NetconfDeviceCommunicatorOptions.builder().withExiReplySizeThreshold(16).build());
+        setupSession();
+        doReturn(Collections.singleton(XmlNetconfConstants.URN_IETF_PARAMS_NETCONF_CAPABILITY_EXI_1_0))
+            .when(mockSession).getServerCapabilities();
+
+        final ChannelFuture mockChannelFuture = mock(ChannelFuture.class);
+        doReturn(mockChannelFuture).when(mockChannelFuture).addListener(any(GenericFutureListener.class));
+        doReturn(mockChannelFuture).when(mockSession).sendMessage(any(NetconfStartExiMessage.class));
+
+        // Reply containing the message-id is larger than the threshold
+        String messageID1 = UUID.randomUUID().toString();
+        ListenableFuture<RpcResult<NetconfMessage>> resultFuture1 = sendRequest(messageID1, true);
+        communicator.onMessage(mockSession, createSuccessResponseMessage(messageID1));
+        verifyResponseMessage(resultFuture1.get(), messageID1);
+
+        final ArgumentCaptor<NetconfMessage> sent = ArgumentCaptor.forClass(NetconfMessage.class);
+        verify(mockSession, times(2)).sendMessage(sent.capture());
+        final NetconfMessage startExi = sent.getValue();
+        assertTrue(startExi instanceof NetconfStartExiMessage);
+
+        // Requests are held until the device confirms EXI
+        String messageID2 = UUID.randomUUID().toString();
+        final ListenableFuture<RpcResult<NetconfMessage>> resultFuture2 = sendRequest(messageID2, true);
+        verify(mockSession, times(2)).sendMessage(any(NetconfMessage.class));
+
+        communicator.onMessage(mockSession, createOkResponseMessage(
+            NetconfMessageTransformUtil.getMessageId(startExi)));
+        verify(mockSession, times(3)).sendMessage(any(NetconfMessage.class));
+
+        communicator.onMessage(mockSession, createSuccessResponseMessage(messageID2));
+        verifyResponseMessage(resultFuture2.get(), messageID2);
+
+        // Only a single attempt is made
+        verify(mockSession).sendMessage(any(NetconfStartExiMessage.class));
+    }
+
+    @Test
+    public void testSessionUpResumesPausedSends() throws Exception {
+        communicator = new NetconfDeviceCommunicator(
+            new RemoteDeviceId("test", InetSocketAddress.createUnresolved("localhost", 22)), mockDevice,
+            Optional.empty(), 10,
+            NetconfDeviceCommunicatorOptions.builder().withExiReplySizeThreshold(16).build());
+        setupSession();
+        doReturn(Collections.singleton(XmlNetconfConstants.URN_IETF_PARAMS_NETCONF_CAPABILITY_EXI_1_0))
+            .when(mockSession).getServerCapabilities();
+
+        final ChannelFuture mockChannelFuture = mock(ChannelFuture.class);
+        doReturn(mockChannelFuture).when(mockChannelFuture).addListener(any(GenericFutureListener.class));
+        doReturn(mockChannelFuture).when(mockSession).sendMessage(any(NetconfStartExiMessage.class));
+
+        String messageID1 = UUID.randomUUID().toString();
+        sendRequest(messageID1, true);
+        communicator.onMessage(mockSession, createSuccessResponseMessage(messageID1));
+        verify(mockSession).sendMessage(any(NetconfStartExiMessage.class));
+
+        // held while waiting for the reply to start-exi
+        sendRequest(UUID.randomUUID().toString(), true);
+        verify(mockSession, times(2)).sendMessage(any(NetconfMessage.class));
+
+        // a new session sends it right away
+        communicator.onSessionUp(mockSession);
+        verify(mockSession, times(3)).sendMessage(any(NetconfMessage.class));
+    }
+
+    @Test
+    public void testFailedStartExiDropsSession() throws Exception {
+        communicator = new NetconfDeviceCommunicator(
+            new RemoteDeviceId("test", InetSocketAddress.createUnresolved("localhost", 22)), mockDevice,
+            Optional.empty(), 10,
+            NetconfDeviceCommunicatorOptions.builder().withExiReplySizeThreshold(16).build());
+        setupSession();
+        doReturn(Collections.singleton(XmlNetconfConstants.URN_IETF_PARAMS_NETCONF_CAPABILITY_EXI_1_0))
+            .when(mockSession).getServerCapabilities();
+
+        final ChannelFuture mockChannelFuture = mock(ChannelFuture.class);
+        doReturn(mockChannelFuture).when(mockChannelFuture).addListener(any(GenericFutureListener.class));
+        doReturn(mockChannelFuture).when(mockSession).sendMessage(any(NetconfStartExiMessage.class));
+
+        String messageID1 = UUID.randomUUID().toString();
+        sendRequest(messageID1, true);
+        communicator.onMessage(mockSession, createSuccessResponseMessage(messageID1));
+        verify(mockSession).sendMessage(any(NetconfStartExiMessage.class));
+
+        // We cannot tell whether the device has switched to EXI, hence the session must not be used any more
+        assertFalse(communicator.isSessionClosing());
+        communicator.onMessage(mockSession, new FailedNetconfMessage(new IllegalStateException("mock error")));
+        assertTrue(communicator.isSessionClosing());
+    }
+
     @Test
     public void testOnResponseMessageWithError() throws Exception {
         setupSession();
@@ -476,6 +668,80 @@ public class NetconfDeviceCommunicatorTest {
         assertNotNull("ListenableFuture is null", resultFuture);
     }
 
+    @Test
+    public void testSessionDownReleasesMessageLimit() throws Exception {
+        setupSession();
+        for (int i = 0; i < 10; i++) {
+            sendRequest();
+        }
+
+        doNothing().when(mockDevice).onRemoteSessionDown();
+        communicator.onSessionDown(mockSession, new Exception("mock ex"));
+        communicator.onSessionUp(mockSession);
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(sendRequest() instanceof UncancellableFuture);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test(timeout = 10000)
+    public void testConcurrentSendRequest() throws Exception {
+        communicator = new NetconfDeviceCommunicator(
+            new RemoteDeviceId("test", InetSocketAddress.createUnresolved("localhost", 22)), mockDevice, 0);
+        setupSession();
+
+        final ChannelFuture mockChannelFuture = mock(ChannelFuture.class);
+        doReturn(mockChannelFuture).when(mockChannelFuture).addListener(any(GenericFutureListener.class));
+        doReturn(mockChannelFuture).when(mockSession).sendMessage(any(NetconfMessage.class));
+
+        final int threads = 4;
+        final int perThread = 100;
+        final List<String> messageIds = new ArrayList<>();
+        final List<ListenableFuture<RpcResult<NetconfMessage>>> futures = new ArrayList<>();
+        for (int i = 0; i < threads * perThread; i++) {
+            messageIds.add(UUID.randomUUID().toString());
+        }
+
+        final Map<String, ListenableFuture<RpcResult<NetconfMessage>>> results = new ConcurrentHashMap<>();
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Callable<Void>> tasks = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                final List<String> ids = messageIds.subList(t * perThread, (t + 1) * perThread);
+                tasks.add(() -> {
+                    for (String messageId : ids) {
+                        final Document doc = UntrustedXML.newDocumentBuilder().newDocument();
+                        final Element element = doc.createElement("request");
+                        element.setAttribute("message-id", messageId);
+                        doc.appendChild(element);
+                        results.put(messageId, communicator.sendRequest(new NetconfMessage(doc),
+                            QName.create("", "mockRpc")));
+                    }
+                    return null;
+                });
+            }
+            for (var task : executor.invokeAll(tasks)) {
+                task.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Replies are delivered in the order the device saw the requests, which must match the order they were queued
+        final ArgumentCaptor<NetconfMessage> sent = ArgumentCaptor.forClass(NetconfMessage.class);
+        verify(mockSession, times(threads * perThread)).sendMessage(sent.capture());
+        for (NetconfMessage message : sent.getAllValues()) {
+            final String messageId = message.getDocument().getDocumentElement().getAttribute("message-id");
+            communicator.onMessage(mockSession, createSuccessResponseMessage(messageId));
+            futures.add(results.get(messageId));
+        }
+
+        for (ListenableFuture<RpcResult<NetconfMessage>> future : futures) {
+            assertTrue(future.get().isSuccessful());
+        }
+    }
+
     private static NetconfMessage createMultiErrorResponseMessage(final String messageID) throws Exception {
         // multiple rpc-errors which simulate actual response like in NETCONF-666
         String xmlStr = "<nc:rpc-reply xmlns:nc=\"urn:ietf:params:xml:ns:netconf:base:1.0\" xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\" xmlns:junos=\"http://xml.juniper.net/junos/18.4R1/junos\""
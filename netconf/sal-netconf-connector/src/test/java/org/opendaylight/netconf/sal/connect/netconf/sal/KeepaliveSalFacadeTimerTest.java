@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2022 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.sal.connect.netconf.sal;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.opendaylight.mdsal.dom.api.DOMRpcResult;
+import org.opendaylight.mdsal.dom.api.DOMRpcService;
+import org.opendaylight.mdsal.dom.spi.DefaultDOMRpcResult;
+import org.opendaylight.netconf.sal.connect.api.RemoteDeviceHandler;
+import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfDeviceCommunicator;
+import org.opendaylight.netconf.sal.connect.netconf.listener.NetconfSessionPreferences;
+import org.opendaylight.netconf.sal.connect.netconf.sal.KeepaliveSalFacade.Probe;
+import org.opendaylight.netconf.sal.connect.netconf.util.NetconfMessageTransformUtil;
+import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
+import org.opendaylight.yangtools.util.concurrent.FluentFutures;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+
+/**
+ * Tests of {@link KeepaliveSalFacade}s sharing the keepalive timer.
+ */
+@RunWith(MockitoJUnitRunner.StrictStubs.class)
+public class KeepaliveSalFacadeTimerTest {
+    private static final RemoteDeviceId REMOTE_DEVICE_ID =
+            new RemoteDeviceId("test", new InetSocketAddress("localhost", 22));
+    private static final DOMRpcResult KEEPALIVE_RESULT = new DefaultDOMRpcResult(Builders.containerBuilder()
+            .withNodeIdentifier(new NodeIdentifier(NetconfMessageTransformUtil.NETCONF_RUNNING_QNAME)).build());
+
+    @Mock
+    private RemoteDeviceHandler<NetconfSessionPreferences> underlyingSalFacade;
+    @Mock
+    private NetconfDeviceCommunicator listener;
+    @Mock
+    private DOMRpcService deviceRpc;
+
+    private ExecutorService executor;
+    private KeepaliveSalFacade keepaliveSalFacade;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @After
+    public void tearDown() {
+        if (keepaliveSalFacade != null) {
+            keepaliveSalFacade.close();
+        }
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testTransportProbe() {
+        doReturn(System.nanoTime()).when(listener).getLastInboundNanos();
+        doReturn(true).when(listener).sendTransportKeepalive();
+
+        connect(Probe.TRANSPORT);
+
+        verify(listener, timeout(5000).atLeast(2)).sendTransportKeepalive();
+        verify(deviceRpc, never()).invokeRpc(any(QName.class), any(ContainerNode.class));
+    }
+
+    @Test
+    public void testTransportProbeRpcFallback() {
+        // Nothing has been received from the device for a long time, transport keepalives do not prove it is alive
+        doReturn(System.nanoTime() - 10_000_000_000L).when(listener).getLastInboundNanos();
+        doReturn(FluentFutures.immediateFluentFuture(KEEPALIVE_RESULT))
+                .when(deviceRpc).invokeRpc(any(QName.class), any(ContainerNode.class));
+
+        connect(Probe.TRANSPORT);
+
+        verify(deviceRpc, timeout(5000)).invokeRpc(any(QName.class), any(ContainerNode.class));
+        verify(listener, never()).sendTransportKeepalive();
+    }
+
+    @Test
+    public void testTransportProbeFallback() {
+        doReturn(System.nanoTime()).when(listener).getLastInboundNanos();
+        doReturn(false).when(listener).sendTransportKeepalive();
+        doReturn(FluentFutures.immediateFluentFuture(KEEPALIVE_RESULT))
+                .when(deviceRpc).invokeRpc(any(QName.class), any(ContainerNode.class));
+
+        connect(Probe.TRANSPORT);
+
+        // Transport does not support keepalives, hence an RPC is sent
+        verify(deviceRpc, timeout(5000)).invokeRpc(any(QName.class), any(ContainerNode.class));
+    }
+
+    @Test
+    public void testInboundTrafficSkipsKeepalive() {
+        // The device keeps sending messages
+        doAnswer(invocation -> System.nanoTime()).when(listener).getLastInboundNanos();
+
+        connect(Probe.RPC);
+
+        verify(listener, timeout(5000).atLeast(2)).getLastInboundNanos();
+        verify(deviceRpc, after(1000).never()).invokeRpc(any(QName.class), any(ContainerNode.class));
+    }
+
+    @Test
+    public void testSharedTimerStoppedWithLastFacade() {
+        final KeepaliveSalFacade first = new KeepaliveSalFacade(REMOTE_DEVICE_ID, underlyingSalFacade, executor, 1L,
+            1000L, Probe.RPC);
+        final KeepaliveSalFacade second = new KeepaliveSalFacade(REMOTE_DEVICE_ID, underlyingSalFacade, executor, 1L,
+            1000L, Probe.RPC);
+        assertTrue(KeepaliveSalFacade.isSharedTimerRunning());
+
+        first.close();
+        // Closing a facade twice must not release the timer of the other one
+        first.close();
+        assertTrue(KeepaliveSalFacade.isSharedTimerRunning());
+
+        second.close();
+        assertFalse(KeepaliveSalFacade.isSharedTimerRunning());
+    }
+
+    private void connect(final Probe probe) {
+        keepaliveSalFacade = new KeepaliveSalFacade(REMOTE_DEVICE_ID, underlyingSalFacade, executor, 1L, 1000L,
+            probe);
+        keepaliveSalFacade.setListener(listener);
+        keepaliveSalFacade.onDeviceConnected(null, null, deviceRpc);
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2022 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.sal.connect.netconf.schema;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import org.junit.Test;
+import org.opendaylight.netconf.sal.connect.netconf.schema.SchemaDownloadScheduler.DeviceDownloads;
+import org.opendaylight.netconf.sal.connect.util.RemoteDeviceId;
+import org.opendaylight.yangtools.yang.model.repo.api.RevisionSourceIdentifier;
+import org.opendaylight.yangtools.yang.model.repo.api.SchemaSourceException;
+import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
+import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
+import org.opendaylight.yangtools.yang.model.repo.spi.SchemaSourceProvider;
+
+public class SchemaDownloadSchedulerTest {
+    private static final RemoteDeviceId DEVICE1 =
+        new RemoteDeviceId("device1", InetSocketAddress.createUnresolved("localhost", 17830));
+    private static final RemoteDeviceId DEVICE2 =
+        new RemoteDeviceId("device2", InetSocketAddress.createUnresolved("localhost", 17831));
+    private static final SourceIdentifier FOO = RevisionSourceIdentifier.create("foo");
+    private static final SourceIdentifier BAR = RevisionSourceIdentifier.create("bar");
+    private static final SourceIdentifier BAZ = RevisionSourceIdentifier.create("baz");
+    private static final SourceIdentifier QUX = RevisionSourceIdentifier.create("qux");
+
+    /**
+     * Provider which records requests and leaves them outstanding until completed by the test.
+     */
+    private static final class RecordingProvider implements SchemaSourceProvider<YangTextSchemaSource> {
+        final List<SourceIdentifier> requested = new ArrayList<>();
+        final List<SettableFuture<YangTextSchemaSource>> futures = new ArrayList<>();
+
+        @Override
+        public ListenableFuture<YangTextSchemaSource> getSource(final SourceIdentifier sourceIdentifier) {
+            final SettableFuture<YangTextSchemaSource> future = SettableFuture.create();
+            requested.add(sourceIdentifier);
+            futures.add(future);
+            return future;
+        }
+    }
+
+    @Test
+    public void testDeviceLimit() {
+        final RecordingProvider provider = new RecordingProvider();
+        final SchemaSourceProvider<YangTextSchemaSource> scheduled =
+            new SchemaDownloadScheduler().forDevice(DEVICE1, 2).schedule(provider);
+
+        scheduled.getSource(FOO);
+        scheduled.getSource(BAR);
+        final ListenableFuture<? extends YangTextSchemaSource> baz = scheduled.getSource(BAZ);
+        assertEquals(List.of(FOO, BAR), provider.requested);
+
+        provider.futures.get(0).set(mock(YangTextSchemaSource.class));
+        assertEquals(List.of(FOO, BAR, BAZ), provider.requested);
+        assertFalse(baz.isDone());
+    }
+
+    @Test
+    public void testGlobalLimitRoundRobin() {
+        final SchemaDownloadScheduler scheduler = new SchemaDownloadScheduler(1);
+        final RecordingProvider provider1 = new RecordingProvider();
+        final RecordingProvider provider2 = new RecordingProvider();
+        final SchemaSourceProvider<YangTextSchemaSource> scheduled1 =
+            scheduler.forDevice(DEVICE1, 4).schedule(provider1);
+        final SchemaSourceProvider<YangTextSchemaSource> scheduled2 =
+            scheduler.forDevice(DEVICE2, 4).schedule(provider2);
+
+        scheduled1.getSource(FOO);
+        scheduled1.getSource(BAR);
+        scheduled1.getSource(QUX);
+        scheduled2.getSource(BAZ);
+        assertEquals(List.of(FOO), provider1.requested);
+        assertEquals(List.of(), provider2.requested);
+
+        provider1.futures.get(0).set(mock(YangTextSchemaSource.class));
+        assertEquals(List.of(FOO, BAR), provider1.requested);
+        assertEquals(List.of(), provider2.requested);
+
+        // The second device gets its turn before the first device's last download
+        provider1.futures.get(1).set(mock(YangTextSchemaSource.class));
+        assertEquals(List.of(FOO, BAR), provider1.requested);
+        assertEquals(List.of(BAZ), provider2.requested);
+
+        provider2.futures.get(0).set(mock(YangTextSchemaSource.class));
+        assertEquals(List.of(FOO, BAR, QUX), provider1.requested);
+    }
+
+    @Test
+    public void testDeduplication() throws Exception {
+        final SchemaDownloadScheduler scheduler = new SchemaDownloadScheduler();
+        final RecordingProvider provider1 = new RecordingProvider();
+        final RecordingProvider provider2 = new RecordingProvider();
+
+        final ListenableFuture<? extends YangTextSchemaSource> first =
+            scheduler.forDevice(DEVICE1, 4).schedule(provider1).getSource(FOO);
+        final ListenableFuture<? extends YangTextSchemaSource> second =
+            scheduler.forDevice(DEVICE2, 4).schedule(provider2).getSource(FOO);
+        assertEquals(List.of(FOO), provider1.requested);
+        assertEquals(List.of(), provider2.requested);
+
+        final YangTextSchemaSource source = mock(YangTextSchemaSource.class);
+        provider1.futures.get(0).set(source);
+        assertSame(source, first.get());
+        assertSame(source, second.get());
+        assertEquals(List.of(), provider2.requested);
+    }
+
+    @Test
+    public void testFallbackOnFailure() throws Exception {
+        final SchemaDownloadScheduler scheduler = new SchemaDownloadScheduler();
+        final RecordingProvider provider1 = new RecordingProvider();
+        final RecordingProvider provider2 = new RecordingProvider();
+
+        final ListenableFuture<? extends YangTextSchemaSource> first =
+            scheduler.forDevice(DEVICE1, 4).schedule(provider1).getSource(FOO);
+        final ListenableFuture<? extends YangTextSchemaSource> second =
+            scheduler.forDevice(DEVICE2, 4).schedule(provider2).getSource(FOO);
+
+        provider1.futures.get(0).setException(new SchemaSourceException("failed"));
+        assertTrue(first.isDone());
+        assertEquals(List.of(FOO), provider2.requested);
+
+        final YangTextSchemaSource source = mock(YangTextSchemaSource.class);
+        provider2.futures.get(0).set(source);
+        assertSame(source, second.get());
+    }
+
+    @Test
+    public void testClose() {
+        final RecordingProvider provider = new RecordingProvider();
+        final DeviceDownloads downloads = new SchemaDownloadScheduler().forDevice(DEVICE1, 1);
+        final SchemaSourceProvider<YangTextSchemaSource> scheduled = downloads.schedule(provider);
+
+        scheduled.getSource(FOO);
+        final ListenableFuture<? extends YangTextSchemaSource> bar = scheduled.getSource(BAR);
+        downloads.close();
+
+        final ExecutionException ex = assertThrows(ExecutionException.class, bar::get);
+        assertThat(ex.getCause(), instanceOf(SchemaSourceException.class));
+        assertThrows(ExecutionException.class, () -> scheduled.getSource(BAZ).get());
+        assertEquals(List.of(FOO), provider.requested);
+    }
+}
@@ -32,6 +32,7 @@ import static org.opendaylight.netconf.util.NetconfUtil.NETCONF_DATA_QNAME;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -52,6 +53,7 @@ import org.opendaylight.mdsal.binding.runtime.spi.BindingRuntimeHelpers;
 import org.opendaylight.mdsal.dom.api.DOMActionResult;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeIdentifier;
 import org.opendaylight.mdsal.dom.api.DOMRpcResult;
+import org.opendaylight.netconf.api.LazyNetconfMessage;
 import org.opendaylight.netconf.api.NetconfMessage;
 import org.opendaylight.netconf.api.xml.XmlUtil;
 import org.opendaylight.netconf.sal.connect.netconf.AbstractBaseSchemasTest;
@@ -251,6 +253,30 @@ public class NetconfMessageTransformerTest extends AbstractBaseSchemasTest {
         assertNotNull(domRpcResult);
     }
 
+    @Test
+    public void testLazyRpcOkResult() throws Exception {
+        final String result = "<rpc-reply xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\"><ok/></rpc-reply>";
+
+        final DOMRpcResult domRpcResult = actionNetconfMessageTransformer
+                .toRpcResult(LazyNetconfMessage.of(result.getBytes(StandardCharsets.UTF_8)), RPC_WITH_OUTPUT_QNAME);
+        assertNotNull(domRpcResult);
+        assertNull(domRpcResult.getResult());
+    }
+
+    @Test
+    public void testLazyRpcWithOutputResult() throws Exception {
+        final String result = "<rpc-reply xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\" message-id=\"m-1\">"
+                + "<not-mandatory-message xmlns=\"urn:example:rpcs-actions-outputs\">hello</not-mandatory-message>"
+                + "</rpc-reply>";
+
+        final DOMRpcResult domRpcResult = actionNetconfMessageTransformer
+                .toRpcResult(LazyNetconfMessage.of(result.getBytes(StandardCharsets.UTF_8)), RPC_WITH_OUTPUT_QNAME);
+        final ContainerNode output = (ContainerNode) domRpcResult.getResult();
+        assertNotNull(output);
+        assertEquals("hello", output.findChildByArg(
+            toId(QName.create(URN_EXAMPLE_RPCS_ACTIONS_OUTPUTS, "not-mandatory-message"))).get().body());
+    }
+
     @Test
     public void testDiscardChangesRequest() throws Exception {
         final NetconfMessage netconfMessage =
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2022 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.benchmark.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.netconf.api.NetconfMessage;
+import org.opendaylight.netconf.api.xml.XmlUtil;
+import org.opendaylight.netconf.nettyutil.handler.NetconfEXICodec;
+import org.opendaylight.netconf.nettyutil.handler.NetconfEXIToMessageDecoder;
+import org.opendaylight.netconf.nettyutil.handler.NetconfMessageToEXIEncoder;
+import org.opendaylight.netconf.nettyutil.handler.exi.EXIParameters;
+import org.opendaylight.netconf.shaded.exificient.core.CodingMode;
+import org.opendaylight.netconf.shaded.exificient.core.FidelityOptions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmark of the {@link NetconfMessageToEXIEncoder} and {@link NetconfEXIToMessageDecoder} pair, using the
+ * schema-less bit-packed encoding with prefixes preserved.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+public class ExiCodecBenchmark {
+    @Param({ "1024", "65536", "1048576", "52428800" })
+    public int size;
+
+    private NetconfEXICodec codec;
+    private NetconfMessage message;
+    private byte[] encoded;
+
+    @Setup
+    public void setup() throws Exception {
+        final FidelityOptions fidelity = FidelityOptions.createDefault();
+        fidelity.setFidelity(FidelityOptions.FEATURE_PREFIX, true);
+        codec = NetconfEXICodec.forParameters(new EXIParameters(CodingMode.BIT_PACKED, fidelity));
+        message = new NetconfMessage(XmlUtil.readXmlToDocument(new ByteArrayInputStream(Payloads.rpcReply(size))));
+
+        final ByteBuf buf = encode();
+        encoded = ByteBufUtil.getBytes(buf);
+        buf.release();
+    }
+
+    @Benchmark
+    public void encode(final Blackhole bh) {
+        final ByteBuf buf = encode();
+        bh.consume(buf.readableBytes());
+        buf.release();
+    }
+
+    @Benchmark
+    public void decode(final Blackhole bh) throws Exception {
+        final EmbeddedChannel channel = new EmbeddedChannel(NetconfEXIToMessageDecoder.create(codec));
+        channel.writeInbound(Unpooled.wrappedBuffer(encoded));
+        bh.consume(channel.<NetconfMessage>readInbound());
+        channel.finishAndReleaseAll();
+    }
+
+    private ByteBuf encode() {
+        final EmbeddedChannel channel = new EmbeddedChannel(NetconfMessageToEXIEncoder.create(codec));
+        channel.writeOutbound(message);
+        final ByteBuf ret = channel.readOutbound();
+        channel.finishAndReleaseAll();
+        return ret;
+    }
+}
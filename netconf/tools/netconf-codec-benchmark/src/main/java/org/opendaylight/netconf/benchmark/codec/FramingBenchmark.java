@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2022 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.benchmark.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.netconf.nettyutil.handler.NetconfChunkAggregator;
+import org.opendaylight.netconf.nettyutil.handler.NetconfEOMAggregator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmark of {@link NetconfEOMAggregator} and {@link NetconfChunkAggregator}. Framed input is fed in
+ * {@link Payloads#READ_SIZE} slices, as it would be by the transport.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+public class FramingBenchmark {
+    @Param({ "1024", "65536", "1048576", "52428800" })
+    public int size;
+
+    private byte[] eomFramed;
+    private byte[] chunkFramed;
+
+    @Setup
+    public void setup() {
+        final byte[] message = Payloads.rpcReply(size);
+        eomFramed = Payloads.eomFramed(message);
+        chunkFramed = Payloads.chunkFramed(message);
+    }
+
+    @Benchmark
+    public void eomAggregator(final Blackhole bh) {
+        aggregate(new NetconfEOMAggregator(), eomFramed, bh);
+    }
+
+    @Benchmark
+    public void chunkAggregator(final Blackhole bh) {
+        aggregate(new NetconfChunkAggregator(), chunkFramed, bh);
+    }
+
+    private static void aggregate(final ChannelHandler aggregator, final byte[] framed, final Blackhole bh) {
+        final EmbeddedChannel channel = new EmbeddedChannel(aggregator);
+        for (int offset = 0; offset < framed.length; offset += Payloads.READ_SIZE) {
+            channel.writeInbound(Unpooled.wrappedBuffer(framed, offset,
+                Math.min(Payloads.READ_SIZE, framed.length - offset)));
+        }
+
+        ByteBuf frame;
+        while ((frame = channel.readInbound()) != null) {
+            bh.consume(frame.readableBytes());
+            frame.release();
+        }
+        channel.finishAndReleaseAll();
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2022 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.benchmark.codec;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import org.opendaylight.yangtools.yang.common.QName;
+
+/**
+ * Generator of benchmark payloads. Messages are {@code rpc-reply}s to the {@code get-interfaces} RPC defined in
+ * {@code codec-benchmark.yang}, which resemble operational data of a device with a large number of interfaces.
+ */
+final class Payloads {
+    static final String NAMESPACE = "urn:opendaylight:netconf:codec-benchmark";
+    static final QName GET_INTERFACES = QName.create(NAMESPACE, "2022-10-01", "get-interfaces");
+
+    // Read size used to feed framers, typical of what a transport hands over in a single read
+    static final int READ_SIZE = 16384;
+    // Chunk size used by devices when framing replies
+    static final int CHUNK_SIZE = 8192;
+
+    private static final byte[] EOM = "]]>]]>".getBytes(StandardCharsets.US_ASCII);
+
+    private Payloads() {
+        // Hidden on purpose
+    }
+
+    /**
+     * Create an {@code rpc-reply} of at least the specified size.
+     *
+     * @param size Minimum size of the message, in bytes
+     * @return UTF-8 encoded message
+     */
+    static byte[] rpcReply(final int size) {
+        final StringBuilder sb = new StringBuilder(size + 1024)
+            .append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+            .append("<rpc-reply xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\" message-id=\"m-1\">\n")
+            .append("  <interfaces xmlns=\"").append(NAMESPACE).append("\">\n");
+
+        for (int i = 0; sb.length() < size; ++i) {
+            sb.append("    <interface>\n")
+                .append("      <name>GigabitEthernet0/0/").append(i).append("</name>\n")
+                .append("      <description>Uplink to aggregation switch ").append(i % 64).append("</description>\n")
+                .append("      <enabled>").append(i % 7 != 0).append("</enabled>\n")
+                .append("      <mtu>").append(i % 2 == 0 ? 1500 : 9000).append("</mtu>\n")
+                .append("      <statistics>\n")
+                .append("        <in-octets>").append(i * 7919L + 123456789L).append("</in-octets>\n")
+                .append("        <in-unicast-pkts>").append(i * 104729L).append("</in-unicast-pkts>\n")
+                .append("        <in-errors>").append(i % 13).append("</in-errors>\n")
+                .append("        <out-octets>").append(i * 6563L + 987654321L).append("</out-octets>\n")
+                .append("        <out-unicast-pkts>").append(i * 15485863L).append("</out-unicast-pkts>\n")
+                .append("        <out-errors>").append(i % 5).append("</out-errors>\n")
+                .append("      </statistics>\n")
+                .append("    </interface>\n");
+        }
+
+        return sb.append("  </interfaces>\n</rpc-reply>\n").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Frame a message using the end-of-message framing mechanism.
+     *
+     * @param message Message to frame
+     * @return Framed message
+     */
+    static byte[] eomFramed(final byte[] message) {
+        final byte[] ret = new byte[message.length + EOM.length];
+        System.arraycopy(message, 0, ret, 0, message.length);
+        System.arraycopy(EOM, 0, ret, message.length, EOM.length);
+        return ret;
+    }
+
+    /**
+     * Frame a message using the chunked framing mechanism, using {@link #CHUNK_SIZE}-sized chunks.
+     *
+     * @param message Message to frame
+     * @return Framed message
+     */
+    static byte[] chunkFramed(final byte[] message) {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream(message.length + message.length / 512 + 16);
+        int offset = 0;
+        do {
+            final int xfer = Math.min(CHUNK_SIZE, message.length - offset);
+            bos.writeBytes(("\n#" + xfer + "\n").getBytes(StandardCharsets.US_ASCII));
+            bos.write(message, offset, xfer);
+            offset += xfer;
+        } while (offset < message.length);
+
+        bos.writeBytes("\n##\n".getBytes(StandardCharsets.US_ASCII));
+        return bos.toByteArray();
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2022 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.netconf.benchmark.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.netconf.api.NetconfMessage;
+import org.opendaylight.netconf.api.xml.XmlUtil;
+import org.opendaylight.netconf.nettyutil.handler.NetconfMessageToXMLEncoder;
+import org.opendaylight.netconf.nettyutil.handler.NetconfXMLToMessageDecoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmark of {@link NetconfXMLToMessageDecoder} and {@link NetconfMessageToXMLEncoder}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+public class XmlCodecBenchmark {
+    @Param({ "1024", "65536", "1048576", "52428800" })
+    public int size;
+
+    private final NetconfMessageToXMLEncoder encoder = new NetconfMessageToXMLEncoder();
+
+    private byte[] bytes;
+    private NetconfMessage message;
+
+    @Setup
+    public void setup() throws Exception {
+        bytes = Payloads.rpcReply(size);
+        message = new NetconfMessage(XmlUtil.readXmlToDocument(new ByteArrayInputStream(bytes)));
+    }
+
+    @Benchmark
+    public void decode(final Blackhole bh) {
+        decode(new NetconfXMLToMessageDecoder(), bh);
+    }
+
+    @Benchmark
+    public void decodeLazy(final Blackhole bh) {
+        decode(new NetconfXMLToMessageDecoder(true), bh);
+    }
+
+    @Benchmark
+    public void encode(final Blackhole bh) throws Exception {
+        final ByteBuf out = ByteBufAllocator.DEFAULT.buffer();
+        try {
+            encoder.encode(null, message, out);
+            bh.consume(out.readableBytes());
+        } finally {
+            out.release();
+        }
+    }
+
+    private void decode(final NetconfXMLToMessageDecoder decoder, final Blackhole bh) {
+        final EmbeddedChannel channel = new EmbeddedChannel(decoder);
+        channel.writeInbound(Unpooled.wrappedBuffer(bytes));
+        bh.consume(channel.<NetconfMessage>readInbound());
+        channel.finishAndReleaseAll();
+    }
+}